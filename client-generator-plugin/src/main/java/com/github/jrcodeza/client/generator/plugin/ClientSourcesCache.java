@@ -0,0 +1,214 @@
+package com.github.jrcodeza.client.generator.plugin;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.spring.openapi.client.generator.OpenApiClientGenerator;
+
+/**
+ * Local content addressed cache of generated client sources. Key is SHA-256 of the schema bytes and
+ * generator options, cache entry contains generated package directory. Sharded spec is represented by its
+ * manifest.json, which contains hashes of all spec files. Generator itself is identified by content of its jars (or class
+ * directories), so SNAPSHOT rebuilds are not served stale sources.
+ */
+class ClientSourcesCache {
+
+	static final String DEFAULT_CACHE_DIRECTORY = ".m2/spring-openapi-cache";
+	private static final String CACHE_FORMAT_VERSION = "2";
+	private static final String CLIENT_ENTRY_PREFIX = "client-";
+	private static final String MANIFEST_FILE_NAME = "manifest.json";
+	private static final String JAVA_FILE_SUFFIX = ".java";
+	// jar hashes keyed by path, size and modification time, so reused JVM does not read the same jars again
+	private static final Map<String, byte[]> JAR_HASHES = new ConcurrentHashMap<>();
+
+	private final Path cacheDirectory;
+
+	ClientSourcesCache(Path cacheDirectory) {
+		this.cacheDirectory = cacheDirectory;
+	}
+
+	static Path defaultCacheDirectory() {
+		return Paths.get(System.getProperty("user.home")).resolve(DEFAULT_CACHE_DIRECTORY);
+	}
+
+	String computeKey(Path schemaFile, List<String> options) throws IOException {
+		MessageDigest digest = createDigest();
+		update(digest, CACHE_FORMAT_VERSION);
+		updateWithCodeLocation(digest, ClientSourcesCache.class);
+		updateWithCodeLocation(digest, OpenApiClientGenerator.class);
+		for (String option : options) {
+			update(digest, String.valueOf(option));
+		}
+		Path manifestFile = schemaFile.resolveSibling(MANIFEST_FILE_NAME);
+		if (Files.isDirectory(schemaFile)) {
+			manifestFile = schemaFile.resolve(MANIFEST_FILE_NAME);
+		} else {
+			digest.update(Files.readAllBytes(schemaFile));
+		}
+		if (Files.isRegularFile(manifestFile)) {
+			digest.update(Files.readAllBytes(manifestFile));
+		}
+		return CLIENT_ENTRY_PREFIX + toHex(digest.digest());
+	}
+
+	/**
+	 * Copies cached sources to output directory.
+	 *
+	 * @param stalePackageDirectories package directories relative to output directory, java files in them which are not
+	 *                                part of the entry are deleted
+	 * @return false when there is no entry for given key
+	 */
+	boolean restore(String key, Path outputDirectory, List<Path> stalePackageDirectories) throws IOException {
+		Path entryDirectory = cacheDirectory.resolve(key);
+		if (!Files.isDirectory(entryDirectory)) {
+			return false;
+		}
+		copyDirectory(entryDirectory, outputDirectory);
+		for (Path packageDirectory : stalePackageDirectories) {
+			deleteStaleFiles(entryDirectory.resolve(packageDirectory), outputDirectory.resolve(packageDirectory));
+		}
+		return true;
+	}
+
+	private void deleteStaleFiles(Path entryPackageDirectory, Path packageDirectory) throws IOException {
+		if (!Files.isDirectory(packageDirectory)) {
+			return;
+		}
+		List<Path> staleFiles;
+		try (Stream<Path> files = Files.list(packageDirectory)) {
+			staleFiles = files.filter(file -> file.getFileName().toString().endsWith(JAVA_FILE_SUFFIX))
+							  .filter(file -> !Files.isRegularFile(entryPackageDirectory.resolve(file.getFileName().toString())))
+							  .collect(Collectors.toList());
+		}
+		for (Path staleFile : staleFiles) {
+			Files.deleteIfExists(staleFile);
+		}
+	}
+
+	void store(String key, Path outputDirectory, Path generatedDirectory) throws IOException {
+		Path entryDirectory = cacheDirectory.resolve(key);
+		if (Files.isDirectory(entryDirectory)) {
+			return;
+		}
+		Files.createDirectories(cacheDirectory);
+		// copy to temporary directory first, parallel builds can store the same key at the same time
+		Path temporaryDirectory = Files.createTempDirectory(cacheDirectory, key);
+		try {
+			Path relativeGeneratedDirectory = outputDirectory.relativize(generatedDirectory);
+			copyDirectory(generatedDirectory, temporaryDirectory.resolve(relativeGeneratedDirectory));
+			Files.move(temporaryDirectory, entryDirectory, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			if (!Files.isDirectory(entryDirectory)) {
+				throw e;
+			}
+		} finally {
+			deleteDirectory(temporaryDirectory);
+		}
+	}
+
+	private void copyDirectory(Path source, Path target) throws IOException {
+		List<Path> sourceFiles;
+		try (Stream<Path> walk = Files.walk(source)) {
+			sourceFiles = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+		}
+		for (Path sourceFile : sourceFiles) {
+			Path targetFile = target.resolve(source.relativize(sourceFile).toString());
+			if (isSameContent(sourceFile, targetFile)) {
+				// keep timestamp of unchanged sources, so they are not recompiled
+				continue;
+			}
+			Files.createDirectories(targetFile.getParent());
+			Files.copy(sourceFile, targetFile, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private boolean isSameContent(Path sourceFile, Path targetFile) throws IOException {
+		return Files.isRegularFile(targetFile) && Files.size(sourceFile) == Files.size(targetFile)
+				&& Arrays.equals(Files.readAllBytes(sourceFile), Files.readAllBytes(targetFile));
+	}
+
+	private void deleteDirectory(Path directory) throws IOException {
+		if (!Files.exists(directory)) {
+			return;
+		}
+		List<Path> paths;
+		try (Stream<Path> walk = Files.walk(directory)) {
+			paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+		}
+		for (Path path : paths) {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	/**
+	 * Hashes jar (or class directory) the class was loaded from.
+	 */
+	private static void updateWithCodeLocation(MessageDigest digest, Class<?> clazz) throws IOException {
+		CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+		if (codeSource == null || codeSource.getLocation() == null) {
+			update(digest, clazz.getName());
+			return;
+		}
+		Path location;
+		try {
+			location = Paths.get(codeSource.getLocation().toURI());
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			throw new IOException(String.format("Cannot resolve location of [%s]", clazz.getName()), e);
+		}
+		if (Files.isDirectory(location)) {
+			try (Stream<Path> files = Files.walk(location)) {
+				for (Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+					update(digest, location.relativize(file).toString());
+					digest.update(Files.readAllBytes(file));
+				}
+			}
+			return;
+		}
+		String jarKey = location + ":" + Files.size(location) + ":" + Files.getLastModifiedTime(location).toMillis();
+		byte[] jarHash = JAR_HASHES.get(jarKey);
+		if (jarHash == null) {
+			MessageDigest jarDigest = createDigest();
+			jarDigest.update(Files.readAllBytes(location));
+			jarHash = jarDigest.digest();
+			JAR_HASHES.put(jarKey, jarHash);
+		}
+		digest.update(jarHash);
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder result = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			result.append(String.format("%02x", b));
+		}
+		return result.toString();
+	}
+
+}
@@ -1,12 +1,25 @@
 package com.github.jrcodeza.client.generator.plugin;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.spring.openapi.client.generator.OpenApiClientGenerator;
+import org.spring.openapi.client.generator.config.ModelStyle;
+import org.spring.openapi.client.generator.config.OpenApiClientGeneratorConfig;
+import org.spring.openapi.client.generator.config.builder.OpenApiClientGeneratorConfigBuilder;
+
+import static java.util.Arrays.asList;
 
 @Mojo(name = "generateClientFromOpenApi", defaultPhase = LifecyclePhase.GENERATE_SOURCES)
 public class GenerateClientFromSchemaMojo extends AbstractMojo {
@@ -23,18 +36,127 @@ public class GenerateClientFromSchemaMojo extends AbstractMojo {
 	@Parameter
 	private Boolean generateResourceInterface;
 
+	@Parameter
+	private Boolean generateResourceImplementation;
+
 	@Parameter
 	private Boolean generateDiscriminatorProperty;
 
+	@Parameter
+	private Boolean generateJsonCodecs;
+
+	@Parameter
+	private String modelStyle;
+
+	@Parameter
+	private Integer parallelism;
+
+	@Parameter
+	private Integer writerThreads;
+
+	@Parameter
+	private Boolean deleteStaleFiles;
+
+	@Parameter
+	private Boolean useCache;
+
+	@Parameter
+	private String cacheDirectory;
+
 	@Parameter(defaultValue = "${project}")
 	private MavenProject project;
 
 	@Override
 	public void execute() {
-		new OpenApiClientGenerator().generateClient(outputPackage, schemaPath, outputPath,
-				BooleanUtils.isTrue(generateResourceInterface),
-				BooleanUtils.isTrue(generateDiscriminatorProperty)
-		);
+		if (BooleanUtils.isTrue(generateResourceImplementation) && !isJava11Target()) {
+			getLog().error("generateResourceImplementation generates sources based on java.net.http.HttpClient, "
+					+ "project has to be compiled for Java 11 or newer (maven.compiler.release or maven.compiler.target)");
+			return;
+		}
+		ClientSourcesCache cache = BooleanUtils.isTrue(useCache) ? createCache() : null;
+		String cacheKey = computeCacheKey(cache);
+		OpenApiClientGeneratorConfig config = OpenApiClientGeneratorConfigBuilder.defaultConfig()
+				.withGenerateResourceInterface(BooleanUtils.isTrue(generateResourceInterface))
+				.withGenerateResourceImplementation(BooleanUtils.isTrue(generateResourceImplementation))
+				.withGenerateDiscriminatorProperty(BooleanUtils.isTrue(generateDiscriminatorProperty))
+				.withGenerateJsonCodecs(BooleanUtils.isTrue(generateJsonCodecs))
+				.withModelStyle(StringUtils.isBlank(modelStyle) ? ModelStyle.MUTABLE : ModelStyle.valueOf(modelStyle.toUpperCase()))
+				.withParallelism(parallelism == null ? 1 : parallelism)
+				.withWriterThreads(writerThreads == null ? 1 : writerThreads)
+				.withDeleteStaleFiles(BooleanUtils.isTrue(deleteStaleFiles))
+				.build();
+		if (!restoreFromCache(cache, cacheKey, config)) {
+			new OpenApiClientGenerator().generateClient(outputPackage, schemaPath, outputPath, config);
+			storeToCache(cache, cacheKey);
+		}
 		project.addCompileSourceRoot(outputPath);
 	}
+
+	/**
+	 * @return false only when project explicitly targets Java older than 11, other sources of target version are not checked
+	 */
+	private boolean isJava11Target() {
+		String target = StringUtils.defaultIfBlank(project.getProperties().getProperty("maven.compiler.release"),
+				project.getProperties().getProperty("maven.compiler.target"));
+		if (StringUtils.isBlank(target)) {
+			return true;
+		}
+		String majorVersion = StringUtils.removeStart(target.trim(), "1.");
+		return !StringUtils.isNumeric(majorVersion) || Integer.parseInt(majorVersion) >= 11;
+	}
+
+	private ClientSourcesCache createCache() {
+		Path cachePath = StringUtils.isBlank(cacheDirectory) ? ClientSourcesCache.defaultCacheDirectory() : Paths.get(cacheDirectory);
+		return new ClientSourcesCache(cachePath);
+	}
+
+	private String computeCacheKey(ClientSourcesCache cache) {
+		if (cache == null) {
+			return null;
+		}
+		try {
+			return cache.computeKey(Paths.get(schemaPath), asList(outputPackage,
+					String.valueOf(BooleanUtils.isTrue(generateResourceInterface)),
+					String.valueOf(BooleanUtils.isTrue(generateResourceImplementation)),
+					String.valueOf(BooleanUtils.isTrue(generateDiscriminatorProperty)),
+					String.valueOf(BooleanUtils.isTrue(generateJsonCodecs)),
+					String.valueOf(modelStyle)));
+		} catch (IOException e) {
+			getLog().warn("Cannot compute cache key, cache is not used", e);
+			return null;
+		}
+	}
+
+	private boolean restoreFromCache(ClientSourcesCache cache, String cacheKey, OpenApiClientGeneratorConfig config) {
+		if (cacheKey == null) {
+			return false;
+		}
+		// the same packages are cleaned as by the generator itself
+		List<Path> stalePackageDirectories = !config.isDeleteStaleFiles() ? Collections.emptyList()
+				: OpenApiClientGenerator.getGeneratedPackages(outputPackage, config).stream()
+						.map(packageName -> Paths.get(packageName.replace('.', '/')))
+						.collect(Collectors.toList());
+		try {
+			if (cache.restore(cacheKey, Paths.get(outputPath), stalePackageDirectories)) {
+				getLog().info(String.format("Client sources restored from cache entry [%s]", cacheKey));
+				return true;
+			}
+		} catch (IOException e) {
+			getLog().warn("Cannot restore client sources from cache", e);
+		}
+		return false;
+	}
+
+	private void storeToCache(ClientSourcesCache cache, String cacheKey) {
+		if (cacheKey == null) {
+			return;
+		}
+		Path outputDirectory = Paths.get(outputPath);
+		Path generatedDirectory = outputDirectory.resolve(outputPackage.replace('.', '/'));
+		try {
+			cache.store(cacheKey, outputDirectory, generatedDirectory);
+		} catch (IOException e) {
+			getLog().warn("Cannot store client sources to cache", e);
+		}
+	}
 }
@@ -2,6 +2,7 @@ package org.spring.openapi.client.generator;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -22,17 +23,24 @@ public final class ClientGeneratorUtils {
 
 	public static final String JAVA_LANG_PKG = "java.lang";
 	public static final String JAVA_TIME_PKG = "java.time";
+	public static final String OPERATIONS_PACKAGE_SUFFIX = ".operations";
+	public static final String JSON_PACKAGE_SUFFIX = ".json";
+	public static final String PARAMETER_REF_PREFIX = "#/components/parameters/";
+	public static final String RESPONSE_REF_PREFIX = "#/components/responses/";
 
 	public static void buildTypeSpec(String targetPackage, TypeSpec.Builder typeSpecBuilder, String outputPath) {
+		JavaFile javaFile = createJavaFile(targetPackage, typeSpecBuilder);
 		try {
-			JavaFile.builder(targetPackage, typeSpecBuilder.build())
-					.build()
-					.writeTo(new File(outputPath));
+			javaFile.writeTo(new File(outputPath));
 		} catch (IOException e) {
-			e.printStackTrace(); // TODO
+			throw new UncheckedIOException(String.format("Cannot write generated class [%s.%s]", targetPackage, javaFile.typeSpec.name), e);
 		}
 	}
 
+	public static JavaFile createJavaFile(String targetPackage, TypeSpec.Builder typeSpecBuilder) {
+		return JavaFile.builder(targetPackage, typeSpecBuilder.build()).build();
+	}
+
 	private ClientGeneratorUtils() {
 		throw new AssertionError();
 	}
@@ -66,30 +74,19 @@ public final class ClientGeneratorUtils {
 		}
 	}
 
-	public static String determineParentClassNameUsingDiscriminator(Schema innerSchema, String fieldName, Map<String, Schema> allComponents) {
+	public static String determineParentClassNameUsingDiscriminator(Schema innerSchema, String fieldName, ComponentIndex componentIndex) {
 		Set<Map.Entry<String,String>> discriminatorEntries = innerSchema.getDiscriminator().getMapping().entrySet();
 		if (CollectionUtils.isEmpty(discriminatorEntries)) {
 			throw new IllegalArgumentException("Discriminator needs to have at least one value defined. Field: " + fieldName);
 		}
-		return determineParentClassName(discriminatorEntries.iterator().next().getValue(), allComponents);
+		return determineParentClassName(getNameFromRef(discriminatorEntries.iterator().next().getValue()), componentIndex);
 	}
 
-	public static String determineParentClassName(String childClassToFind, Map<String, Schema> allComponents) {
-		Schema childClass = allComponents.get(childClassToFind);
-		if (childClass instanceof ComposedSchema) {
-			ComposedSchema childClassComposed = (ComposedSchema) childClass;
-			if (CollectionUtils.isNotEmpty(childClassComposed.getAllOf())) {
-				String parentClassRef = childClassComposed.getAllOf().get(0).get$ref();
-				if (parentClassRef == null) {
-					throw new IllegalArgumentException("Unsupported inheritance model. AllOf $ref for parent class has to be defined");
-				}
-				return getNameFromRef(parentClassRef);
-			}
-		}
-		throw new IllegalArgumentException("Unsupported inheritance model for " + (childClass == null ? "null" : childClass.getName()));
+	public static String determineParentClassName(String childClassToFind, ComponentIndex componentIndex) {
+		return componentIndex.getParentName(childClassToFind);
 	}
 
-	public static String determineParentClassNameUsingOneOf(Schema innerSchema, String fieldName, Map<String, Schema> allComponents) {
+	public static String determineParentClassNameUsingOneOf(Schema innerSchema, String fieldName, ComponentIndex componentIndex) {
 		if (!(innerSchema instanceof ComposedSchema)) {
 			throw new IllegalArgumentException("To determine class name using allOf schema has to be Composed");
 		}
@@ -98,8 +95,7 @@ public final class ClientGeneratorUtils {
 		if (refToOneOf == null) {
 			throw new IllegalArgumentException("OneOf entry needs to have defined $ref. Field: " + fieldName);
 		}
-		return determineParentClassName(getNameFromRef(refToOneOf), allComponents);
+		return determineParentClassName(getNameFromRef(refToOneOf), componentIndex);
 	}
 
-
 }
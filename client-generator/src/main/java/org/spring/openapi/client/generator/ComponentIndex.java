@@ -0,0 +1,215 @@
+package org.spring.openapi.client.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.PARAMETER_REF_PREFIX;
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.RESPONSE_REF_PREFIX;
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.getNameFromRef;
+
+/**
+ * Lightweight index of component schemas holding only information needed to resolve references between
+ * generated classes. It is built without materializing whole component schemas and after {@link #validate()}
+ * answers child to parent, parent to children and discriminator value to class questions by simple lookups.
+ * Shared parameters and responses from components are kept whole, so $ref parameters and responses of operations
+ * can be resolved.
+ */
+public class ComponentIndex {
+
+	private final Set<String> componentNames = new LinkedHashSet<>();
+	private final Map<String, String> parentRefs = new HashMap<>();
+	private final Map<String, Discriminator> discriminators = new HashMap<>();
+	private final Map<String, Parameter> sharedParameters = new HashMap<>();
+	private final Map<String, ApiResponse> sharedResponses = new HashMap<>();
+
+	private final Map<String, String> parentNames = new HashMap<>();
+	private final Map<String, List<String>> children = new HashMap<>();
+	private final Map<String, Map<String, String>> discriminatorClasses = new HashMap<>();
+	private final Map<String, String> discriminatorValues = new HashMap<>();
+	private final Map<String, String> discriminatorOwners = new HashMap<>();
+
+	public void addComponent(String componentName) {
+		componentNames.add(componentName);
+	}
+
+	/**
+	 * @param parentRef $ref of first allOf entry, null when allOf is present but its first entry is not a reference
+	 */
+	public void addComposedComponent(String componentName, String parentRef) {
+		parentRefs.put(componentName, parentRef);
+	}
+
+	public void addDiscriminator(String componentName, Discriminator discriminator) {
+		discriminators.put(componentName, discriminator);
+	}
+
+	public void addSharedParameter(String parameterName, Parameter parameter) {
+		sharedParameters.put(parameterName, parameter);
+	}
+
+	public void addSharedResponse(String responseName, ApiResponse apiResponse) {
+		sharedResponses.put(responseName, apiResponse);
+	}
+
+	/**
+	 * Resolves parents, children and discriminator mappings of all components and validates the hierarchy
+	 * (existing parents, no cycles, existing discriminator classes). Has to be called once all components were added.
+	 */
+	public void validate() {
+		parentRefs.forEach((componentName, parentRef) -> {
+			if (parentRef == null) {
+				return;
+			}
+			String parentName = getNameFromRef(parentRef);
+			if (!componentNames.contains(parentName)) {
+				throw new IllegalArgumentException(String.format("Parent [%s] of component [%s] does not exist", parentName, componentName));
+			}
+			parentNames.put(componentName, parentName);
+			children.computeIfAbsent(parentName, key -> new ArrayList<>()).add(componentName);
+		});
+		children.values().forEach(Collections::sort);
+		componentNames.forEach(this::validateNoCycle);
+		discriminators.forEach((componentName, discriminator) -> {
+			Map<String, String> valueToClass = new LinkedHashMap<>();
+			if (discriminator.getMapping() != null) {
+				discriminator.getMapping().forEach((discriminatorValue, mappingValue) -> {
+					// mapping value can be schema name or reference to it
+					String className = getNameFromRef(mappingValue);
+					if (!componentNames.contains(className)) {
+						throw new IllegalArgumentException(String.format("Discriminator value [%s] of component [%s] points to missing component [%s]",
+								discriminatorValue, componentName, className));
+					}
+					valueToClass.put(discriminatorValue, className);
+					discriminatorValues.putIfAbsent(className, discriminatorValue);
+					discriminatorOwners.putIfAbsent(className, componentName);
+				});
+			}
+			discriminatorClasses.put(componentName, valueToClass);
+		});
+	}
+
+	private void validateNoCycle(String componentName) {
+		Set<String> visited = new HashSet<>();
+		String actual = componentName;
+		while (actual != null) {
+			if (!visited.add(actual)) {
+				throw new IllegalArgumentException(String.format("Inheritance cycle detected for component [%s]", componentName));
+			}
+			actual = parentNames.get(actual);
+		}
+	}
+
+	public boolean isComposed(String componentName) {
+		return parentRefs.containsKey(componentName);
+	}
+
+	/**
+	 * @return simple name of parent component
+	 * @throws IllegalArgumentException if component does not have parent defined by allOf $ref
+	 */
+	public String getParentName(String componentName) {
+		String parentName = parentNames.get(componentName);
+		if (parentName != null) {
+			return parentName;
+		}
+		if (isComposed(componentName)) {
+			throw new IllegalArgumentException("Unsupported inheritance model. AllOf $ref for parent class has to be defined");
+		}
+		throw new IllegalArgumentException("Unsupported inheritance model for " + componentName);
+	}
+
+	public List<String> getChildren(String componentName) {
+		return children.getOrDefault(componentName, Collections.emptyList());
+	}
+
+	public Discriminator getDiscriminator(String componentName) {
+		return discriminators.get(componentName);
+	}
+
+	/**
+	 * @return name of component class mapped to given discriminator value of given parent, null if not mapped
+	 */
+	public String getDiscriminatorClass(String componentName, String discriminatorValue) {
+		return discriminatorClasses.getOrDefault(componentName, Collections.emptyMap()).get(discriminatorValue);
+	}
+
+	/**
+	 * @return discriminator value under which given component is mapped, null if it is not mapped by any discriminator
+	 */
+	public String getDiscriminatorValue(String componentName) {
+		return discriminatorValues.get(componentName);
+	}
+
+	/**
+	 * @return name of component which defines discriminator mapping of given component, null if it is not mapped
+	 */
+	public String getDiscriminatorOwner(String componentName) {
+		return discriminatorOwners.get(componentName);
+	}
+
+	/**
+	 * Replaces $ref parameters and responses of all operations by the ones from components.parameters and
+	 * components.responses.
+	 */
+	public void resolveSharedComponents(Paths paths) {
+		for (PathItem pathItem : paths.values()) {
+			resolveSharedParameters(pathItem.getParameters());
+			for (Operation operation : pathItem.readOperations()) {
+				resolveSharedParameters(operation.getParameters());
+				resolveSharedResponses(operation.getResponses());
+			}
+		}
+	}
+
+	private void resolveSharedResponses(ApiResponses apiResponses) {
+		if (apiResponses == null) {
+			return;
+		}
+		apiResponses.replaceAll((status, apiResponse) -> {
+			if (apiResponse.get$ref() == null) {
+				return apiResponse;
+			}
+			ApiResponse sharedResponse = sharedResponses.get(apiResponse.get$ref().replace(RESPONSE_REF_PREFIX, ""));
+			if (sharedResponse == null) {
+				throw new IllegalArgumentException(String.format("Referenced response [%s] does not exist", apiResponse.get$ref()));
+			}
+			return sharedResponse;
+		});
+	}
+
+	private void resolveSharedParameters(List<Parameter> parameters) {
+		if (parameters == null) {
+			return;
+		}
+		parameters.replaceAll(parameter -> {
+			if (parameter.get$ref() == null) {
+				return parameter;
+			}
+			Parameter sharedParameter = sharedParameters.get(parameter.get$ref().replace(PARAMETER_REF_PREFIX, ""));
+			if (sharedParameter == null) {
+				throw new IllegalArgumentException(String.format("Referenced parameter [%s] does not exist", parameter.get$ref()));
+			}
+			return sharedParameter;
+		});
+	}
+
+	public Set<String> getComponentNames() {
+		return Collections.unmodifiableSet(componentNames);
+	}
+
+}
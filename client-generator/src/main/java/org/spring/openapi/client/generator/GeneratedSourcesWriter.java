@@ -0,0 +1,140 @@
+package org.spring.openapi.client.generator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.squareup.javapoet.JavaFile;
+
+/**
+ * Writes generated java files to output directory. Writes are executed on given I/O executor, so the
+ * threads building type specs are not blocked by slow file systems. Files are rendered to memory first and
+ * written only when their content differs from the existing file, so unchanged sources keep their timestamps
+ * and incremental compilation does not recompile them.
+ */
+public class GeneratedSourcesWriter {
+
+	private static final String JAVA_FILE_SUFFIX = ".java";
+
+	private final File outputDirectory;
+	private final Executor ioExecutor;
+	private final Set<Path> generatedFiles = ConcurrentHashMap.newKeySet();
+	private final Set<Path> changedFiles = ConcurrentHashMap.newKeySet();
+
+	public GeneratedSourcesWriter(File outputDirectory, Executor ioExecutor) {
+		this.outputDirectory = outputDirectory;
+		this.ioExecutor = ioExecutor;
+	}
+
+	public CompletableFuture<Void> write(JavaFile javaFile) {
+		return CompletableFuture.runAsync(() -> writeJavaFile(javaFile), ioExecutor);
+	}
+
+	public CompletableFuture<Void> writeAll(List<JavaFile> javaFiles) {
+		// one task for the whole batch, files of one batch are usually small
+		return CompletableFuture.runAsync(() -> javaFiles.forEach(this::writeJavaFile), ioExecutor);
+	}
+
+	/**
+	 * Deletes java files in given packages which were not generated by this writer, e.g. classes of schemas which
+	 * were removed from the spec. Has to be called after all writes are done.
+	 *
+	 * @return deleted files
+	 */
+	public List<Path> deleteStaleFiles(Collection<String> packageNames) {
+		List<Path> staleFiles = packageNames.stream()
+				.map(this::getPackageDirectory)
+				.filter(Files::isDirectory)
+				.flatMap(this::listJavaFiles)
+				.filter(javaFile -> !generatedFiles.contains(javaFile.toAbsolutePath().normalize()))
+				.collect(Collectors.toList());
+		for (Path staleFile : staleFiles) {
+			try {
+				Files.deleteIfExists(staleFile);
+			} catch (IOException e) {
+				throw new UncheckedIOException(String.format("Cannot delete stale generated file [%s]", staleFile), e);
+			}
+		}
+		return staleFiles;
+	}
+
+	/**
+	 * @return files which were created or rewritten because their content changed
+	 */
+	public Set<Path> getChangedFiles() {
+		return changedFiles;
+	}
+
+	private void writeJavaFile(JavaFile javaFile) {
+		Path targetFile = getPackageDirectory(javaFile.packageName).resolve(javaFile.typeSpec.name + JAVA_FILE_SUFFIX).toAbsolutePath().normalize();
+		generatedFiles.add(targetFile);
+		byte[] content = javaFile.toString().getBytes(StandardCharsets.UTF_8);
+		try {
+			if (isUnchanged(targetFile, content)) {
+				return;
+			}
+			Files.createDirectories(targetFile.getParent());
+			Files.write(targetFile, content);
+			changedFiles.add(targetFile);
+		} catch (IOException e) {
+			throw new UncheckedIOException(String.format("Cannot write generated class [%s.%s]", javaFile.packageName, javaFile.typeSpec.name), e);
+		}
+	}
+
+	private boolean isUnchanged(Path targetFile, byte[] content) throws IOException {
+		if (!Files.isRegularFile(targetFile) || Files.size(targetFile) != content.length) {
+			return false;
+		}
+		MessageDigest existingDigest = createDigest();
+		try (InputStream inputStream = Files.newInputStream(targetFile)) {
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = inputStream.read(buffer)) != -1) {
+				existingDigest.update(buffer, 0, read);
+			}
+		}
+		return Arrays.equals(existingDigest.digest(), createDigest().digest(content));
+	}
+
+	private Path getPackageDirectory(String packageName) {
+		Path packageDirectory = outputDirectory.toPath();
+		for (String packageComponent : packageName.split("\\.")) {
+			packageDirectory = packageDirectory.resolve(packageComponent);
+		}
+		return packageDirectory;
+	}
+
+	private Stream<Path> listJavaFiles(Path packageDirectory) {
+		try (Stream<Path> files = Files.list(packageDirectory)) {
+			return files.filter(file -> file.getFileName().toString().endsWith(JAVA_FILE_SUFFIX))
+						.collect(Collectors.toList())
+						.stream();
+		} catch (IOException e) {
+			throw new UncheckedIOException(String.format("Cannot list generated files in [%s]", packageDirectory), e);
+		}
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,220 @@
+package org.spring.openapi.client.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.lang.model.element.Modifier;
+import javax.validation.constraints.NotNull;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
+import com.squareup.javapoet.WildcardTypeName;
+
+import org.apache.commons.lang3.StringUtils;
+
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.createJavaFile;
+
+/**
+ * Turns generated getter/setter model into immutable value class. Required boxed numbers and booleans become
+ * primitives, collections are copied into unmodifiable lists, hashCode is computed once in constructor without boxing
+ * and equals compares the cached hash first. Instances are created by builders, which extend builders of parent classes
+ * and fail when required property is missing, and Jackson deserializes them through the builder.
+ */
+public class ImmutableModelGenerator {
+
+	private static final String BUILDER = "Builder";
+	private static final String ABSTRACT_BUILDER = "AbstractBuilder";
+	private static final String HASH_CODE_FIELD = "cachedHashCode";
+	private static final ClassName JSON_DESERIALIZE = ClassName.get("com.fasterxml.jackson.databind.annotation", "JsonDeserialize");
+	private static final ClassName JSON_POJO_BUILDER = ClassName.get("com.fasterxml.jackson.databind.annotation", "JsonPOJOBuilder");
+	private static final ClassName NOT_NULL = ClassName.get(NotNull.class);
+	private static final ClassName LIST = ClassName.get(List.class);
+
+	public JavaFile createImmutableModel(JavaFile modelFile) {
+		TypeSpec modelSpec = modelFile.typeSpec;
+		ClassName modelClass = ClassName.get(modelFile.packageName, modelSpec.name);
+		ClassName parentClass = modelSpec.superclass instanceof ClassName && !TypeName.OBJECT.equals(modelSpec.superclass)
+				? (ClassName) modelSpec.superclass : null;
+		List<FieldSpec> fields = modelSpec.fieldSpecs.stream()
+				.map(this::toImmutableField)
+				.collect(Collectors.toList());
+
+		TypeSpec.Builder typeSpecBuilder = TypeSpec.classBuilder(modelSpec.name)
+				.addModifiers(modelSpec.modifiers.toArray(new Modifier[0]))
+				.addAnnotations(modelSpec.annotations)
+				.addAnnotation(AnnotationSpec.builder(JSON_DESERIALIZE)
+						.addMember("builder", "$T.class", modelClass.nestedClass(BUILDER))
+						.build())
+				.addTypes(modelSpec.typeSpecs)
+				.addFields(fields)
+				.addField(TypeName.INT, HASH_CODE_FIELD, Modifier.PRIVATE, Modifier.FINAL);
+		if (parentClass != null) {
+			typeSpecBuilder.superclass(parentClass);
+		}
+		typeSpecBuilder.addMethod(createConstructor(modelClass, fields, parentClass));
+		fields.forEach(field -> typeSpecBuilder.addMethod(MethodSpec.methodBuilder("get" + StringUtils.capitalize(field.name))
+				.addModifiers(Modifier.PUBLIC)
+				.returns(field.type)
+				.addStatement("return this.$N", field.name)
+				.build()));
+		typeSpecBuilder.addMethod(createEquals(modelClass, fields, parentClass))
+				.addMethod(MethodSpec.methodBuilder("hashCode")
+						.addAnnotation(Override.class)
+						.addModifiers(Modifier.PUBLIC)
+						.returns(TypeName.INT)
+						.addStatement("return $N", HASH_CODE_FIELD)
+						.build())
+				.addType(createAbstractBuilder(modelClass, fields, parentClass))
+				.addType(createBuilder(modelClass));
+		return createJavaFile(modelFile.packageName, typeSpecBuilder);
+	}
+
+	private FieldSpec toImmutableField(FieldSpec fieldSpec) {
+		boolean required = fieldSpec.annotations.stream().anyMatch(annotation -> NOT_NULL.equals(annotation.type));
+		TypeName type = fieldSpec.type;
+		List<AnnotationSpec> annotations = new ArrayList<>(fieldSpec.annotations);
+		if (required && type.isBoxedPrimitive()) {
+			type = type.unbox();
+			annotations.removeIf(annotation -> NOT_NULL.equals(annotation.type));
+		}
+		return FieldSpec.builder(type, fieldSpec.name, Modifier.PRIVATE, Modifier.FINAL)
+				.addAnnotations(annotations)
+				.build();
+	}
+
+	private MethodSpec createConstructor(ClassName modelClass, List<FieldSpec> fields, ClassName parentClass) {
+		MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
+				.addModifiers(Modifier.PROTECTED)
+				.addParameter(ParameterizedTypeName.get(modelClass.nestedClass(ABSTRACT_BUILDER), WildcardTypeName.subtypeOf(Object.class)), "builder");
+		if (parentClass != null) {
+			constructorBuilder.addStatement("super(builder)");
+		}
+		for (FieldSpec field : fields) {
+			if (isList(field.type) && isRequired(field)) {
+				constructorBuilder.addStatement("this.$N = $T.unmodifiableList(new $T<>($T.requireNonNull(builder.$N, $S)))", field.name, Collections.class,
+						ArrayList.class, Objects.class, field.name, "Required property " + field.name + " is missing");
+			} else if (isList(field.type)) {
+				constructorBuilder.addStatement("this.$N = builder.$N == null ? null : $T.unmodifiableList(new $T<>(builder.$N))", field.name, field.name,
+						Collections.class, ArrayList.class, field.name);
+			} else if (isRequired(field)) {
+				constructorBuilder.addStatement("this.$N = $T.requireNonNull(builder.$N, $S)", field.name, Objects.class, field.name,
+						"Required property " + field.name + " is missing");
+			} else {
+				constructorBuilder.addStatement("this.$N = builder.$N", field.name, field.name);
+			}
+		}
+		constructorBuilder.addStatement("int hash = $L", parentClass != null ? "super.hashCode()" : "1");
+		for (FieldSpec field : fields) {
+			if (field.type.isPrimitive()) {
+				constructorBuilder.addStatement("hash = 31 * hash + $T.hashCode(this.$N)", field.type.box(), field.name);
+			} else {
+				constructorBuilder.addStatement("hash = 31 * hash + $T.hashCode(this.$N)", Objects.class, field.name);
+			}
+		}
+		constructorBuilder.addStatement("this.$N = hash", HASH_CODE_FIELD);
+		return constructorBuilder.build();
+	}
+
+	private MethodSpec createEquals(ClassName modelClass, List<FieldSpec> fields, ClassName parentClass) {
+		MethodSpec.Builder equalsBuilder = MethodSpec.methodBuilder("equals")
+				.addAnnotation(Override.class)
+				.addModifiers(Modifier.PUBLIC)
+				.addParameter(Object.class, "o")
+				.returns(TypeName.BOOLEAN)
+				.beginControlFlow("if (this == o)")
+				.addStatement("return true")
+				.endControlFlow()
+				.beginControlFlow("if (o == null || getClass() != o.getClass())")
+				.addStatement("return false")
+				.endControlFlow();
+		if (parentClass != null) {
+			equalsBuilder.beginControlFlow("if (!super.equals(o))")
+					.addStatement("return false")
+					.endControlFlow();
+		}
+		CodeBlock.Builder comparison = CodeBlock.builder().add("$N == other.$N", HASH_CODE_FIELD, HASH_CODE_FIELD);
+		for (FieldSpec field : fields) {
+			if (TypeName.DOUBLE.equals(field.type) || TypeName.FLOAT.equals(field.type)) {
+				comparison.add("\n&& $T.compare($N, other.$N) == 0", field.type.box(), field.name, field.name);
+			} else if (field.type.isPrimitive()) {
+				comparison.add("\n&& $N == other.$N", field.name, field.name);
+			} else {
+				comparison.add("\n&& $T.equals($N, other.$N)", Objects.class, field.name, field.name);
+			}
+		}
+		return equalsBuilder.addStatement("$T other = ($T) o", modelClass, modelClass)
+				.addStatement("return $L", comparison.build())
+				.build();
+	}
+
+	private TypeSpec createAbstractBuilder(ClassName modelClass, List<FieldSpec> fields, ClassName parentClass) {
+		TypeVariableName self = TypeVariableName.get("B");
+		ClassName abstractBuilderClass = modelClass.nestedClass(ABSTRACT_BUILDER);
+		TypeSpec.Builder builder = TypeSpec.classBuilder(ABSTRACT_BUILDER)
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.ABSTRACT)
+				.addTypeVariable(TypeVariableName.get("B", ParameterizedTypeName.get(abstractBuilderClass, self)));
+		if (parentClass != null) {
+			builder.superclass(ParameterizedTypeName.get(parentClass.nestedClass(ABSTRACT_BUILDER), self));
+		}
+		for (FieldSpec field : fields) {
+			// primitives are boxed in builder, so missing required property can be detected
+			builder.addField(field.type.box(), field.name, Modifier.PRIVATE)
+					.addMethod(MethodSpec.methodBuilder(field.name)
+							.addModifiers(Modifier.PUBLIC)
+							.addParameter(field.type, field.name)
+							.returns(self)
+							.addStatement("this.$N = $N", field.name, field.name)
+							.addStatement("return self()")
+							.build());
+		}
+		if (parentClass == null) {
+			builder.addMethod(MethodSpec.methodBuilder("self")
+					.addModifiers(Modifier.PROTECTED, Modifier.ABSTRACT)
+					.returns(self)
+					.build());
+		}
+		return builder.build();
+	}
+
+	private TypeSpec createBuilder(ClassName modelClass) {
+		ClassName builderClass = modelClass.nestedClass(BUILDER);
+		return TypeSpec.classBuilder(BUILDER)
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+				.addAnnotation(AnnotationSpec.builder(JSON_POJO_BUILDER)
+						.addMember("withPrefix", "$S", "")
+						.build())
+				.superclass(ParameterizedTypeName.get(modelClass.nestedClass(ABSTRACT_BUILDER), builderClass))
+				.addMethod(MethodSpec.methodBuilder("self")
+						.addAnnotation(Override.class)
+						.addModifiers(Modifier.PROTECTED)
+						.returns(builderClass)
+						.addStatement("return this")
+						.build())
+				.addMethod(MethodSpec.methodBuilder("build")
+						.addModifiers(Modifier.PUBLIC)
+						.returns(modelClass)
+						.addStatement("return new $T(this)", modelClass)
+						.build())
+				.build();
+	}
+
+	private boolean isRequired(FieldSpec field) {
+		return field.type.isPrimitive() || field.annotations.stream().anyMatch(annotation -> NOT_NULL.equals(annotation.type));
+	}
+
+	private boolean isList(TypeName type) {
+		return type instanceof ParameterizedTypeName && LIST.equals(((ParameterizedTypeName) type).rawType);
+	}
+
+}
@@ -0,0 +1,418 @@
+package org.spring.openapi.client.generator;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.swagger.v3.oas.models.media.Discriminator;
+
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.JAVA_LANG_PKG;
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.JSON_PACKAGE_SUFFIX;
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.createJavaFile;
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.getNameFromRef;
+
+/**
+ * Generates Jackson serializer and deserializer for every generated model class, so models are (de)serialized by
+ * streaming token loop without reflection. Codec of a child class delegates fields of the parent to the parent codec.
+ * Deserializer of a class owning discriminator dispatches to subclasses using switch over discriminator values.
+ * All codecs are registered by generated JsonCodecModule.
+ */
+public class JsonCodecGenerator {
+
+	public static final String MODULE_NAME = "JsonCodecModule";
+	private static final String CODEC_SUFFIX = "JsonCodec";
+	private static final String JACKSON_CORE_PKG = "com.fasterxml.jackson.core";
+	private static final String JACKSON_DATABIND_PKG = "com.fasterxml.jackson.databind";
+
+	private static final ClassName JSON_GENERATOR = ClassName.get(JACKSON_CORE_PKG, "JsonGenerator");
+	private static final ClassName JSON_PARSER = ClassName.get(JACKSON_CORE_PKG, "JsonParser");
+	private static final ClassName JSON_TOKEN = ClassName.get(JACKSON_CORE_PKG, "JsonToken");
+	private static final ClassName JSON_INCLUDE = ClassName.get("com.fasterxml.jackson.annotation", "JsonInclude");
+	private static final ClassName SERIALIZER_PROVIDER = ClassName.get(JACKSON_DATABIND_PKG, "SerializerProvider");
+	private static final ClassName DESERIALIZATION_CONTEXT = ClassName.get(JACKSON_DATABIND_PKG, "DeserializationContext");
+	private static final ClassName JSON_DESERIALIZER = ClassName.get(JACKSON_DATABIND_PKG, "JsonDeserializer");
+	private static final ClassName JAVA_TYPE = ClassName.get(JACKSON_DATABIND_PKG, "JavaType");
+	private static final ClassName STD_SERIALIZER = ClassName.get(JACKSON_DATABIND_PKG + ".ser.std", "StdSerializer");
+	private static final ClassName STD_DESERIALIZER = ClassName.get(JACKSON_DATABIND_PKG + ".deser.std", "StdDeserializer");
+	private static final ClassName TYPE_SERIALIZER = ClassName.get(JACKSON_DATABIND_PKG + ".jsontype", "TypeSerializer");
+	private static final ClassName TYPE_DESERIALIZER = ClassName.get(JACKSON_DATABIND_PKG + ".jsontype", "TypeDeserializer");
+	private static final ClassName TYPE_FACTORY = ClassName.get(JACKSON_DATABIND_PKG + ".type", "TypeFactory");
+	private static final ClassName TOKEN_BUFFER = ClassName.get(JACKSON_DATABIND_PKG + ".util", "TokenBuffer");
+	private static final ClassName SIMPLE_MODULE = ClassName.get(JACKSON_DATABIND_PKG + ".module", "SimpleModule");
+	// jackson serializers, deserializers and modules are Serializable
+	private static final FieldSpec SERIAL_VERSION_UID = FieldSpec.builder(long.class, "serialVersionUID",
+			Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL).initializer("1L").build();
+
+	private final String targetPackage;
+	private final String jsonPackage;
+	private final ComponentIndex componentIndex;
+
+	public JsonCodecGenerator(String targetPackage, ComponentIndex componentIndex) {
+		this.targetPackage = targetPackage;
+		this.jsonPackage = targetPackage + JSON_PACKAGE_SUFFIX;
+		this.componentIndex = componentIndex;
+	}
+
+	/**
+	 * @param modelFile generated model class, enums are not supported as Jackson handles them without reflection
+	 */
+	public JavaFile createCodec(String componentName, JavaFile modelFile) {
+		TypeSpec modelSpec = modelFile.typeSpec;
+		ClassName modelClass = ClassName.get(targetPackage, componentName);
+		ClassName parentClass = modelSpec.superclass instanceof ClassName && !TypeName.OBJECT.equals(modelSpec.superclass)
+				? (ClassName) modelSpec.superclass : null;
+		Discriminator discriminator = componentIndex.getDiscriminator(componentName);
+		String discriminatorProperty = discriminator == null ? null : discriminator.getPropertyName();
+
+		TypeSpec.Builder codecBuilder = TypeSpec.classBuilder(componentName + CODEC_SUFFIX)
+				.addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+				.addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build());
+		modelSpec.fieldSpecs.stream()
+				.filter(fieldSpec -> fieldSpec.type instanceof ParameterizedTypeName)
+				.forEach(fieldSpec -> codecBuilder.addField(createJavaTypeConstant(fieldSpec, modelClass)));
+		codecBuilder.addMethod(createWriteFields(modelClass, modelSpec.fieldSpecs, parentClass, discriminatorProperty))
+				.addMethod(createReadFields(modelClass))
+				.addMethod(createReadField(modelClass, modelSpec.fieldSpecs, parentClass, discriminatorProperty))
+				.addType(createSerializer(componentName, modelClass, modelSpec.fieldSpecs))
+				.addType(createDeserializer(modelClass, discriminator));
+		return createJavaFile(jsonPackage, codecBuilder);
+	}
+
+	public JavaFile createModule(Collection<String> componentNames) {
+		MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
+				.addModifiers(Modifier.PUBLIC)
+				.addStatement("super($S)", MODULE_NAME);
+		componentNames.stream().sorted().forEach(componentName -> {
+			ClassName codecClass = ClassName.get(jsonPackage, componentName + CODEC_SUFFIX);
+			constructorBuilder.addStatement("addSerializer($T.class, new $T())", ClassName.get(targetPackage, componentName),
+					codecClass.nestedClass("Serializer"));
+			constructorBuilder.addStatement("addDeserializer($T.class, new $T())", ClassName.get(targetPackage, componentName),
+					codecClass.nestedClass("Deserializer"));
+		});
+		TypeSpec.Builder moduleBuilder = TypeSpec.classBuilder(MODULE_NAME)
+				.addModifiers(Modifier.PUBLIC)
+				.superclass(SIMPLE_MODULE)
+				.addJavadoc("Registers generated serializers and deserializers of all models.\n")
+				.addField(SERIAL_VERSION_UID)
+				.addMethod(constructorBuilder.build());
+		return createJavaFile(jsonPackage, moduleBuilder);
+	}
+
+	private FieldSpec createJavaTypeConstant(FieldSpec fieldSpec, ClassName modelClass) {
+		ParameterizedTypeName parameterizedType = (ParameterizedTypeName) fieldSpec.type;
+		CodeBlock.Builder initializer = CodeBlock.builder()
+				.add("$T.defaultInstance().constructParametricType($T.class", TYPE_FACTORY, parameterizedType.rawType);
+		parameterizedType.typeArguments.forEach(typeArgument -> initializer.add(", $T.class", resolveType(typeArgument, modelClass)));
+		return FieldSpec.builder(JAVA_TYPE, toConstantName(fieldSpec.name), Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+				.initializer(initializer.add(")").build())
+				.build();
+	}
+
+	private MethodSpec createWriteFields(ClassName modelClass, List<FieldSpec> fields, ClassName parentClass, String discriminatorProperty) {
+		MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder("writeFields")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addParameter(modelClass, "model")
+				.addParameter(JSON_GENERATOR, "generator")
+				.addParameter(SERIALIZER_PROVIDER, "provider")
+				.addParameter(TypeName.BOOLEAN, "writeNulls")
+				.addException(IOException.class);
+		if (parentClass != null) {
+			methodBuilder.addStatement("$T.writeFields(model, generator, provider, writeNulls)", getCodecClass(parentClass));
+		}
+		for (FieldSpec field : fields) {
+			if (field.name.equals(discriminatorProperty)) {
+				// written by serializer, value is derived from the runtime class
+				continue;
+			}
+			String localName = field.name + "Value";
+			methodBuilder.addStatement("$T $N = model.get$L()", resolveType(field.type, modelClass), localName, StringUtils.capitalize(field.name))
+					.beginControlFlow("if ($N != null)", localName)
+					.addStatement(createWriteStatement(field, localName))
+					.nextControlFlow("else if (writeNulls)")
+					.addStatement("generator.writeNullField($S)", field.name)
+					.endControlFlow();
+		}
+		return methodBuilder.build();
+	}
+
+	private CodeBlock createWriteStatement(FieldSpec field, String localName) {
+		TypeName type = field.type;
+		if (isJavaLang(type, "String")) {
+			return CodeBlock.of("generator.writeStringField($S, $N)", field.name, localName);
+		} else if (isJavaLang(type, "Integer") || isJavaLang(type, "Long") || isJavaLang(type, "Float") || isJavaLang(type, "Double")) {
+			return CodeBlock.of("generator.writeNumberField($S, $N)", field.name, localName);
+		} else if (isJavaLang(type, "Boolean")) {
+			return CodeBlock.of("generator.writeBooleanField($S, $N)", field.name, localName);
+		}
+		return CodeBlock.of("provider.defaultSerializeField($S, $N, generator)", field.name, localName);
+	}
+
+	private MethodSpec createReadFields(ClassName modelClass) {
+		return MethodSpec.methodBuilder("readFields")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addParameter(modelClass, "model")
+				.addParameter(JSON_PARSER, "parser")
+				.addParameter(DESERIALIZATION_CONTEXT, "context")
+				.addParameter(ParameterizedTypeName.get(JSON_DESERIALIZER, WildcardTypeName.subtypeOf(Object.class)), "deserializer")
+				.addException(IOException.class)
+				.addStatement("$T token = parser.currentToken()", JSON_TOKEN)
+				.beginControlFlow("if (token == $T.START_OBJECT)", JSON_TOKEN)
+				.addStatement("token = parser.nextToken()")
+				.endControlFlow()
+				.beginControlFlow("for (; token == $T.FIELD_NAME; token = parser.nextToken())", JSON_TOKEN)
+				.addStatement("$T fieldName = parser.getCurrentName()", String.class)
+				.addStatement("parser.nextToken()")
+				.beginControlFlow("if (!readField(model, fieldName, parser, context))")
+				.addStatement("context.handleUnknownProperty(parser, deserializer, model, fieldName)")
+				.endControlFlow()
+				.endControlFlow()
+				.build();
+	}
+
+	private MethodSpec createReadField(ClassName modelClass, List<FieldSpec> fields, ClassName parentClass, String discriminatorProperty) {
+		MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder("readField")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addParameter(modelClass, "model")
+				.addParameter(String.class, "fieldName")
+				.addParameter(JSON_PARSER, "parser")
+				.addParameter(DESERIALIZATION_CONTEXT, "context")
+				.returns(TypeName.BOOLEAN)
+				.addException(IOException.class)
+				.beginControlFlow("switch (fieldName)");
+		boolean discriminatorPropertyRead = false;
+		for (FieldSpec field : fields) {
+			discriminatorPropertyRead |= field.name.equals(discriminatorProperty);
+			methodBuilder.addCode("case $S:\n", field.name)
+					.addStatement("$>model.set$L(parser.currentToken() == $T.VALUE_NULL ? null : $L)", StringUtils.capitalize(field.name), JSON_TOKEN,
+							createReadExpression(field, modelClass))
+					.addStatement("return true$<");
+		}
+		if (discriminatorProperty != null && !discriminatorPropertyRead) {
+			methodBuilder.addCode("case $S:\n", discriminatorProperty)
+					.addStatement("$>parser.skipChildren()")
+					.addStatement("return true$<");
+		}
+		methodBuilder.addCode("default:\n");
+		if (parentClass != null) {
+			methodBuilder.addStatement("$>return $T.readField(model, fieldName, parser, context)$<", getCodecClass(parentClass));
+		} else {
+			methodBuilder.addStatement("$>return false$<");
+		}
+		return methodBuilder.endControlFlow().build();
+	}
+
+	private CodeBlock createReadExpression(FieldSpec field, ClassName modelClass) {
+		TypeName type = field.type;
+		if (type instanceof ParameterizedTypeName) {
+			return CodeBlock.of("context.readValue(parser, $N)", toConstantName(field.name));
+		} else if (isJavaLang(type, "String")) {
+			return CodeBlock.of("parser.currentToken() == $T.VALUE_STRING ? parser.getText() : context.readValue(parser, $T.class)", JSON_TOKEN, type);
+		} else if (isJavaLang(type, "Integer")) {
+			return CodeBlock.of("parser.currentToken() == $T.VALUE_NUMBER_INT ? $T.valueOf(parser.getIntValue()) : context.readValue(parser, $T.class)",
+					JSON_TOKEN, type, type);
+		} else if (isJavaLang(type, "Long")) {
+			return CodeBlock.of("parser.currentToken() == $T.VALUE_NUMBER_INT ? $T.valueOf(parser.getLongValue()) : context.readValue(parser, $T.class)",
+					JSON_TOKEN, type, type);
+		} else if (isJavaLang(type, "Float")) {
+			return CodeBlock.of("parser.currentToken().isNumeric() ? $T.valueOf(parser.getFloatValue()) : context.readValue(parser, $T.class)", type, type);
+		} else if (isJavaLang(type, "Double")) {
+			return CodeBlock.of("parser.currentToken().isNumeric() ? $T.valueOf(parser.getDoubleValue()) : context.readValue(parser, $T.class)", type, type);
+		} else if (isJavaLang(type, "Boolean")) {
+			return CodeBlock.of("parser.currentToken().isBoolean() ? $T.valueOf(parser.getBooleanValue()) : context.readValue(parser, $T.class)", type, type);
+		}
+		return CodeBlock.of("context.readValue(parser, $T.class)", resolveType(type, modelClass));
+	}
+
+	private TypeSpec createSerializer(String componentName, ClassName modelClass, List<FieldSpec> fields) {
+		MethodSpec.Builder serializeBuilder = MethodSpec.methodBuilder("serialize")
+				.addAnnotation(Override.class)
+				.addModifiers(Modifier.PUBLIC)
+				.addParameter(modelClass, "model")
+				.addParameter(JSON_GENERATOR, "generator")
+				.addParameter(SERIALIZER_PROVIDER, "provider")
+				.addException(IOException.class)
+				.addStatement("$T.Include inclusion = provider.getConfig().getDefaultPropertyInclusion().getValueInclusion()", JSON_INCLUDE)
+				.addStatement("boolean writeNulls = inclusion == $T.Include.ALWAYS || inclusion == $T.Include.USE_DEFAULTS", JSON_INCLUDE, JSON_INCLUDE)
+				.addStatement("generator.writeStartObject(model)");
+		String discriminatorValue = componentIndex.getDiscriminatorValue(componentName);
+		Discriminator ownDiscriminator = componentIndex.getDiscriminator(componentName);
+		if (discriminatorValue != null) {
+			String discriminatorProperty = componentIndex.getDiscriminator(componentIndex.getDiscriminatorOwner(componentName)).getPropertyName();
+			serializeBuilder.addStatement("generator.writeStringField($S, $S)", discriminatorProperty, discriminatorValue);
+		} else if (ownDiscriminator != null && fields.stream().anyMatch(field -> field.name.equals(ownDiscriminator.getPropertyName()))) {
+			String discriminatorProperty = ownDiscriminator.getPropertyName();
+			serializeBuilder.beginControlFlow("if (model.get$L() != null)", StringUtils.capitalize(discriminatorProperty))
+					.addStatement("provider.defaultSerializeField($S, model.get$L(), generator)", discriminatorProperty,
+							StringUtils.capitalize(discriminatorProperty))
+					.endControlFlow();
+		}
+		serializeBuilder.addStatement("writeFields(model, generator, provider, writeNulls)")
+				.addStatement("generator.writeEndObject()");
+
+		return TypeSpec.classBuilder("Serializer")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+				.superclass(ParameterizedTypeName.get(STD_SERIALIZER, modelClass))
+				.addField(SERIAL_VERSION_UID)
+				.addMethod(MethodSpec.constructorBuilder()
+						.addModifiers(Modifier.PUBLIC)
+						.addStatement("super($T.class)", modelClass)
+						.build())
+				.addMethod(serializeBuilder.build())
+				.addMethod(MethodSpec.methodBuilder("serializeWithType")
+						.addAnnotation(Override.class)
+						.addModifiers(Modifier.PUBLIC)
+						.addParameter(modelClass, "model")
+						.addParameter(JSON_GENERATOR, "generator")
+						.addParameter(SERIALIZER_PROVIDER, "provider")
+						.addParameter(TYPE_SERIALIZER, "typeSerializer")
+						.addException(IOException.class)
+						.addComment("discriminator is written by serialize, so type id of annotations is not needed")
+						.addStatement("serialize(model, generator, provider)")
+						.build())
+				.build();
+	}
+
+	private TypeSpec createDeserializer(ClassName modelClass, Discriminator discriminator) {
+		boolean polymorphic = discriminator != null && discriminator.getPropertyName() != null && discriminator.getMapping() != null
+				&& !discriminator.getMapping().isEmpty();
+		TypeSpec.Builder deserializerBuilder = TypeSpec.classBuilder("Deserializer")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+				.superclass(ParameterizedTypeName.get(STD_DESERIALIZER, modelClass))
+				.addField(SERIAL_VERSION_UID)
+				.addMethod(MethodSpec.constructorBuilder()
+						.addModifiers(Modifier.PUBLIC)
+						.addStatement("super($T.class)", modelClass)
+						.build())
+				.addMethod(polymorphic ? createPolymorphicDeserialize(modelClass, discriminator.getPropertyName()) : createDeserialize(modelClass))
+				.addMethod(MethodSpec.methodBuilder("deserializeWithType")
+						.addAnnotation(Override.class)
+						.addModifiers(Modifier.PUBLIC)
+						.addParameter(JSON_PARSER, "parser")
+						.addParameter(DESERIALIZATION_CONTEXT, "context")
+						.addParameter(TYPE_DESERIALIZER, "typeDeserializer")
+						.returns(Object.class)
+						.addException(IOException.class)
+						.addComment("subtypes are resolved by deserialize, so type id of annotations is not needed")
+						.addStatement("return deserialize(parser, context)")
+						.build());
+		if (polymorphic) {
+			deserializerBuilder.addMethod(createDeserializeSubtype(modelClass, discriminator.getMapping()));
+		}
+		return deserializerBuilder.build();
+	}
+
+	private MethodSpec createDeserialize(ClassName modelClass) {
+		return MethodSpec.methodBuilder("deserialize")
+				.addAnnotation(Override.class)
+				.addModifiers(Modifier.PUBLIC)
+				.addParameter(JSON_PARSER, "parser")
+				.addParameter(DESERIALIZATION_CONTEXT, "context")
+				.returns(modelClass)
+				.addException(IOException.class)
+				.addStatement("$T model = new $T()", modelClass, modelClass)
+				.addStatement("readFields(model, parser, context, this)")
+				.addStatement("return model")
+				.build();
+	}
+
+	private MethodSpec createPolymorphicDeserialize(ClassName modelClass, String discriminatorProperty) {
+		return MethodSpec.methodBuilder("deserialize")
+				.addAnnotation(Override.class)
+				.addModifiers(Modifier.PUBLIC)
+				.addParameter(JSON_PARSER, "parser")
+				.addParameter(DESERIALIZATION_CONTEXT, "context")
+				.returns(modelClass)
+				.addException(IOException.class)
+				.addComment("properties preceding the discriminator are buffered, the rest is read directly into the subtype")
+				.addStatement("$T buffer = new $T(parser, context)", TOKEN_BUFFER, TOKEN_BUFFER)
+				.addStatement("$T token = parser.currentToken()", JSON_TOKEN)
+				.beginControlFlow("if (token == $T.START_OBJECT)", JSON_TOKEN)
+				.addStatement("token = parser.nextToken()")
+				.endControlFlow()
+				.beginControlFlow("for (; token == $T.FIELD_NAME; token = parser.nextToken())", JSON_TOKEN)
+				.addStatement("$T fieldName = parser.getCurrentName()", String.class)
+				.addStatement("parser.nextToken()")
+				.beginControlFlow("if ($S.equals(fieldName) && parser.currentToken() == $T.VALUE_STRING)", discriminatorProperty, JSON_TOKEN)
+				.addStatement("$T discriminatorValue = parser.getText()", String.class)
+				.addStatement("buffer.writeFieldName(fieldName)")
+				.addStatement("buffer.writeString(discriminatorValue)")
+				.addStatement("parser.nextToken()")
+				.addStatement("return deserializeSubtype(discriminatorValue, buffer.asParser(parser.getCodec()), parser, context)")
+				.endControlFlow()
+				.addStatement("buffer.writeFieldName(fieldName)")
+				.addStatement("buffer.copyCurrentStructure(parser)")
+				.endControlFlow()
+				.addStatement("$T model = new $T()", modelClass, modelClass)
+				.addStatement("$T bufferParser = buffer.asParser(parser.getCodec())", JSON_PARSER)
+				.addStatement("bufferParser.nextToken()")
+				.addStatement("readFields(model, bufferParser, context, this)")
+				.addStatement("return model")
+				.build();
+	}
+
+	private MethodSpec createDeserializeSubtype(ClassName modelClass, Map<String, String> mapping) {
+		MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder("deserializeSubtype")
+				.addModifiers(Modifier.PRIVATE)
+				.addParameter(String.class, "discriminatorValue")
+				.addParameter(JSON_PARSER, "bufferParser")
+				.addParameter(JSON_PARSER, "parser")
+				.addParameter(DESERIALIZATION_CONTEXT, "context")
+				.returns(modelClass)
+				.addException(IOException.class)
+				.addStatement("bufferParser.nextToken()")
+				.beginControlFlow("switch (discriminatorValue)");
+		mapping.forEach((discriminatorValue, className) -> {
+			ClassName subtypeClass = ClassName.get(targetPackage, getNameFromRef(className));
+			ClassName subtypeCodec = getCodecClass(subtypeClass);
+			methodBuilder.addCode("case $S: {\n", discriminatorValue)
+					.addStatement("$>$T model = new $T()", subtypeClass, subtypeClass)
+					.addStatement("$T.readFields(model, bufferParser, context, this)", subtypeCodec)
+					.addStatement("$T.readFields(model, parser, context, this)", subtypeCodec)
+					.addStatement("return model$<")
+					.addCode("}\n");
+		});
+		methodBuilder.addCode("default:\n")
+				.addStatement("$>return context.reportInputMismatch(this, $S, discriminatorValue)$<", "Unknown discriminator value [%s]");
+		return methodBuilder.endControlFlow().build();
+	}
+
+	private ClassName getCodecClass(ClassName modelClass) {
+		return ClassName.get(jsonPackage, modelClass.simpleName() + CODEC_SUFFIX);
+	}
+
+	/**
+	 * Nested enums of models are referenced by simple name in the model, codec lives in different package.
+	 */
+	private TypeName resolveType(TypeName type, ClassName modelClass) {
+		if (type instanceof ClassName && StringUtils.isEmpty(((ClassName) type).packageName())) {
+			return modelClass.nestedClass(((ClassName) type).simpleName());
+		}
+		return type;
+	}
+
+	private boolean isJavaLang(TypeName type, String simpleName) {
+		return type instanceof ClassName && Objects.equals(((ClassName) type).packageName(), JAVA_LANG_PKG)
+				&& ((ClassName) type).simpleName().equals(simpleName);
+	}
+
+	private String toConstantName(String fieldName) {
+		return StringUtils.join(StringUtils.splitByCharacterTypeCamelCase(fieldName), '_').toUpperCase() + "_TYPE";
+	}
+
+}
@@ -2,8 +2,20 @@ package org.spring.openapi.client.generator;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import javax.lang.model.element.Modifier;
@@ -20,6 +32,7 @@ import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
@@ -28,9 +41,11 @@ import com.squareup.javapoet.TypeSpec;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.spring.openapi.client.generator.config.ModelStyle;
+import org.spring.openapi.client.generator.config.OpenApiClientGeneratorConfig;
+import org.spring.openapi.client.generator.config.builder.OpenApiClientGeneratorConfigBuilder;
 
-import io.swagger.v3.oas.integration.IntegrationObjectMapperFactory;
-import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Paths;
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.ComposedSchema;
 import io.swagger.v3.oas.models.media.Discriminator;
@@ -39,7 +54,9 @@ import io.swagger.v3.oas.models.media.Schema;
 import static org.apache.commons.lang3.StringUtils.equalsIgnoreCase;
 import static org.spring.openapi.client.generator.ClientGeneratorUtils.JAVA_LANG_PKG;
 import static org.spring.openapi.client.generator.ClientGeneratorUtils.JAVA_TIME_PKG;
-import static org.spring.openapi.client.generator.ClientGeneratorUtils.buildTypeSpec;
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.JSON_PACKAGE_SUFFIX;
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.OPERATIONS_PACKAGE_SUFFIX;
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.createJavaFile;
 import static org.spring.openapi.client.generator.ClientGeneratorUtils.determineParentClassNameUsingDiscriminator;
 import static org.spring.openapi.client.generator.ClientGeneratorUtils.determineParentClassNameUsingOneOf;
 import static org.spring.openapi.client.generator.ClientGeneratorUtils.getNameFromRef;
@@ -48,7 +65,7 @@ import static org.spring.openapi.client.generator.ClientGeneratorUtils.getString
 
 public class OpenApiClientGenerator {
 
-	private Map<String, Schema> allComponents;
+	private ComponentIndex componentIndex;
 
 	public void generateClient(String targetPackage, String openApiSchemaPath, String outputPath) {
 		generateClient(targetPackage, openApiSchemaPath, outputPath, true, false);
@@ -56,32 +73,142 @@ public class OpenApiClientGenerator {
 
 	public void generateClient(String targetPackage, String openApiSchemaPath, String outputPath, boolean generateResourceInterface,
 							   boolean generateDiscriminatorProperty) {
-		try {
-			OpenAPI openAPI = IntegrationObjectMapperFactory.createJson().readValue(new File(openApiSchemaPath), OpenAPI.class);
-			allComponents = openAPI.getComponents().getSchemas();
-			allComponents.entrySet().forEach(schemaEntry -> processSchemaEntry(targetPackage, schemaEntry, outputPath, generateDiscriminatorProperty));
+		generateClient(targetPackage, openApiSchemaPath, outputPath, OpenApiClientGeneratorConfigBuilder.defaultConfig()
+				.withGenerateResourceInterface(generateResourceInterface)
+				.withGenerateDiscriminatorProperty(generateDiscriminatorProperty)
+				.build());
+	}
+
+	public void generateClient(String targetPackage, String openApiSchemaPath, String outputPath, OpenApiClientGeneratorConfig config) {
+		if (config.isGenerateJsonCodecs() && config.getModelStyle() == ModelStyle.IMMUTABLE) {
+			throw new IllegalArgumentException("Json codecs can be generated only for mutable models");
+		}
+		OpenApiStreamingReader openApiReader = new OpenApiStreamingReader(new File(openApiSchemaPath));
+		componentIndex = readComponentIndex(openApiReader, openApiSchemaPath);
 
-			if (generateResourceInterface) {
-				new ResourceInterfaceGenerator(allComponents).generateResourceInterface(openAPI.getPaths(), targetPackage, outputPath);
+		ExecutorService workerExecutor = createExecutor(config.getParallelism(), "openapi-client-worker");
+		ExecutorService writerExecutor = createExecutor(config.getWriterThreads(), "openapi-client-writer");
+		try {
+			GeneratedSourcesWriter sourcesWriter = new GeneratedSourcesWriter(new File(outputPath), writerExecutor);
+			List<CompletableFuture<Void>> tasks = new ArrayList<>();
+			// components are emitted one by one as they are read, schema is released once its class is generated
+			JsonCodecGenerator jsonCodecGenerator = config.isGenerateJsonCodecs() ? new JsonCodecGenerator(targetPackage, componentIndex) : null;
+			Set<String> codecComponentNames = ConcurrentHashMap.newKeySet();
+			ImmutableModelGenerator immutableModelGenerator = new ImmutableModelGenerator();
+			Paths paths = readComponents(openApiReader, openApiSchemaPath, (componentName, schema) -> tasks.add(
+					CompletableFuture.supplyAsync(() -> {
+						JavaFile modelFile = createModelFile(targetPackage, componentName, schema, config.isGenerateDiscriminatorProperty());
+						if (modelFile.typeSpec.kind != TypeSpec.Kind.CLASS) {
+							return Collections.singletonList(modelFile);
+						}
+						if (config.getModelStyle() == ModelStyle.IMMUTABLE) {
+							modelFile = immutableModelGenerator.createImmutableModel(modelFile);
+						}
+						if (jsonCodecGenerator == null) {
+							return Collections.singletonList(modelFile);
+						}
+						codecComponentNames.add(componentName);
+						return Arrays.asList(modelFile, jsonCodecGenerator.createCodec(componentName, modelFile));
+					}, workerExecutor)
+							.thenCompose(sourcesWriter::writeAll)
+			));
+			if (jsonCodecGenerator != null) {
+				// all component tasks are submitted, module is created once they are done
+				tasks.add(CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0]))
+						.thenApplyAsync(ignored -> jsonCodecGenerator.createModule(codecComponentNames), workerExecutor)
+						.thenCompose(sourcesWriter::write));
+			}
+			if (config.isGenerateResourceInterface()) {
+				componentIndex.resolveSharedComponents(paths);
+				tasks.add(CompletableFuture.supplyAsync(
+						() -> new ResourceInterfaceGenerator(componentIndex, config.isGenerateResourceImplementation()).createResourceInterfaces(paths, targetPackage), workerExecutor)
+						.thenCompose(sourcesWriter::writeAll)
+				);
 			}
+			awaitAll(tasks);
+			if (config.isDeleteStaleFiles()) {
+				sourcesWriter.deleteStaleFiles(getGeneratedPackages(targetPackage, config));
+			}
+		} finally {
+			workerExecutor.shutdownNow();
+			writerExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return packages this configuration generates sources into, only these are cleaned by deleteStaleFiles
+	 */
+	public static List<String> getGeneratedPackages(String targetPackage, OpenApiClientGeneratorConfig config) {
+		List<String> packages = new ArrayList<>();
+		packages.add(targetPackage);
+		if (config.isGenerateResourceInterface()) {
+			packages.add(targetPackage + OPERATIONS_PACKAGE_SUFFIX);
+		}
+		if (config.isGenerateJsonCodecs()) {
+			packages.add(targetPackage + JSON_PACKAGE_SUFFIX);
+		}
+		return packages;
+	}
+
+	private ComponentIndex readComponentIndex(OpenApiStreamingReader openApiReader, String openApiSchemaPath) {
+		try {
+			return openApiReader.readComponentIndex();
+		} catch (IOException e) {
+			throw new UncheckedIOException(String.format("Cannot read OpenAPI schema [%s]", openApiSchemaPath), e);
+		}
+	}
+
+	private Paths readComponents(OpenApiStreamingReader openApiReader, String openApiSchemaPath, BiConsumer<String, Schema> componentConsumer) {
+		try {
+			return openApiReader.readComponents(componentConsumer);
 		} catch (IOException e) {
-			e.printStackTrace();
+			throw new UncheckedIOException(String.format("Cannot read OpenAPI schema [%s]", openApiSchemaPath), e);
+		}
+	}
+
+	private ExecutorService createExecutor(int threads, String threadNamePrefix) {
+		AtomicInteger threadCounter = new AtomicInteger();
+		return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+			Thread thread = new Thread(runnable, threadNamePrefix + "-" + threadCounter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Waits for all tasks. Failures are reported in schema order, so the same broken schema produces the same error
+	 * regardless of thread scheduling.
+	 */
+	private void awaitAll(List<CompletableFuture<Void>> tasks) {
+		RuntimeException failure = null;
+		for (CompletableFuture<Void> task : tasks) {
+			try {
+				task.join();
+			} catch (CompletionException e) {
+				RuntimeException cause = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+				if (failure == null) {
+					failure = cause;
+				} else {
+					failure.addSuppressed(cause);
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
 		}
 	}
 
-	private void processSchemaEntry(String targetPackage, Map.Entry<String, Schema> schemaEntry, String outputPath, boolean generateDiscriminatorProperty) {
-		Schema schema = schemaEntry.getValue();
+	private JavaFile createModelFile(String targetPackage, String componentName, Schema schema, boolean generateDiscriminatorProperty) {
 		if (schema.getEnum() != null) {
-			TypeSpec.Builder typeSpecBuilder = createEnumClass(schemaEntry.getKey(), schema);
-			buildTypeSpec(targetPackage, typeSpecBuilder, outputPath);
-			return;
+			TypeSpec.Builder typeSpecBuilder = createEnumClass(componentName, schema);
+			return createJavaFile(targetPackage, typeSpecBuilder);
 		}
-		TypeSpec.Builder typeSpecBuilder = TypeSpec.classBuilder(schemaEntry.getKey()).addModifiers(Modifier.PUBLIC);
+		TypeSpec.Builder typeSpecBuilder = TypeSpec.classBuilder(componentName).addModifiers(Modifier.PUBLIC);
 		if (schema instanceof ComposedSchema) {
 			ComposedSchema composedSchema = (ComposedSchema) schema;
 			if (CollectionUtils.isNotEmpty(composedSchema.getAllOf())) {
 				typeSpecBuilder
-						.superclass(ClassName.get(targetPackage, getNameFromRef(composedSchema.getAllOf().get(0).get$ref())))
+						.superclass(ClassName.get(targetPackage, componentIndex.getParentName(componentName)))
 						.build();
 			}
 			schema = composedSchema.getAllOf().get(1);
@@ -94,7 +221,7 @@ public class OpenApiClientGenerator {
 					generateDiscriminatorProperty);
 		}
 
-		buildTypeSpec(targetPackage, typeSpecBuilder, outputPath);
+		return createJavaFile(targetPackage, typeSpecBuilder);
 	}
 
 	private void parseProperties(TypeSpec.Builder typeSpecBuilder, Map<String, Schema> properties, String targetPackage, List<String> requiredFields,
@@ -113,10 +240,10 @@ public class OpenApiClientGenerator {
 				// simple no inheritance
 				fieldSpecBuilder = createSimpleFieldSpec(targetPackage, getNameFromRef(innerSchema.get$ref()), propertyEntry.getKey(), typeSpecBuilder);
 			} else if (innerSchema instanceof ComposedSchema && CollectionUtils.isNotEmpty(((ComposedSchema) innerSchema).getAllOf())) {
-				fieldSpecBuilder = createSimpleFieldSpec(targetPackage, determineParentClassNameUsingOneOf(innerSchema, propertyEntry.getKey(), allComponents), propertyEntry.getKey(), typeSpecBuilder);
+				fieldSpecBuilder = createSimpleFieldSpec(targetPackage, determineParentClassNameUsingOneOf(innerSchema, propertyEntry.getKey(), componentIndex), propertyEntry.getKey(), typeSpecBuilder);
 			} else if (innerSchema.getDiscriminator() != null) {
 				// complicated inheritance - identify target class
-				fieldSpecBuilder = createSimpleFieldSpec(targetPackage, determineParentClassNameUsingDiscriminator(innerSchema, propertyEntry.getKey(), allComponents), propertyEntry.getKey(), typeSpecBuilder);
+				fieldSpecBuilder = createSimpleFieldSpec(targetPackage, determineParentClassNameUsingDiscriminator(innerSchema, propertyEntry.getKey(), componentIndex), propertyEntry.getKey(), typeSpecBuilder);
 			} else {
 				throw new IllegalArgumentException("Incorrect schema. One of [type, $ref, discriminator+oneOf] has to be defined in property schema");
 			}
@@ -163,9 +290,9 @@ public class OpenApiClientGenerator {
 		} else if (arrayItemsSchema.get$ref() != null) {
 			return ClassName.get(targetPackage, getNameFromRef(arrayItemsSchema.get$ref()));
 		} else if (arrayItemsSchema instanceof ComposedSchema && CollectionUtils.isNotEmpty(((ComposedSchema) arrayItemsSchema).getAllOf())) {
-			return ClassName.get(targetPackage, determineParentClassNameUsingOneOf(arrayItemsSchema, "innerArray", allComponents));
+			return ClassName.get(targetPackage, determineParentClassNameUsingOneOf(arrayItemsSchema, "innerArray", componentIndex));
 		} else if (arrayItemsSchema.getDiscriminator() != null) {
-			return ClassName.get(targetPackage, determineParentClassNameUsingDiscriminator(arrayItemsSchema, "innerArray", allComponents));
+			return ClassName.get(targetPackage, determineParentClassNameUsingDiscriminator(arrayItemsSchema, "innerArray", componentIndex));
 		}
 		return ClassName.get(JAVA_LANG_PKG, "Object");
 	}
@@ -293,7 +420,7 @@ public class OpenApiClientGenerator {
 			List<AnnotationSpec> annotationSpecs = discriminator.getMapping().entrySet().stream()
 					.map(discriminatorMappingEntry ->
 							AnnotationSpec.builder(Type.class)
-									.addMember("value", "$T.class", ClassName.get(targetPackage, discriminatorMappingEntry.getValue()))
+									.addMember("value", "$T.class", ClassName.get(targetPackage, getNameFromRef(discriminatorMappingEntry.getValue())))
 									.addMember("name", "$S", discriminatorMappingEntry.getKey())
 									.build())
 					.collect(Collectors.toList());
@@ -0,0 +1,346 @@
+package org.spring.openapi.client.generator;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import io.swagger.v3.oas.integration.IntegrationObjectMapperFactory;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+/**
+ * Reads OpenAPI spec using streaming parser, so the whole document is never materialized at once. Only
+ * components.schemas, components.parameters, components.responses and paths are read, other sections are skipped.
+ * Spec can be JSON or YAML, optionally gzip compressed. Format is detected for every opened file, gzip by its magic
+ * bytes and YAML by .yaml / .yml extension or by the first character of the document.
+ * <p>
+ * Spec can be also sharded into multiple files listed in manifest.json, schema file is then the directory, the manifest
+ * or the root file next to it. Shards are read one by one and their relative $refs are turned back to internal
+ * references, e.g. ../components/schemas.json#/Car becomes #/components/schemas/Car.
+ */
+public class OpenApiStreamingReader {
+
+	private static final String COMPONENTS = "components";
+	private static final String SCHEMAS = "schemas";
+	private static final String PARAMETERS = "parameters";
+	private static final String RESPONSES = "responses";
+	private static final String PATHS = "paths";
+	private static final String GZIP_EXTENSION = ".gz";
+	private static final String MANIFEST_FILE_NAME = "manifest.json";
+	private static final String ROOT_KIND = "root";
+	private static final String COMPONENT_REF_PREFIX = "#/components/";
+	private static final String REF = "$ref";
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final File schemaFile;
+	private final ObjectMapper objectMapper;
+
+	public OpenApiStreamingReader(File schemaFile) {
+		this.schemaFile = schemaFile;
+		this.objectMapper = IntegrationObjectMapperFactory.createJson();
+	}
+
+	/**
+	 * First pass, builds and validates index of parents and discriminators. Schemas themselves are skipped token by token,
+	 * shared parameters and responses are read whole.
+	 */
+	public ComponentIndex readComponentIndex() throws IOException {
+		ComponentIndex componentIndex = new ComponentIndex();
+		walkSpec((componentName, componentParser) -> indexComponent(componentName, componentParser, componentIndex),
+				(parameterName, parameterParser) -> componentIndex.addSharedParameter(parameterName, objectMapper.readValue(parameterParser, Parameter.class)),
+				(responseName, responseParser) -> componentIndex.addSharedResponse(responseName, objectMapper.readValue(responseParser, ApiResponse.class)),
+				null);
+		componentIndex.validate();
+		return componentIndex;
+	}
+
+	/**
+	 * Second pass, every component schema is deserialized separately and handed over to consumer, so it can be
+	 * released right after the class is generated.
+	 *
+	 * @return paths of the spec or empty paths if spec does not contain any
+	 */
+	public Paths readComponents(BiConsumer<String, Schema> componentConsumer) throws IOException {
+		Paths paths = new Paths();
+		walkSpec((componentName, componentParser) -> componentConsumer.accept(componentName, objectMapper.readValue(componentParser, Schema.class)),
+				null,
+				null,
+				pathsParser -> paths.putAll(objectMapper.readValue(pathsParser, Paths.class)));
+		return paths;
+	}
+
+	private void walkSpec(ComponentHandler componentHandler, ComponentHandler parameterHandler, ComponentHandler responseHandler,
+						  PathsHandler pathsHandler) throws IOException {
+		File manifestFile = getManifestFile();
+		if (manifestFile == null) {
+			try (JsonParser parser = createParser(schemaFile)) {
+				walkDocument(parser, componentHandler, parameterHandler, responseHandler, pathsHandler);
+			}
+			return;
+		}
+		for (JsonNode shard : objectMapper.readTree(manifestFile).path("files")) {
+			String kind = shard.path("kind").asText();
+			if (ROOT_KIND.equals(kind)) {
+				continue;
+			}
+			JsonNode content;
+			try (JsonParser parser = createParser(new File(manifestFile.getParentFile(), shard.path("path").asText()))) {
+				content = objectMapper.readTree(parser);
+			}
+			normalizeRefs(content, PATHS.equals(kind) ? null : kind);
+			ObjectNode document = objectMapper.createObjectNode();
+			if (PATHS.equals(kind)) {
+				document.set(PATHS, content);
+			} else {
+				document.putObject(COMPONENTS).set(kind, content);
+			}
+			try (JsonParser parser = objectMapper.treeAsTokens(document)) {
+				walkDocument(parser, componentHandler, parameterHandler, responseHandler, pathsHandler);
+			}
+		}
+	}
+
+	/**
+	 * @return manifest of sharded spec or null when schema file is single document
+	 */
+	private File getManifestFile() throws IOException {
+		if (schemaFile.isDirectory()) {
+			return new File(schemaFile, MANIFEST_FILE_NAME);
+		}
+		if (MANIFEST_FILE_NAME.equals(schemaFile.getName())) {
+			return schemaFile;
+		}
+		File manifestFile = new File(schemaFile.getAbsoluteFile().getParentFile(), MANIFEST_FILE_NAME);
+		if (manifestFile.isFile() && schemaFile.getName().equals(objectMapper.readTree(manifestFile).path(ROOT_KIND).asText())) {
+			return manifestFile;
+		}
+		return null;
+	}
+
+	/**
+	 * Turns relative references between shards back to internal references of single document.
+	 *
+	 * @param componentKind components section stored in the shard, null for paths shard
+	 */
+	private void normalizeRefs(JsonNode node, String componentKind) {
+		if (node.isObject()) {
+			JsonNode ref = node.get(REF);
+			if (ref != null && ref.isTextual()) {
+				((ObjectNode) node).put(REF, normalizeRef(ref.asText(), componentKind));
+			}
+		}
+		if (node.isContainerNode()) {
+			node.forEach(child -> normalizeRefs(child, componentKind));
+		}
+	}
+
+	private String normalizeRef(String ref, String componentKind) {
+		int pointerIndex = ref.indexOf("#/");
+		if (pointerIndex < 0 || ref.startsWith(COMPONENT_REF_PREFIX) || ref.contains(":")) {
+			return ref;
+		}
+		String name = ref.substring(pointerIndex + 2);
+		if (pointerIndex == 0) {
+			return componentKind == null ? ref : COMPONENT_REF_PREFIX + componentKind + "/" + name;
+		}
+		String fileName = new File(ref.substring(0, pointerIndex)).getName();
+		if (fileName.endsWith(GZIP_EXTENSION)) {
+			fileName = fileName.substring(0, fileName.length() - GZIP_EXTENSION.length());
+		}
+		int extensionIndex = fileName.lastIndexOf('.');
+		return COMPONENT_REF_PREFIX + (extensionIndex < 0 ? fileName : fileName.substring(0, extensionIndex)) + "/" + name;
+	}
+
+	private JsonParser createParser(File file) throws IOException {
+		InputStream inputStream = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+		try {
+			if (isGzip(inputStream)) {
+				inputStream = new BufferedInputStream(new GZIPInputStream(inputStream, BUFFER_SIZE), BUFFER_SIZE);
+			}
+			JsonFactory parserFactory = isYaml(file, inputStream) ? new YAMLFactory(objectMapper) : objectMapper.getFactory();
+			return parserFactory.createParser(inputStream);
+		} catch (IOException e) {
+			inputStream.close();
+			throw e;
+		}
+	}
+
+	private boolean isGzip(InputStream inputStream) throws IOException {
+		inputStream.mark(2);
+		int firstByte = inputStream.read();
+		int secondByte = inputStream.read();
+		inputStream.reset();
+		return firstByte == (GZIPInputStream.GZIP_MAGIC & 0xff) && secondByte == (GZIPInputStream.GZIP_MAGIC >> 8);
+	}
+
+	private boolean isYaml(File file, InputStream inputStream) throws IOException {
+		String fileName = file.getName().toLowerCase();
+		if (fileName.endsWith(GZIP_EXTENSION)) {
+			fileName = fileName.substring(0, fileName.length() - GZIP_EXTENSION.length());
+		}
+		if (fileName.endsWith(".yaml") || fileName.endsWith(".yml")) {
+			return true;
+		}
+		if (fileName.endsWith(".json")) {
+			return false;
+		}
+		inputStream.mark(BUFFER_SIZE);
+		try {
+			int character;
+			while ((character = inputStream.read()) != -1) {
+				if (!Character.isWhitespace(character)) {
+					return character != '{';
+				}
+			}
+			return false;
+		} finally {
+			inputStream.reset();
+		}
+	}
+
+	private void walkDocument(JsonParser parser, ComponentHandler componentHandler, ComponentHandler parameterHandler,
+							  ComponentHandler responseHandler, PathsHandler pathsHandler) throws IOException {
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			throw new IllegalArgumentException(String.format("OpenAPI spec [%s] has to be JSON or YAML object", schemaFile));
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			parser.nextToken();
+			if (COMPONENTS.equals(fieldName) && parser.currentToken() == JsonToken.START_OBJECT) {
+				walkComponents(parser, componentHandler, parameterHandler, responseHandler);
+			} else if (PATHS.equals(fieldName) && pathsHandler != null && parser.currentToken() == JsonToken.START_OBJECT) {
+				pathsHandler.handle(parser);
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	private void walkComponents(JsonParser parser, ComponentHandler componentHandler, ComponentHandler parameterHandler,
+								ComponentHandler responseHandler) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			parser.nextToken();
+			ComponentHandler handler = getComponentHandler(fieldName, componentHandler, parameterHandler, responseHandler);
+			if (handler == null || parser.currentToken() != JsonToken.START_OBJECT) {
+				parser.skipChildren();
+				continue;
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String componentName = parser.getCurrentName();
+				parser.nextToken();
+				handler.handle(componentName, parser);
+			}
+		}
+	}
+
+	private ComponentHandler getComponentHandler(String sectionName, ComponentHandler componentHandler, ComponentHandler parameterHandler,
+												 ComponentHandler responseHandler) {
+		if (SCHEMAS.equals(sectionName)) {
+			return componentHandler;
+		}
+		if (PARAMETERS.equals(sectionName)) {
+			return parameterHandler;
+		}
+		return RESPONSES.equals(sectionName) ? responseHandler : null;
+	}
+
+	private void indexComponent(String componentName, JsonParser parser, ComponentIndex componentIndex) throws IOException {
+		componentIndex.addComponent(componentName);
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return;
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			parser.nextToken();
+			if ("allOf".equals(fieldName) && parser.currentToken() == JsonToken.START_ARRAY) {
+				indexAllOf(componentName, parser, componentIndex);
+			} else if ("discriminator".equals(fieldName) && parser.currentToken() == JsonToken.START_OBJECT) {
+				componentIndex.addDiscriminator(componentName, readDiscriminator(parser));
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	private void indexAllOf(String componentName, JsonParser parser, ComponentIndex componentIndex) throws IOException {
+		boolean first = true;
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			if (first) {
+				componentIndex.addComposedComponent(componentName, readRef(parser));
+				first = false;
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	private String readRef(JsonParser parser) throws IOException {
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return null;
+		}
+		String ref = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			parser.nextToken();
+			if ("$ref".equals(fieldName)) {
+				ref = parser.getValueAsString();
+			} else {
+				parser.skipChildren();
+			}
+		}
+		return ref;
+	}
+
+	private Discriminator readDiscriminator(JsonParser parser) throws IOException {
+		Discriminator discriminator = new Discriminator();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			parser.nextToken();
+			if ("propertyName".equals(fieldName)) {
+				discriminator.setPropertyName(parser.getValueAsString());
+			} else if ("mapping".equals(fieldName) && parser.currentToken() == JsonToken.START_OBJECT) {
+				Map<String, String> mapping = new LinkedHashMap<>();
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String discriminatorValue = parser.getCurrentName();
+					parser.nextToken();
+					mapping.put(discriminatorValue, parser.getValueAsString());
+				}
+				discriminator.setMapping(mapping);
+			} else {
+				parser.skipChildren();
+			}
+		}
+		return discriminator;
+	}
+
+	@FunctionalInterface
+	private interface ComponentHandler {
+		void handle(String componentName, JsonParser parser) throws IOException;
+	}
+
+	@FunctionalInterface
+	private interface PathsHandler {
+		void handle(JsonParser parser) throws IOException;
+	}
+
+}
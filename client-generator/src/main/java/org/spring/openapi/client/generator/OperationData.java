@@ -6,10 +6,16 @@ public class OperationData {
 
 	private final Operation operation;
 	private final String url;
+	private final String httpMethod;
 
 	public OperationData(Operation operation, String url) {
+		this(operation, url, null);
+	}
+
+	public OperationData(Operation operation, String url, String httpMethod) {
 		this.operation = operation;
 		this.url = url;
+		this.httpMethod = httpMethod;
 	}
 
 	public Operation getOperation() {
@@ -19,4 +25,8 @@ public class OperationData {
 	public String getUrl() {
 		return url;
 	}
+
+	public String getHttpMethod() {
+		return httpMethod;
+	}
 }
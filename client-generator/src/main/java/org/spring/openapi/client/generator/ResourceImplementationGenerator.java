@@ -0,0 +1,447 @@
+package org.spring.openapi.client.generator;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.OPERATIONS_PACKAGE_SUFFIX;
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.createJavaFile;
+
+/**
+ * Generates implementations of resource interfaces on top of Java 11 {@code java.net.http.HttpClient}. Generated
+ * ApiHttpClient holds one shared HttpClient (and therefore one connection pool), ObjectMapper and timeouts. Every
+ * resource implementation delegates to it and offers blocking and {@link CompletableFuture} variant of each operation.
+ * Bodies are (de)serialized by Jackson directly from/to bytes and streams. Generated sources require Java 11.
+ */
+public class ResourceImplementationGenerator {
+
+	public static final String API_HTTP_CLIENT = "ApiHttpClient";
+	private static final String IMPLEMENTATION_SUFFIX = "HttpClient";
+	private static final String ASYNC_SUFFIX = "Async";
+	private static final String REQUEST_SUFFIX = "Request";
+	private static final String API_HTTP_CLIENT_FIELD = "apiHttpClient";
+	private static final String MULTIPART_CONTENT_TYPE_PREFIX = "multipart/";
+	private static final String DEFAULT_PART_NAME = "file";
+	private static final String HTTP_PKG = "java.net.http";
+	private static final Pattern PATH_PARAMETER_PATTERN = Pattern.compile("\\{([^}]+)}");
+
+	private static final ClassName HTTP_CLIENT = ClassName.get(HTTP_PKG, "HttpClient");
+	private static final ClassName HTTP_REQUEST = ClassName.get(HTTP_PKG, "HttpRequest");
+	private static final ClassName HTTP_REQUEST_BUILDER = HTTP_REQUEST.nestedClass("Builder");
+	private static final ClassName BODY_PUBLISHER = HTTP_REQUEST.nestedClass("BodyPublisher");
+	private static final ClassName BODY_PUBLISHERS = HTTP_REQUEST.nestedClass("BodyPublishers");
+	private static final ClassName HTTP_RESPONSE = ClassName.get(HTTP_PKG, "HttpResponse");
+	private static final ClassName BODY_HANDLERS = HTTP_RESPONSE.nestedClass("BodyHandlers");
+	private static final ClassName OBJECT_MAPPER = ClassName.get("com.fasterxml.jackson.databind", "ObjectMapper");
+	private static final ClassName JSON_PROCESSING_EXCEPTION = ClassName.get("com.fasterxml.jackson.core", "JsonProcessingException");
+	private static final ClassName URI = ClassName.get("java.net", "URI");
+	private static final ClassName URL_ENCODER = ClassName.get("java.net", "URLEncoder");
+	private static final ClassName DURATION = ClassName.get("java.time", "Duration");
+	private static final ClassName OUTPUT_STREAM = ClassName.get("java.io", "OutputStream");
+	private static final TypeName QUERY_PARAMETERS = ParameterizedTypeName.get(Map.class, String.class, Object.class);
+
+	private final String operationsPackage;
+	private final ClassName apiHttpClient;
+	private final ClassName apiException;
+
+	public ResourceImplementationGenerator(String targetPackage) {
+		this.operationsPackage = targetPackage + OPERATIONS_PACKAGE_SUFFIX;
+		this.apiHttpClient = ClassName.get(operationsPackage, API_HTTP_CLIENT);
+		this.apiException = apiHttpClient.nestedClass("ApiException");
+	}
+
+	/**
+	 * @param operations       operations of the resource
+	 * @param interfaceMethods methods of the resource interface, in the same order as operations
+	 */
+	public JavaFile createImplementation(String resourceName, List<OperationData> operations, List<MethodSpec> interfaceMethods) {
+		TypeSpec.Builder typeSpecBuilder = TypeSpec.classBuilder(resourceName + IMPLEMENTATION_SUFFIX)
+				.addModifiers(Modifier.PUBLIC)
+				.addSuperinterface(ClassName.get(operationsPackage, resourceName))
+				.addField(apiHttpClient, API_HTTP_CLIENT_FIELD, Modifier.PRIVATE, Modifier.FINAL)
+				.addMethod(MethodSpec.constructorBuilder()
+						.addModifiers(Modifier.PUBLIC)
+						.addParameter(apiHttpClient, API_HTTP_CLIENT_FIELD)
+						.addStatement("this.$N = $N", API_HTTP_CLIENT_FIELD, API_HTTP_CLIENT_FIELD)
+						.build());
+		for (int i = 0; i < operations.size(); i++) {
+			addOperation(typeSpecBuilder, operations.get(i), interfaceMethods.get(i));
+		}
+		return createJavaFile(operationsPackage, typeSpecBuilder);
+	}
+
+	private void addOperation(TypeSpec.Builder typeSpecBuilder, OperationData operationData, MethodSpec interfaceMethod) {
+		List<ParameterSpec> parameters = interfaceMethod.parameters.stream()
+				.map(parameter -> ParameterSpec.builder(parameter.type, parameter.name).build())
+				.collect(Collectors.toList());
+		String arguments = parameters.stream().map(parameter -> parameter.name).collect(Collectors.joining(", "));
+		String requestMethodName = interfaceMethod.name + REQUEST_SUFFIX;
+		boolean isVoid = TypeName.VOID.equals(interfaceMethod.returnType);
+		TypeName responseType = isVoid ? ClassName.get(Void.class) : interfaceMethod.returnType;
+
+		MethodSpec.Builder syncMethod = MethodSpec.methodBuilder(interfaceMethod.name)
+				.addAnnotation(Override.class)
+				.addModifiers(Modifier.PUBLIC)
+				.addParameters(parameters)
+				.returns(interfaceMethod.returnType);
+		if (isVoid) {
+			syncMethod.addStatement("$N.send($N($L), $T.class)", API_HTTP_CLIENT_FIELD, requestMethodName, arguments, responseType);
+		} else {
+			syncMethod.addStatement("return $N.send($N($L), $T.class)", API_HTTP_CLIENT_FIELD, requestMethodName, arguments, responseType);
+		}
+
+		MethodSpec asyncMethod = MethodSpec.methodBuilder(interfaceMethod.name + ASYNC_SUFFIX)
+				.addModifiers(Modifier.PUBLIC)
+				.addParameters(parameters)
+				.returns(ParameterizedTypeName.get(ClassName.get(CompletableFuture.class), responseType))
+				.addStatement("return $N.sendAsync($N($L), $T.class)", API_HTTP_CLIENT_FIELD, requestMethodName, arguments, responseType)
+				.build();
+
+		typeSpecBuilder.addMethod(syncMethod.build())
+				.addMethod(asyncMethod)
+				.addMethod(createRequestMethod(requestMethodName, operationData, parameters));
+	}
+
+	private MethodSpec createRequestMethod(String requestMethodName, OperationData operationData, List<ParameterSpec> parameters) {
+		Operation operation = operationData.getOperation();
+		List<Parameter> operationParameters = operation.getParameters() == null ? Collections.emptyList() : operation.getParameters();
+		Map<String, String> pathParameters = new HashMap<>();
+		Map<String, String> queryParameters = new LinkedHashMap<>();
+		Map<String, String> headerParameters = new LinkedHashMap<>();
+		Map<String, String> cookieParameters = new LinkedHashMap<>();
+		for (int i = 0; i < operationParameters.size(); i++) {
+			Parameter parameter = operationParameters.get(i);
+			String javaName = parameters.get(i).name;
+			if ("path".equals(parameter.getIn())) {
+				pathParameters.put(parameter.getName(), javaName);
+			} else if ("header".equals(parameter.getIn())) {
+				headerParameters.put(parameter.getName(), javaName);
+			} else if ("cookie".equals(parameter.getIn())) {
+				cookieParameters.put(parameter.getName(), javaName);
+			} else {
+				queryParameters.put(parameter.getName(), javaName);
+			}
+		}
+
+		MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(requestMethodName)
+				.addModifiers(Modifier.PRIVATE)
+				.addParameters(parameters)
+				.returns(HTTP_REQUEST);
+		if (queryParameters.isEmpty()) {
+			methodBuilder.addStatement("$T queryParameters = $T.emptyMap()", QUERY_PARAMETERS, Collections.class);
+		} else {
+			methodBuilder.addStatement("$T queryParameters = new $T<>()", QUERY_PARAMETERS, LinkedHashMap.class);
+			queryParameters.forEach((name, javaName) -> methodBuilder.addStatement("queryParameters.put($S, $N)", name, javaName));
+		}
+		methodBuilder.addStatement("$T requestBuilder = $N.newRequest($L, queryParameters)", HTTP_REQUEST_BUILDER, API_HTTP_CLIENT_FIELD,
+				createPathExpression(operationData.getUrl(), pathParameters));
+		headerParameters.forEach((name, javaName) -> methodBuilder
+				.beginControlFlow("if ($N != null)", javaName)
+				.addStatement("requestBuilder.header($S, $T.valueOf($N))", name, String.class, javaName)
+				.endControlFlow());
+		cookieParameters.forEach((name, javaName) -> methodBuilder
+				.beginControlFlow("if ($N != null)", javaName)
+				.addStatement("requestBuilder.header($S, $S + $N)", "Cookie", name + "=", javaName)
+				.endControlFlow());
+
+		String httpMethod = operationData.getHttpMethod();
+		if (operation.getRequestBody() == null || operation.getRequestBody().getContent() == null
+				|| operation.getRequestBody().getContent().isEmpty()) {
+			methodBuilder.addStatement("return requestBuilder.method($S, $T.noBody()).build()", httpMethod, BODY_PUBLISHERS);
+			return methodBuilder.build();
+		}
+		Map.Entry<String, MediaType> content = operation.getRequestBody().getContent().entrySet().iterator().next();
+		String requestBody = parameters.get(parameters.size() - 1).name;
+		if (StringUtils.startsWith(content.getKey(), MULTIPART_CONTENT_TYPE_PREFIX)) {
+			methodBuilder.addStatement("return requestBuilder.method($S, $N.multipartBodyPublisher(requestBuilder, $S, $N)).build()", httpMethod,
+					API_HTTP_CLIENT_FIELD, getMultipartPartName(content.getValue().getSchema()), requestBody);
+		} else {
+			methodBuilder.addStatement("requestBuilder.header($S, $S)", "Content-Type", content.getKey())
+					.addStatement("return requestBuilder.method($S, $N.bodyPublisher($N)).build()", httpMethod, API_HTTP_CLIENT_FIELD, requestBody);
+		}
+		return methodBuilder.build();
+	}
+
+	private String getMultipartPartName(Schema<?> schema) {
+		if (schema == null || schema.getProperties() == null) {
+			return DEFAULT_PART_NAME;
+		}
+		return schema.getProperties().entrySet().stream()
+				.filter(property -> "binary".equals(property.getValue().getFormat()))
+				.map(Map.Entry::getKey)
+				.findFirst()
+				.orElse(DEFAULT_PART_NAME);
+	}
+
+	private CodeBlock createPathExpression(String url, Map<String, String> pathParameters) {
+		CodeBlock.Builder pathBuilder = CodeBlock.builder();
+		Matcher matcher = PATH_PARAMETER_PATTERN.matcher(url);
+		int lastEnd = 0;
+		while (matcher.find()) {
+			String javaName = pathParameters.get(matcher.group(1));
+			if (javaName == null) {
+				throw new IllegalArgumentException(String.format("Path parameter [%s] of [%s] is not defined", matcher.group(1), url));
+			}
+			pathBuilder.add("$S + $T.encode($N)", url.substring(lastEnd, matcher.start()), apiHttpClient, javaName);
+			lastEnd = matcher.end();
+			if (lastEnd < url.length()) {
+				pathBuilder.add(" + ");
+			}
+		}
+		if (lastEnd < url.length() || lastEnd == 0) {
+			pathBuilder.add("$S", url.substring(lastEnd));
+		}
+		return pathBuilder.build();
+	}
+
+	/**
+	 * Shared runtime of generated resource implementations. One instance should be shared by all resources of
+	 * one API, so they share connection pool of the underlying HttpClient.
+	 */
+	public JavaFile createApiHttpClient() {
+		TypeVariableName typeVariable = TypeVariableName.get("T");
+		TypeName responseClass = ParameterizedTypeName.get(ClassName.get(Class.class), typeVariable);
+		TypeName inputStreamResponse = ParameterizedTypeName.get(HTTP_RESPONSE, ClassName.get(InputStream.class));
+
+		TypeSpec.Builder typeSpecBuilder = TypeSpec.classBuilder(API_HTTP_CLIENT)
+				.addModifiers(Modifier.PUBLIC)
+				.addJavadoc("Shared HTTP runtime of generated resource clients. Share one instance between resources to share connection pool.\n")
+				.addField(FieldSpec.builder(DURATION, "DEFAULT_CONNECT_TIMEOUT", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+						.initializer("$T.ofSeconds(10)", DURATION)
+						.build())
+				.addField(FieldSpec.builder(DURATION, "DEFAULT_REQUEST_TIMEOUT", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+						.initializer("$T.ofSeconds(30)", DURATION)
+						.build())
+				.addField(HTTP_CLIENT, "httpClient", Modifier.PRIVATE, Modifier.FINAL)
+				.addField(URI, "baseUri", Modifier.PRIVATE, Modifier.FINAL)
+				.addField(DURATION, "requestTimeout", Modifier.PRIVATE, Modifier.FINAL)
+				.addField(OBJECT_MAPPER, "objectMapper", Modifier.PRIVATE, Modifier.FINAL);
+
+		typeSpecBuilder.addMethod(MethodSpec.constructorBuilder()
+				.addModifiers(Modifier.PUBLIC)
+				.addParameter(URI, "baseUri")
+				.addStatement("this(baseUri, DEFAULT_CONNECT_TIMEOUT, DEFAULT_REQUEST_TIMEOUT)")
+				.build());
+		typeSpecBuilder.addMethod(MethodSpec.constructorBuilder()
+				.addModifiers(Modifier.PUBLIC)
+				.addParameter(URI, "baseUri")
+				.addParameter(DURATION, "connectTimeout")
+				.addParameter(DURATION, "requestTimeout")
+				.addStatement("this($T.newBuilder().connectTimeout(connectTimeout).build(), baseUri, requestTimeout, new $T().findAndRegisterModules())",
+						HTTP_CLIENT, OBJECT_MAPPER)
+				.build());
+		typeSpecBuilder.addMethod(MethodSpec.constructorBuilder()
+				.addModifiers(Modifier.PUBLIC)
+				.addParameter(HTTP_CLIENT, "httpClient")
+				.addParameter(URI, "baseUri")
+				.addParameter(DURATION, "requestTimeout")
+				.addParameter(OBJECT_MAPPER, "objectMapper")
+				.addStatement("this.httpClient = httpClient")
+				.addStatement("this.baseUri = baseUri")
+				.addStatement("this.requestTimeout = requestTimeout")
+				.addStatement("this.objectMapper = objectMapper")
+				.build());
+
+		typeSpecBuilder.addMethod(MethodSpec.methodBuilder("newRequest")
+				.addModifiers(Modifier.PUBLIC)
+				.addParameter(String.class, "path")
+				.addParameter(QUERY_PARAMETERS, "queryParameters")
+				.returns(HTTP_REQUEST_BUILDER)
+				.addStatement("$T uri = new $T(baseUri.toString())", StringBuilder.class, StringBuilder.class)
+				.beginControlFlow("if (uri.length() > 0 && uri.charAt(uri.length() - 1) == '/')")
+				.addStatement("uri.setLength(uri.length() - 1)")
+				.endControlFlow()
+				.addStatement("uri.append(path)")
+				.addStatement("char separator = '?'")
+				.beginControlFlow("for ($T<$T, $T> queryParameter : queryParameters.entrySet())", Map.Entry.class, String.class, Object.class)
+				.addStatement("$T<?> values = queryParameter.getValue() instanceof $T ? ($T<?>) queryParameter.getValue() : $T.singletonList(queryParameter.getValue())",
+						Iterable.class, Iterable.class, Iterable.class, Collections.class)
+				.beginControlFlow("for ($T value : values)", Object.class)
+				.beginControlFlow("if (value != null)")
+				.addStatement("uri.append(separator).append(encode(queryParameter.getKey())).append('=').append(encode(value))")
+				.addStatement("separator = '&'")
+				.endControlFlow()
+				.endControlFlow()
+				.endControlFlow()
+				.addStatement("return $T.newBuilder($T.create(uri.toString())).timeout(requestTimeout).header($S, $S)", HTTP_REQUEST, URI,
+						"Accept", "application/json")
+				.build());
+
+		typeSpecBuilder.addMethod(MethodSpec.methodBuilder("bodyPublisher")
+				.addModifiers(Modifier.PUBLIC)
+				.addParameter(Object.class, "body")
+				.returns(BODY_PUBLISHER)
+				.beginControlFlow("if (body == null)")
+				.addStatement("return $T.noBody()", BODY_PUBLISHERS)
+				.endControlFlow()
+				.beginControlFlow("try")
+				.beginControlFlow("if (body instanceof $T)", File.class)
+				.addStatement("return $T.ofFile((($T) body).toPath())", BODY_PUBLISHERS, File.class)
+				.endControlFlow()
+				.addStatement("return $T.ofByteArray(objectMapper.writeValueAsBytes(body))", BODY_PUBLISHERS)
+				.nextControlFlow("catch ($T e)", JSON_PROCESSING_EXCEPTION)
+				.addStatement("throw new $T(e)", UncheckedIOException.class)
+				.nextControlFlow("catch ($T e)", FileNotFoundException.class)
+				.addStatement("throw new $T(e)", UncheckedIOException.class)
+				.endControlFlow()
+				.build());
+
+		typeSpecBuilder.addMethod(MethodSpec.methodBuilder("multipartBodyPublisher")
+				.addModifiers(Modifier.PUBLIC)
+				.addParameter(HTTP_REQUEST_BUILDER, "requestBuilder")
+				.addParameter(String.class, "partName")
+				.addParameter(Object.class, "body")
+				.returns(BODY_PUBLISHER)
+				.addStatement("$T boundary = $T.randomUUID().toString()", String.class, UUID.class)
+				.addStatement("requestBuilder.header($S, $S + boundary)", "Content-Type", "multipart/form-data; boundary=")
+				.beginControlFlow("if (body == null)")
+				.addStatement("return $T.ofString($S + boundary + $S, $T.UTF_8)", BODY_PUBLISHERS, "--", "--\r\n", StandardCharsets.class)
+				.endControlFlow()
+				.beginControlFlow("try")
+				.addStatement("boolean isFile = body instanceof $T", File.class)
+				.addStatement("$T fileName = isFile ? $S + (($T) body).getName() + $S : $S", String.class, "; filename=\"", File.class, "\"", "")
+				.addStatement("$T partHeader = $S + boundary + $S + partName + $S + fileName + $S + (isFile ? $S : $S) + $S", String.class,
+						"--", "\r\nContent-Disposition: form-data; name=\"", "\"", "\r\nContent-Type: ", "application/octet-stream",
+						"application/json", "\r\n\r\n")
+				.addStatement("byte[] partContent = isFile ? $T.readAllBytes((($T) body).toPath()) : objectMapper.writeValueAsBytes(body)", Files.class,
+						File.class)
+				.addStatement("return $T.ofByteArrays($T.asList(partHeader.getBytes($T.UTF_8), partContent, ($S + boundary + $S).getBytes($T.UTF_8)))",
+						BODY_PUBLISHERS, Arrays.class, StandardCharsets.class, "\r\n--", "--\r\n", StandardCharsets.class)
+				.nextControlFlow("catch ($T e)", IOException.class)
+				.addStatement("throw new $T(e)", UncheckedIOException.class)
+				.endControlFlow()
+				.build());
+
+		typeSpecBuilder.addMethod(MethodSpec.methodBuilder("send")
+				.addModifiers(Modifier.PUBLIC)
+				.addTypeVariable(typeVariable)
+				.addParameter(HTTP_REQUEST, "request")
+				.addParameter(responseClass, "responseType")
+				.returns(typeVariable)
+				.beginControlFlow("try")
+				.addStatement("return readResponse(httpClient.send(request, $T.ofInputStream()), responseType)", BODY_HANDLERS)
+				.nextControlFlow("catch ($T e)", IOException.class)
+				.addStatement("throw new $T(e)", UncheckedIOException.class)
+				.nextControlFlow("catch ($T e)", InterruptedException.class)
+				.addStatement("$T.currentThread().interrupt()", Thread.class)
+				.addStatement("throw new $T($S, e)", IllegalStateException.class, "HTTP request was interrupted")
+				.endControlFlow()
+				.build());
+
+		typeSpecBuilder.addMethod(MethodSpec.methodBuilder("sendAsync")
+				.addModifiers(Modifier.PUBLIC)
+				.addTypeVariable(typeVariable)
+				.addParameter(HTTP_REQUEST, "request")
+				.addParameter(responseClass, "responseType")
+				.returns(ParameterizedTypeName.get(ClassName.get(CompletableFuture.class), typeVariable))
+				.addStatement("return httpClient.sendAsync(request, $T.ofInputStream()).thenApply(response -> readResponse(response, responseType))",
+						BODY_HANDLERS)
+				.build());
+
+		typeSpecBuilder.addMethod(MethodSpec.methodBuilder("readResponse")
+				.addModifiers(Modifier.PRIVATE)
+				.addTypeVariable(typeVariable)
+				.addParameter(inputStreamResponse, "response")
+				.addParameter(responseClass, "responseType")
+				.returns(typeVariable)
+				.beginControlFlow("try ($T body = response.body())", InputStream.class)
+				.beginControlFlow("if (response.statusCode() < 200 || response.statusCode() >= 300)")
+				.addStatement("throw new $T(response.statusCode(), new $T(body.readAllBytes(), $T.UTF_8))", apiException, String.class,
+						StandardCharsets.class)
+				.endControlFlow()
+				.beginControlFlow("if (responseType == $T.class)", Void.class)
+				.addComment("drain the body, so the connection can be reused")
+				.addStatement("body.transferTo($T.nullOutputStream())", OUTPUT_STREAM)
+				.addStatement("return null")
+				.endControlFlow()
+				.beginControlFlow("if (responseType == $T.class)", File.class)
+				.addStatement("$T file = $T.createTempFile($S, null)", Path.class, Files.class, "response")
+				.addStatement("$T.copy(body, file, $T.REPLACE_EXISTING)", Files.class, StandardCopyOption.class)
+				.addStatement("return responseType.cast(file.toFile())")
+				.endControlFlow()
+				.addStatement("return objectMapper.readValue(body, responseType)")
+				.nextControlFlow("catch ($T e)", IOException.class)
+				.addStatement("throw new $T(e)", UncheckedIOException.class)
+				.endControlFlow()
+				.build());
+
+		typeSpecBuilder.addMethod(MethodSpec.methodBuilder("encode")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addParameter(Object.class, "value")
+				.returns(String.class)
+				.addStatement("return $T.encode($T.valueOf(value), $T.UTF_8).replace($S, $S)", URL_ENCODER, String.class, StandardCharsets.class,
+						"+", "%20")
+				.build());
+
+		typeSpecBuilder.addType(createApiException());
+		return createJavaFile(operationsPackage, typeSpecBuilder);
+	}
+
+	private TypeSpec createApiException() {
+		return TypeSpec.classBuilder(apiException.simpleName())
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.superclass(RuntimeException.class)
+				.addField(FieldSpec.builder(long.class, "serialVersionUID", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+						.initializer("1L")
+						.build())
+				.addField(TypeName.INT, "statusCode", Modifier.PRIVATE, Modifier.FINAL)
+				.addField(String.class, "responseBody", Modifier.PRIVATE, Modifier.FINAL)
+				.addMethod(MethodSpec.constructorBuilder()
+						.addModifiers(Modifier.PUBLIC)
+						.addParameter(TypeName.INT, "statusCode")
+						.addParameter(String.class, "responseBody")
+						.addStatement("super($S + statusCode)", "HTTP request failed with status ")
+						.addStatement("this.statusCode = statusCode")
+						.addStatement("this.responseBody = responseBody")
+						.build())
+				.addMethod(MethodSpec.methodBuilder("getStatusCode")
+						.addModifiers(Modifier.PUBLIC)
+						.returns(TypeName.INT)
+						.addStatement("return statusCode")
+						.build())
+				.addMethod(MethodSpec.methodBuilder("getResponseBody")
+						.addModifiers(Modifier.PUBLIC)
+						.returns(String.class)
+						.addStatement("return responseBody")
+						.build())
+				.build();
+	}
+
+}
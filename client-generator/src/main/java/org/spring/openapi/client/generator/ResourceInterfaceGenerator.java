@@ -1,13 +1,14 @@
 package org.spring.openapi.client.generator;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -17,6 +18,7 @@ import javax.validation.constraints.DecimalMin;
 
 import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
@@ -38,8 +40,9 @@ import io.swagger.v3.oas.models.responses.ApiResponse;
 import static org.apache.commons.lang3.StringUtils.equalsIgnoreCase;
 import static org.spring.openapi.client.generator.ClientGeneratorUtils.JAVA_LANG_PKG;
 import static org.spring.openapi.client.generator.ClientGeneratorUtils.JAVA_TIME_PKG;
-import static org.spring.openapi.client.generator.ClientGeneratorUtils.buildTypeSpec;
-import static org.spring.openapi.client.generator.ClientGeneratorUtils.determineParentClassName;
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.OPERATIONS_PACKAGE_SUFFIX;
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.createJavaFile;
+import static org.spring.openapi.client.generator.ClientGeneratorUtils.determineParentClassNameUsingDiscriminator;
 import static org.spring.openapi.client.generator.ClientGeneratorUtils.determineParentClassNameUsingOneOf;
 import static org.spring.openapi.client.generator.ClientGeneratorUtils.getNameFromRef;
 import static org.spring.openapi.client.generator.ClientGeneratorUtils.getNumberGenericClassName;
@@ -48,24 +51,62 @@ public class ResourceInterfaceGenerator {
 
 	private String targetPackage;
 
-	private final Map<String, Schema> allComponents;
+	private final ComponentIndex componentIndex;
+	private final boolean generateImplementation;
 
-	public ResourceInterfaceGenerator(Map<String, Schema> allComponents) {
-		this.allComponents = allComponents;
+	public ResourceInterfaceGenerator(ComponentIndex componentIndex) {
+		this(componentIndex, false);
+	}
+
+	/**
+	 * @param generateImplementation whether HttpClient based implementation should be generated for every resource interface
+	 */
+	public ResourceInterfaceGenerator(ComponentIndex componentIndex, boolean generateImplementation) {
+		this.componentIndex = componentIndex;
+		this.generateImplementation = generateImplementation;
 	}
 
 	public void generateResourceInterface(Paths paths, String targetPackage, String outputPath) {
+		createResourceInterfaces(paths, targetPackage).forEach(javaFile -> {
+			try {
+				javaFile.writeTo(new File(outputPath));
+			} catch (IOException e) {
+				throw new UncheckedIOException(String.format("Cannot write generated class [%s.%s]", javaFile.packageName, javaFile.typeSpec.name), e);
+			}
+		});
+	}
+
+	public List<JavaFile> createResourceInterfaces(Paths paths, String targetPackage) {
 		this.targetPackage = targetPackage;
-		Map<String, List<OperationData>> resourceMap = new HashMap<>();
+		Map<String, List<OperationData>> resourceMap = new TreeMap<>();
 		paths.entrySet().forEach(pathItemEntry -> addToResourceMap(pathItemEntry, resourceMap));
-		resourceMap.entrySet().forEach(resource -> createInterface(resource, targetPackage, outputPath));
+		if (!generateImplementation) {
+			return resourceMap.entrySet().stream()
+					.map(resource -> createInterface(resource, createMethods(resource.getValue())))
+					.collect(Collectors.toList());
+		}
+		ResourceImplementationGenerator implementationGenerator = new ResourceImplementationGenerator(targetPackage);
+		List<JavaFile> javaFiles = new ArrayList<>();
+		resourceMap.entrySet().forEach(resource -> {
+			List<MethodSpec> methods = createMethods(resource.getValue());
+			javaFiles.add(createInterface(resource, methods));
+			javaFiles.add(implementationGenerator.createImplementation(resource.getKey(), resource.getValue(), methods));
+		});
+		javaFiles.add(implementationGenerator.createApiHttpClient());
+		return javaFiles;
 	}
 
-	private void createInterface(Map.Entry<String, List<OperationData>> resource, String targetPackage, String outputPath) {
+	private List<MethodSpec> createMethods(List<OperationData> operations) {
+		return operations.stream()
+				.map(this::createMethod)
+				.collect(Collectors.toList());
+	}
+
+	private JavaFile createInterface(Map.Entry<String, List<OperationData>> resource, List<MethodSpec> methods) {
 		TypeSpec.Builder typeSpecBuilder = TypeSpec.interfaceBuilder(resource.getKey())
-				.addModifiers(Modifier.PUBLIC);
-		resource.getValue().forEach(operationData -> typeSpecBuilder.addMethod(createMethod(operationData)));
-		buildTypeSpec(targetPackage + ".operations", typeSpecBuilder, outputPath);
+				.addModifiers(Modifier.PUBLIC)
+				.addMethods(methods);
+		return createJavaFile(targetPackage + OPERATIONS_PACKAGE_SUFFIX, typeSpecBuilder);
 	}
 
 	private MethodSpec createMethod(OperationData operationData) {
@@ -124,15 +165,17 @@ public class ResourceInterfaceGenerator {
 	private void addToResourceMap(Map.Entry<String, PathItem> pathItemEntry, Map<String, List<OperationData>> resourceMap) {
 		String url = pathItemEntry.getKey();
 		String resourceName = getResourceName(pathItemEntry.getValue());
-		PathItem pathItem = pathItemEntry.getValue();
-		Stream.of(pathItem.getPost(), pathItem.getPatch(), pathItem.getPut(), pathItem.getHead(), pathItem.getOptions(), pathItem.getGet(), pathItem.getDelete())
-				.filter(Objects::nonNull)
-				.forEach(operation -> {
+		Map<PathItem.HttpMethod, Operation> operationsMap = pathItemEntry.getValue().readOperationsMap();
+		Stream.of(PathItem.HttpMethod.POST, PathItem.HttpMethod.PATCH, PathItem.HttpMethod.PUT, PathItem.HttpMethod.HEAD, PathItem.HttpMethod.OPTIONS,
+				PathItem.HttpMethod.GET, PathItem.HttpMethod.DELETE)
+				.filter(operationsMap::containsKey)
+				.forEach(httpMethod -> {
+					OperationData operationData = new OperationData(operationsMap.get(httpMethod), url, httpMethod.name());
 					if (resourceMap.containsKey(resourceName)) {
-						resourceMap.get(resourceName).add(new OperationData(operation, url));
+						resourceMap.get(resourceName).add(operationData);
 					} else {
 						List<OperationData> operations = new ArrayList<>();
-						operations.add(new OperationData(operation, url));
+						operations.add(operationData);
 						resourceMap.put(resourceName, operations);
 					}
 				});
@@ -160,7 +203,7 @@ public class ResourceInterfaceGenerator {
 			// simple no inheritance
 			return createSimpleParameterSpec(null, getNameFromRef(parameterSchema.get$ref()), parameterName);
 		} else if (parameterSchema instanceof ComposedSchema && CollectionUtils.isNotEmpty(((ComposedSchema) parameterSchema).getAllOf())) {
-			return createSimpleParameterSpec(null, determineParentClassNameUsingOneOf(parameterSchema, parameterName, allComponents), parameterName);
+			return createSimpleParameterSpec(null, determineParentClassNameUsingOneOf(parameterSchema, parameterName, componentIndex), parameterName);
 		} else {
 			throw new IllegalArgumentException("Incorrect schema. One of [type, $ref, discriminator+oneOf] has to be defined in property schema");
 		}
@@ -196,9 +239,9 @@ public class ResourceInterfaceGenerator {
 		} else if (schema.get$ref() != null) {
 			return ClassName.bestGuess(targetPackage + "." + getNameFromRef(schema.get$ref()));
 		} else if (schema instanceof ComposedSchema && CollectionUtils.isNotEmpty(((ComposedSchema) schema).getAllOf())) {
-			return ClassName.bestGuess(targetPackage + "." + determineParentClassNameUsingOneOf(schema, "innerArray", allComponents));
+			return ClassName.bestGuess(targetPackage + "." + determineParentClassNameUsingOneOf(schema, "innerArray", componentIndex));
 		} else if (schema.getDiscriminator() != null) {
-			return ClassName.bestGuess(targetPackage + "." + determineParentClassNameUsingDiscriminator(schema, "innerArray"));
+			return ClassName.bestGuess(targetPackage + "." + determineParentClassNameUsingDiscriminator(schema, "innerArray", componentIndex));
 		} else if ((equalsIgnoreCase(schema.getType(), "object") || equalsIgnoreCase(schema.getType(), "string")) && isFile(schema.getProperties())) {
 			return ClassName.get(File.class);
 		}
@@ -225,14 +268,6 @@ public class ResourceInterfaceGenerator {
 		throw new IllegalArgumentException("Error parsing string based property");
 	}
 
-	private String determineParentClassNameUsingDiscriminator(Schema innerSchema, String fieldName) {
-		Set<Map.Entry<String,String>> discriminatorEntries = innerSchema.getDiscriminator().getMapping().entrySet();
-		if (CollectionUtils.isEmpty(discriminatorEntries)) {
-			throw new IllegalArgumentException("Discriminator needs to have at least one value defined. Field: " + fieldName);
-		}
-		return determineParentClassName(discriminatorEntries.iterator().next().getValue(), allComponents);
-	}
-
 	private ParameterSpec.Builder getNumberBasedSchemaParameter(String fieldName, Schema innerSchema) {
 		ParameterSpec.Builder fieldBuilder = createNumberBasedParameterWithFormat(fieldName, innerSchema);
 		if (innerSchema.getMinimum() != null) {
@@ -0,0 +1,16 @@
+package org.spring.openapi.client.generator.config;
+
+public enum ModelStyle {
+
+	/**
+	 * Classes with getters and setters.
+	 */
+	MUTABLE,
+
+	/**
+	 * Immutable value classes with builders. Required numeric and boolean properties are primitives, collections
+	 * are unmodifiable and hashCode is computed once in constructor.
+	 */
+	IMMUTABLE
+
+}
@@ -0,0 +1,84 @@
+package org.spring.openapi.client.generator.config;
+
+public class OpenApiClientGeneratorConfig {
+
+	private boolean generateResourceInterface = true;
+
+	private boolean generateResourceImplementation;
+
+	private boolean generateDiscriminatorProperty;
+
+	private boolean generateJsonCodecs;
+
+	private ModelStyle modelStyle = ModelStyle.MUTABLE;
+
+	private int parallelism = 1;
+
+	private int writerThreads = 1;
+
+	private boolean deleteStaleFiles;
+
+	public boolean isGenerateResourceInterface() {
+		return generateResourceInterface;
+	}
+
+	public void setGenerateResourceInterface(boolean generateResourceInterface) {
+		this.generateResourceInterface = generateResourceInterface;
+	}
+
+	public boolean isGenerateResourceImplementation() {
+		return generateResourceImplementation;
+	}
+
+	public void setGenerateResourceImplementation(boolean generateResourceImplementation) {
+		this.generateResourceImplementation = generateResourceImplementation;
+	}
+
+	public boolean isGenerateDiscriminatorProperty() {
+		return generateDiscriminatorProperty;
+	}
+
+	public void setGenerateDiscriminatorProperty(boolean generateDiscriminatorProperty) {
+		this.generateDiscriminatorProperty = generateDiscriminatorProperty;
+	}
+
+	public boolean isGenerateJsonCodecs() {
+		return generateJsonCodecs;
+	}
+
+	public void setGenerateJsonCodecs(boolean generateJsonCodecs) {
+		this.generateJsonCodecs = generateJsonCodecs;
+	}
+
+	public ModelStyle getModelStyle() {
+		return modelStyle;
+	}
+
+	public void setModelStyle(ModelStyle modelStyle) {
+		this.modelStyle = modelStyle;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	public int getWriterThreads() {
+		return writerThreads;
+	}
+
+	public void setWriterThreads(int writerThreads) {
+		this.writerThreads = writerThreads;
+	}
+
+	public boolean isDeleteStaleFiles() {
+		return deleteStaleFiles;
+	}
+
+	public void setDeleteStaleFiles(boolean deleteStaleFiles) {
+		this.deleteStaleFiles = deleteStaleFiles;
+	}
+}
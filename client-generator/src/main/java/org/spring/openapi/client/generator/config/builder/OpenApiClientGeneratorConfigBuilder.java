@@ -0,0 +1,83 @@
+package org.spring.openapi.client.generator.config.builder;
+
+import org.spring.openapi.client.generator.config.ModelStyle;
+import org.spring.openapi.client.generator.config.OpenApiClientGeneratorConfig;
+
+public final class OpenApiClientGeneratorConfigBuilder {
+
+	private OpenApiClientGeneratorConfig openApiClientGeneratorConfig;
+
+	private OpenApiClientGeneratorConfigBuilder() {
+		openApiClientGeneratorConfig = new OpenApiClientGeneratorConfig();
+	}
+
+	public static OpenApiClientGeneratorConfigBuilder defaultConfig() {
+		return new OpenApiClientGeneratorConfigBuilder();
+	}
+
+	public OpenApiClientGeneratorConfigBuilder withGenerateResourceInterface(boolean generateResourceInterface) {
+		openApiClientGeneratorConfig.setGenerateResourceInterface(generateResourceInterface);
+		return this;
+	}
+
+	/**
+	 * @param generateResourceImplementation whether Java 11 HttpClient based implementation of every resource interface
+	 *                                       should be generated, requires generateResourceInterface. Models and interfaces
+	 *                                       target Java 8, implementations require Java 11
+	 */
+	public OpenApiClientGeneratorConfigBuilder withGenerateResourceImplementation(boolean generateResourceImplementation) {
+		openApiClientGeneratorConfig.setGenerateResourceImplementation(generateResourceImplementation);
+		return this;
+	}
+
+	public OpenApiClientGeneratorConfigBuilder withGenerateDiscriminatorProperty(boolean generateDiscriminatorProperty) {
+		openApiClientGeneratorConfig.setGenerateDiscriminatorProperty(generateDiscriminatorProperty);
+		return this;
+	}
+
+	/**
+	 * @param generateJsonCodecs whether Jackson serializer and deserializer should be generated for every model class together
+	 *                           with JsonCodecModule registering them
+	 */
+	public OpenApiClientGeneratorConfigBuilder withGenerateJsonCodecs(boolean generateJsonCodecs) {
+		openApiClientGeneratorConfig.setGenerateJsonCodecs(generateJsonCodecs);
+		return this;
+	}
+
+	/**
+	 * @param modelStyle whether models are generated as classes with setters or as immutable classes created by builders
+	 */
+	public OpenApiClientGeneratorConfigBuilder withModelStyle(ModelStyle modelStyle) {
+		openApiClientGeneratorConfig.setModelStyle(modelStyle);
+		return this;
+	}
+
+	/**
+	 * @param parallelism number of threads building java sources, 1 means sequential generation
+	 */
+	public OpenApiClientGeneratorConfigBuilder withParallelism(int parallelism) {
+		openApiClientGeneratorConfig.setParallelism(parallelism);
+		return this;
+	}
+
+	/**
+	 * @param writerThreads number of threads writing generated sources to output directory
+	 */
+	public OpenApiClientGeneratorConfigBuilder withWriterThreads(int writerThreads) {
+		openApiClientGeneratorConfig.setWriterThreads(writerThreads);
+		return this;
+	}
+
+	/**
+	 * @param deleteStaleFiles whether java files of generated packages which do not belong to current spec should be deleted,
+	 *                         off by default as hand written classes in those packages would be deleted as well
+	 */
+	public OpenApiClientGeneratorConfigBuilder withDeleteStaleFiles(boolean deleteStaleFiles) {
+		openApiClientGeneratorConfig.setDeleteStaleFiles(deleteStaleFiles);
+		return this;
+	}
+
+	public OpenApiClientGeneratorConfig build() {
+		return openApiClientGeneratorConfig;
+	}
+}
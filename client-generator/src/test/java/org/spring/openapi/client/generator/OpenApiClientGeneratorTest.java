@@ -1,6 +1,41 @@
 package org.spring.openapi.client.generator;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.commons.io.FileUtils;
 import org.junit.Test;
+import org.spring.openapi.client.generator.config.ModelStyle;
+import org.spring.openapi.client.generator.config.builder.OpenApiClientGeneratorConfigBuilder;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class OpenApiClientGeneratorTest {
 
@@ -14,4 +49,336 @@ public class OpenApiClientGeneratorTest {
 				true);
 	}
 
+	@Test
+	public void testParallelClientGenerationIsSameAsSequential() throws IOException {
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", "target/openapi-sequential",
+				OpenApiClientGeneratorConfigBuilder.defaultConfig().withGenerateDiscriminatorProperty(true).build());
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", "target/openapi-parallel",
+				OpenApiClientGeneratorConfigBuilder.defaultConfig()
+						.withGenerateDiscriminatorProperty(true)
+						.withParallelism(4)
+						.withWriterThreads(2)
+						.build());
+
+		File sequentialDirectory = new File("target/openapi-sequential");
+		File parallelDirectory = new File("target/openapi-parallel");
+		Collection<File> sequentialFiles = FileUtils.listFiles(sequentialDirectory, new String[]{"java"}, true);
+		assertEquals(sequentialFiles.size(), FileUtils.listFiles(parallelDirectory, new String[]{"java"}, true).size());
+		for (File sequentialFile : sequentialFiles) {
+			String relativePath = sequentialDirectory.toPath().relativize(sequentialFile.toPath()).toString();
+			assertEquals(FileUtils.readFileToString(sequentialFile, "UTF-8"),
+					FileUtils.readFileToString(new File(parallelDirectory, relativePath), "UTF-8"));
+		}
+	}
+
+	@Test
+	public void testOnlyChangedFilesAreWritten() throws IOException {
+		File outputDirectory = new File("target/openapi-incremental");
+		FileUtils.deleteDirectory(outputDirectory);
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", outputDirectory.getPath());
+
+		File packageDirectory = new File(outputDirectory, "test/openapi");
+		File staleFile = new File(packageDirectory, "RemovedSchema.java");
+		FileUtils.writeStringToFile(staleFile, "package test.openapi;", "UTF-8");
+		long oldTimestamp = 1000L;
+		for (File generatedFile : FileUtils.listFiles(outputDirectory, new String[]{"java"}, true)) {
+			assertTrue(generatedFile.setLastModified(oldTimestamp));
+		}
+
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", outputDirectory.getPath());
+		// stale files are kept by default, generated packages can contain hand written classes
+		assertTrue(staleFile.exists());
+
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", outputDirectory.getPath(),
+				OpenApiClientGeneratorConfigBuilder.defaultConfig().withDeleteStaleFiles(true).build());
+
+		assertFalse(staleFile.exists());
+		Collection<File> generatedFiles = FileUtils.listFiles(outputDirectory, new String[]{"java"}, true);
+		assertFalse(generatedFiles.isEmpty());
+		for (File generatedFile : generatedFiles) {
+			assertEquals(oldTimestamp, generatedFile.lastModified());
+		}
+	}
+
+	@Test
+	public void testInheritanceIndex() throws IOException {
+		ComponentIndex componentIndex = new OpenApiStreamingReader(new File("src/test/resources/input_example.json")).readComponentIndex();
+		assertEquals("Product", componentIndex.getParentName("Car"));
+		assertEquals(asList("Car", "Laptop"), componentIndex.getChildren("Product"));
+		assertEquals("Laptop", componentIndex.getDiscriminatorClass("Product", "laptop"));
+
+		ComponentIndex cyclicIndex = new ComponentIndex();
+		cyclicIndex.addComponent("A");
+		cyclicIndex.addComponent("B");
+		cyclicIndex.addComposedComponent("A", "#/components/schemas/B");
+		cyclicIndex.addComposedComponent("B", "#/components/schemas/A");
+		try {
+			cyclicIndex.validate();
+			fail("Inheritance cycle has to be rejected");
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("cycle"));
+		}
+	}
+
+	@Test
+	public void testDiscriminatorMappingRefsAreSameAsNames() throws IOException {
+		File refMappingFile = new File("target/input_example_mapping_refs.json");
+		String specContent = FileUtils.readFileToString(new File("src/test/resources/input_example.json"), "UTF-8");
+		String refMappingContent = specContent.replace("\"car\": \"Car\"", "\"car\": \"#/components/schemas/Car\"")
+				.replace("\"laptop\": \"Laptop\"", "\"laptop\": \"#/components/schemas/Laptop\"");
+		assertFalse(specContent.equals(refMappingContent));
+		FileUtils.writeStringToFile(refMappingFile, refMappingContent, "UTF-8");
+
+		ComponentIndex componentIndex = new OpenApiStreamingReader(refMappingFile).readComponentIndex();
+		assertEquals("Laptop", componentIndex.getDiscriminatorClass("Product", "laptop"));
+		assertEquals("car", componentIndex.getDiscriminatorValue("Car"));
+
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", "target/openapi-mapping-names",
+				OpenApiClientGeneratorConfigBuilder.defaultConfig().withGenerateJsonCodecs(true).build());
+		new OpenApiClientGenerator().generateClient("test.openapi", refMappingFile.getPath(), "target/openapi-mapping-refs",
+				OpenApiClientGeneratorConfigBuilder.defaultConfig().withGenerateJsonCodecs(true).build());
+
+		File namesDirectory = new File("target/openapi-mapping-names");
+		File refsDirectory = new File("target/openapi-mapping-refs");
+		Collection<File> nameFiles = FileUtils.listFiles(namesDirectory, new String[]{"java"}, true);
+		assertEquals(nameFiles.size(), FileUtils.listFiles(refsDirectory, new String[]{"java"}, true).size());
+		for (File nameFile : nameFiles) {
+			String relativePath = namesDirectory.toPath().relativize(nameFile.toPath()).toString();
+			assertEquals(FileUtils.readFileToString(nameFile, "UTF-8"),
+					FileUtils.readFileToString(new File(refsDirectory, relativePath), "UTF-8"));
+		}
+	}
+
+	@Test
+	public void testGzippedYamlInputIsSameAsJson() throws IOException {
+		File yamlFile = new File("target/input_example.yaml.gz");
+		JsonNode spec = new ObjectMapper().readTree(new File("src/test/resources/input_example.json"));
+		try (OutputStream outputStream = new GZIPOutputStream(FileUtils.openOutputStream(yamlFile))) {
+			new ObjectMapper(new YAMLFactory()).writeValue(outputStream, spec);
+		}
+
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", "target/openapi-json");
+		new OpenApiClientGenerator().generateClient("test.openapi", yamlFile.getPath(), "target/openapi-yaml");
+
+		File jsonDirectory = new File("target/openapi-json");
+		File yamlDirectory = new File("target/openapi-yaml");
+		Collection<File> jsonFiles = FileUtils.listFiles(jsonDirectory, new String[]{"java"}, true);
+		assertEquals(jsonFiles.size(), FileUtils.listFiles(yamlDirectory, new String[]{"java"}, true).size());
+		for (File jsonFile : jsonFiles) {
+			String relativePath = jsonDirectory.toPath().relativize(jsonFile.toPath()).toString();
+			assertEquals(FileUtils.readFileToString(jsonFile, "UTF-8"),
+					FileUtils.readFileToString(new File(yamlDirectory, relativePath), "UTF-8"));
+		}
+	}
+
+	@Test
+	public void testSharedComponentsAreResolved() throws IOException {
+		File sharedFile = new File("target/input_example_shared.json");
+		ObjectMapper objectMapper = new ObjectMapper();
+		JsonNode spec = objectMapper.readTree(new File("src/test/resources/input_example.json"));
+		ObjectNode sharedParameters = ((ObjectNode) spec.get("components")).putObject("parameters");
+		ObjectNode sharedResponses = ((ObjectNode) spec.get("components")).putObject("responses");
+		for (JsonNode pathItem : spec.get("paths")) {
+			for (JsonNode operation : pathItem) {
+				ArrayNode parameters = (ArrayNode) operation.get("parameters");
+				for (int i = 0; parameters != null && i < parameters.size(); i++) {
+					if ("Test-Global-Header".equals(parameters.get(i).get("name").asText())) {
+						sharedParameters.set("Test-Global-Header", parameters.get(i));
+						parameters.set(i, objectMapper.createObjectNode().put("$ref", "#/components/parameters/Test-Global-Header"));
+					}
+				}
+				ObjectNode responses = (ObjectNode) operation.get("responses");
+				if (responses != null && responses.has("200")) {
+					String responseName = "Response" + sharedResponses.size();
+					sharedResponses.set(responseName, responses.get("200"));
+					responses.set("200", objectMapper.createObjectNode().put("$ref", "#/components/responses/" + responseName));
+				}
+			}
+		}
+		objectMapper.writeValue(sharedFile, spec);
+
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", "target/openapi-inline");
+		new OpenApiClientGenerator().generateClient("test.openapi", sharedFile.getPath(), "target/openapi-shared");
+
+		File inlineDirectory = new File("target/openapi-inline");
+		File sharedDirectory = new File("target/openapi-shared");
+		Collection<File> inlineFiles = FileUtils.listFiles(inlineDirectory, new String[]{"java"}, true);
+		assertEquals(inlineFiles.size(), FileUtils.listFiles(sharedDirectory, new String[]{"java"}, true).size());
+		for (File inlineFile : inlineFiles) {
+			String relativePath = inlineDirectory.toPath().relativize(inlineFile.toPath()).toString();
+			assertEquals(FileUtils.readFileToString(inlineFile, "UTF-8"),
+					FileUtils.readFileToString(new File(sharedDirectory, relativePath), "UTF-8"));
+		}
+	}
+
+	@Test
+	public void testShardedInputIsSameAsSingleFile() throws IOException {
+		File shardedDirectory = new File("target/input_example_sharded");
+		FileUtils.deleteDirectory(shardedDirectory);
+		ObjectMapper objectMapper = new ObjectMapper();
+		String specContent = FileUtils.readFileToString(new File("src/test/resources/input_example.json"), "UTF-8");
+		JsonNode schemas = objectMapper.readTree(specContent.replace("#/components/schemas/", "#/")).get("components").get("schemas");
+		JsonNode paths = objectMapper.readTree(specContent.replace("#/components/schemas/", "../components/schemas.json#/")).get("paths");
+		FileUtils.forceMkdir(new File(shardedDirectory, "components"));
+		objectMapper.writeValue(new File(shardedDirectory, "components/schemas.json"), schemas);
+
+		ObjectNode manifest = objectMapper.createObjectNode().put("root", "swagger.json");
+		ArrayNode manifestFiles = manifest.putArray("files");
+		manifestFiles.addObject().put("path", "components/schemas.json").put("kind", "schemas");
+		Map<String, ObjectNode> tagShards = new LinkedHashMap<>();
+		paths.fields().forEachRemaining(pathEntry -> tagShards.computeIfAbsent(
+				pathEntry.getValue().elements().next().get("tags").get(0).asText(), tag -> objectMapper.createObjectNode())
+				.set(pathEntry.getKey(), pathEntry.getValue()));
+		FileUtils.forceMkdir(new File(shardedDirectory, "paths"));
+		for (Map.Entry<String, ObjectNode> tagShard : tagShards.entrySet()) {
+			String shardPath = "paths/" + tagShard.getKey() + ".json";
+			objectMapper.writeValue(new File(shardedDirectory, shardPath), tagShard.getValue());
+			manifestFiles.addObject().put("path", shardPath).put("kind", "paths");
+		}
+		manifestFiles.addObject().put("path", "swagger.json").put("kind", "root");
+		objectMapper.writeValue(new File(shardedDirectory, "manifest.json"), manifest);
+
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", "target/openapi-single");
+		new OpenApiClientGenerator().generateClient("test.openapi", shardedDirectory.getPath(), "target/openapi-sharded");
+
+		File singleDirectory = new File("target/openapi-single");
+		File shardedOutputDirectory = new File("target/openapi-sharded");
+		Collection<File> singleFiles = FileUtils.listFiles(singleDirectory, new String[]{"java"}, true);
+		assertEquals(singleFiles.size(), FileUtils.listFiles(shardedOutputDirectory, new String[]{"java"}, true).size());
+		for (File singleFile : singleFiles) {
+			String relativePath = singleDirectory.toPath().relativize(singleFile.toPath()).toString();
+			assertEquals(FileUtils.readFileToString(singleFile, "UTF-8"),
+					FileUtils.readFileToString(new File(shardedOutputDirectory, relativePath), "UTF-8"));
+		}
+	}
+
+	@Test
+	public void testResourceImplementationGenerated() throws Exception {
+		File outputDirectory = new File("target/openapi-implementation");
+		FileUtils.deleteDirectory(outputDirectory);
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", outputDirectory.getPath(),
+				OpenApiClientGeneratorConfigBuilder.defaultConfig().withGenerateResourceImplementation(true).build());
+
+		File operationsDirectory = new File(outputDirectory, "test/openapi/operations");
+		assertTrue(new File(operationsDirectory, "ApiHttpClient.java").isFile());
+		String implementation = FileUtils.readFileToString(new File(operationsDirectory, "CarControllerHttpClient.java"), "UTF-8");
+		assertTrue(implementation.contains("public class CarControllerHttpClient implements CarController"));
+		assertTrue(implementation.contains("public CompletableFuture<Car> getCarUsingGETAsync(String testGlobalHeader, String carId)"));
+		assertTrue(implementation.contains("apiHttpClient.newRequest(\"/cars/\" + ApiHttpClient.encode(carId), queryParameters)"));
+
+		// ApiException is Serializable, missing serialVersionUID fails the compilation
+		try (URLClassLoader classLoader = compileGeneratedSources(outputDirectory, "-Xlint:serial", "-Werror")) {
+			Class<?> controllerClass = classLoader.loadClass("test.openapi.operations.CarController");
+			assertTrue(controllerClass.isAssignableFrom(classLoader.loadClass("test.openapi.operations.CarControllerHttpClient")));
+			Class<?> apiExceptionClass = classLoader.loadClass("test.openapi.operations.ApiHttpClient$ApiException");
+			RuntimeException apiException = (RuntimeException) apiExceptionClass.getConstructor(int.class, String.class).newInstance(404, "missing");
+			assertEquals(404, apiExceptionClass.getMethod("getStatusCode").invoke(apiException));
+			assertEquals("missing", apiExceptionClass.getMethod("getResponseBody").invoke(apiException));
+		}
+	}
+
+	@Test
+	public void testJsonCodecsGenerated() throws IOException {
+		File outputDirectory = new File("target/openapi-codecs");
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", outputDirectory.getPath(),
+				OpenApiClientGeneratorConfigBuilder.defaultConfig().withGenerateJsonCodecs(true).build());
+
+		File jsonDirectory = new File(outputDirectory, "test/openapi/json");
+		String module = FileUtils.readFileToString(new File(jsonDirectory, "JsonCodecModule.java"), "UTF-8");
+		assertTrue(module.contains("addDeserializer(Product.class, new ProductJsonCodec.Deserializer())"));
+		String productCodec = FileUtils.readFileToString(new File(jsonDirectory, "ProductJsonCodec.java"), "UTF-8");
+		assertTrue(productCodec.contains("case \"car\": {"));
+		String carCodec = FileUtils.readFileToString(new File(jsonDirectory, "CarJsonCodec.java"), "UTF-8");
+		assertTrue(carCodec.contains("generator.writeStringField(\"type\", \"car\")"));
+		assertTrue(carCodec.contains("return ProductJsonCodec.readField(model, fieldName, parser, context)"));
+	}
+
+	@Test
+	public void testJsonCodecsCompileAndRoundTrip() throws Exception {
+		File outputDirectory = new File("target/openapi-codecs-compiled");
+		FileUtils.deleteDirectory(outputDirectory);
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", outputDirectory.getPath(),
+				OpenApiClientGeneratorConfigBuilder.defaultConfig().withGenerateResourceInterface(false).withGenerateJsonCodecs(true).build());
+
+		// codecs are Serializable, missing serialVersionUID fails the compilation
+		try (URLClassLoader classLoader = compileGeneratedSources(outputDirectory, "-Xlint:serial", "-Werror")) {
+			Class<?> carClass = classLoader.loadClass("test.openapi.Car");
+			Object car = carClass.getConstructor().newInstance();
+			carClass.getMethod("setModel", String.class).invoke(car, "Octavia");
+			carClass.getMethod("setMaxSpeed", Integer.class).invoke(car, 200);
+			carClass.getMethod("setId", String.class).invoke(car, "1");
+			ObjectMapper objectMapper = new ObjectMapper()
+					.registerModule((Module) classLoader.loadClass("test.openapi.json.JsonCodecModule").getConstructor().newInstance());
+
+			String json = objectMapper.writeValueAsString(car);
+			assertTrue(json.contains("\"type\":\"car\""));
+			Object product = objectMapper.readValue(json, classLoader.loadClass("test.openapi.Product"));
+			assertEquals(carClass, product.getClass());
+			assertEquals(json, objectMapper.writeValueAsString(product));
+		}
+	}
+
+	@Test
+	public void testImmutableModelsGenerated() throws IOException {
+		File outputDirectory = new File("target/openapi-immutable");
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", outputDirectory.getPath(),
+				OpenApiClientGeneratorConfigBuilder.defaultConfig().withModelStyle(ModelStyle.IMMUTABLE).build());
+
+		String product = FileUtils.readFileToString(new File(outputDirectory, "test/openapi/Product.java"), "UTF-8");
+		assertTrue(product.contains("private final int amount;"));
+		assertTrue(product.contains("builder = Product.Builder.class"));
+		assertFalse(product.contains("public void setAmount("));
+		assertTrue(product.contains("Integer.hashCode(this.amount)"));
+		assertFalse(product.contains("Objects.hash("));
+		String car = FileUtils.readFileToString(new File(outputDirectory, "test/openapi/Car.java"), "UTF-8");
+		assertTrue(car.contains("extends Product.AbstractBuilder<B>"));
+		assertTrue(car.contains("int hash = super.hashCode();"));
+	}
+
+	@Test
+	public void testImmutableModelsRequireRequiredProperties() throws Exception {
+		File outputDirectory = new File("target/openapi-immutable-compiled");
+		FileUtils.deleteDirectory(outputDirectory);
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", outputDirectory.getPath(),
+				OpenApiClientGeneratorConfigBuilder.defaultConfig().withGenerateResourceInterface(false).withModelStyle(ModelStyle.IMMUTABLE).build());
+
+		try (URLClassLoader classLoader = compileGeneratedSources(outputDirectory)) {
+			Class<?> carClass = classLoader.loadClass("test.openapi.Car");
+			ObjectMapper objectMapper = new ObjectMapper();
+			String json = "{\"type\":\"car\",\"id\":\"1\",\"amount\":2,\"price\":10.5,\"model\":\"Octavia\"}";
+			Object car = objectMapper.readValue(json, carClass);
+			assertEquals(car, objectMapper.readValue(json, carClass));
+			assertEquals(car.hashCode(), objectMapper.readValue(json, carClass).hashCode());
+			assertEquals(2, carClass.getMethod("getAmount").invoke(car));
+
+			try {
+				objectMapper.readValue("{\"type\":\"car\",\"id\":\"1\",\"price\":10.5}", carClass);
+				fail("Missing required primitive property must be rejected");
+			} catch (JsonMappingException e) {
+				assertTrue(e.getMessage().contains("Required property amount is missing"));
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testImmutableModelsWithJsonCodecsRejected() {
+		new OpenApiClientGenerator().generateClient("test.openapi", "src/test/resources/input_example.json", "target/openapi-rejected",
+				OpenApiClientGeneratorConfigBuilder.defaultConfig().withModelStyle(ModelStyle.IMMUTABLE).withGenerateJsonCodecs(true).build());
+	}
+
+	private URLClassLoader compileGeneratedSources(File outputDirectory, String... compilerOptions) throws IOException {
+		File classesDirectory = new File(outputDirectory, "classes");
+		FileUtils.forceMkdir(classesDirectory);
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+			List<String> options = new ArrayList<>(asList(compilerOptions));
+			options.addAll(asList("-classpath", System.getProperty("surefire.test.class.path", System.getProperty("java.class.path")),
+					"-d", classesDirectory.getPath()));
+			Iterable<? extends JavaFileObject> sources = fileManager.getJavaFileObjectsFromFiles(
+					FileUtils.listFiles(new File(outputDirectory, "test"), new String[]{"java"}, true));
+			assertTrue(compiler.getTask(null, fileManager, null, options, null, sources).call());
+		}
+		return new URLClassLoader(new URL[]{classesDirectory.toURI().toURL()}, getClass().getClassLoader());
+	}
+
 }
@@ -0,0 +1,80 @@
+package com.github.jrcodeza.schema.generator.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.jrcodeza.schema.generator.diff.Change;
+import com.github.jrcodeza.schema.generator.diff.OpenApiDiff;
+import com.github.jrcodeza.schema.generator.diff.OpenApiDiffEngine;
+
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+@Mojo(name = "diffOpenApi", defaultPhase = LifecyclePhase.VERIFY)
+public class DiffOpenApiSchemaMojo extends AbstractMojo {
+
+	@Parameter(required = true)
+	private String oldSpec;
+
+	@Parameter(required = true)
+	private String newSpec;
+
+	@Parameter
+	private String reportFile;
+
+	@Parameter
+	private Boolean failOnBreakingChanges;
+
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		OpenApiSpecReader specReader = new OpenApiSpecReader();
+		OpenApiDiff diff;
+		try {
+			OpenAPI oldOpenApi = specReader.read(Paths.get(oldSpec));
+			OpenAPI newOpenApi = specReader.read(Paths.get(newSpec));
+			diff = new OpenApiDiffEngine().diff(oldOpenApi, newOpenApi);
+		} catch (IOException e) {
+			throw new MojoExecutionException("Cannot read OpenAPI specs", e);
+		}
+
+		for (Change change : diff.getChanges()) {
+			if (change.isBreaking()) {
+				getLog().warn(change.toString());
+			} else {
+				getLog().info(change.toString());
+			}
+		}
+		getLog().info(String.format("Found %d changes (%d breaking), %d schemas and %d operations unchanged",
+				diff.getChanges().size(), diff.getBreakingChanges().size(), diff.getUnchangedSchemas(), diff.getUnchangedOperations()));
+
+		if (StringUtils.isNotBlank(reportFile)) {
+			writeReport(diff);
+		}
+		if (BooleanUtils.isTrue(failOnBreakingChanges) && diff.isBreaking()) {
+			throw new MojoFailureException(String.format("OpenAPI spec contains %d breaking changes", diff.getBreakingChanges().size()));
+		}
+	}
+
+	private void writeReport(OpenApiDiff diff) throws MojoExecutionException {
+		File report = new File(reportFile);
+		if (report.getParentFile() != null && !report.getParentFile().isDirectory() && !report.getParentFile().mkdirs()) {
+			throw new MojoExecutionException(String.format("Error creating directories for path [%s]", reportFile));
+		}
+		try {
+			new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report, diff);
+		} catch (IOException e) {
+			throw new MojoExecutionException("Cannot write OpenAPI diff report", e);
+		}
+	}
+
+}
@@ -2,13 +2,22 @@ package com.github.jrcodeza.schema.generator.plugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.security.MessageDigest;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.jrcodeza.schema.generator.OpenAPIGenerator;
+import com.github.jrcodeza.schema.generator.config.ApiGroup;
 import com.github.jrcodeza.schema.generator.config.OpenApiGeneratorConfig;
+import com.github.jrcodeza.schema.generator.config.builder.ApiGroupBuilder;
 import com.github.jrcodeza.schema.generator.config.builder.OpenApiGeneratorConfigBuilder;
 import com.github.jrcodeza.schema.generator.filters.OperationFilter;
 import com.github.jrcodeza.schema.generator.filters.OperationParameterFilter;
@@ -18,6 +27,7 @@ import com.github.jrcodeza.schema.generator.interceptors.OperationParameterInter
 import com.github.jrcodeza.schema.generator.interceptors.RequestBodyInterceptor;
 import com.github.jrcodeza.schema.generator.interceptors.SchemaFieldInterceptor;
 import com.github.jrcodeza.schema.generator.interceptors.SchemaInterceptor;
+import com.github.jrcodeza.schema.generator.interceptors.examples.FileSystemOpenApiExampleResolver;
 import com.github.jrcodeza.schema.generator.interceptors.examples.OpenApiExampleResolver;
 
 import org.apache.commons.lang3.BooleanUtils;
@@ -83,8 +93,130 @@ public class GenerateOpenApiSchemaMojo extends AbstractMojo {
 	@Parameter
 	private String openApiExamplesResolver;
 
+	@Parameter
+	private String examplesDirectory;
+
+	@Parameter
+	private Boolean deterministicOrdering;
+
+	@Parameter
+	private Boolean generateContentHashes;
+
+	@Parameter
+	private Boolean pruneUnreachableSchemas;
+
+	@Parameter
+	private Boolean shareParameters;
+
+	@Parameter
+	private Boolean shareResponses;
+
+	@Parameter
+	private List<OpenApiGroup> groups;
+
+	@Parameter
+	private String outputFormat;
+
+	@Parameter
+	private Boolean compress;
+
+	@Parameter
+	private Boolean shardOutput;
+
+	@Parameter
+	private Boolean useCache;
+
+	@Parameter
+	private String cacheDirectory;
+
 	public void execute() {
-		OpenAPIGenerator openApiGenerator = new OpenAPIGenerator(
+		if (StringUtils.isNotBlank(openApiExamplesResolver) && StringUtils.isNotBlank(examplesDirectory)) {
+			getLog().error("Only one of openApiExamplesResolver and examplesDirectory can be set");
+			return;
+		}
+		if (BooleanUtils.isTrue(shardOutput) && BooleanUtils.isTrue(compress)) {
+			getLog().error("Sharded output cannot be compressed");
+			return;
+		}
+		OpenApiSpecWriter specWriter = new OpenApiSpecWriter(
+				StringUtils.isBlank(outputFormat) ? OpenApiSpecWriter.Format.JSON : OpenApiSpecWriter.Format.fromName(outputFormat),
+				BooleanUtils.isTrue(compress), BooleanUtils.isTrue(shardOutput));
+		if (groups != null && !groups.isEmpty()) {
+			executeGroups(specWriter);
+			return;
+		}
+		File outputFile = new File(outputDirectory, specWriter.getFileName());
+		if (!createParentDirectories(outputFile)) {
+			return;
+		}
+
+		OpenApiSchemaCache cache = BooleanUtils.isTrue(useCache) ? createCache() : null;
+		String cacheKey = computeCacheKey(cache, null);
+		if (restoreFromCache(cache, cacheKey, outputFile)) {
+			return;
+		}
+
+		OpenAPI openAPI = createGenerator().generate(createGeneratorConfig());
+		if (writeSpec(specWriter, openAPI, outputFile)) {
+			storeToCache(cache, cacheKey, outputFile);
+		}
+	}
+
+	private void executeGroups(OpenApiSpecWriter specWriter) {
+		OpenApiSchemaCache cache = BooleanUtils.isTrue(useCache) ? createCache() : null;
+		Map<String, File> outputFiles = new HashMap<>();
+		Map<String, String> cacheKeys = new HashMap<>();
+		List<ApiGroup> apiGroups = new ArrayList<>();
+		for (OpenApiGroup group : groups) {
+			if (StringUtils.isBlank(group.getName())) {
+				getLog().error("Every API group must have name");
+				return;
+			}
+			File outputFile = new File(new File(outputDirectory, group.getName()), specWriter.getFileName());
+			if (!createParentDirectories(outputFile)) {
+				return;
+			}
+			String cacheKey = computeCacheKey(cache, group);
+			if (restoreFromCache(cache, cacheKey, outputFile)) {
+				continue;
+			}
+			outputFiles.put(group.getName(), outputFile);
+			cacheKeys.put(group.getName(), cacheKey);
+			apiGroups.add(createApiGroup(group));
+		}
+		if (apiGroups.isEmpty()) {
+			return;
+		}
+
+		Map<String, OpenAPI> groupDocuments = createGenerator().generateGroups(createGeneratorConfig(), apiGroups);
+		groupDocuments.forEach((groupName, openAPI) -> {
+			File outputFile = outputFiles.get(groupName);
+			if (writeSpec(specWriter, openAPI, outputFile)) {
+				storeToCache(cache, cacheKeys.get(groupName), outputFile);
+			}
+		});
+	}
+
+	private boolean createParentDirectories(File outputFile) {
+		if (!outputFile.getParentFile().isDirectory() && !outputFile.getParentFile().mkdirs()) {
+			getLog().error(String.format("Error creating directories for path [%s]", outputFile.getParent()));
+			return false;
+		}
+		return true;
+	}
+
+	private boolean writeSpec(OpenApiSpecWriter specWriter, OpenAPI openAPI, File outputFile) {
+		try {
+			specWriter.write(openAPI, outputFile.toPath());
+			return true;
+		} catch (IOException e) {
+			getLog().error("Cannot serialize generated OpenAPI spec", e);
+			return false;
+		}
+	}
+
+	private OpenAPIGenerator createGenerator() {
+		return new OpenAPIGenerator(
 				asList(modelPackages), asList(controllerBasePackages), createInfoFromParameters(),
 				parseInputInterceptors(schemaInterceptors, SchemaInterceptor.class),
 				parseInputInterceptors(schemaFieldInterceptors, SchemaFieldInterceptor.class),
@@ -95,27 +227,133 @@ public class GenerateOpenApiSchemaMojo extends AbstractMojo {
 				parseInputFilter(operationParameterFilter, OperationParameterFilter.class),
 				parseInputFilter(schemaFieldFilter, SchemaFieldFilter.class)
 		);
+	}
 
+	private OpenApiGeneratorConfig createGeneratorConfig() {
 		OpenApiGeneratorConfig openApiGeneratorConfig = OpenApiGeneratorConfigBuilder.defaultConfig().build();
 		if (BooleanUtils.isTrue(generateExamples)) {
 			openApiGeneratorConfig.setGenerateExamples(true);
 			if (StringUtils.isNotBlank(openApiExamplesResolver)) {
 				openApiGeneratorConfig.setOpenApiExampleResolver(instantiateClass(openApiExamplesResolver, OpenApiExampleResolver.class));
+			} else if (StringUtils.isNotBlank(examplesDirectory)) {
+				openApiGeneratorConfig.setOpenApiExampleResolver(new FileSystemOpenApiExampleResolver(Paths.get(examplesDirectory)));
 			}
 		}
-		OpenAPI openAPI = openApiGenerator.generate(openApiGeneratorConfig);
+		openApiGeneratorConfig.setDeterministicOrdering(BooleanUtils.isTrue(deterministicOrdering));
+		openApiGeneratorConfig.setGenerateContentHashes(BooleanUtils.isTrue(generateContentHashes));
+		openApiGeneratorConfig.setPruneUnreachableSchemas(BooleanUtils.isTrue(pruneUnreachableSchemas));
+		openApiGeneratorConfig.setShareParameters(BooleanUtils.isTrue(shareParameters));
+		openApiGeneratorConfig.setShareResponses(BooleanUtils.isTrue(shareResponses));
+		return openApiGeneratorConfig;
+	}
 
-		ObjectMapper objectMapper = new ObjectMapper();
-		objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+	private ApiGroup createApiGroup(OpenApiGroup group) {
+		ApiGroupBuilder apiGroupBuilder = ApiGroupBuilder.group(group.getName())
+				.withOperationFilter(parseInputFilter(group.getOperationFilter(), OperationFilter.class))
+				.withOperationParameterFilter(parseInputFilter(group.getOperationParameterFilter(), OperationParameterFilter.class))
+				.withSchemaFieldFilter(parseInputFilter(group.getSchemaFieldFilter(), SchemaFieldFilter.class));
+		if (StringUtils.isNotBlank(group.getTitle()) || StringUtils.isNotBlank(group.getDescription())) {
+			Info info = createInfoFromParameters();
+			info.setTitle(StringUtils.defaultIfBlank(group.getTitle(), title));
+			info.setDescription(StringUtils.defaultIfBlank(group.getDescription(), description));
+			apiGroupBuilder.withInfo(info);
+		}
+		return apiGroupBuilder.build();
+	}
 
+	private OpenApiSchemaCache createCache() {
+		if (BooleanUtils.isTrue(shardOutput)) {
+			getLog().info("Cache stores single spec file only, it is not used for sharded output");
+			return null;
+		}
+		Path cachePath = StringUtils.isBlank(cacheDirectory) ? OpenApiSchemaCache.defaultCacheDirectory() : Paths.get(cacheDirectory);
+		return new OpenApiSchemaCache(cachePath, getClass().getClassLoader());
+	}
+
+	private String computeCacheKey(OpenApiSchemaCache cache, OpenApiGroup group) {
+		if (cache == null) {
+			return null;
+		}
+		List<String> configValues = new ArrayList<>(asList(title, description, version,
+				String.join(",", modelPackages), String.join(",", controllerBasePackages),
+				String.valueOf(schemaInterceptors), String.valueOf(schemaFieldInterceptors), String.valueOf(operationParameterInterceptors),
+				String.valueOf(operationInterceptors), String.valueOf(requestBodyInterceptors),
+				operationFilter, operationParameterFilter, schemaFieldFilter,
+				String.valueOf(generateExamples), openApiExamplesResolver, String.valueOf(deterministicOrdering),
+				String.valueOf(generateContentHashes), String.valueOf(pruneUnreachableSchemas), String.valueOf(shareParameters),
+				String.valueOf(shareResponses), outputFormat, String.valueOf(compress), examplesDirectory));
+		if (group != null) {
+			configValues.add(group.toString());
+		}
+		List<String> packages = new ArrayList<>();
+		Stream.of(modelPackages, controllerBasePackages)
+			  .flatMap(Stream::of)
+			  .map(packageName -> packageName.replace(".*", ""))
+			  .forEach(packages::add);
+		List<String> classNames = new ArrayList<>();
+		Stream.of(schemaInterceptors, schemaFieldInterceptors, operationParameterInterceptors, operationInterceptors, requestBodyInterceptors)
+			  .filter(Objects::nonNull)
+			  .forEach(classNames::addAll);
+		Stream.of(operationFilter, operationParameterFilter, schemaFieldFilter, openApiExamplesResolver)
+			  .filter(StringUtils::isNotBlank)
+			  .forEach(classNames::add);
+		if (group != null) {
+			Stream.of(group.getOperationFilter(), group.getOperationParameterFilter(), group.getSchemaFieldFilter())
+				  .filter(StringUtils::isNotBlank)
+				  .forEach(classNames::add);
+		}
 		try {
-			if (!new File(outputDirectory).mkdirs()) {
-				getLog().error(String.format("Error creating directories for path [%s]", outputDirectory));
-				return;
+			if (BooleanUtils.isTrue(generateExamples) && StringUtils.isNotBlank(examplesDirectory)) {
+				configValues.addAll(describeExamples(Paths.get(examplesDirectory)));
 			}
-			objectMapper.writeValue(new File(outputDirectory + "/swagger.json"), openAPI);
+			return cache.computeKey(configValues, packages, classNames);
 		} catch (IOException e) {
-			getLog().error("Cannot serialize generated OpenAPI spec", e);
+			getLog().warn("Cannot compute cache key, cache is not used", e);
+			return null;
+		}
+	}
+
+	/**
+	 * @return name and content hash of every example file, so changed examples invalidate cached spec
+	 */
+	private List<String> describeExamples(Path examplesPath) throws IOException {
+		List<String> examples = new ArrayList<>();
+		if (!Files.isDirectory(examplesPath)) {
+			return examples;
+		}
+		try (Stream<Path> exampleFiles = Files.walk(examplesPath)) {
+			for (Path exampleFile : exampleFiles.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+				MessageDigest digest = OpenApiSchemaCache.createDigest();
+				digest.update(Files.readAllBytes(exampleFile));
+				examples.add(examplesPath.relativize(exampleFile) + "=" + OpenApiSchemaCache.toHex(digest.digest()));
+			}
+		}
+		return examples;
+	}
+
+	private boolean restoreFromCache(OpenApiSchemaCache cache, String cacheKey, File outputFile) {
+		if (cacheKey == null) {
+			return false;
+		}
+		try {
+			if (cache.restore(cacheKey, outputFile.toPath())) {
+				getLog().info(String.format("OpenAPI spec restored from cache entry [%s]", cacheKey));
+				return true;
+			}
+		} catch (IOException e) {
+			getLog().warn("Cannot restore OpenAPI spec from cache", e);
+		}
+		return false;
+	}
+
+	private void storeToCache(OpenApiSchemaCache cache, String cacheKey, File outputFile) {
+		if (cacheKey == null) {
+			return;
+		}
+		try {
+			cache.store(cacheKey, outputFile.toPath());
+		} catch (IOException e) {
+			getLog().warn("Cannot store OpenAPI spec to cache", e);
 		}
 	}
 
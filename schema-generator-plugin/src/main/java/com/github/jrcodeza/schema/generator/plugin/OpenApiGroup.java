@@ -0,0 +1,44 @@
+package com.github.jrcodeza.schema.generator.plugin;
+
+/**
+ * Mojo configuration of one API group. Spec of the group is written to subdirectory named by the group. Filters and
+ * info which are not set are taken from plugin configuration.
+ */
+public class OpenApiGroup {
+
+	private String name;
+	private String title;
+	private String description;
+	private String operationFilter;
+	private String operationParameterFilter;
+	private String schemaFieldFilter;
+
+	public String getName() {
+		return name;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public String getOperationFilter() {
+		return operationFilter;
+	}
+
+	public String getOperationParameterFilter() {
+		return operationParameterFilter;
+	}
+
+	public String getSchemaFieldFilter() {
+		return schemaFieldFilter;
+	}
+
+	@Override
+	public String toString() {
+		return String.join(",", name, title, description, operationFilter, operationParameterFilter, schemaFieldFilter);
+	}
+}
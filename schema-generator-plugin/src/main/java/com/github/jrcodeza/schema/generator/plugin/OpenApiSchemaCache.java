@@ -0,0 +1,284 @@
+package com.github.jrcodeza.schema.generator.plugin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import com.github.jrcodeza.schema.generator.OpenAPIGenerator;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Local content addressed cache of generated specs. Key is SHA-256 of plugin configuration and bytes of all
+ * classes which can influence the result, so the same inputs in different modules, branches or CI jobs
+ * resolve to the same cached spec. Cached file keeps the name of the generated file (e.g. swagger.json or swagger.yaml.gz).
+ * <p>
+ * Hashed classes are classes of scanned packages and classes they reference by superclass, interfaces and field types
+ * (transitively, JDK classes excluded), so a change of model base class in another module also changes the key.
+ * Generator itself is identified by content of its jars (or class directories), so SNAPSHOT rebuilds are not served
+ * stale specs.
+ */
+class OpenApiSchemaCache {
+
+	static final String DEFAULT_CACHE_DIRECTORY = ".m2/spring-openapi-cache";
+	private static final String CACHE_FORMAT_VERSION = "2";
+	private static final String CLASS_FILE_SUFFIX = ".class";
+	private static final List<String> JDK_PACKAGE_PREFIXES = asList("java.", "javax.", "jdk.", "sun.", "com.sun.");
+	// jar hashes keyed by path, size and modification time, so reused JVM does not read the same jars again
+	private static final Map<String, byte[]> JAR_HASHES = new ConcurrentHashMap<>();
+
+	private final Path cacheDirectory;
+	private final ClassLoader classLoader;
+	private final PathMatchingResourcePatternResolver resourceResolver;
+
+	OpenApiSchemaCache(Path cacheDirectory, ClassLoader classLoader) {
+		this.cacheDirectory = cacheDirectory;
+		this.classLoader = classLoader;
+		this.resourceResolver = new PathMatchingResourcePatternResolver(classLoader);
+	}
+
+	static Path defaultCacheDirectory() {
+		return Paths.get(System.getProperty("user.home")).resolve(DEFAULT_CACHE_DIRECTORY);
+	}
+
+	/**
+	 * @param configValues all configuration values affecting generation, order is significant
+	 * @param packages     scanned packages, all classes in them (including subpackages) are hashed
+	 * @param classNames   additional classes (interceptors, filters, resolvers) which are hashed
+	 */
+	String computeKey(List<String> configValues, List<String> packages, List<String> classNames) throws IOException {
+		MessageDigest digest = createDigest();
+		update(digest, CACHE_FORMAT_VERSION);
+		for (Class<?> generatorClass : asList(OpenApiSchemaCache.class, OpenAPIGenerator.class, OpenAPI.class)) {
+			updateWithCodeLocation(digest, generatorClass);
+		}
+		for (String configValue : configValues) {
+			update(digest, String.valueOf(configValue));
+		}
+		for (Map.Entry<String, Resource> classResource : findClassResources(packages, classNames).entrySet()) {
+			update(digest, classResource.getKey());
+			try (InputStream inputStream = classResource.getValue().getInputStream()) {
+				byte[] buffer = new byte[8192];
+				int read;
+				while ((read = inputStream.read(buffer)) != -1) {
+					digest.update(buffer, 0, read);
+				}
+			}
+		}
+		return toHex(digest.digest());
+	}
+
+	boolean restore(String key, Path targetFile) throws IOException {
+		Path cachedFile = cacheDirectory.resolve(key).resolve(targetFile.getFileName());
+		if (!Files.isRegularFile(cachedFile)) {
+			return false;
+		}
+		Files.copy(cachedFile, targetFile, StandardCopyOption.REPLACE_EXISTING);
+		return true;
+	}
+
+	void store(String key, Path sourceFile) throws IOException {
+		Path entryDirectory = cacheDirectory.resolve(key);
+		Files.createDirectories(entryDirectory);
+		// write to temporary file first, parallel builds can store the same key at the same time
+		String fileName = sourceFile.getFileName().toString();
+		Path temporaryFile = Files.createTempFile(entryDirectory, fileName, ".tmp");
+		try {
+			Files.copy(sourceFile, temporaryFile, StandardCopyOption.REPLACE_EXISTING);
+			Files.move(temporaryFile, entryDirectory.resolve(fileName), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+	Map<String, Resource> findClassResources(List<String> packages, List<String> classNames) throws IOException {
+		// keyed by class path relative to classpath root, so absolute location of the project does not matter
+		Map<String, Resource> classResources = new TreeMap<>();
+		for (String packageName : packages) {
+			String packagePath = packageName.replace('.', '/');
+			for (Resource resource : resourceResolver.getResources("classpath*:" + packagePath + "/**/*" + CLASS_FILE_SUFFIX)) {
+				String url = resource.getURL().toString();
+				classResources.put(url.substring(url.lastIndexOf(packagePath + "/")), resource);
+			}
+		}
+		for (String className : classNames) {
+			String classPath = className.replace('.', '/') + CLASS_FILE_SUFFIX;
+			Resource resource = resourceResolver.getResource("classpath:" + classPath);
+			if (resource.exists()) {
+				classResources.put(classPath, resource);
+			}
+		}
+		addReferencedClassResources(classResources);
+		return classResources;
+	}
+
+	/**
+	 * Adds classes referenced by superclass, interfaces and field types of already found classes, and by method signatures
+	 * of found classes themselves (controllers). Referenced classes are followed transitively by their type structure
+	 * only, which is what the generator reads.
+	 */
+	private void addReferencedClassResources(Map<String, Resource> classResources) {
+		Set<String> visited = new HashSet<>();
+		Deque<Class<?>> pending = new ArrayDeque<>();
+		for (String classPath : classResources.keySet()) {
+			Class<?> clazz = loadClass(classPath.substring(0, classPath.length() - CLASS_FILE_SUFFIX.length()).replace('/', '.'));
+			if (clazz != null && visited.add(clazz.getName())) {
+				for (Method method : getDeclaredMethods(clazz)) {
+					collectTypes(method.getGenericReturnType(), pending);
+					Stream.of(method.getGenericParameterTypes()).forEach(type -> collectTypes(type, pending));
+				}
+				collectTypeStructure(clazz, pending);
+			}
+		}
+		while (!pending.isEmpty()) {
+			Class<?> clazz = pending.poll();
+			if (isJdkClass(clazz) || !visited.add(clazz.getName())) {
+				continue;
+			}
+			String classPath = clazz.getName().replace('.', '/') + CLASS_FILE_SUFFIX;
+			Resource resource = resourceResolver.getResource("classpath:" + classPath);
+			if (resource.exists()) {
+				classResources.put(classPath, resource);
+			}
+			collectTypeStructure(clazz, pending);
+		}
+	}
+
+	private void collectTypeStructure(Class<?> clazz, Deque<Class<?>> pending) {
+		try {
+			collectTypes(clazz.getGenericSuperclass(), pending);
+			Stream.of(clazz.getGenericInterfaces()).forEach(type -> collectTypes(type, pending));
+			for (Field field : clazz.getDeclaredFields()) {
+				collectTypes(field.getGenericType(), pending);
+			}
+		} catch (LinkageError e) {
+			// class with missing dependencies cannot be generated either, its bytes are hashed anyway
+		}
+	}
+
+	private void collectTypes(Type type, Deque<Class<?>> pending) {
+		if (type instanceof Class) {
+			Class<?> clazz = (Class<?>) type;
+			while (clazz.isArray()) {
+				clazz = clazz.getComponentType();
+			}
+			if (!clazz.isPrimitive()) {
+				pending.add(clazz);
+			}
+		} else if (type instanceof ParameterizedType) {
+			collectTypes(((ParameterizedType) type).getRawType(), pending);
+			Stream.of(((ParameterizedType) type).getActualTypeArguments()).forEach(argument -> collectTypes(argument, pending));
+		} else if (type instanceof GenericArrayType) {
+			collectTypes(((GenericArrayType) type).getGenericComponentType(), pending);
+		} else if (type instanceof WildcardType) {
+			Stream.of(((WildcardType) type).getUpperBounds()).forEach(bound -> collectTypes(bound, pending));
+		}
+	}
+
+	private Method[] getDeclaredMethods(Class<?> clazz) {
+		try {
+			return clazz.getDeclaredMethods();
+		} catch (LinkageError e) {
+			return new Method[0];
+		}
+	}
+
+	private Class<?> loadClass(String className) {
+		try {
+			return Class.forName(className, false, classLoader);
+		} catch (ClassNotFoundException | LinkageError e) {
+			return null;
+		}
+	}
+
+	private static boolean isJdkClass(Class<?> clazz) {
+		return JDK_PACKAGE_PREFIXES.stream().anyMatch(prefix -> clazz.getName().startsWith(prefix));
+	}
+
+	/**
+	 * Hashes jar (or class directory) the class was loaded from.
+	 */
+	private static void updateWithCodeLocation(MessageDigest digest, Class<?> clazz) throws IOException {
+		CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+		if (codeSource == null || codeSource.getLocation() == null) {
+			update(digest, clazz.getName());
+			return;
+		}
+		Path location;
+		try {
+			location = Paths.get(codeSource.getLocation().toURI());
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			throw new IOException(String.format("Cannot resolve location of [%s]", clazz.getName()), e);
+		}
+		if (Files.isDirectory(location)) {
+			try (Stream<Path> files = Files.walk(location)) {
+				for (Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+					update(digest, location.relativize(file).toString());
+					digest.update(Files.readAllBytes(file));
+				}
+			}
+			return;
+		}
+		String jarKey = location + ":" + Files.size(location) + ":" + Files.getLastModifiedTime(location).toMillis();
+		byte[] jarHash = JAR_HASHES.get(jarKey);
+		if (jarHash == null) {
+			MessageDigest jarDigest = createDigest();
+			jarDigest.update(Files.readAllBytes(location));
+			jarHash = jarDigest.digest();
+			JAR_HASHES.put(jarKey, jarHash);
+		}
+		digest.update(jarHash);
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static String toHex(byte[] bytes) {
+		StringBuilder result = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			result.append(String.format("%02x", b));
+		}
+		return result.toString();
+	}
+
+}
@@ -0,0 +1,241 @@
+package com.github.jrcodeza.schema.generator.plugin;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Splits generated spec into root document, one file per tag (paths/car-controller.json) and one file per component
+ * group (components/schemas.json, components/parameters.json, ...). Files are connected by relative $refs, so the
+ * root document stays valid spec. All files are written in parallel and listed in manifest.json together with SHA-256
+ * of their content, files of previous run which are not part of the new layout are deleted.
+ */
+class OpenApiShardedSpecWriter {
+
+	static final String MANIFEST_FILE_NAME = "manifest.json";
+	static final String ROOT_KIND = "root";
+	static final String PATHS_KIND = "paths";
+
+	private static final String COMPONENTS_DIRECTORY = "components";
+	private static final String COMPONENT_REF_PREFIX = "#/components/";
+	private static final String REF = "$ref";
+	private static final String DEFAULT_TAG = "default";
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final String extension;
+	private final ObjectMapper objectMapper;
+	private final ObjectMapper manifestMapper;
+	private final int threads;
+
+	OpenApiShardedSpecWriter(String extension, ObjectMapper objectMapper, int threads) {
+		this.extension = extension;
+		this.objectMapper = objectMapper;
+		this.manifestMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+		this.threads = threads;
+	}
+
+	void write(OpenAPI openAPI, Path outputDirectory, String rootFileName) throws IOException {
+		Set<String> previousFiles = readManifestFiles(outputDirectory);
+		ObjectNode root = objectMapper.valueToTree(openAPI);
+		Map<String, JsonNode> shards = new LinkedHashMap<>();
+		Map<String, String> shardKinds = new LinkedHashMap<>();
+		splitComponents(root, shards, shardKinds);
+		splitPaths(root, shards, shardKinds);
+		shards.put(rootFileName, root);
+		shardKinds.put(rootFileName, ROOT_KIND);
+
+		Map<String, String> hashes = writeAll(outputDirectory, shards);
+		ObjectNode manifest = manifestMapper.createObjectNode();
+		manifest.put(ROOT_KIND, rootFileName);
+		shardKinds.forEach((fileName, kind) -> manifest.withArray("files").addObject()
+				.put("path", fileName)
+				.put("kind", kind)
+				.put("sha256", hashes.get(fileName)));
+		manifestMapper.writeValue(outputDirectory.resolve(MANIFEST_FILE_NAME).toFile(), manifest);
+
+		previousFiles.removeAll(shards.keySet());
+		for (String staleFile : previousFiles) {
+			Path stalePath = outputDirectory.resolve(staleFile).normalize();
+			if (stalePath.startsWith(outputDirectory.normalize())) {
+				Files.deleteIfExists(stalePath);
+			}
+		}
+	}
+
+	private void splitComponents(ObjectNode root, Map<String, JsonNode> shards, Map<String, String> shardKinds) {
+		JsonNode components = root.get("components");
+		if (components == null || !components.isObject()) {
+			return;
+		}
+		ObjectNode rootComponents = objectMapper.createObjectNode();
+		components.fields().forEachRemaining(componentGroup -> {
+			String kind = componentGroup.getKey();
+			if (kind.startsWith("x-") || !componentGroup.getValue().isObject()) {
+				rootComponents.set(kind, componentGroup.getValue());
+				return;
+			}
+			String fileName = COMPONENTS_DIRECTORY + "/" + kind + "." + extension;
+			rewriteRefs(componentGroup.getValue(), kind);
+			shards.put(fileName, componentGroup.getValue());
+			shardKinds.put(fileName, kind);
+			ObjectNode references = rootComponents.putObject(kind);
+			componentGroup.getValue().fieldNames().forEachRemaining(componentName ->
+					references.putObject(componentName).put(REF, fileName + "#/" + escapePointer(componentName)));
+		});
+		root.set("components", rootComponents);
+	}
+
+	private void splitPaths(ObjectNode root, Map<String, JsonNode> shards, Map<String, String> shardKinds) {
+		JsonNode paths = root.get(PATHS_KIND);
+		if (paths == null || !paths.isObject()) {
+			return;
+		}
+		ObjectNode rootPaths = objectMapper.createObjectNode();
+		Map<String, ObjectNode> tagShards = new LinkedHashMap<>();
+		paths.fields().forEachRemaining(pathEntry -> {
+			String fileName = PATHS_KIND + "/" + toFileName(getTag(pathEntry.getValue())) + "." + extension;
+			rewriteRefs(pathEntry.getValue(), null);
+			tagShards.computeIfAbsent(fileName, key -> objectMapper.createObjectNode()).set(pathEntry.getKey(), pathEntry.getValue());
+			rootPaths.putObject(pathEntry.getKey()).put(REF, fileName + "#/" + escapePointer(pathEntry.getKey()));
+		});
+		tagShards.forEach((fileName, tagShard) -> {
+			shards.put(fileName, tagShard);
+			shardKinds.put(fileName, PATHS_KIND);
+		});
+		root.set(PATHS_KIND, rootPaths);
+	}
+
+	/**
+	 * @return first tag of first tagged operation, path item can be stored only in one file
+	 */
+	private String getTag(JsonNode pathItem) {
+		for (JsonNode operation : pathItem) {
+			JsonNode tags = operation.get("tags");
+			if (tags != null && tags.size() > 0) {
+				return tags.get(0).asText();
+			}
+		}
+		return DEFAULT_TAG;
+	}
+
+	/**
+	 * Rewrites internal component references to relative references between files, e.g. #/components/schemas/Car
+	 * becomes ../components/schemas.json#/Car in path files and #/Car inside schemas file itself.
+	 */
+	private void rewriteRefs(JsonNode node, String currentKind) {
+		if (node.isObject()) {
+			JsonNode ref = node.get(REF);
+			if (ref != null && ref.isTextual()) {
+				((ObjectNode) node).put(REF, toRelativeRef(ref.asText(), currentKind));
+			}
+		}
+		if (node.isContainerNode()) {
+			node.forEach(child -> rewriteRefs(child, currentKind));
+		}
+	}
+
+	private String toRelativeRef(String ref, String currentKind) {
+		if (!ref.startsWith(COMPONENT_REF_PREFIX)) {
+			return ref;
+		}
+		String[] kindAndName = ref.substring(COMPONENT_REF_PREFIX.length()).split("/", 2);
+		if (kindAndName.length < 2) {
+			return ref;
+		}
+		if (kindAndName[0].equals(currentKind)) {
+			return "#/" + kindAndName[1];
+		}
+		String componentRef = kindAndName[0] + "." + extension + "#/" + kindAndName[1];
+		return currentKind == null ? "../" + COMPONENTS_DIRECTORY + "/" + componentRef : componentRef;
+	}
+
+	private Map<String, String> writeAll(Path outputDirectory, Map<String, JsonNode> shards) throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, shards.size())), runnable -> {
+			Thread thread = new Thread(runnable, "openapi-shard-writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			Map<String, CompletableFuture<String>> tasks = new LinkedHashMap<>();
+			shards.forEach((fileName, content) -> tasks.put(fileName,
+					CompletableFuture.supplyAsync(() -> writeShard(outputDirectory.resolve(fileName), content), executor)));
+			Map<String, String> hashes = new LinkedHashMap<>();
+			for (Map.Entry<String, CompletableFuture<String>> task : tasks.entrySet()) {
+				hashes.put(task.getKey(), join(task.getValue()));
+			}
+			return hashes;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private String join(CompletableFuture<String> task) throws IOException {
+		try {
+			return task.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * @return SHA-256 of written bytes, computed while writing
+	 */
+	private String writeShard(Path shardFile, JsonNode content) {
+		MessageDigest digest = OpenApiSchemaCache.createDigest();
+		try {
+			Files.createDirectories(shardFile.getParent());
+			try (FileChannel channel = FileChannel.open(shardFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+					StandardOpenOption.WRITE);
+				 OutputStream outputStream = new DigestOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), digest)) {
+				objectMapper.writeValue(outputStream, content);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(String.format("Cannot write spec file [%s]", shardFile), e);
+		}
+		return OpenApiSchemaCache.toHex(digest.digest());
+	}
+
+	private Set<String> readManifestFiles(Path outputDirectory) throws IOException {
+		Set<String> files = new HashSet<>();
+		Path manifestFile = outputDirectory.resolve(MANIFEST_FILE_NAME);
+		if (Files.isRegularFile(manifestFile)) {
+			manifestMapper.readTree(manifestFile.toFile()).path("files").forEach(file -> files.add(file.path("path").asText()));
+		}
+		return files;
+	}
+
+	private static String toFileName(String tag) {
+		return tag.replaceAll("[^a-zA-Z0-9._-]", "_");
+	}
+
+	private static String escapePointer(String name) {
+		return name.replace("~", "~0").replace("/", "~1");
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.github.jrcodeza.schema.generator.plugin;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Reads spec written by {@link OpenApiSpecWriter}. Format is resolved from file name, gzip also from content.
+ */
+class OpenApiSpecReader {
+
+	private static final String GZIP_EXTENSION = ".gz";
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	OpenAPI read(Path specFile) throws IOException {
+		String fileName = specFile.getFileName().toString().toLowerCase();
+		if (fileName.endsWith(GZIP_EXTENSION)) {
+			fileName = fileName.substring(0, fileName.length() - GZIP_EXTENSION.length());
+		}
+		ObjectMapper objectMapper = fileName.endsWith(".yaml") || fileName.endsWith(".yml") ? Yaml.mapper() : Json.mapper();
+		try (InputStream inputStream = createInputStream(specFile)) {
+			return objectMapper.readValue(inputStream, OpenAPI.class);
+		}
+	}
+
+	private InputStream createInputStream(Path specFile) throws IOException {
+		InputStream inputStream = new BufferedInputStream(Files.newInputStream(specFile), BUFFER_SIZE);
+		inputStream.mark(2);
+		int first = inputStream.read();
+		int second = inputStream.read();
+		inputStream.reset();
+		if (first == (GZIPInputStream.GZIP_MAGIC & 0xFF) && second == (GZIPInputStream.GZIP_MAGIC >> 8)) {
+			return new GZIPInputStream(inputStream, BUFFER_SIZE);
+		}
+		return inputStream;
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.github.jrcodeza.schema.generator.plugin;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Serializes generated spec as JSON or YAML, optionally gzip compressed or split into multiple files by
+ * {@link OpenApiShardedSpecWriter}. Output is written through buffered {@link FileChannel}.
+ */
+class OpenApiSpecWriter {
+
+	private static final String SCHEMA_FILE_BASE_NAME = "swagger";
+	private static final String GZIP_EXTENSION = ".gz";
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	enum Format {
+		JSON("json"),
+		YAML("yaml");
+
+		private final String extension;
+
+		Format(String extension) {
+			this.extension = extension;
+		}
+
+		static Format fromName(String name) {
+			for (Format format : values()) {
+				if (format.extension.equalsIgnoreCase(name) || format.name().equalsIgnoreCase(name)) {
+					return format;
+				}
+			}
+			if ("yml".equalsIgnoreCase(name)) {
+				return YAML;
+			}
+			throw new IllegalArgumentException(String.format("Unsupported output format [%s]. Supported formats are json and yaml", name));
+		}
+	}
+
+	private final Format format;
+	private final boolean compress;
+	private final boolean shardOutput;
+	private final ObjectMapper objectMapper;
+
+	OpenApiSpecWriter(Format format, boolean compress, boolean shardOutput) {
+		this.format = format;
+		this.compress = compress;
+		this.shardOutput = shardOutput;
+		this.objectMapper = createObjectMapper(format);
+	}
+
+	String getFileName() {
+		return SCHEMA_FILE_BASE_NAME + "." + format.extension + (compress ? GZIP_EXTENSION : "");
+	}
+
+	/**
+	 * @param outputFile file of whole spec or root file of sharded spec, shards are written next to it
+	 */
+	void write(OpenAPI openAPI, Path outputFile) throws IOException {
+		if (shardOutput) {
+			new OpenApiShardedSpecWriter(format.extension, objectMapper, Runtime.getRuntime().availableProcessors())
+					.write(openAPI, outputFile.getParent(), outputFile.getFileName().toString());
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(outputFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE);
+			 OutputStream outputStream = createOutputStream(channel)) {
+			objectMapper.writeValue(outputStream, openAPI);
+		}
+	}
+
+	private OutputStream createOutputStream(FileChannel channel) throws IOException {
+		OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+		return compress ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : outputStream;
+	}
+
+	private static ObjectMapper createObjectMapper(Format format) {
+		ObjectMapper objectMapper;
+		if (format == Format.YAML) {
+			YAMLFactory yamlFactory = new YAMLFactory();
+			yamlFactory.enable(YAMLGenerator.Feature.MINIMIZE_QUOTES);
+			yamlFactory.enable(YAMLGenerator.Feature.ALWAYS_QUOTE_NUMBERS_AS_STRINGS);
+			yamlFactory.disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER);
+			objectMapper = new ObjectMapper(yamlFactory);
+		} else {
+			objectMapper = new ObjectMapper();
+		}
+		objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+		return objectMapper;
+	}
+
+}
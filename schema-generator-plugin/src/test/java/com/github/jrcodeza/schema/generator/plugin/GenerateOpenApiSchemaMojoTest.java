@@ -1,9 +1,21 @@
 package com.github.jrcodeza.schema.generator.plugin;
 
 import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.maven.plugin.testing.AbstractMojoTestCase;
 import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.github.jrcodeza.schema.generator.plugin.GenerateOpenApiSchemaMojo;
 
 public class GenerateOpenApiSchemaMojoTest extends AbstractMojoTestCase {
@@ -20,4 +32,99 @@ public class GenerateOpenApiSchemaMojoTest extends AbstractMojoTestCase {
         mojo.execute();
     }
 
+    @Test
+    public void testExamplesDirectoryScenario() throws Exception {
+        File examplesDirectory = new File(getBasedir(), "target/openapi-examples");
+        FileUtils.forceMkdir(examplesDirectory);
+        FileUtils.writeStringToFile(new File(examplesDirectory, "KEY.json"), "Example from file", "UTF-8");
+        File testPom = new File(getBasedir(), "src/test/resources/unit/generate-open-api-standard/pom.xml");
+        GenerateOpenApiSchemaMojo mojo = (GenerateOpenApiSchemaMojo) lookupMojo("generateOpenApi", testPom);
+        setVariableValueToObject(mojo, "openApiExamplesResolver", null);
+        setVariableValueToObject(mojo, "examplesDirectory", examplesDirectory.getPath());
+        setVariableValueToObject(mojo, "outputDirectory", "target/openapi-examples-output");
+        mojo.execute();
+
+        String generated = FileUtils.readFileToString(new File("target/openapi-examples-output/swagger.json"), "UTF-8");
+        assertTrue(generated.contains("Example from file"));
+    }
+
+    @Test
+    public void testCachedScenario() throws Exception {
+        File cacheDirectory = new File(getBasedir(), "target/spring-openapi-cache-test");
+        FileUtils.deleteDirectory(cacheDirectory);
+        File testPom = new File(getBasedir(), "src/test/resources/unit/generate-open-api-standard/pom.xml");
+
+        GenerateOpenApiSchemaMojo mojo = (GenerateOpenApiSchemaMojo) lookupMojo("generateOpenApi", testPom);
+        setVariableValueToObject(mojo, "useCache", true);
+        setVariableValueToObject(mojo, "cacheDirectory", cacheDirectory.getPath());
+        mojo.execute();
+
+        File[] cacheEntries = cacheDirectory.listFiles();
+        assertNotNull(cacheEntries);
+        assertEquals(1, cacheEntries.length);
+        File outputFile = new File("target/openapi/swagger.json");
+        byte[] generated = Files.readAllBytes(outputFile.toPath());
+        assertTrue(outputFile.delete());
+
+        mojo.execute();
+        assertTrue(outputFile.isFile());
+        assertTrue(Arrays.equals(generated, Files.readAllBytes(outputFile.toPath())));
+    }
+
+    @Test
+    public void testCacheKeyCoversReferencedClasses() throws Exception {
+        OpenApiSchemaCache cache = new OpenApiSchemaCache(new File(getBasedir(), "target/spring-openapi-cache-test").toPath(),
+                getClass().getClassLoader());
+        Set<String> classPaths = cache.findClassResources(
+                Collections.singletonList("com.github.jrcodeza.schema.generator.plugin.controller"), Collections.emptyList()).keySet();
+        assertTrue(classPaths.contains("com/github/jrcodeza/schema/generator/plugin/controller/MojoTestController.class"));
+        // model returned by controller is outside of scanned package, but changes the spec as well
+        assertTrue(classPaths.contains("com/github/jrcodeza/schema/generator/plugin/model/OpenApiTestModel.class"));
+        assertFalse(classPaths.contains("java/lang/String.class"));
+    }
+
+    @Test
+    public void testCompressedYamlScenario() throws Exception {
+        File testPom = new File(getBasedir(), "src/test/resources/unit/generate-open-api-standard/pom.xml");
+        GenerateOpenApiSchemaMojo mojo = (GenerateOpenApiSchemaMojo) lookupMojo("generateOpenApi", testPom);
+        setVariableValueToObject(mojo, "outputFormat", "yaml");
+        setVariableValueToObject(mojo, "compress", true);
+        mojo.execute();
+
+        File outputFile = new File("target/openapi/swagger.yaml.gz");
+        assertTrue(outputFile.isFile());
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(outputFile.toPath()))) {
+            JsonNode spec = new ObjectMapper(new YAMLFactory()).readTree(inputStream);
+            assertTrue(spec.has("openapi"));
+            assertTrue(spec.has("paths"));
+        }
+    }
+
+    @Test
+    public void testShardedScenario() throws Exception {
+        File outputDirectory = new File(getBasedir(), "target/openapi-sharded");
+        FileUtils.deleteDirectory(outputDirectory);
+        File testPom = new File(getBasedir(), "src/test/resources/unit/generate-open-api-standard/pom.xml");
+        GenerateOpenApiSchemaMojo mojo = (GenerateOpenApiSchemaMojo) lookupMojo("generateOpenApi", testPom);
+        setVariableValueToObject(mojo, "outputDirectory", outputDirectory.getPath());
+        setVariableValueToObject(mojo, "shardOutput", true);
+        mojo.execute();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode manifest = objectMapper.readTree(new File(outputDirectory, "manifest.json"));
+        assertEquals("swagger.json", manifest.get("root").asText());
+        assertTrue(manifest.get("files").size() > 2);
+        for (JsonNode file : manifest.get("files")) {
+            byte[] content = Files.readAllBytes(new File(outputDirectory, file.get("path").asText()).toPath());
+            assertEquals(file.get("sha256").asText(), OpenApiSchemaCache.toHex(MessageDigest.getInstance("SHA-256").digest(content)));
+        }
+        assertTrue(new File(outputDirectory, "components/schemas.json").isFile());
+
+        JsonNode root = objectMapper.readTree(new File(outputDirectory, "swagger.json"));
+        JsonNode firstPath = root.get("paths").elements().next();
+        assertTrue(firstPath.get("$ref").asText().startsWith("paths/"));
+        JsonNode firstSchema = root.get("components").get("schemas").elements().next();
+        assertTrue(firstSchema.get("$ref").asText().startsWith("components/schemas.json#/"));
+    }
+
 }
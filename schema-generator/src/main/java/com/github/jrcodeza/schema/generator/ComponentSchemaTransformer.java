@@ -1,8 +1,10 @@
 package com.github.jrcodeza.schema.generator;
 
+import com.github.jrcodeza.schema.generator.config.builder.OpenApiGeneratorConfigBuilder;
 import com.github.jrcodeza.schema.generator.filters.SchemaFieldFilter;
 import com.github.jrcodeza.schema.generator.interceptors.SchemaFieldInterceptor;
 import com.github.jrcodeza.schema.generator.model.CustomComposedSchema;
+import com.github.jrcodeza.schema.generator.model.GenerationContext;
 import com.github.jrcodeza.schema.generator.model.InheritanceInfo;
 import com.github.jrcodeza.schema.generator.util.SchemaGeneratorHelper;
 import io.swagger.v3.oas.models.media.Discriminator;
@@ -18,7 +20,8 @@ import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -28,20 +31,31 @@ import java.util.stream.Stream;
 
 import static com.github.jrcodeza.schema.generator.util.CommonConstants.COMPONENT_REF_PREFIX;
 import static com.github.jrcodeza.schema.generator.util.GeneratorUtils.shouldBeIgnored;
+import static java.util.Collections.emptyList;
 
 
 public class ComponentSchemaTransformer {
 
     private final List<SchemaFieldInterceptor> schemaFieldInterceptors;
-    private AtomicReference<SchemaFieldFilter> schemaFieldFilter;
+    private final SchemaFieldFilter schemaFieldFilter;
     private final SchemaGeneratorHelper schemaGeneratorHelper;
 
+    public ComponentSchemaTransformer(GenerationContext generationContext, SchemaGeneratorHelper schemaGeneratorHelper) {
+        this.schemaFieldInterceptors = generationContext.getSchemaFieldInterceptors();
+        this.schemaFieldFilter = generationContext.getSchemaFieldFilter();
+        this.schemaGeneratorHelper = schemaGeneratorHelper;
+    }
+
+    /**
+     * @deprecated interceptors and filter are copied when transformer is created and default config is used, use
+     * {@link #ComponentSchemaTransformer(GenerationContext, SchemaGeneratorHelper)} instead
+     */
+    @Deprecated
     public ComponentSchemaTransformer(List<SchemaFieldInterceptor> schemaFieldInterceptors,
                                       AtomicReference<SchemaFieldFilter> schemaFieldFilter,
                                       SchemaGeneratorHelper schemaGeneratorHelper) {
-        this.schemaFieldInterceptors = schemaFieldInterceptors;
-        this.schemaFieldFilter = schemaFieldFilter;
-        this.schemaGeneratorHelper = schemaGeneratorHelper;
+        this(new GenerationContext(OpenApiGeneratorConfigBuilder.defaultConfig().build(), emptyList(), schemaFieldInterceptors,
+                emptyList(), emptyList(), emptyList(), emptyList(), null, null, schemaFieldFilter.get()), schemaGeneratorHelper);
     }
 
     public Schema transformSimpleSchema(Class<?> clazz, Map<String, InheritanceInfo> inheritanceMap) {
@@ -71,7 +85,7 @@ public class ComponentSchemaTransformer {
     private Discriminator createDiscriminator(InheritanceInfo inheritanceInfo) {
         Map<String, String> discriminatorTypeMapping = inheritanceInfo.getDiscriminatorClassMap().entrySet()
                 .stream()
-                .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+                .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey, (first, second) -> first, LinkedHashMap::new));
 
         Discriminator discriminator = new Discriminator();
         discriminator.setPropertyName(inheritanceInfo.getDiscriminatorFieldName());
@@ -84,10 +98,12 @@ public class ComponentSchemaTransformer {
             return;
         }
         if (schema.getRequired() == null) {
-            schema.setRequired(requiredFields);
+            schema.setRequired(new ArrayList<>(new LinkedHashSet<>(requiredFields)));
             return;
         }
-        schema.getRequired().addAll(requiredFields);
+        requiredFields.stream()
+                .filter(requiredField -> !schema.getRequired().contains(requiredField))
+                .forEach(requiredField -> schema.getRequired().add(requiredField));
     }
 
     private void updateSchemaProperties(Schema schema, String propertyName, Schema propertyValue) {
@@ -95,7 +111,7 @@ public class ComponentSchemaTransformer {
             return;
         }
         if (schema.getProperties() == null) {
-            schema.setProperties(new HashMap<>());
+            schema.setProperties(new LinkedHashMap<>());
         }
         schema.getProperties().put(propertyName, propertyValue);
     }
@@ -144,7 +160,7 @@ public class ComponentSchemaTransformer {
     }
 
     private Map<String, Schema> getClassProperties(Class<?> clazz, List<String> requiredFields) {
-        Map<String, Schema> classPropertyMap = new HashMap<>();
+        Map<String, Schema> classPropertyMap = new LinkedHashMap<>();
         ReflectionUtils.doWithLocalFields(clazz,
                 field -> getFieldSchema(clazz, field, requiredFields).ifPresent(schema -> {
                     schemaFieldInterceptors.forEach(modelClassFieldInterceptor -> modelClassFieldInterceptor.intercept(clazz, field, schema));
@@ -189,7 +205,7 @@ public class ComponentSchemaTransformer {
             return true;
         }
 
-        return schemaFieldFilter.get() != null && schemaFieldFilter.get().shouldIgnore(clazz, field);
+        return schemaFieldFilter != null && schemaFieldFilter.shouldIgnore(clazz, field);
     }
 
     private Optional<Schema> createClassRefSchema(Class<?> typeClass, Annotation[] annotations) {
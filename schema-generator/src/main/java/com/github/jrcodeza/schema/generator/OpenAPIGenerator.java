@@ -2,7 +2,6 @@ package com.github.jrcodeza.schema.generator;
 
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.Paths;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.media.Schema;
@@ -17,12 +16,22 @@ import org.springframework.core.type.filter.RegexPatternTypeFilter;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -30,8 +39,12 @@ import java.util.stream.Collectors;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.github.jrcodeza.OpenApiIgnore;
+import com.github.jrcodeza.schema.generator.compact.CompactSpec;
+import com.github.jrcodeza.schema.generator.config.ApiGroup;
+import com.github.jrcodeza.schema.generator.config.ApiSelector;
 import com.github.jrcodeza.schema.generator.config.OpenApiGeneratorConfig;
 import com.github.jrcodeza.schema.generator.config.builder.OpenApiGeneratorConfigBuilder;
+import com.github.jrcodeza.schema.generator.diff.ContentHasher;
 import com.github.jrcodeza.schema.generator.filters.OperationFilter;
 import com.github.jrcodeza.schema.generator.filters.OperationParameterFilter;
 import com.github.jrcodeza.schema.generator.filters.SchemaFieldFilter;
@@ -41,19 +54,25 @@ import com.github.jrcodeza.schema.generator.interceptors.RequestBodyInterceptor;
 import com.github.jrcodeza.schema.generator.interceptors.SchemaFieldInterceptor;
 import com.github.jrcodeza.schema.generator.interceptors.SchemaInterceptor;
 import com.github.jrcodeza.schema.generator.interceptors.examples.OperationParameterExampleInterceptor;
+import com.github.jrcodeza.schema.generator.model.ClassScanResult;
+import com.github.jrcodeza.schema.generator.model.GenerationContext;
 import com.github.jrcodeza.schema.generator.model.Header;
 import com.github.jrcodeza.schema.generator.model.InheritanceInfo;
+import com.github.jrcodeza.schema.generator.util.OpenApiSorter;
+import com.github.jrcodeza.schema.generator.util.SchemaReferences;
 import com.github.jrcodeza.schema.generator.util.SchemaGeneratorHelper;
+import com.github.jrcodeza.schema.generator.util.SharedParameters;
+import com.github.jrcodeza.schema.generator.util.SharedResponses;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
+import static com.github.jrcodeza.schema.generator.util.CommonConstants.CONTENT_HASH_EXTENSION;
 
 public class OpenAPIGenerator {
 
     private static final String DEFAULT_DISCRIMINATOR_NAME = "type";
+    private static final int SELECTED_SPECS_CACHE_SIZE = 32;
 	private static Logger logger = LoggerFactory.getLogger(OpenAPIGenerator.class);
-    private final ComponentSchemaTransformer componentSchemaTransformer;
-    private final OperationsTransformer operationsTransformer;
     private final Info info;
     private final List<SchemaInterceptor> schemaInterceptors;
     private final List<SchemaFieldInterceptor> schemaFieldInterceptors;
@@ -62,9 +81,15 @@ public class OpenAPIGenerator {
     private final List<RequestBodyInterceptor> requestBodyInterceptors;
 	private final List<Header> globalHeaders;
 	private final SchemaGeneratorHelper schemaGeneratorHelper;
+	private final Map<SelectedSpecKey, CompletableFuture<CompactSpec>> selectedSpecs = Collections.synchronizedMap(
+			new LinkedHashMap<SelectedSpecKey, CompletableFuture<CompactSpec>>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<SelectedSpecKey, CompletableFuture<CompactSpec>> eldest) {
+					return size() > SELECTED_SPECS_CACHE_SIZE;
+				}
+			});
 	private List<String> modelPackages;
 	private List<String> controllerBasePackages;
-	private Environment environment;
     private AtomicReference<OperationFilter> operationFilter;
     private AtomicReference<OperationParameterFilter> operationParameterFilter;
     private AtomicReference<SchemaFieldFilter> schemaFieldFilter;
@@ -99,102 +124,310 @@ public class OpenAPIGenerator {
         this.schemaFieldFilter = new AtomicReference<>(schemaFieldFilter);
 
 		schemaGeneratorHelper = new SchemaGeneratorHelper(removeRegexFormatFromPackages(modelPackages));
-		componentSchemaTransformer = new ComponentSchemaTransformer(schemaFieldInterceptors, this.schemaFieldFilter, schemaGeneratorHelper);
-		globalHeaders = new ArrayList<>();
-
-		operationsTransformer = new OperationsTransformer(
-                schemaGeneratorHelper, operationParameterInterceptors, operationInterceptors, requestBodyInterceptors, globalHeaders,
-                this.operationFilter, this.operationParameterFilter);
+		globalHeaders = new CopyOnWriteArrayList<>();
 
         this.info = info;
-        this.schemaInterceptors = schemaInterceptors;
-        this.schemaFieldInterceptors = schemaFieldInterceptors;
-        this.operationParameterInterceptors = operationParameterInterceptors;
-        this.operationInterceptors = operationInterceptors;
-        this.requestBodyInterceptors = requestBodyInterceptors;
+        this.schemaInterceptors = new CopyOnWriteArrayList<>(schemaInterceptors);
+        this.schemaFieldInterceptors = new CopyOnWriteArrayList<>(schemaFieldInterceptors);
+        this.operationParameterInterceptors = new CopyOnWriteArrayList<>(operationParameterInterceptors);
+        this.operationInterceptors = new CopyOnWriteArrayList<>(operationInterceptors);
+        this.requestBodyInterceptors = new CopyOnWriteArrayList<>(requestBodyInterceptors);
     }
 
     public OpenAPI generate() {
         return generate(OpenApiGeneratorConfigBuilder.defaultConfig().build());
     }
 
+    /**
+     * Generates spec using interceptors, filters and global headers registered at the time of the call. All state of
+     * the run is kept in {@link GenerationContext}, so the method can be called concurrently.
+     */
     public OpenAPI generate(OpenApiGeneratorConfig openApiGeneratorConfig) {
+        return generate(openApiGeneratorConfig, scanClasses(openApiGeneratorConfig.getEnvironment()));
+    }
+
+    /**
+     * Generates spec in compact form suitable for keeping in memory, swagger-models graph is discarded after generation.
+     */
+    public CompactSpec generateCompact(OpenApiGeneratorConfig openApiGeneratorConfig) {
+        return CompactSpec.of(generate(openApiGeneratorConfig));
+    }
+
+    /**
+     * Scans model packages and controller base packages. Result can be reused by subsequent generate calls.
+     */
+    public ClassScanResult scanClasses(Environment environment) {
+        return new ClassScanResult(scanModelClasses(), scanControllerClasses(environment));
+    }
+
+    /**
+     * Generates spec from classes of previous scan instead of scanning the classpath again.
+     */
+    public OpenAPI generate(OpenApiGeneratorConfig openApiGeneratorConfig, ClassScanResult classScanResult) {
+        return generate(openApiGeneratorConfig, classScanResult, null, resolveExampleInterceptor(openApiGeneratorConfig, classScanResult));
+    }
+
+    /**
+     * Generates one document per group. Classpath is scanned and examples are resolved only once, then each group is
+     * transformed with its own filters.
+     *
+     * @return generated documents keyed by group name, in order of given groups
+     */
+    public Map<String, OpenAPI> generateGroups(OpenApiGeneratorConfig openApiGeneratorConfig, List<ApiGroup> apiGroups) {
+        ClassScanResult classScanResult = scanClasses(openApiGeneratorConfig.getEnvironment());
+        OperationParameterExampleInterceptor exampleInterceptor = resolveExampleInterceptor(openApiGeneratorConfig, classScanResult);
+        Map<String, OpenAPI> groupDocuments = new LinkedHashMap<>();
+        for (ApiGroup apiGroup : apiGroups) {
+            if (groupDocuments.containsKey(apiGroup.getName())) {
+                throw new IllegalArgumentException(String.format("Duplicate API group name [%s]", apiGroup.getName()));
+            }
+            logger.info("Generating API group [{}]", apiGroup.getName());
+            groupDocuments.put(apiGroup.getName(), generate(openApiGeneratorConfig, classScanResult, apiGroup, exampleInterceptor));
+        }
+        return groupDocuments;
+    }
+
+    /**
+     * Generates spec containing only operations matching the selector and component schemas reachable from them. Only
+     * selected controllers and reachable model classes are transformed. Result is cached in compact form per config
+     * values and selector (last {@value #SELECTED_SPECS_CACHE_SIZE} combinations) until interceptors, filters or global
+     * headers of the generator change, every call returns new spec created from it, so callers can modify it. Concurrent
+     * callers with the same key wait for one generation, generation itself runs outside of the cache lock.
+     */
+    public OpenAPI generate(OpenApiGeneratorConfig openApiGeneratorConfig, ApiSelector apiSelector) {
+        Objects.requireNonNull(apiSelector, "apiSelector must not be null, use generate(config) for whole API");
+        SelectedSpecKey key = new SelectedSpecKey(openApiGeneratorConfig, apiSelector);
+        CompletableFuture<CompactSpec> selectedSpec;
+        boolean generating = false;
+        synchronized (selectedSpecs) {
+            selectedSpec = selectedSpecs.get(key);
+            if (selectedSpec == null) {
+                selectedSpec = new CompletableFuture<>();
+                selectedSpecs.put(key, selectedSpec);
+                generating = true;
+            }
+        }
+        if (generating) {
+            try {
+                ClassScanResult classScanResult = scanClasses(key.config.getEnvironment());
+                selectedSpec.complete(CompactSpec.of(generate(key.config, classScanResult, null,
+                        resolveExampleInterceptor(key.config, classScanResult), apiSelector)));
+            } catch (RuntimeException | Error e) {
+                selectedSpecs.remove(key, selectedSpec);
+                selectedSpec.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return selectedSpec.join().toView(OpenAPI.class);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private OpenAPI generate(OpenApiGeneratorConfig openApiGeneratorConfig, ClassScanResult classScanResult, ApiGroup apiGroup,
+                             OperationParameterExampleInterceptor exampleInterceptor) {
+        return generate(openApiGeneratorConfig, classScanResult, apiGroup, exampleInterceptor, null);
+    }
+
+    private OpenAPI generate(OpenApiGeneratorConfig openApiGeneratorConfig, ClassScanResult classScanResult, ApiGroup apiGroup,
+                             OperationParameterExampleInterceptor exampleInterceptor, ApiSelector apiSelector) {
         logger.info("Starting OpenAPI generation");
-		environment = openApiGeneratorConfig.getEnvironment();
-        initializeExampleInterceptor(openApiGeneratorConfig);
+        List<Class<?>> modelClasses = classScanResult.getModelClasses();
+        List<Class<?>> controllerClasses = classScanResult.getControllerClasses();
+        GenerationContext generationContext = createGenerationContext(openApiGeneratorConfig, apiGroup, exampleInterceptor);
+        OpenApiGeneratorConfig config = generationContext.getConfig();
         OpenAPI openAPI = new OpenAPI();
-        openAPI.setComponents(createComponentsWrapper());
-        openAPI.setPaths(createPathsWrapper());
-        openAPI.setInfo(info);
+        if (apiSelector == null && !config.isPruneUnreachableSchemas()) {
+            openAPI.setComponents(createComponentsWrapper(modelClasses, generationContext));
+            openAPI.setPaths(createPathsWrapper(controllerClasses, generationContext));
+        } else {
+            Paths paths = apiSelector == null
+                    ? createPathsWrapper(controllerClasses, generationContext)
+                    : createSelectedPaths(controllerClasses, generationContext, apiSelector);
+            Components components = new Components();
+            components.setSchemas(createReachableSchemas(modelClasses, generationContext, paths));
+            openAPI.setComponents(components);
+            openAPI.setPaths(paths);
+        }
+        if (config.isShareParameters()) {
+            SharedParameters.share(openAPI, generationContext.getGlobalHeaders());
+        }
+        if (config.isShareResponses()) {
+            SharedResponses.share(openAPI);
+        }
+        openAPI.setInfo(apiGroup != null && apiGroup.getInfo() != null ? apiGroup.getInfo() : info);
+        if (config.isDeterministicOrdering()) {
+            OpenApiSorter.sort(openAPI);
+        }
+        if (config.isGenerateContentHashes()) {
+            // hashes are computed from final content, i.e. after sorting of required lists
+            addContentHashes(openAPI);
+            if (config.isDeterministicOrdering()) {
+                OpenApiSorter.sortExtensions(openAPI);
+            }
+        }
         logger.info("OpenAPI generation done!");
         return openAPI;
     }
 
-    private void initializeExampleInterceptor(OpenApiGeneratorConfig openApiGeneratorConfig) {
-        if (openApiGeneratorConfig.isGenerateExamples()) {
-            OperationParameterExampleInterceptor operationParameterExampleInterceptor =
-                    new OperationParameterExampleInterceptor(openApiGeneratorConfig.getOpenApiExampleResolver());
-            addInterceptor(requestBodyInterceptors, operationParameterExampleInterceptor);
-            addInterceptor(schemaFieldInterceptors, operationParameterExampleInterceptor);
-            addInterceptor(operationParameterInterceptors, operationParameterExampleInterceptor);
-            addInterceptor(schemaInterceptors, operationParameterExampleInterceptor);
+    private OperationParameterExampleInterceptor resolveExampleInterceptor(OpenApiGeneratorConfig openApiGeneratorConfig,
+                                                                           ClassScanResult classScanResult) {
+        if (!openApiGeneratorConfig.isGenerateExamples()) {
+            return null;
         }
+        OperationParameterExampleInterceptor operationParameterExampleInterceptor = requestBodyInterceptors.stream()
+                .filter(OperationParameterExampleInterceptor.class::isInstance)
+                .map(OperationParameterExampleInterceptor.class::cast)
+                .findFirst()
+                .orElseGet(() -> new OperationParameterExampleInterceptor(openApiGeneratorConfig.getOpenApiExampleResolver(),
+                        openApiGeneratorConfig.getExampleCacheSize()));
+        List<Class<?>> annotatedClasses = new ArrayList<>(classScanResult.getModelClasses());
+        annotatedClasses.addAll(classScanResult.getControllerClasses());
+        operationParameterExampleInterceptor.prefetchExamples(annotatedClasses);
+        return operationParameterExampleInterceptor;
+    }
+
+    private GenerationContext createGenerationContext(OpenApiGeneratorConfig openApiGeneratorConfig, ApiGroup apiGroup,
+                                                      OperationParameterExampleInterceptor exampleInterceptor) {
+        List<SchemaInterceptor> runSchemaInterceptors = new ArrayList<>(schemaInterceptors);
+        List<SchemaFieldInterceptor> runSchemaFieldInterceptors = new ArrayList<>(schemaFieldInterceptors);
+        List<OperationParameterInterceptor> runOperationParameterInterceptors = new ArrayList<>(operationParameterInterceptors);
+        List<RequestBodyInterceptor> runRequestBodyInterceptors = new ArrayList<>(requestBodyInterceptors);
+        if (exampleInterceptor != null) {
+            addInterceptor(runRequestBodyInterceptors, exampleInterceptor);
+            addInterceptor(runSchemaFieldInterceptors, exampleInterceptor);
+            addInterceptor(runOperationParameterInterceptors, exampleInterceptor);
+            addInterceptor(runSchemaInterceptors, exampleInterceptor);
+        }
+        return new GenerationContext(openApiGeneratorConfig, runSchemaInterceptors, runSchemaFieldInterceptors,
+                runOperationParameterInterceptors, operationInterceptors, runRequestBodyInterceptors, globalHeaders,
+                groupOrDefault(apiGroup == null ? null : apiGroup.getOperationFilter(), operationFilter.get()),
+                groupOrDefault(apiGroup == null ? null : apiGroup.getOperationParameterFilter(), operationParameterFilter.get()),
+                groupOrDefault(apiGroup == null ? null : apiGroup.getSchemaFieldFilter(), schemaFieldFilter.get()));
+    }
+
+    private static <T> T groupOrDefault(T groupValue, T defaultValue) {
+        return groupValue != null ? groupValue : defaultValue;
     }
 
     public void addSchemaInterceptor(SchemaInterceptor schemaInterceptor) {
 		schemaInterceptors.add(schemaInterceptor);
+		selectedSpecs.clear();
     }
 
     public void addSchemaFieldInterceptor(SchemaFieldInterceptor schemaFieldInterceptor) {
 		schemaFieldInterceptors.add(schemaFieldInterceptor);
+		selectedSpecs.clear();
     }
 
     public void addOperationParameterInterceptor(OperationParameterInterceptor operationParameterInterceptor) {
 		operationParameterInterceptors.add(operationParameterInterceptor);
+		selectedSpecs.clear();
     }
 
     public void addOperationInterceptor(OperationInterceptor operationInterceptor) {
 		operationInterceptors.add(operationInterceptor);
+		selectedSpecs.clear();
     }
 
     public void addRequestBodyInterceptor(RequestBodyInterceptor requestBodyInterceptor) {
 		requestBodyInterceptors.add(requestBodyInterceptor);
+		selectedSpecs.clear();
     }
 
     public void addGlobalHeader(String name, String description, boolean required) {
         globalHeaders.add(new Header(name, description, required));
+        selectedSpecs.clear();
     }
 
     public void setOperationFilter(OperationFilter operationFilter) {
         this.operationFilter.set(operationFilter);
+        selectedSpecs.clear();
     }
 
     public void setOperationParameterFilter(OperationParameterFilter operationParameterFilter) {
         this.operationParameterFilter.set(operationParameterFilter);
+        selectedSpecs.clear();
     }
 
     public void setSchemaFieldFilter(SchemaFieldFilter schemaFieldFilter) {
         this.schemaFieldFilter.set(schemaFieldFilter);
+        selectedSpecs.clear();
     }
 
     public SchemaGeneratorHelper getSchemaGeneratorHelper() {
         return schemaGeneratorHelper;
     }
 
+    public List<String> getModelPackages() {
+        return unmodifiableList(modelPackages);
+    }
+
+    public List<String> getControllerBasePackages() {
+        return unmodifiableList(controllerBasePackages);
+    }
+
     private <T, U extends T> void addInterceptor(List<T> interceptors, U interceptor) {
         if (interceptors.stream().noneMatch(o -> StringUtils.equalsIgnoreCase(o.getClass().getName(), interceptor.getClass().getName()))) {
             interceptors.add(interceptor);
         }
     }
 
-    private Paths createPathsWrapper() {
+    /**
+     * Hashes every component schema, shared parameter, shared response and operation once they are complete (after all
+     * interceptors) and adds document level Merkle root of these hashes, so consumers can detect unchanged parts
+     * without comparing content.
+     */
+    private void addContentHashes(OpenAPI openAPI) {
+        Map<String, String> hashes = new HashMap<>();
+        openAPI.getComponents().getSchemas().forEach((schemaName, schema) -> {
+            String hash = ContentHasher.hash(schema);
+            schema.addExtension(CONTENT_HASH_EXTENSION, hash);
+            hashes.put("schema " + schemaName, hash);
+        });
+        if (openAPI.getComponents().getParameters() != null) {
+            openAPI.getComponents().getParameters().forEach((parameterName, parameter) -> {
+                String hash = ContentHasher.hash(parameter);
+                parameter.addExtension(CONTENT_HASH_EXTENSION, hash);
+                hashes.put("parameter " + parameterName, hash);
+            });
+        }
+        if (openAPI.getComponents().getResponses() != null) {
+            openAPI.getComponents().getResponses().forEach((responseName, apiResponse) -> {
+                String hash = ContentHasher.hash(apiResponse);
+                apiResponse.addExtension(CONTENT_HASH_EXTENSION, hash);
+                hashes.put("response " + responseName, hash);
+            });
+        }
+        openAPI.getPaths().forEach((path, pathItem) -> pathItem.readOperationsMap().forEach((httpMethod, operation) -> {
+            String hash = ContentHasher.hash(operation);
+            operation.addExtension(CONTENT_HASH_EXTENSION, hash);
+            hashes.put("operation " + httpMethod + " " + path, hash);
+        }));
+        openAPI.addExtension(CONTENT_HASH_EXTENSION, ContentHasher.combine(hashes));
+    }
+
+    private Paths createPathsWrapper(List<Class<?>> controllerClasses, GenerationContext generationContext) {
         Paths pathsWrapper = new Paths();
-        pathsWrapper.putAll(createPathExtensions());
+        pathsWrapper.putAll(new OperationsTransformer(generationContext, schemaGeneratorHelper).transformOperations(controllerClasses));
         return pathsWrapper;
     }
 
-    private Map<String, PathItem> createPathExtensions() {
-		ClassPathScanningCandidateComponentProvider scanner = createClassPathScanningCandidateComponentProvider();
+    private Paths createSelectedPaths(List<Class<?>> controllerClasses, GenerationContext generationContext, ApiSelector apiSelector) {
+        List<Class<?>> selectedControllerClasses = controllerClasses.stream()
+                .filter(apiSelector::matchesController)
+                .collect(Collectors.toList());
+        Paths paths = createPathsWrapper(selectedControllerClasses, generationContext);
+        paths.keySet().removeIf(path -> !apiSelector.matchesPath(path));
+        return paths;
+    }
+
+    private List<Class<?>> scanControllerClasses(Environment environment) {
+		ClassPathScanningCandidateComponentProvider scanner = createClassPathScanningCandidateComponentProvider(environment);
 		scanner.addIncludeFilter(new AnnotationTypeFilter(RestController.class));
 
         List<Class<?>> controllerClasses = new ArrayList<>();
@@ -206,57 +439,108 @@ public class OpenAPIGenerator {
                 controllerClasses.add(getClass(beanDefinition));
             }
         }
-        return operationsTransformer.transformOperations(controllerClasses);
+        return controllerClasses;
     }
 
-	private ClassPathScanningCandidateComponentProvider createClassPathScanningCandidateComponentProvider() {
+	private ClassPathScanningCandidateComponentProvider createClassPathScanningCandidateComponentProvider(Environment environment) {
 		if (environment == null) {
 			return new ClassPathScanningCandidateComponentProvider(false);
 		}
 		return new ClassPathScanningCandidateComponentProvider(false, environment);
 	}
 
-	private Components createComponentsWrapper() {
+	private Components createComponentsWrapper(List<Class<?>> modelClasses, GenerationContext generationContext) {
         Components componentsWrapper = new Components();
-        componentsWrapper.setSchemas(createSchemas());
+        componentsWrapper.setSchemas(createSchemas(modelClasses, generationContext));
         return componentsWrapper;
     }
 
-    private Map<String, Schema> createSchemas() {
-        Map<String, Schema> schemaMap = new HashMap<>();
+    private List<Class<?>> scanModelClasses() {
         ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
         modelPackages.forEach(modelPackage -> scanner.addIncludeFilter(new RegexPatternTypeFilter(Pattern.compile(modelPackage))));
 
+        List<Class<?>> modelClasses = new ArrayList<>();
+        Set<String> scannedClassNames = new HashSet<>();
         List<String> packagesWithoutRegex = removeRegexFormatFromPackages(modelPackages);
-        Map<String, InheritanceInfo> inheritanceMap = new HashMap<>();
         for (String modelPackage : packagesWithoutRegex) {
             logger.debug("Scanning model package=[{}]", modelPackage);
             for (BeanDefinition beanDefinition : scanner.findCandidateComponents(modelPackage)) {
                 logger.debug("Scanning model class=[{}]", beanDefinition.getBeanClassName());
-                // populating inheritance info
                 Class<?> clazz = getClass(beanDefinition);
-                if (inheritanceMap.containsKey(clazz.getName()) || clazz.getAnnotation(OpenApiIgnore.class) != null) {
-                    continue;
+                if (clazz.getAnnotation(OpenApiIgnore.class) == null && scannedClassNames.add(clazz.getName())) {
+                    modelClasses.add(clazz);
                 }
-                getInheritanceInfo(clazz).ifPresent(inheritanceInfo -> {
-                    logger.debug("Adding entry [{}] to inheritance map", clazz.getName());
-                    inheritanceMap.put(clazz.getName(), inheritanceInfo);
-                });
             }
-            for (BeanDefinition beanDefinition : scanner.findCandidateComponents(modelPackage)) {
-                Class<?> clazz = getClass(beanDefinition);
-                if (schemaMap.containsKey(clazz.getSimpleName()) || clazz.getAnnotation(OpenApiIgnore.class) != null) {
-                    continue;
-                }
-                Schema<?> transformedComponentSchema = componentSchemaTransformer.transformSimpleSchema(clazz, inheritanceMap);
-                schemaInterceptors.forEach(schemaInterceptor -> schemaInterceptor.intercept(clazz, transformedComponentSchema));
-                schemaMap.put(clazz.getSimpleName(), transformedComponentSchema);
+        }
+        return modelClasses;
+    }
+
+    private Map<String, Schema> createSchemas(List<Class<?>> modelClasses, GenerationContext generationContext) {
+        ComponentSchemaTransformer componentSchemaTransformer = new ComponentSchemaTransformer(generationContext, schemaGeneratorHelper);
+        Map<String, InheritanceInfo> inheritanceMap = createInheritanceMap(modelClasses);
+
+        Map<String, Schema> schemaMap = new LinkedHashMap<>();
+        for (Class<?> clazz : modelClasses) {
+            if (schemaMap.containsKey(clazz.getSimpleName())) {
+                continue;
             }
+            schemaMap.put(clazz.getSimpleName(), transformSchema(componentSchemaTransformer, clazz, inheritanceMap, generationContext));
+        }
+        return schemaMap;
+    }
 
+    /**
+     * Transforms model classes lazily starting from schemas referenced by operations. Schemas referenced by transformed
+     * schemas (properties, array items, allOf) and subtypes of transformed discriminator schemas are transformed next,
+     * model classes which are not reachable are never transformed.
+     */
+    private Map<String, Schema> createReachableSchemas(List<Class<?>> modelClasses, GenerationContext generationContext, Paths paths) {
+        ComponentSchemaTransformer componentSchemaTransformer = new ComponentSchemaTransformer(generationContext, schemaGeneratorHelper);
+        Map<String, InheritanceInfo> inheritanceMap = createInheritanceMap(modelClasses);
+        Map<String, Class<?>> classesBySimpleName = new HashMap<>();
+        modelClasses.forEach(clazz -> classesBySimpleName.putIfAbsent(clazz.getSimpleName(), clazz));
+
+        Deque<String> pendingSchemaNames = new ArrayDeque<>();
+        SchemaReferences.collect(paths, pendingSchemaNames);
+        Map<String, Schema> schemaMap = new LinkedHashMap<>();
+        while (!pendingSchemaNames.isEmpty()) {
+            String schemaName = pendingSchemaNames.poll();
+            Class<?> clazz = classesBySimpleName.get(schemaName);
+            if (clazz == null || schemaMap.containsKey(schemaName)) {
+                continue;
+            }
+            Schema<?> schema = transformSchema(componentSchemaTransformer, clazz, inheritanceMap, generationContext);
+            schemaMap.put(schemaName, schema);
+            SchemaReferences.collect(schema, pendingSchemaNames);
+            InheritanceInfo inheritanceInfo = inheritanceMap.get(clazz.getName());
+            if (inheritanceInfo != null) {
+                // discriminator class map is keyed by simple names of subtypes
+                pendingSchemaNames.addAll(inheritanceInfo.getDiscriminatorClassMap().keySet());
+            }
         }
+        logger.debug("Transformed [{}] reachable schemas out of [{}] model classes", schemaMap.size(), modelClasses.size());
         return schemaMap;
     }
 
+    private Map<String, InheritanceInfo> createInheritanceMap(List<Class<?>> modelClasses) {
+        Map<String, InheritanceInfo> inheritanceMap = new HashMap<>();
+        for (Class<?> clazz : modelClasses) {
+            // populating inheritance info
+            getInheritanceInfo(clazz).ifPresent(inheritanceInfo -> {
+                logger.debug("Adding entry [{}] to inheritance map", clazz.getName());
+                inheritanceMap.put(clazz.getName(), inheritanceInfo);
+            });
+        }
+        return inheritanceMap;
+    }
+
+    private Schema<?> transformSchema(ComponentSchemaTransformer componentSchemaTransformer, Class<?> clazz,
+                                     Map<String, InheritanceInfo> inheritanceMap, GenerationContext generationContext) {
+        Schema<?> transformedComponentSchema = componentSchemaTransformer.transformSimpleSchema(clazz, inheritanceMap);
+        generationContext.getSchemaInterceptors().forEach(schemaInterceptor -> schemaInterceptor.intercept(clazz, transformedComponentSchema));
+        return transformedComponentSchema;
+    }
+
     private Class<?> getClass(BeanDefinition beanDefinition) {
         try {
             return Class.forName(beanDefinition.getBeanClassName());
@@ -303,4 +587,41 @@ public class OpenAPIGenerator {
                 .collect(Collectors.toMap(o -> o.value().getSimpleName(), JsonSubTypes.Type::name));
     }
 
+
+    /**
+     * Cache key of selected spec, holds copy of the config and compares its values, so equal configs share the result
+     * and later changes of the caller's config instance don't affect cached entries.
+     */
+    private static final class SelectedSpecKey {
+
+        private final OpenApiGeneratorConfig config;
+        private final List<Object> configValues;
+        private final ApiSelector apiSelector;
+
+        private SelectedSpecKey(OpenApiGeneratorConfig config, ApiSelector apiSelector) {
+            this.config = config.copy();
+            this.configValues = asList(this.config.isGenerateExamples(), this.config.getOpenApiExampleResolver(),
+                    this.config.getExampleCacheSize(), this.config.getEnvironment(), this.config.isDeterministicOrdering(),
+                    this.config.isGenerateContentHashes(), this.config.isPruneUnreachableSchemas(), this.config.isShareParameters(),
+                    this.config.isShareResponses());
+            this.apiSelector = apiSelector;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            SelectedSpecKey other = (SelectedSpecKey) o;
+            return configValues.equals(other.configValues) && apiSelector.equals(other.apiSelector);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * configValues.hashCode() + apiSelector.hashCode();
+        }
+    }
 }
@@ -3,11 +3,14 @@ package com.github.jrcodeza.schema.generator;
 import com.github.jrcodeza.Response;
 import com.github.jrcodeza.Responses;
 import com.github.jrcodeza.schema.generator.filters.OperationFilter;
+import com.github.jrcodeza.schema.generator.config.builder.OpenApiGeneratorConfigBuilder;
 import com.github.jrcodeza.schema.generator.filters.OperationParameterFilter;
 import com.github.jrcodeza.schema.generator.interceptors.OperationInterceptor;
 import com.github.jrcodeza.schema.generator.interceptors.OperationParameterInterceptor;
 import com.github.jrcodeza.schema.generator.interceptors.RequestBodyInterceptor;
+import com.github.jrcodeza.schema.generator.model.GenerationContext;
 import com.github.jrcodeza.schema.generator.util.SchemaGeneratorHelper;
+import com.github.jrcodeza.schema.generator.util.SharedParameters;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.headers.Header;
@@ -45,6 +48,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -55,8 +59,10 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.github.jrcodeza.schema.generator.util.CommonConstants.COMPONENT_REF_PREFIX;
+import static com.github.jrcodeza.schema.generator.util.GeneratorUtils.classNameToTag;
 import static com.github.jrcodeza.schema.generator.util.GeneratorUtils.shouldBeIgnored;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.apache.commons.lang3.ArrayUtils.isNotEmpty;
 
@@ -78,10 +84,27 @@ public class OperationsTransformer {
 	private final List<OperationInterceptor> operationInterceptors;
 	private final List<RequestBodyInterceptor> requestBodyInterceptors;
 	private final List<com.github.jrcodeza.schema.generator.model.Header> globalHeaders;
+	private final boolean shareParameters;
 
-	private final AtomicReference<OperationFilter> operationFilter;
-	private final AtomicReference<OperationParameterFilter> operationParameterFilter;
+	private final OperationFilter operationFilter;
+	private final OperationParameterFilter operationParameterFilter;
 
+	public OperationsTransformer(GenerationContext generationContext, SchemaGeneratorHelper schemaGeneratorHelper) {
+		this.schemaGeneratorHelper = schemaGeneratorHelper;
+		this.operationParameterInterceptors = generationContext.getOperationParameterInterceptors();
+		this.operationInterceptors = generationContext.getOperationInterceptors();
+		this.requestBodyInterceptors = generationContext.getRequestBodyInterceptors();
+		this.globalHeaders = generationContext.getGlobalHeaders();
+		this.shareParameters = generationContext.getConfig().isShareParameters();
+		this.operationFilter = generationContext.getOperationFilter();
+		this.operationParameterFilter = generationContext.getOperationParameterFilter();
+	}
+
+	/**
+	 * @deprecated interceptors, global headers and filters are copied when transformer is created and default config is
+	 * used, use {@link #OperationsTransformer(GenerationContext, SchemaGeneratorHelper)} instead
+	 */
+	@Deprecated
 	public OperationsTransformer(SchemaGeneratorHelper schemaGeneratorHelper,
 								 List<OperationParameterInterceptor> operationParameterInterceptors,
 								 List<OperationInterceptor> operationInterceptors,
@@ -89,17 +112,13 @@ public class OperationsTransformer {
 								 List<com.github.jrcodeza.schema.generator.model.Header> globalHeaders,
 								 AtomicReference<OperationFilter> operationFilter,
 								 AtomicReference<OperationParameterFilter> operationParameterFilter) {
-		this.schemaGeneratorHelper = schemaGeneratorHelper;
-		this.operationParameterInterceptors = operationParameterInterceptors;
-		this.operationInterceptors = operationInterceptors;
-		this.requestBodyInterceptors = requestBodyInterceptors;
-		this.globalHeaders = globalHeaders;
-		this.operationFilter = operationFilter;
-		this.operationParameterFilter = operationParameterFilter;
+		this(new GenerationContext(OpenApiGeneratorConfigBuilder.defaultConfig().build(), emptyList(), emptyList(),
+				operationParameterInterceptors, operationInterceptors, requestBodyInterceptors, globalHeaders, operationFilter.get(),
+				operationParameterFilter.get(), null), schemaGeneratorHelper);
 	}
 
 	public Map<String, PathItem> transformOperations(List<Class<?>> restControllerClasses) {
-		final Map<String, PathItem> operationsMap = new HashMap<>();
+		final Map<String, PathItem> operationsMap = new LinkedHashMap<>();
 
 		for (Class<?> clazz : restControllerClasses) {
 			if (shouldBeIgnored(clazz)) {
@@ -198,12 +217,6 @@ public class OperationsTransformer {
 		return Stream.of(methods).anyMatch(requestMethod -> asList(RequestMethod.POST, RequestMethod.PUT, RequestMethod.PATCH).contains(requestMethod));
 	}
 
-	private String classNameToTag(String controllerClassName) {
-		return Stream.of(StringUtils.splitByCharacterTypeCamelCase(controllerClassName))
-				.map(StringUtils::lowerCase)
-				.collect(Collectors.joining("-"));
-	}
-
 	private HttpMethod getSpringMethod(RequestMethod[] method) {
 		if (method == null || method.length == 0) {
 			throw new IllegalArgumentException("HttpMethod must be specified on RequestMapping annotated method");
@@ -256,32 +269,36 @@ public class OperationsTransformer {
 
 		ApiResponses apiResponses = new ApiResponses();
 		for (Response responseAnnotation : apiResponsesAnnotation.value()) {
-			ApiResponse apiResponse = new ApiResponse();
-			apiResponse.setDescription(responseAnnotation.description());
-			apiResponse.setHeaders(createHeaderResponse(responseAnnotation.headers()));
-
-			if (!StringUtils.containsIgnoreCase(responseAnnotation.responseBody().getSimpleName(), "void")) {
-				Schema<?> schema = new Schema<>();
-
-				if (isFileResponse(responseAnnotation.responseBody())) {
-					schema.setType("string");
-					schema.setFormat("binary");
-				} else if (responseAnnotation.responseBody().getName().startsWith("java.lang.")) {
-					schema = schemaGeneratorHelper.parseClassRefTypeSignature(responseAnnotation.responseBody(), null, null);
-				} else {
-					schema.set$ref(COMPONENT_REF_PREFIX + responseAnnotation.responseBody().getSimpleName());
-				}
+			apiResponses.put(String.valueOf(responseAnnotation.responseCode()), createApiResponse(responseAnnotation, produces));
+		}
+		return apiResponses;
+	}
 
-				MediaType mediaType = new MediaType();
-				mediaType.setSchema(schema);
+	private ApiResponse createApiResponse(Response responseAnnotation, String produces) {
+		ApiResponse apiResponse = new ApiResponse();
+		apiResponse.setDescription(responseAnnotation.description());
+		apiResponse.setHeaders(createHeaderResponse(responseAnnotation.headers()));
 
-				Content content = new Content();
-				content.addMediaType(StringUtils.isBlank(produces) ? resolveDefaultContentType(responseAnnotation.responseBody()) : produces, mediaType);
-				apiResponse.setContent(content);
+		if (!StringUtils.containsIgnoreCase(responseAnnotation.responseBody().getSimpleName(), "void")) {
+			Schema<?> schema = new Schema<>();
+
+			if (isFileResponse(responseAnnotation.responseBody())) {
+				schema.setType("string");
+				schema.setFormat("binary");
+			} else if (responseAnnotation.responseBody().getName().startsWith("java.lang.")) {
+				schema = schemaGeneratorHelper.parseClassRefTypeSignature(responseAnnotation.responseBody(), null, null);
+			} else {
+				schema.set$ref(COMPONENT_REF_PREFIX + responseAnnotation.responseBody().getSimpleName());
 			}
-			apiResponses.put(String.valueOf(responseAnnotation.responseCode()), apiResponse);
+
+			MediaType mediaType = new MediaType();
+			mediaType.setSchema(schema);
+
+			Content content = new Content();
+			content.addMediaType(StringUtils.isBlank(produces) ? resolveDefaultContentType(responseAnnotation.responseBody()) : produces, mediaType);
+			apiResponse.setContent(content);
 		}
-		return apiResponses;
+		return apiResponse;
 	}
 
 	private String resolveDefaultContentType(Class<?> responseBody) {
@@ -324,7 +341,7 @@ public class OperationsTransformer {
 	}
 
 	private Map<String, Header> createHeaderResponse(com.github.jrcodeza.Header[] headers) {
-		Map<String, Header> responseHeaders = new HashMap<>();
+		Map<String, Header> responseHeaders = new LinkedHashMap<>();
 		for (com.github.jrcodeza.Header headerAnnotation : headers) {
 			Schema<?> schema = new Schema<>();
 			schema.setType("string");
@@ -450,33 +467,19 @@ public class OperationsTransformer {
 			return true;
 		}
 
-		return this.operationParameterFilter.get() != null
-				&& this.operationParameterFilter.get().shouldIgnore(method, parameter, parameterName);
+		return this.operationParameterFilter != null
+				&& this.operationParameterFilter.shouldIgnore(method, parameter, parameterName);
 	}
 
 	private void addGlobalHeaders(List<io.swagger.v3.oas.models.parameters.Parameter> result) {
 		if (!globalHeaders.isEmpty()) {
 			List<io.swagger.v3.oas.models.parameters.Parameter> globalOasHeaders = globalHeaders.stream()
-					.map(this::createOasHeader)
+					.map(shareParameters ? SharedParameters::createHeaderReference : SharedParameters::createHeaderParameter)
 					.collect(Collectors.toList());
 			result.addAll(globalOasHeaders);
 		}
 	}
 
-	private io.swagger.v3.oas.models.parameters.Parameter createOasHeader(com.github.jrcodeza.schema.generator.model.Header header) {
-		Schema<?> schema = new Schema<>();
-		schema.setType("string");
-
-		io.swagger.v3.oas.models.parameters.Parameter parameter = new io.swagger.v3.oas.models.parameters.Parameter();
-		parameter.setIn("header");
-		parameter.setName(header.getName());
-		parameter.setDescription(header.getDescription());
-		parameter.setRequired(header.isRequired());
-
-		parameter.setSchema(schema);
-		return parameter;
-	}
-
 	private boolean shouldBeIncludedInDocumentation(Parameter parameter) {
 		return parameter.getAnnotation(PathVariable.class) != null || parameter.getAnnotation(RequestParam.class) != null
 				|| parameter.getAnnotation(RequestHeader.class) != null;
@@ -643,7 +646,7 @@ public class OperationsTransformer {
 		if (shouldBeIgnored(method)) {
 			return true;
 		}
-		return this.operationFilter.get() != null && this.operationFilter.get().shouldIgnore(method);
+		return this.operationFilter != null && this.operationFilter.shouldIgnore(method);
 	}
 
 	private boolean isOperationMethod(Method method) {
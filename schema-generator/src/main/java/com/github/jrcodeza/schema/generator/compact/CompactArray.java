@@ -0,0 +1,71 @@
+package com.github.jrcodeza.schema.generator.compact;
+
+/**
+ * JSON array backed by plain array of canonical values.
+ */
+final class CompactArray {
+
+	final Object[] values;
+	private final int hash;
+
+	CompactArray(Object[] values) {
+		this.values = values;
+		this.hash = identityHash(values);
+	}
+
+	static int identityHash(Object[] values) {
+		int result = 1;
+		for (Object value : values) {
+			result = 31 * result + value.hashCode();
+		}
+		return result;
+	}
+
+	static boolean sameNames(String[] names, String[] otherNames) {
+		if (names.length != otherNames.length) {
+			return false;
+		}
+		for (int i = 0; i < names.length; i++) {
+			// names are interned by the reader
+			if (names[i] != otherNames[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static boolean sameValues(Object[] values, Object[] otherValues) {
+		if (values.length != otherValues.length) {
+			return false;
+		}
+		for (int i = 0; i < values.length; i++) {
+			Object value = values[i];
+			Object otherValue = otherValues[i];
+			if (value instanceof CompactObject || value instanceof CompactArray) {
+				if (value != otherValue) {
+					return false;
+				}
+			} else if (value.getClass() != otherValue.getClass() || !value.equals(otherValue)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof CompactArray)) {
+			return false;
+		}
+		CompactArray other = (CompactArray) o;
+		return hash == other.hash && sameValues(values, other.values);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+}
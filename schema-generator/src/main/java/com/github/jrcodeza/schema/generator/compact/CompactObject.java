@@ -0,0 +1,37 @@
+package com.github.jrcodeza.schema.generator.compact;
+
+import java.util.Arrays;
+
+/**
+ * JSON object stored as parallel arrays of interned field names and values. Values are canonical instances, so
+ * nested objects and arrays are compared by identity.
+ */
+final class CompactObject {
+
+	final String[] names;
+	final Object[] values;
+	private final int hash;
+
+	CompactObject(String[] names, Object[] values) {
+		this.names = names;
+		this.values = values;
+		this.hash = 31 * Arrays.hashCode(names) + CompactArray.identityHash(values);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof CompactObject)) {
+			return false;
+		}
+		CompactObject other = (CompactObject) o;
+		return hash == other.hash && CompactArray.sameNames(names, other.names) && CompactArray.sameValues(values, other.values);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+}
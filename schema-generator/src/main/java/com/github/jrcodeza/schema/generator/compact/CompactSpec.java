@@ -0,0 +1,164 @@
+package com.github.jrcodeza.schema.generator.compact;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import io.swagger.v3.core.util.Json;
+
+/**
+ * Immutable memory efficient form of generated spec intended for specs retained in memory and served. Works for any
+ * JSON spec, i.e. both OpenAPI 3 and Swagger 2 documents. Names and string values are interned, objects are stored as
+ * arrays of names and values instead of maps with nullable fields, and identical subtrees such as primitive property
+ * schemas or $ref objects are shared. JSON is written directly from this form, swagger-models objects are created
+ * only on demand by {@link #toView(Class)}.
+ */
+public final class CompactSpec {
+
+	private final Object root;
+	private final ObjectMapper objectMapper;
+	private final int nodeCount;
+	private final int distinctNodeCount;
+
+	private CompactSpec(Object root, ObjectMapper objectMapper, int nodeCount, int distinctNodeCount) {
+		this.root = root;
+		this.objectMapper = objectMapper;
+		this.nodeCount = nodeCount;
+		this.distinctNodeCount = distinctNodeCount;
+	}
+
+	/**
+	 * @param spec OpenAPI 3 spec (swagger-models object)
+	 */
+	public static CompactSpec of(Object spec) {
+		return of(spec, Json.mapper());
+	}
+
+	/**
+	 * @param spec         spec object, e.g. Swagger 2 document
+	 * @param objectMapper mapper serializing the spec, used also by {@link #toView(Class)}
+	 */
+	public static CompactSpec of(Object spec, ObjectMapper objectMapper) {
+		TokenBuffer tokenBuffer = new TokenBuffer(objectMapper, false);
+		try {
+			objectMapper.writeValue(tokenBuffer, spec);
+			try (JsonParser parser = tokenBuffer.asParser()) {
+				return read(parser, objectMapper);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot serialize spec", e);
+		}
+	}
+
+	public static CompactSpec read(byte[] json) {
+		return read(json, Json.mapper());
+	}
+
+	public static CompactSpec read(byte[] json, ObjectMapper objectMapper) {
+		try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+			return read(parser, objectMapper);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Cannot read spec", e);
+		}
+	}
+
+	public static CompactSpec read(JsonParser parser, ObjectMapper objectMapper) throws IOException {
+		CompactSpecReader reader = new CompactSpecReader();
+		Object root = reader.read(parser);
+		return new CompactSpec(root, objectMapper, reader.getNodeCount(), reader.getDistinctNodeCount());
+	}
+
+	public void writeTo(JsonGenerator generator) throws IOException {
+		writeValue(generator, root);
+	}
+
+	/**
+	 * Writes JSON to the stream, the stream is not closed.
+	 */
+	public void writeTo(OutputStream outputStream) throws IOException {
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			writeTo(generator);
+		}
+	}
+
+	public String toJson() {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try {
+			writeTo(outputStream);
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot write spec", e);
+		}
+		return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Creates new swagger-models (or any other) object graph of the spec, the same as parsing spec JSON by the mapper.
+	 * The graph is not retained.
+	 */
+	public <T> T toView(Class<T> type) {
+		TokenBuffer tokenBuffer = new TokenBuffer(objectMapper, false);
+		try {
+			writeTo(tokenBuffer);
+			try (JsonParser parser = tokenBuffer.asParser()) {
+				return objectMapper.readValue(parser, type);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot create view of spec", e);
+		}
+	}
+
+	/**
+	 * @return number of objects and arrays in the spec
+	 */
+	public int getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * @return number of objects and arrays actually stored, identical ones are stored only once
+	 */
+	public int getDistinctNodeCount() {
+		return distinctNodeCount;
+	}
+
+	private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+		if (value instanceof CompactObject) {
+			CompactObject compactObject = (CompactObject) value;
+			generator.writeStartObject();
+			for (int i = 0; i < compactObject.names.length; i++) {
+				generator.writeFieldName(compactObject.names[i]);
+				writeValue(generator, compactObject.values[i]);
+			}
+			generator.writeEndObject();
+		} else if (value instanceof CompactArray) {
+			generator.writeStartArray();
+			for (Object element : ((CompactArray) value).values) {
+				writeValue(generator, element);
+			}
+			generator.writeEndArray();
+		} else if (value instanceof String) {
+			generator.writeString((String) value);
+		} else if (value instanceof Boolean) {
+			generator.writeBoolean((Boolean) value);
+		} else if (value instanceof BigDecimal) {
+			generator.writeNumber((BigDecimal) value);
+		} else if (value instanceof BigInteger) {
+			generator.writeNumber((BigInteger) value);
+		} else if (value instanceof Long) {
+			generator.writeNumber((Long) value);
+		} else if (value instanceof Number) {
+			generator.writeNumber(((Number) value).intValue());
+		} else {
+			generator.writeNull();
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package com.github.jrcodeza.schema.generator.compact;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Builds compact tree from JSON tokens. Strings and numbers are interned and identical objects and arrays are
+ * replaced by one canonical instance (hash consing), so e.g. all {"type":"string"} schemas or equal $ref objects
+ * share a single instance.
+ */
+final class CompactSpecReader {
+
+	static final Object NULL_VALUE = new Object() {
+		@Override
+		public String toString() {
+			return "null";
+		}
+	};
+
+	private static final String[] NO_NAMES = new String[0];
+	private static final Object[] NO_VALUES = new Object[0];
+
+	private final Map<Object, Object> pool = new HashMap<>();
+	private int nodeCount;
+	private int distinctNodeCount;
+
+	Object read(JsonParser parser) throws IOException {
+		JsonToken token = parser.currentToken() == null ? parser.nextToken() : parser.currentToken();
+		if (token == null) {
+			throw new IllegalArgumentException("Spec does not contain any JSON value");
+		}
+		return readValue(parser, token);
+	}
+
+	int getNodeCount() {
+		return nodeCount;
+	}
+
+	int getDistinctNodeCount() {
+		return distinctNodeCount;
+	}
+
+	private Object readValue(JsonParser parser, JsonToken token) throws IOException {
+		switch (token) {
+			case START_OBJECT:
+				return readObject(parser);
+			case START_ARRAY:
+				return readArray(parser);
+			case VALUE_STRING:
+				return intern(parser.getText());
+			case VALUE_NUMBER_INT:
+				return intern(parser.getNumberValue());
+			case VALUE_NUMBER_FLOAT:
+				return intern(readDecimal(parser));
+			case VALUE_TRUE:
+				return Boolean.TRUE;
+			case VALUE_FALSE:
+				return Boolean.FALSE;
+			case VALUE_NULL:
+				return NULL_VALUE;
+			default:
+				throw new IllegalArgumentException("Unsupported JSON token " + token + " at " + parser.getCurrentLocation());
+		}
+	}
+
+	private Object readObject(JsonParser parser) throws IOException {
+		List<String> names = new ArrayList<>();
+		List<Object> values = new ArrayList<>();
+		JsonToken token;
+		while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+			names.add(intern(parser.getCurrentName()));
+			values.add(readValue(parser, parser.nextToken()));
+		}
+		if (token != JsonToken.END_OBJECT) {
+			throw new IllegalArgumentException("Unexpected end of JSON object at " + parser.getCurrentLocation());
+		}
+		return canonical(new CompactObject(names.toArray(NO_NAMES), values.toArray(NO_VALUES)));
+	}
+
+	private Object readArray(JsonParser parser) throws IOException {
+		List<Object> values = new ArrayList<>();
+		JsonToken token;
+		while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+			if (token == null) {
+				throw new IllegalArgumentException("Unexpected end of JSON array at " + parser.getCurrentLocation());
+			}
+			values.add(readValue(parser, token));
+		}
+		return canonical(new CompactArray(values.toArray(NO_VALUES)));
+	}
+
+	private Object canonical(Object node) {
+		nodeCount++;
+		Object existing = pool.putIfAbsent(node, node);
+		if (existing != null) {
+			return existing;
+		}
+		distinctNodeCount++;
+		return node;
+	}
+
+	/**
+	 * Decimal without fraction, e.g. BigDecimal maximum of spec object, is written as integer in JSON. It is kept as
+	 * integer, so views created from spec object are the same as the ones parsed from its JSON.
+	 */
+	private static Object readDecimal(JsonParser parser) throws IOException {
+		BigDecimal value = parser.getDecimalValue();
+		if (value.scale() != 0) {
+			return value;
+		}
+		BigInteger integer = value.toBigInteger();
+		if (integer.bitLength() < 32) {
+			return integer.intValue();
+		}
+		return integer.bitLength() < 64 ? (Object) integer.longValue() : integer;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T intern(T value) {
+		Object existing = pool.putIfAbsent(value, value);
+		return existing == null ? value : (T) existing;
+	}
+}
@@ -0,0 +1,60 @@
+package com.github.jrcodeza.schema.generator.config;
+
+import com.github.jrcodeza.schema.generator.filters.OperationFilter;
+import com.github.jrcodeza.schema.generator.filters.OperationParameterFilter;
+import com.github.jrcodeza.schema.generator.filters.SchemaFieldFilter;
+
+import io.swagger.v3.oas.models.info.Info;
+
+/**
+ * One of the documents generated by {@link com.github.jrcodeza.schema.generator.OpenAPIGenerator#generateGroups}. Filters
+ * and info which are not set are taken from the generator.
+ */
+public class ApiGroup {
+
+	private final String name;
+	private Info info;
+	private OperationFilter operationFilter;
+	private OperationParameterFilter operationParameterFilter;
+	private SchemaFieldFilter schemaFieldFilter;
+
+	public ApiGroup(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Info getInfo() {
+		return info;
+	}
+
+	public void setInfo(Info info) {
+		this.info = info;
+	}
+
+	public OperationFilter getOperationFilter() {
+		return operationFilter;
+	}
+
+	public void setOperationFilter(OperationFilter operationFilter) {
+		this.operationFilter = operationFilter;
+	}
+
+	public OperationParameterFilter getOperationParameterFilter() {
+		return operationParameterFilter;
+	}
+
+	public void setOperationParameterFilter(OperationParameterFilter operationParameterFilter) {
+		this.operationParameterFilter = operationParameterFilter;
+	}
+
+	public SchemaFieldFilter getSchemaFieldFilter() {
+		return schemaFieldFilter;
+	}
+
+	public void setSchemaFieldFilter(SchemaFieldFilter schemaFieldFilter) {
+		this.schemaFieldFilter = schemaFieldFilter;
+	}
+}
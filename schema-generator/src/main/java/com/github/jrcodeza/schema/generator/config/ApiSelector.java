@@ -0,0 +1,84 @@
+package com.github.jrcodeza.schema.generator.config;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import com.github.jrcodeza.schema.generator.util.GeneratorUtils;
+
+/**
+ * Selects part of the API generated by {@link com.github.jrcodeza.schema.generator.OpenAPIGenerator#generate(OpenApiGeneratorConfig,
+ * ApiSelector)}. Controller and tag selectors pick controllers before they are transformed, path selector is applied on
+ * transformed operations. Selectors are equal when they select the same elements, so they can be used as cache keys.
+ */
+public final class ApiSelector {
+
+	private final String key;
+	private final Predicate<Class<?>> controllerPredicate;
+	private final Predicate<String> pathPredicate;
+
+	private ApiSelector(String key, Predicate<Class<?>> controllerPredicate, Predicate<String> pathPredicate) {
+		this.key = key;
+		this.controllerPredicate = controllerPredicate;
+		this.pathPredicate = pathPredicate;
+	}
+
+	public static ApiSelector controllers(Class<?>... controllerClasses) {
+		Set<Class<?>> selectedClasses = new HashSet<>(Arrays.asList(controllerClasses));
+		return new ApiSelector("controllers:" + joinSorted(selectedClasses.stream().map(Class::getName).collect(Collectors.toSet())),
+				selectedClasses::contains, path -> true);
+	}
+
+	/**
+	 * @param tags tags derived from controller names, e.g. car-controller
+	 */
+	public static ApiSelector tags(String... tags) {
+		Set<String> selectedTags = new HashSet<>(Arrays.asList(tags));
+		return new ApiSelector("tags:" + joinSorted(selectedTags),
+				controllerClass -> selectedTags.contains(GeneratorUtils.classNameToTag(controllerClass.getSimpleName())), path -> true);
+	}
+
+	/**
+	 * @param pathPrefixes prefixes of operation paths, e.g. /cars
+	 */
+	public static ApiSelector pathPrefixes(String... pathPrefixes) {
+		Set<String> selectedPrefixes = new HashSet<>(Arrays.asList(pathPrefixes));
+		return new ApiSelector("paths:" + joinSorted(selectedPrefixes), controllerClass -> true,
+				path -> selectedPrefixes.stream().anyMatch(path::startsWith));
+	}
+
+	public boolean matchesController(Class<?> controllerClass) {
+		return controllerPredicate.test(controllerClass);
+	}
+
+	public boolean matchesPath(String path) {
+		return pathPredicate.test(path);
+	}
+
+	private static String joinSorted(Set<String> values) {
+		return values.stream().sorted().collect(Collectors.joining(","));
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		return key.equals(((ApiSelector) o).key);
+	}
+
+	@Override
+	public int hashCode() {
+		return key.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return key;
+	}
+}
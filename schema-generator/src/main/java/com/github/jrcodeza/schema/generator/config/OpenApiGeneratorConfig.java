@@ -2,6 +2,7 @@ package com.github.jrcodeza.schema.generator.config;
 
 import org.springframework.core.env.Environment;
 
+import com.github.jrcodeza.schema.generator.interceptors.examples.CachingOpenApiExampleResolver;
 import com.github.jrcodeza.schema.generator.interceptors.examples.OpenApiExampleResolver;
 
 public class OpenApiGeneratorConfig {
@@ -10,8 +11,34 @@ public class OpenApiGeneratorConfig {
 
 	private OpenApiExampleResolver openApiExampleResolver;
 
+	private int exampleCacheSize = CachingOpenApiExampleResolver.DEFAULT_CACHE_SIZE;
+
 	private Environment environment;
 
+	private boolean deterministicOrdering;
+
+	private boolean generateContentHashes;
+	private boolean pruneUnreachableSchemas;
+	private boolean shareParameters;
+	private boolean shareResponses;
+
+	/**
+	 * @return copy of this config, so one generation run is not affected by later changes of the config
+	 */
+	public OpenApiGeneratorConfig copy() {
+		OpenApiGeneratorConfig copy = new OpenApiGeneratorConfig();
+		copy.generateExamples = generateExamples;
+		copy.openApiExampleResolver = openApiExampleResolver;
+		copy.exampleCacheSize = exampleCacheSize;
+		copy.environment = environment;
+		copy.deterministicOrdering = deterministicOrdering;
+		copy.generateContentHashes = generateContentHashes;
+		copy.pruneUnreachableSchemas = pruneUnreachableSchemas;
+		copy.shareParameters = shareParameters;
+		copy.shareResponses = shareResponses;
+		return copy;
+	}
+
 	public boolean isGenerateExamples() {
 		return generateExamples;
 	}
@@ -28,6 +55,14 @@ public class OpenApiGeneratorConfig {
 		this.openApiExampleResolver = openApiExampleResolver;
 	}
 
+	public int getExampleCacheSize() {
+		return exampleCacheSize;
+	}
+
+	public void setExampleCacheSize(int exampleCacheSize) {
+		this.exampleCacheSize = exampleCacheSize;
+	}
+
 	public Environment getEnvironment() {
 		return environment;
 	}
@@ -35,4 +70,44 @@ public class OpenApiGeneratorConfig {
 	public void setEnvironment(Environment environment) {
 		this.environment = environment;
 	}
+
+	public boolean isDeterministicOrdering() {
+		return deterministicOrdering;
+	}
+
+	public void setDeterministicOrdering(boolean deterministicOrdering) {
+		this.deterministicOrdering = deterministicOrdering;
+	}
+
+	public boolean isGenerateContentHashes() {
+		return generateContentHashes;
+	}
+
+	public void setGenerateContentHashes(boolean generateContentHashes) {
+		this.generateContentHashes = generateContentHashes;
+	}
+
+	public boolean isPruneUnreachableSchemas() {
+		return pruneUnreachableSchemas;
+	}
+
+	public void setPruneUnreachableSchemas(boolean pruneUnreachableSchemas) {
+		this.pruneUnreachableSchemas = pruneUnreachableSchemas;
+	}
+
+	public boolean isShareParameters() {
+		return shareParameters;
+	}
+
+	public void setShareParameters(boolean shareParameters) {
+		this.shareParameters = shareParameters;
+	}
+
+	public boolean isShareResponses() {
+		return shareResponses;
+	}
+
+	public void setShareResponses(boolean shareResponses) {
+		this.shareResponses = shareResponses;
+	}
 }
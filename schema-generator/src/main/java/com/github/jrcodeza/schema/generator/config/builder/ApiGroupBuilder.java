@@ -0,0 +1,45 @@
+package com.github.jrcodeza.schema.generator.config.builder;
+
+import com.github.jrcodeza.schema.generator.config.ApiGroup;
+import com.github.jrcodeza.schema.generator.filters.OperationFilter;
+import com.github.jrcodeza.schema.generator.filters.OperationParameterFilter;
+import com.github.jrcodeza.schema.generator.filters.SchemaFieldFilter;
+
+import io.swagger.v3.oas.models.info.Info;
+
+public final class ApiGroupBuilder {
+
+	private ApiGroup apiGroup;
+
+	private ApiGroupBuilder(String name) {
+		apiGroup = new ApiGroup(name);
+	}
+
+	public static ApiGroupBuilder group(String name) {
+		return new ApiGroupBuilder(name);
+	}
+
+	public ApiGroupBuilder withInfo(Info info) {
+		apiGroup.setInfo(info);
+		return this;
+	}
+
+	public ApiGroupBuilder withOperationFilter(OperationFilter operationFilter) {
+		apiGroup.setOperationFilter(operationFilter);
+		return this;
+	}
+
+	public ApiGroupBuilder withOperationParameterFilter(OperationParameterFilter operationParameterFilter) {
+		apiGroup.setOperationParameterFilter(operationParameterFilter);
+		return this;
+	}
+
+	public ApiGroupBuilder withSchemaFieldFilter(SchemaFieldFilter schemaFieldFilter) {
+		apiGroup.setSchemaFieldFilter(schemaFieldFilter);
+		return this;
+	}
+
+	public ApiGroup build() {
+		return apiGroup;
+	}
+}
@@ -27,11 +27,58 @@ public final class OpenApiGeneratorConfigBuilder {
 		return this;
 	}
 
+	public OpenApiGeneratorConfigBuilder withExampleCacheSize(int exampleCacheSize) {
+		openApiGeneratorConfig.setExampleCacheSize(exampleCacheSize);
+		return this;
+	}
+
 	public OpenApiGeneratorConfigBuilder withEnvironment(Environment environment) {
 		openApiGeneratorConfig.setEnvironment(environment);
 		return this;
 	}
 
+	public OpenApiGeneratorConfigBuilder withDeterministicOrdering(boolean deterministicOrdering) {
+		openApiGeneratorConfig.setDeterministicOrdering(deterministicOrdering);
+		return this;
+	}
+
+	/**
+	 * @param generateContentHashes whether x-content-hash extension should be added to every component schema and operation
+	 *                              together with document level Merkle root of all hashes
+	 */
+	public OpenApiGeneratorConfigBuilder withGenerateContentHashes(boolean generateContentHashes) {
+		openApiGeneratorConfig.setGenerateContentHashes(generateContentHashes);
+		return this;
+	}
+
+	/**
+	 * @param pruneUnreachableSchemas whether only component schemas reachable from operations should be generated, model
+	 *                                classes which are not reachable are not transformed at all
+	 */
+	public OpenApiGeneratorConfigBuilder withPruneUnreachableSchemas(boolean pruneUnreachableSchemas) {
+		openApiGeneratorConfig.setPruneUnreachableSchemas(pruneUnreachableSchemas);
+		return this;
+	}
+
+	/**
+	 * @param shareParameters whether global headers and parameters used identically by more than one operation should be
+	 *                        generated once in components.parameters and referenced by $ref
+	 */
+	public OpenApiGeneratorConfigBuilder withShareParameters(boolean shareParameters) {
+		openApiGeneratorConfig.setShareParameters(shareParameters);
+		return this;
+	}
+
+	/**
+	 * @param shareResponses whether responses declared by identical @Response annotations should be created once, responses
+	 *                       used by more than one operation are generated in components.responses and referenced by $ref.
+	 *                       Operation interceptors then see the same response object in all these operations.
+	 */
+	public OpenApiGeneratorConfigBuilder withShareResponses(boolean shareResponses) {
+		openApiGeneratorConfig.setShareResponses(shareResponses);
+		return this;
+	}
+
 	public OpenApiGeneratorConfig build() {
 		return openApiGeneratorConfig;
 	}
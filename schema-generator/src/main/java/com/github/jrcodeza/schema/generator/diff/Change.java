@@ -0,0 +1,50 @@
+package com.github.jrcodeza.schema.generator.diff;
+
+/**
+ * Single difference between two specs. Breaking changes are those which can break existing clients
+ * (removed operation or property, new required input, changed type, tightened constraint etc.).
+ */
+public final class Change {
+
+	private final ChangedElement element;
+	private final String name;
+	private final ChangeType type;
+	private final boolean breaking;
+	private final String description;
+
+	public Change(ChangedElement element, String name, ChangeType type, boolean breaking, String description) {
+		this.element = element;
+		this.name = name;
+		this.type = type;
+		this.breaking = breaking;
+		this.description = description;
+	}
+
+	public ChangedElement getElement() {
+		return element;
+	}
+
+	/**
+	 * @return schema name or operation in "METHOD path" form
+	 */
+	public String getName() {
+		return name;
+	}
+
+	public ChangeType getType() {
+		return type;
+	}
+
+	public boolean isBreaking() {
+		return breaking;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s %s %s [%s]: %s", breaking ? "BREAKING" : "NON-BREAKING", type, element, name, description);
+	}
+}
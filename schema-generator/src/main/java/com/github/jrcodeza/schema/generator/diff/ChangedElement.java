@@ -0,0 +1,5 @@
+package com.github.jrcodeza.schema.generator.diff;
+
+public enum ChangedElement {
+	SCHEMA, OPERATION
+}
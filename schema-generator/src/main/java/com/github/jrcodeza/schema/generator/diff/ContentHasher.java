@@ -0,0 +1,116 @@
+package com.github.jrcodeza.schema.generator.diff;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.ClassIntrospector;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import io.swagger.v3.core.util.Json;
+
+/**
+ * Computes SHA-256 hash of canonical JSON form (sorted properties and map keys, no nulls) of spec elements.
+ * JSON is streamed into the digest, so no intermediate string is created.
+ */
+public final class ContentHasher {
+
+	private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+			.enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+			.enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+			.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+			.serializationInclusion(JsonInclude.Include.NON_NULL)
+			.build()
+			.setMixInResolver(new SwaggerMixIns());
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private ContentHasher() {
+		throw new AssertionError();
+	}
+
+	public static String hash(Object element) {
+		MessageDigest messageDigest = createDigest();
+		try (OutputStream digestStream = new DigestingOutputStream(messageDigest)) {
+			CANONICAL_MAPPER.writeValue(digestStream, element);
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot serialize spec element for hashing", e);
+		}
+		return toHex(messageDigest.digest());
+	}
+
+	/**
+	 * @param hashes hashes of elements keyed by element name
+	 * @return hash of all given hashes ordered by name, i.e. Merkle root of the elements
+	 */
+	public static String combine(Map<String, String> hashes) {
+		MessageDigest messageDigest = createDigest();
+		new TreeMap<>(hashes).forEach((name, hash) -> {
+			messageDigest.update(name.getBytes(StandardCharsets.UTF_8));
+			messageDigest.update((byte) '=');
+			messageDigest.update(hash.getBytes(StandardCharsets.UTF_8));
+			messageDigest.update((byte) '\n');
+		});
+		return toHex(messageDigest.digest());
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		char[] hex = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+			hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+		}
+		return new String(hex);
+	}
+
+	/**
+	 * Mix-ins of swagger mapper, so extensions are serialized inline and internal flags of models are skipped.
+	 */
+	private static final class SwaggerMixIns implements ClassIntrospector.MixInResolver {
+
+		@Override
+		public Class<?> findMixInClassFor(Class<?> cls) {
+			return Json.mapper().findMixInClassFor(cls);
+		}
+
+		@Override
+		public ClassIntrospector.MixInResolver copy() {
+			return this;
+		}
+	}
+
+	private static final class DigestingOutputStream extends OutputStream {
+
+		private final MessageDigest messageDigest;
+
+		private DigestingOutputStream(MessageDigest messageDigest) {
+			this.messageDigest = messageDigest;
+		}
+
+		@Override
+		public void write(int b) {
+			messageDigest.update((byte) b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			messageDigest.update(b, off, len);
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.github.jrcodeza.schema.generator.diff;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Result of comparison of two specs.
+ */
+public final class OpenApiDiff {
+
+	private final List<Change> changes;
+	private final int unchangedSchemas;
+	private final int unchangedOperations;
+
+	public OpenApiDiff(List<Change> changes, int unchangedSchemas, int unchangedOperations) {
+		this.changes = Collections.unmodifiableList(changes);
+		this.unchangedSchemas = unchangedSchemas;
+		this.unchangedOperations = unchangedOperations;
+	}
+
+	public List<Change> getChanges() {
+		return changes;
+	}
+
+	public List<Change> getBreakingChanges() {
+		return changes.stream()
+				.filter(Change::isBreaking)
+				.collect(Collectors.toList());
+	}
+
+	public boolean isBreaking() {
+		return changes.stream().anyMatch(Change::isBreaking);
+	}
+
+	public boolean isEmpty() {
+		return changes.isEmpty();
+	}
+
+	/**
+	 * @return number of schemas present in both specs with equal content hash
+	 */
+	public int getUnchangedSchemas() {
+		return unchangedSchemas;
+	}
+
+	/**
+	 * @return number of operations present in both specs with equal content hash
+	 */
+	public int getUnchangedOperations() {
+		return unchangedOperations;
+	}
+}
@@ -0,0 +1,521 @@
+package com.github.jrcodeza.schema.generator.diff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+import static com.github.jrcodeza.schema.generator.util.CommonConstants.CONTENT_HASH_EXTENSION;
+import static com.github.jrcodeza.schema.generator.util.CommonConstants.PARAMETER_REF_PREFIX;
+import static com.github.jrcodeza.schema.generator.util.CommonConstants.RESPONSE_REF_PREFIX;
+
+/**
+ * Structural diff of two specs. Document level hashes are compared first, when they are equal nothing is inspected.
+ * Otherwise schemas and operations are matched by name (operations by method and path) and their content hashes are
+ * compared, so only changed elements are inspected and classified. Hashes stored in x-content-hash extensions are
+ * preferred, elements are serialized for hashing only when the extension is missing.
+ * <p>
+ * Constraint and enum changes are classified by direction of the value. Narrowing values accepted in parameters and
+ * request bodies breaks existing clients, widening values returned in responses breaks them as well. Properties of
+ * component schemas are classified as request values, since schemas can be used in both directions.
+ */
+public class OpenApiDiffEngine {
+
+	public OpenApiDiff diff(OpenAPI oldSpec, OpenAPI newSpec) {
+		Object oldRootHash = getStoredHash(oldSpec.getExtensions());
+		if (oldRootHash != null && oldRootHash.equals(getStoredHash(newSpec.getExtensions()))) {
+			return new OpenApiDiff(Collections.emptyList(), getSchemas(newSpec).size(), getOperations(newSpec).size());
+		}
+		List<Change> changes = new ArrayList<>();
+		int unchangedSchemas = diffSchemas(getSchemas(oldSpec), getSchemas(newSpec), changes);
+		int unchangedOperations = diffOperations(new SpecOperations(oldSpec), new SpecOperations(newSpec), changes);
+		return new OpenApiDiff(changes, unchangedSchemas, unchangedOperations);
+	}
+
+	/**
+	 * @return hash stored in x-content-hash extension by generator, computed when extension is missing
+	 */
+	protected String contentHash(Schema<?> schema) {
+		return contentHash(schema, schema.getExtensions());
+	}
+
+	protected String contentHash(Operation operation) {
+		return contentHash(operation, operation.getExtensions());
+	}
+
+	private static String contentHash(Object element, Map<String, Object> extensions) {
+		Object hash = getStoredHash(extensions);
+		return hash == null ? ContentHasher.hash(element) : hash.toString();
+	}
+
+	private static Object getStoredHash(Map<String, Object> extensions) {
+		return extensions == null ? null : extensions.get(CONTENT_HASH_EXTENSION);
+	}
+
+	private int diffSchemas(Map<String, Schema> oldSchemas, Map<String, Schema> newSchemas, List<Change> changes) {
+		int unchanged = 0;
+		for (Map.Entry<String, Schema> oldEntry : oldSchemas.entrySet()) {
+			Schema<?> newSchema = newSchemas.get(oldEntry.getKey());
+			if (newSchema == null) {
+				changes.add(new Change(ChangedElement.SCHEMA, oldEntry.getKey(), ChangeType.REMOVED, true, "Schema removed"));
+			} else if (contentHash((Schema<?>) oldEntry.getValue()).equals(contentHash(newSchema))) {
+				unchanged++;
+			} else {
+				ChangeCollector collector = new ChangeCollector(ChangedElement.SCHEMA, oldEntry.getKey(), changes);
+				compareSchemas(collector, oldEntry.getValue(), newSchema);
+				collector.finish();
+			}
+		}
+		newSchemas.keySet().stream()
+				.filter(schemaName -> !oldSchemas.containsKey(schemaName))
+				.forEach(schemaName -> changes.add(new Change(ChangedElement.SCHEMA, schemaName, ChangeType.ADDED, false, "Schema added")));
+		return unchanged;
+	}
+
+	private int diffOperations(SpecOperations oldSpec, SpecOperations newSpec, List<Change> changes) {
+		int unchanged = 0;
+		for (Map.Entry<String, Operation> oldEntry : oldSpec.operations.entrySet()) {
+			Operation newOperation = newSpec.operations.get(oldEntry.getKey());
+			if (newOperation == null) {
+				changes.add(new Change(ChangedElement.OPERATION, oldEntry.getKey(), ChangeType.REMOVED, true, "Operation removed"));
+			} else if (contentHash(oldEntry.getValue()).equals(contentHash(newOperation))
+					&& sharedComponentsEqual(oldEntry.getValue(), oldSpec, newSpec)) {
+				unchanged++;
+			} else {
+				ChangeCollector collector = new ChangeCollector(ChangedElement.OPERATION, oldEntry.getKey(), changes);
+				compareOperations(collector, oldSpec, newSpec, oldEntry.getValue(), newOperation);
+				collector.finish();
+			}
+		}
+		newSpec.operations.keySet().stream()
+				.filter(operationName -> !oldSpec.operations.containsKey(operationName))
+				.forEach(operationName -> changes.add(new Change(ChangedElement.OPERATION, operationName, ChangeType.ADDED, false, "Operation added")));
+		return unchanged;
+	}
+
+	private void compareSchemas(ChangeCollector collector, Schema<?> oldSchema, Schema<?> newSchema) {
+		ObjectView oldView = new ObjectView(oldSchema);
+		ObjectView newView = new ObjectView(newSchema);
+		if (!oldView.parents.equals(newView.parents)) {
+			collector.breaking("Parents changed from %s to %s", oldView.parents, newView.parents);
+		}
+		compareValues(collector, "Schema", oldSchema, newSchema, Direction.REQUEST);
+
+		oldView.properties.forEach((propertyName, oldProperty) -> {
+			Schema<?> newProperty = newView.properties.get(propertyName);
+			if (newProperty == null) {
+				collector.breaking("Property [%s] removed", propertyName);
+			} else {
+				compareValues(collector, String.format("Property [%s]", propertyName), oldProperty, newProperty, Direction.REQUEST);
+			}
+		});
+		newView.properties.keySet().stream()
+				.filter(propertyName -> !oldView.properties.containsKey(propertyName))
+				.forEach(propertyName -> {
+					if (newView.required.contains(propertyName)) {
+						collector.breaking("Required property [%s] added", propertyName);
+					} else {
+						collector.nonBreaking("Property [%s] added", propertyName);
+					}
+				});
+		newView.required.stream()
+				.filter(propertyName -> !oldView.required.contains(propertyName) && oldView.properties.containsKey(propertyName))
+				.forEach(propertyName -> collector.breaking("Property [%s] became required", propertyName));
+		oldView.required.stream()
+				.filter(propertyName -> !newView.required.contains(propertyName) && newView.properties.containsKey(propertyName))
+				.forEach(propertyName -> collector.nonBreaking("Property [%s] is no longer required", propertyName));
+
+		Set<String> removedDiscriminatorValues = new LinkedHashSet<>(oldView.discriminatorValues);
+		removedDiscriminatorValues.removeAll(newView.discriminatorValues);
+		if (!removedDiscriminatorValues.isEmpty()) {
+			collector.breaking("Discriminator values %s removed", removedDiscriminatorValues);
+		}
+		Set<String> addedDiscriminatorValues = new LinkedHashSet<>(newView.discriminatorValues);
+		addedDiscriminatorValues.removeAll(oldView.discriminatorValues);
+		if (!addedDiscriminatorValues.isEmpty()) {
+			collector.nonBreaking("Discriminator values %s added", addedDiscriminatorValues);
+		}
+	}
+
+	/**
+	 * Parameters and responses shared in components are not part of operation hash, so the ones referenced by operation
+	 * are compared separately.
+	 */
+	private boolean sharedComponentsEqual(Operation operation, SpecOperations oldSpec, SpecOperations newSpec) {
+		List<String> refs = new ArrayList<>();
+		if (operation.getParameters() != null) {
+			operation.getParameters().forEach(parameter -> refs.add(parameter.get$ref()));
+		}
+		if (operation.getResponses() != null) {
+			operation.getResponses().values().forEach(apiResponse -> refs.add(apiResponse.get$ref()));
+		}
+		return refs.stream()
+				.filter(Objects::nonNull)
+				.allMatch(ref -> oldSpec.getSharedHash(ref) != null && oldSpec.getSharedHash(ref).equals(newSpec.getSharedHash(ref)));
+	}
+
+	private void compareOperations(ChangeCollector collector, SpecOperations oldSpec, SpecOperations newSpec, Operation oldOperation,
+								   Operation newOperation) {
+		Map<String, Parameter> oldParameters = oldSpec.getParameters(oldOperation);
+		Map<String, Parameter> newParameters = newSpec.getParameters(newOperation);
+		oldParameters.forEach((parameterName, oldParameter) -> {
+			Parameter newParameter = newParameters.get(parameterName);
+			if (newParameter == null) {
+				collector.breaking("Parameter [%s] removed", parameterName);
+				return;
+			}
+			if (!isTrue(oldParameter.getRequired()) && isTrue(newParameter.getRequired())) {
+				collector.breaking("Parameter [%s] became required", parameterName);
+			} else if (isTrue(oldParameter.getRequired()) && !isTrue(newParameter.getRequired())) {
+				collector.nonBreaking("Parameter [%s] is no longer required", parameterName);
+			}
+			if (oldParameter.getSchema() != null && newParameter.getSchema() != null) {
+				compareValues(collector, String.format("Parameter [%s]", parameterName), oldParameter.getSchema(), newParameter.getSchema(),
+						Direction.REQUEST);
+			}
+		});
+		newParameters.forEach((parameterName, newParameter) -> {
+			if (oldParameters.containsKey(parameterName)) {
+				return;
+			}
+			if (isTrue(newParameter.getRequired())) {
+				collector.breaking("Required parameter [%s] added", parameterName);
+			} else {
+				collector.nonBreaking("Parameter [%s] added", parameterName);
+			}
+		});
+
+		compareRequestBodies(collector, oldOperation.getRequestBody(), newOperation.getRequestBody());
+
+		Map<String, ApiResponse> oldResponses = oldSpec.getResponses(oldOperation);
+		Map<String, ApiResponse> newResponses = newSpec.getResponses(newOperation);
+		oldResponses.forEach((status, oldResponse) -> {
+			ApiResponse newResponse = newResponses.get(status);
+			if (newResponse == null) {
+				collector.breaking("Response [%s] removed", status);
+			} else if (!Objects.equals(oldResponse.get$ref(), newResponse.get$ref())) {
+				collector.breaking("Response [%s] changed from %s to %s", status, oldResponse.get$ref(), newResponse.get$ref());
+			} else {
+				compareContent(collector, String.format("Response [%s]", status), oldResponse.getContent(), newResponse.getContent(),
+						Direction.RESPONSE);
+			}
+		});
+		newResponses.keySet().stream()
+				.filter(status -> !oldResponses.containsKey(status))
+				.forEach(status -> collector.nonBreaking("Response [%s] added", status));
+
+		if (!isTrue(oldOperation.getDeprecated()) && isTrue(newOperation.getDeprecated())) {
+			collector.nonBreaking("Operation deprecated");
+		}
+	}
+
+	private void compareRequestBodies(ChangeCollector collector, RequestBody oldRequestBody, RequestBody newRequestBody) {
+		if (oldRequestBody == null && newRequestBody == null) {
+			return;
+		}
+		if (oldRequestBody == null) {
+			if (isTrue(newRequestBody.getRequired())) {
+				collector.breaking("Required request body added");
+			} else {
+				collector.nonBreaking("Request body added");
+			}
+			return;
+		}
+		if (newRequestBody == null) {
+			collector.breaking("Request body removed");
+			return;
+		}
+		if (!isTrue(oldRequestBody.getRequired()) && isTrue(newRequestBody.getRequired())) {
+			collector.breaking("Request body became required");
+		}
+		if (!Objects.equals(oldRequestBody.get$ref(), newRequestBody.get$ref())) {
+			collector.breaking("Request body changed from %s to %s", oldRequestBody.get$ref(), newRequestBody.get$ref());
+			return;
+		}
+		compareContent(collector, "Request body", oldRequestBody.getContent(), newRequestBody.getContent(), Direction.REQUEST);
+	}
+
+	private void compareContent(ChangeCollector collector, String label, Content oldContent, Content newContent, Direction direction) {
+		Map<String, MediaType> oldMediaTypes = oldContent == null ? Collections.emptyMap() : oldContent;
+		Map<String, MediaType> newMediaTypes = newContent == null ? Collections.emptyMap() : newContent;
+		oldMediaTypes.forEach((mediaTypeName, oldMediaType) -> {
+			MediaType newMediaType = newMediaTypes.get(mediaTypeName);
+			if (newMediaType == null) {
+				collector.breaking("%s media type [%s] removed", label, mediaTypeName);
+			} else if (oldMediaType.getSchema() != null && newMediaType.getSchema() != null) {
+				compareValues(collector, String.format("%s [%s]", label, mediaTypeName), oldMediaType.getSchema(), newMediaType.getSchema(),
+						direction);
+			}
+		});
+		newMediaTypes.keySet().stream()
+				.filter(mediaTypeName -> !oldMediaTypes.containsKey(mediaTypeName))
+				.forEach(mediaTypeName -> collector.nonBreaking("%s media type [%s] added", label, mediaTypeName));
+	}
+
+	/**
+	 * Compares type, enum values and constraints of single value. Nested object structure is compared on
+	 * component level, so only references are compared here. Changed pattern both tightens and relaxes the value.
+	 */
+	private void compareValues(ChangeCollector collector, String label, Schema<?> oldSchema, Schema<?> newSchema, Direction direction) {
+		String oldSignature = getSignature(oldSchema);
+		String newSignature = getSignature(newSchema);
+		if (!oldSignature.equals(newSignature)) {
+			collector.breaking("%s type changed from %s to %s", label, oldSignature, newSignature);
+			return;
+		}
+		compareEnums(collector, label, oldSchema.getEnum(), newSchema.getEnum(), direction);
+		boolean tightened = isLowerBoundTightened(oldSchema.getMinLength(), newSchema.getMinLength())
+				|| isUpperBoundTightened(oldSchema.getMaxLength(), newSchema.getMaxLength())
+				|| isLowerBoundTightened(oldSchema.getMinItems(), newSchema.getMinItems())
+				|| isUpperBoundTightened(oldSchema.getMaxItems(), newSchema.getMaxItems())
+				|| isLowerBoundTightened(oldSchema.getMinimum(), newSchema.getMinimum())
+				|| isUpperBoundTightened(oldSchema.getMaximum(), newSchema.getMaximum())
+				|| (newSchema.getPattern() != null && !newSchema.getPattern().equals(oldSchema.getPattern()));
+		boolean relaxed = isLowerBoundTightened(newSchema.getMinLength(), oldSchema.getMinLength())
+				|| isUpperBoundTightened(newSchema.getMaxLength(), oldSchema.getMaxLength())
+				|| isLowerBoundTightened(newSchema.getMinItems(), oldSchema.getMinItems())
+				|| isUpperBoundTightened(newSchema.getMaxItems(), oldSchema.getMaxItems())
+				|| isLowerBoundTightened(newSchema.getMinimum(), oldSchema.getMinimum())
+				|| isUpperBoundTightened(newSchema.getMaximum(), oldSchema.getMaximum())
+				|| (oldSchema.getPattern() != null && !oldSchema.getPattern().equals(newSchema.getPattern()));
+		if (direction.isBreaking(tightened, relaxed)) {
+			collector.breaking("%s constraints %s", label, direction == Direction.REQUEST ? "tightened" : "relaxed");
+		} else if (tightened || relaxed) {
+			collector.nonBreaking("%s constraints %s", label, tightened ? "tightened" : "relaxed");
+		}
+	}
+
+	private void compareEnums(ChangeCollector collector, String label, List<?> oldEnum, List<?> newEnum, Direction direction) {
+		if (oldEnum == null && newEnum == null) {
+			return;
+		}
+		if (oldEnum == null) {
+			collector.add(direction.isBreaking(true, false), "%s restricted to enum values %s", label, newEnum);
+			return;
+		}
+		if (newEnum == null) {
+			collector.add(direction.isBreaking(false, true), "%s is no longer restricted to enum values", label);
+			return;
+		}
+		List<Object> removedValues = new ArrayList<>(oldEnum);
+		removedValues.removeAll(newEnum);
+		List<Object> addedValues = new ArrayList<>(newEnum);
+		addedValues.removeAll(oldEnum);
+		if (!removedValues.isEmpty()) {
+			collector.add(direction.isBreaking(true, false), "%s enum values %s removed", label, removedValues);
+		}
+		if (!addedValues.isEmpty()) {
+			collector.add(direction.isBreaking(false, true), "%s enum values %s added", label, addedValues);
+		}
+	}
+
+	private static <T extends Comparable<T>> boolean isLowerBoundTightened(T oldBound, T newBound) {
+		return newBound != null && (oldBound == null || newBound.compareTo(oldBound) > 0);
+	}
+
+	private static <T extends Comparable<T>> boolean isUpperBoundTightened(T oldBound, T newBound) {
+		return newBound != null && (oldBound == null || newBound.compareTo(oldBound) < 0);
+	}
+
+	private static String getSignature(Schema<?> schema) {
+		if (schema.get$ref() != null) {
+			return schema.get$ref().substring(schema.get$ref().lastIndexOf('/') + 1);
+		}
+		String signature = schema.getFormat() == null ? String.valueOf(schema.getType()) : schema.getType() + "(" + schema.getFormat() + ")";
+		if (schema instanceof ArraySchema && ((ArraySchema) schema).getItems() != null) {
+			return signature + "<" + getSignature(((ArraySchema) schema).getItems()) + ">";
+		}
+		if (schema.getAdditionalProperties() instanceof Schema) {
+			return signature + "<" + getSignature((Schema<?>) schema.getAdditionalProperties()) + ">";
+		}
+		return signature;
+	}
+
+	private static Map<String, Schema> getSchemas(OpenAPI openAPI) {
+		if (openAPI.getComponents() == null || openAPI.getComponents().getSchemas() == null) {
+			return Collections.emptyMap();
+		}
+		return openAPI.getComponents().getSchemas();
+	}
+
+	private static Map<String, Operation> getOperations(OpenAPI openAPI) {
+		Map<String, Operation> operations = new LinkedHashMap<>();
+		if (openAPI.getPaths() != null) {
+			openAPI.getPaths().forEach((path, pathItem) ->
+					pathItem.readOperationsMap().forEach((httpMethod, operation) -> operations.put(httpMethod + " " + path, operation)));
+		}
+		return operations;
+	}
+
+	private static boolean isTrue(Boolean value) {
+		return Boolean.TRUE.equals(value);
+	}
+
+	/**
+	 * Operations of spec keyed by method and path together with parameters and responses shared in components keyed by
+	 * $ref.
+	 */
+	private static final class SpecOperations {
+
+		private final Map<String, Operation> operations;
+		private final Map<String, Parameter> sharedParameters = new HashMap<>();
+		private final Map<String, ApiResponse> sharedResponses = new HashMap<>();
+		private final Map<String, String> sharedHashes = new HashMap<>();
+
+		private SpecOperations(OpenAPI openAPI) {
+			operations = getOperations(openAPI);
+			if (openAPI.getComponents() != null && openAPI.getComponents().getParameters() != null) {
+				openAPI.getComponents().getParameters().forEach((name, parameter) -> sharedParameters.put(PARAMETER_REF_PREFIX + name, parameter));
+			}
+			if (openAPI.getComponents() != null && openAPI.getComponents().getResponses() != null) {
+				openAPI.getComponents().getResponses().forEach((name, apiResponse) -> sharedResponses.put(RESPONSE_REF_PREFIX + name, apiResponse));
+			}
+		}
+
+		/**
+		 * @return hash of shared parameter or response, computed only for components referenced by compared operations
+		 */
+		private String getSharedHash(String ref) {
+			return sharedHashes.computeIfAbsent(ref, key -> {
+				Parameter parameter = sharedParameters.get(key);
+				if (parameter != null) {
+					return contentHash(parameter, parameter.getExtensions());
+				}
+				ApiResponse apiResponse = sharedResponses.get(key);
+				return apiResponse == null ? null : contentHash(apiResponse, apiResponse.getExtensions());
+			});
+		}
+
+		/**
+		 * @return responses keyed by status with shared responses resolved, unknown references are kept
+		 */
+		private Map<String, ApiResponse> getResponses(Operation operation) {
+			Map<String, ApiResponse> responses = new LinkedHashMap<>();
+			if (operation.getResponses() != null) {
+				operation.getResponses().forEach((status, apiResponse) -> {
+					ApiResponse resolved = apiResponse.get$ref() == null ? null : sharedResponses.get(apiResponse.get$ref());
+					responses.put(status, resolved == null ? apiResponse : resolved);
+				});
+			}
+			return responses;
+		}
+
+		/**
+		 * @return parameters keyed by location and name with shared parameters resolved, unknown references are keyed by $ref
+		 */
+		private Map<String, Parameter> getParameters(Operation operation) {
+			Map<String, Parameter> parameters = new LinkedHashMap<>();
+			if (operation.getParameters() != null) {
+				operation.getParameters().forEach(parameter -> {
+					Parameter resolved = parameter.get$ref() == null ? parameter : sharedParameters.get(parameter.get$ref());
+					if (resolved == null) {
+						parameters.put(parameter.get$ref(), parameter);
+					} else {
+						parameters.put(resolved.getIn() + " " + resolved.getName(), resolved);
+					}
+				});
+			}
+			return parameters;
+		}
+	}
+
+	/**
+	 * Properties, required properties, parents and discriminator values of schema including its inline allOf entries.
+	 */
+	private static final class ObjectView {
+
+		private final List<String> parents = new ArrayList<>();
+		private final Map<String, Schema> properties = new LinkedHashMap<>();
+		private final Set<String> required = new LinkedHashSet<>();
+		private final Set<String> discriminatorValues = new LinkedHashSet<>();
+
+		private ObjectView(Schema<?> schema) {
+			add(schema);
+			if (schema instanceof ComposedSchema && ((ComposedSchema) schema).getAllOf() != null) {
+				for (Schema<?> allOfSchema : ((ComposedSchema) schema).getAllOf()) {
+					if (allOfSchema.get$ref() != null) {
+						parents.add(allOfSchema.get$ref());
+					} else {
+						add(allOfSchema);
+					}
+				}
+			}
+		}
+
+		private void add(Schema<?> schema) {
+			if (schema.getProperties() != null) {
+				properties.putAll(schema.getProperties());
+			}
+			if (schema.getRequired() != null) {
+				required.addAll(schema.getRequired());
+			}
+			if (schema.getDiscriminator() != null && schema.getDiscriminator().getMapping() != null) {
+				discriminatorValues.addAll(schema.getDiscriminator().getMapping().keySet());
+			}
+		}
+	}
+
+	/**
+	 * Direction in which value is sent. Clients break when request values are narrowed or response values widened.
+	 */
+	private enum Direction {
+		REQUEST,
+		RESPONSE;
+
+		private boolean isBreaking(boolean tightened, boolean relaxed) {
+			return this == REQUEST ? tightened : relaxed;
+		}
+	}
+
+	private static final class ChangeCollector {
+
+		private final ChangedElement element;
+		private final String name;
+		private final List<Change> changes;
+		private int count;
+
+		private ChangeCollector(ChangedElement element, String name, List<Change> changes) {
+			this.element = element;
+			this.name = name;
+			this.changes = changes;
+		}
+
+		private void breaking(String description, Object... arguments) {
+			add(true, description, arguments);
+		}
+
+		private void nonBreaking(String description, Object... arguments) {
+			add(false, description, arguments);
+		}
+
+		private void add(boolean breaking, String description, Object... arguments) {
+			changes.add(new Change(element, name, ChangeType.MODIFIED, breaking, String.format(description, arguments)));
+			count++;
+		}
+
+		/**
+		 * Records documentation only change when content differs but no structural change was found.
+		 */
+		private void finish() {
+			if (count == 0) {
+				add(false, "Documentation changed");
+			}
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.github.jrcodeza.schema.generator.interceptors.examples;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Example resolver which is able to resolve all example keys used during generation in one call.
+ * Keys are collected from all scanned model and controller classes before the transformation starts.
+ */
+public interface BatchOpenApiExampleResolver extends OpenApiExampleResolver {
+
+	/**
+	 * @param exampleKeys all example keys found on scanned classes
+	 * @return resolved examples by example key, keys which could not be resolved may be omitted
+	 */
+	Map<String, String> resolveExamples(Set<String> exampleKeys);
+
+	@Override
+	default String resolveExample(String exampleKey) {
+		return resolveExamples(Collections.singleton(exampleKey)).get(exampleKey);
+	}
+
+}
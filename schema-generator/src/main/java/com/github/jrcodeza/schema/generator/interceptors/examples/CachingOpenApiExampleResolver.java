@@ -0,0 +1,78 @@
+package com.github.jrcodeza.schema.generator.interceptors.examples;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Wraps {@link OpenApiExampleResolver} with bounded LRU cache, so each example key is resolved only once
+ * even if it is used on multiple places. When the delegate is {@link BatchOpenApiExampleResolver} then
+ * missing keys are resolved in one batch.
+ */
+public class CachingOpenApiExampleResolver implements BatchOpenApiExampleResolver {
+
+	public static final int DEFAULT_CACHE_SIZE = 512;
+
+	private final OpenApiExampleResolver delegate;
+	private final Map<String, String> cache;
+
+	public CachingOpenApiExampleResolver(OpenApiExampleResolver delegate) {
+		this(delegate, DEFAULT_CACHE_SIZE);
+	}
+
+	public CachingOpenApiExampleResolver(OpenApiExampleResolver delegate, int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Example cache size has to be positive");
+		}
+		this.delegate = delegate;
+		this.cache = new LinkedHashMap<String, String>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	@Override
+	public synchronized String resolveExample(String exampleKey) {
+		if (cache.containsKey(exampleKey)) {
+			return cache.get(exampleKey);
+		}
+		String example = delegate.resolveExample(exampleKey);
+		cache.put(exampleKey, example);
+		return example;
+	}
+
+	@Override
+	public synchronized Map<String, String> resolveExamples(Set<String> exampleKeys) {
+		Map<String, String> result = new HashMap<>();
+		Set<String> missingKeys = new LinkedHashSet<>();
+		for (String exampleKey : exampleKeys) {
+			if (cache.containsKey(exampleKey)) {
+				result.put(exampleKey, cache.get(exampleKey));
+			} else {
+				missingKeys.add(exampleKey);
+			}
+		}
+		if (missingKeys.isEmpty()) {
+			return result;
+		}
+		if (delegate instanceof BatchOpenApiExampleResolver) {
+			Map<String, String> resolvedExamples = ((BatchOpenApiExampleResolver) delegate).resolveExamples(missingKeys);
+			missingKeys.forEach(exampleKey -> {
+				String example = resolvedExamples.get(exampleKey);
+				cache.put(exampleKey, example);
+				result.put(exampleKey, example);
+			});
+		} else {
+			missingKeys.forEach(exampleKey -> result.put(exampleKey, resolveExample(exampleKey)));
+		}
+		return result;
+	}
+
+	public OpenApiExampleResolver getDelegate() {
+		return delegate;
+	}
+}
@@ -0,0 +1,84 @@
+package com.github.jrcodeza.schema.generator.interceptors.examples;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves example keys to files stored in one directory. Key is used as file name, when such file does not exist
+ * then file with .json extension is tried. Files are memory mapped, so bigger examples are not copied through
+ * intermediate stream buffers. Keys pointing outside of the directory are rejected.
+ */
+public class FileSystemOpenApiExampleResolver implements BatchOpenApiExampleResolver {
+
+	public static final String EXAMPLES_DIRECTORY_PROPERTY = "openapi.examplesDirectory";
+	public static final String DEFAULT_EXAMPLES_DIRECTORY = "examples";
+
+	private static final String JSON_EXTENSION = ".json";
+	private static Logger logger = LoggerFactory.getLogger(FileSystemOpenApiExampleResolver.class);
+
+	private final Path examplesDirectory;
+
+	/**
+	 * Reads examples from directory given by openapi.examplesDirectory system property, "examples" by default. Allows
+	 * to configure the resolver by class name, e.g. as openApiExamplesResolver of maven plugin.
+	 */
+	public FileSystemOpenApiExampleResolver() {
+		this(Paths.get(System.getProperty(EXAMPLES_DIRECTORY_PROPERTY, DEFAULT_EXAMPLES_DIRECTORY)));
+	}
+
+	public FileSystemOpenApiExampleResolver(Path examplesDirectory) {
+		if (!Files.isDirectory(examplesDirectory)) {
+			throw new IllegalArgumentException(String.format("Examples directory [%s] does not exist", examplesDirectory));
+		}
+		this.examplesDirectory = examplesDirectory;
+	}
+
+	@Override
+	public Map<String, String> resolveExamples(Set<String> exampleKeys) {
+		Map<String, String> result = new HashMap<>();
+		for (String exampleKey : exampleKeys) {
+			Path exampleFile = resolveExampleFile(exampleKey);
+			if (exampleFile == null) {
+				logger.warn("Example file for key [{}] not found in [{}]", exampleKey, examplesDirectory);
+				continue;
+			}
+			result.put(exampleKey, readExample(exampleFile));
+		}
+		return result;
+	}
+
+	private Path resolveExampleFile(String exampleKey) {
+		Path exampleFile = examplesDirectory.resolve(exampleKey).normalize();
+		if (!exampleFile.startsWith(examplesDirectory.normalize())) {
+			throw new IllegalArgumentException(String.format("Example key [%s] points outside of examples directory", exampleKey));
+		}
+		if (Files.isRegularFile(exampleFile)) {
+			return exampleFile;
+		}
+		Path jsonExampleFile = examplesDirectory.resolve(exampleKey + JSON_EXTENSION).normalize();
+		return Files.isRegularFile(jsonExampleFile) ? jsonExampleFile : null;
+	}
+
+	private String readExample(Path exampleFile) {
+		try (FileChannel fileChannel = FileChannel.open(exampleFile, StandardOpenOption.READ)) {
+			MappedByteBuffer mappedExample = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+			return StandardCharsets.UTF_8.decode(mappedExample).toString();
+		} catch (IOException e) {
+			throw new UncheckedIOException(String.format("Cannot read example file [%s]", exampleFile), e);
+		}
+	}
+
+}
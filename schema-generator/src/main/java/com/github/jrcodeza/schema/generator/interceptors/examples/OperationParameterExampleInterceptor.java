@@ -6,12 +6,13 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -25,22 +26,52 @@ import com.github.jrcodeza.schema.generator.interceptors.SchemaInterceptor;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.ReflectionUtils;
 
 import io.swagger.v3.oas.models.examples.Example;
 import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 
-import static org.apache.commons.lang3.StringUtils.defaultString;
-
 public class OperationParameterExampleInterceptor implements OperationParameterInterceptor, RequestBodyInterceptor, SchemaFieldInterceptor, SchemaInterceptor {
 
 	private static Logger logger = LoggerFactory.getLogger(OperationParameterExampleInterceptor.class);
 
-	private final OpenApiExampleResolver openApiExampleResolver;
+	private final CachingOpenApiExampleResolver openApiExampleResolver;
 
 	public OperationParameterExampleInterceptor(OpenApiExampleResolver openApiExampleResolver) {
-		this.openApiExampleResolver = openApiExampleResolver;
+		this(openApiExampleResolver, CachingOpenApiExampleResolver.DEFAULT_CACHE_SIZE);
+	}
+
+	public OperationParameterExampleInterceptor(OpenApiExampleResolver openApiExampleResolver, int exampleCacheSize) {
+		this.openApiExampleResolver = openApiExampleResolver == null ? null : new CachingOpenApiExampleResolver(openApiExampleResolver, exampleCacheSize);
+	}
+
+	/**
+	 * Collects example keys from given model and controller classes and resolves them in one batch, so the
+	 * resolver is not invoked separately for each annotation occurrence.
+	 */
+	public void prefetchExamples(Collection<Class<?>> classes) {
+		if (openApiExampleResolver == null) {
+			return;
+		}
+		Set<String> exampleKeys = new LinkedHashSet<>();
+		for (Class<?> clazz : classes) {
+			collectExampleKeys(clazz, exampleKeys);
+			ReflectionUtils.doWithFields(clazz, field -> collectExampleKeys(field, exampleKeys));
+			ReflectionUtils.doWithMethods(clazz, method -> Stream.of(method.getParameters())
+					.forEach(parameter -> collectExampleKeys(parameter, exampleKeys)));
+		}
+		if (!exampleKeys.isEmpty()) {
+			logger.debug("Prefetching {} examples", exampleKeys.size());
+			openApiExampleResolver.resolveExamples(exampleKeys);
+		}
+	}
+
+	private void collectExampleKeys(AnnotatedElement annotatedElement, Set<String> exampleKeys) {
+		extractExampleAnnotations(annotatedElement.getAnnotations()).stream()
+				.filter(openApiExample -> StringUtils.isBlank(openApiExample.value()) && StringUtils.isNotBlank(openApiExample.key()))
+				.forEach(openApiExample -> exampleKeys.add(openApiExample.key()));
 	}
 
 	@Override
@@ -97,17 +128,36 @@ public class OperationParameterExampleInterceptor implements OperationParameterI
 				exampleUpdater.accept(example);
 			}
 		} else {
-			Map<String, Example> exampleMap = new HashMap<>();
-			openApiExamples.forEach(openApiExample -> {
+			Map<String, Example> exampleMap = new LinkedHashMap<>();
+			String elementPath = getElementPath(annotatedElement);
+			for (int i = 0; i < openApiExamples.size(); i++) {
+				OpenApiExample openApiExample = openApiExamples.get(i);
 				Example example = createExample(openApiExample);
 				if (example != null) {
-					exampleMap.put(defaultString(openApiExample.name(), UUID.randomUUID().toString()), createExample(openApiExample));
+					exampleMap.put(StringUtils.defaultIfBlank(openApiExample.name(), elementPath + "_" + i), example);
 				}
-			});
+			}
 			examplesUpdater.accept(exampleMap);
 		}
 	}
 
+	/**
+	 * Stable name of annotated element used for unnamed examples, e.g. Car.model or CarController.create.car
+	 */
+	private String getElementPath(AnnotatedElement annotatedElement) {
+		if (annotatedElement instanceof Class) {
+			return ((Class<?>) annotatedElement).getSimpleName();
+		} else if (annotatedElement instanceof Field) {
+			Field field = (Field) annotatedElement;
+			return field.getDeclaringClass().getSimpleName() + "." + field.getName();
+		} else if (annotatedElement instanceof Parameter) {
+			Parameter parameter = (Parameter) annotatedElement;
+			return parameter.getDeclaringExecutable().getDeclaringClass().getSimpleName() + "."
+					+ parameter.getDeclaringExecutable().getName() + "." + parameter.getName();
+		}
+		return annotatedElement.toString();
+	}
+
 	private Example createExample(OpenApiExample openApiExample) {
 		if (StringUtils.isBlank(openApiExample.value())) {
 			if (StringUtils.isBlank(openApiExample.key())) {
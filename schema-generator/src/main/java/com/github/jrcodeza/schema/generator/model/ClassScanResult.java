@@ -0,0 +1,32 @@
+package com.github.jrcodeza.schema.generator.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.jrcodeza.OpenApiIgnore;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Model and controller classes loaded by one classpath scan. Can be passed to several generation runs, including v2
+ * generator, so the classpath is scanned only once.
+ */
+@OpenApiIgnore
+public class ClassScanResult {
+
+	private final List<Class<?>> modelClasses;
+	private final List<Class<?>> controllerClasses;
+
+	public ClassScanResult(List<Class<?>> modelClasses, List<Class<?>> controllerClasses) {
+		this.modelClasses = unmodifiableList(new ArrayList<>(modelClasses));
+		this.controllerClasses = unmodifiableList(new ArrayList<>(controllerClasses));
+	}
+
+	public List<Class<?>> getModelClasses() {
+		return modelClasses;
+	}
+
+	public List<Class<?>> getControllerClasses() {
+		return controllerClasses;
+	}
+}
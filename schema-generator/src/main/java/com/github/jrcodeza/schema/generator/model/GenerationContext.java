@@ -0,0 +1,105 @@
+package com.github.jrcodeza.schema.generator.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.env.Environment;
+
+import com.github.jrcodeza.OpenApiIgnore;
+import com.github.jrcodeza.schema.generator.config.OpenApiGeneratorConfig;
+import com.github.jrcodeza.schema.generator.filters.OperationFilter;
+import com.github.jrcodeza.schema.generator.filters.OperationParameterFilter;
+import com.github.jrcodeza.schema.generator.filters.SchemaFieldFilter;
+import com.github.jrcodeza.schema.generator.interceptors.OperationInterceptor;
+import com.github.jrcodeza.schema.generator.interceptors.OperationParameterInterceptor;
+import com.github.jrcodeza.schema.generator.interceptors.RequestBodyInterceptor;
+import com.github.jrcodeza.schema.generator.interceptors.SchemaFieldInterceptor;
+import com.github.jrcodeza.schema.generator.interceptors.SchemaInterceptor;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Snapshot of interceptors, filters, global headers and config taken at the start of one generation run. Lists and
+ * config are copied, so interceptors added to the generator or config changed during the run affect only subsequent
+ * runs.
+ */
+@OpenApiIgnore
+public class GenerationContext {
+
+	private final OpenApiGeneratorConfig config;
+	private final List<SchemaInterceptor> schemaInterceptors;
+	private final List<SchemaFieldInterceptor> schemaFieldInterceptors;
+	private final List<OperationParameterInterceptor> operationParameterInterceptors;
+	private final List<OperationInterceptor> operationInterceptors;
+	private final List<RequestBodyInterceptor> requestBodyInterceptors;
+	private final List<Header> globalHeaders;
+	private final OperationFilter operationFilter;
+	private final OperationParameterFilter operationParameterFilter;
+	private final SchemaFieldFilter schemaFieldFilter;
+
+	public GenerationContext(OpenApiGeneratorConfig config,
+							 List<SchemaInterceptor> schemaInterceptors,
+							 List<SchemaFieldInterceptor> schemaFieldInterceptors,
+							 List<OperationParameterInterceptor> operationParameterInterceptors,
+							 List<OperationInterceptor> operationInterceptors,
+							 List<RequestBodyInterceptor> requestBodyInterceptors,
+							 List<Header> globalHeaders,
+							 OperationFilter operationFilter,
+							 OperationParameterFilter operationParameterFilter,
+							 SchemaFieldFilter schemaFieldFilter) {
+		this.config = config.copy();
+		this.schemaInterceptors = unmodifiableList(new ArrayList<>(schemaInterceptors));
+		this.schemaFieldInterceptors = unmodifiableList(new ArrayList<>(schemaFieldInterceptors));
+		this.operationParameterInterceptors = unmodifiableList(new ArrayList<>(operationParameterInterceptors));
+		this.operationInterceptors = unmodifiableList(new ArrayList<>(operationInterceptors));
+		this.requestBodyInterceptors = unmodifiableList(new ArrayList<>(requestBodyInterceptors));
+		this.globalHeaders = unmodifiableList(new ArrayList<>(globalHeaders));
+		this.operationFilter = operationFilter;
+		this.operationParameterFilter = operationParameterFilter;
+		this.schemaFieldFilter = schemaFieldFilter;
+	}
+
+	public OpenApiGeneratorConfig getConfig() {
+		return config;
+	}
+
+	public Environment getEnvironment() {
+		return config.getEnvironment();
+	}
+
+	public List<SchemaInterceptor> getSchemaInterceptors() {
+		return schemaInterceptors;
+	}
+
+	public List<SchemaFieldInterceptor> getSchemaFieldInterceptors() {
+		return schemaFieldInterceptors;
+	}
+
+	public List<OperationParameterInterceptor> getOperationParameterInterceptors() {
+		return operationParameterInterceptors;
+	}
+
+	public List<OperationInterceptor> getOperationInterceptors() {
+		return operationInterceptors;
+	}
+
+	public List<RequestBodyInterceptor> getRequestBodyInterceptors() {
+		return requestBodyInterceptors;
+	}
+
+	public List<Header> getGlobalHeaders() {
+		return globalHeaders;
+	}
+
+	public OperationFilter getOperationFilter() {
+		return operationFilter;
+	}
+
+	public OperationParameterFilter getOperationParameterFilter() {
+		return operationParameterFilter;
+	}
+
+	public SchemaFieldFilter getSchemaFieldFilter() {
+		return schemaFieldFilter;
+	}
+}
@@ -4,6 +4,12 @@ public final class CommonConstants {
 
 	public static final String COMPONENT_REF_PREFIX = "#/components/schemas/";
 
+	public static final String PARAMETER_REF_PREFIX = "#/components/parameters/";
+
+	public static final String RESPONSE_REF_PREFIX = "#/components/responses/";
+
+	public static final String CONTENT_HASH_EXTENSION = "x-content-hash";
+
 	private CommonConstants() {
 		throw new AssertionError();
 	}
@@ -3,6 +3,10 @@ package com.github.jrcodeza.schema.generator.util;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
 
 import com.github.jrcodeza.OpenApiIgnore;
 
@@ -20,4 +24,13 @@ public final class GeneratorUtils {
 		return Modifier.isStatic(field.getModifiers()) || shouldBeIgnored((AnnotatedElement) field);
 	}
 
+	/**
+	 * @return tag of operations of the controller, e.g. car-controller for CarController
+	 */
+	public static String classNameToTag(String controllerClassName) {
+		return Stream.of(StringUtils.splitByCharacterTypeCamelCase(controllerClassName))
+				.map(StringUtils::lowerCase)
+				.collect(Collectors.joining("-"));
+	}
+
 }
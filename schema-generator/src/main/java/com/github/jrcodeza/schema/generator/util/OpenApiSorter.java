@@ -0,0 +1,172 @@
+package com.github.jrcodeza.schema.generator.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+/**
+ * Sorts all name keyed maps of generated spec (schemas, shared parameters and responses, properties, required, paths,
+ * responses, headers, content, examples and extensions) alphabetically, so the same input always produces byte
+ * identical output.
+ * Ordered lists like parameters or allOf are left untouched.
+ */
+public final class OpenApiSorter {
+
+	private OpenApiSorter() {
+		throw new AssertionError();
+	}
+
+	public static void sort(OpenAPI openAPI) {
+		Set<Schema> visitedSchemas = Collections.newSetFromMap(new IdentityHashMap<>());
+		if (openAPI.getComponents() != null) {
+			openAPI.getComponents().setSchemas(sorted(openAPI.getComponents().getSchemas()));
+			forEachValue(openAPI.getComponents().getSchemas(), schema -> sortSchema(schema, visitedSchemas));
+			openAPI.getComponents().setParameters(sorted(openAPI.getComponents().getParameters()));
+			forEachValue(openAPI.getComponents().getParameters(), parameter -> sortParameter(parameter, visitedSchemas));
+			openAPI.getComponents().setResponses(sorted(openAPI.getComponents().getResponses()));
+			forEachValue(openAPI.getComponents().getResponses(), apiResponse -> sortResponse(apiResponse, visitedSchemas));
+		}
+		if (openAPI.getPaths() != null) {
+			sortInPlace(openAPI.getPaths());
+			openAPI.getPaths().values().forEach(pathItem -> sortPathItem(pathItem, visitedSchemas));
+		}
+		openAPI.setExtensions(sorted(openAPI.getExtensions()));
+	}
+
+	/**
+	 * Sorts extensions of component schemas, shared parameters, shared responses, operations and document, i.e. of
+	 * elements which receive extensions after the spec was sorted.
+	 */
+	public static void sortExtensions(OpenAPI openAPI) {
+		if (openAPI.getComponents() != null) {
+			forEachValue(openAPI.getComponents().getSchemas(), schema -> schema.setExtensions(sorted(schema.getExtensions())));
+			forEachValue(openAPI.getComponents().getParameters(), parameter -> parameter.setExtensions(sorted(parameter.getExtensions())));
+			forEachValue(openAPI.getComponents().getResponses(), apiResponse -> apiResponse.setExtensions(sorted(apiResponse.getExtensions())));
+		}
+		if (openAPI.getPaths() != null) {
+			openAPI.getPaths().values().forEach(pathItem ->
+					pathItem.readOperations().forEach(operation -> operation.setExtensions(sorted(operation.getExtensions()))));
+		}
+		openAPI.setExtensions(sorted(openAPI.getExtensions()));
+	}
+
+	private static void sortPathItem(PathItem pathItem, Set<Schema> visitedSchemas) {
+		pathItem.setExtensions(sorted(pathItem.getExtensions()));
+		pathItem.readOperations().forEach(operation -> sortOperation(operation, visitedSchemas));
+	}
+
+	private static void sortOperation(Operation operation, Set<Schema> visitedSchemas) {
+		operation.setExtensions(sorted(operation.getExtensions()));
+		if (operation.getParameters() != null) {
+			operation.getParameters().forEach(parameter -> sortParameter(parameter, visitedSchemas));
+		}
+		if (operation.getRequestBody() != null) {
+			sortContent(operation.getRequestBody().getContent(), visitedSchemas);
+		}
+		if (operation.getResponses() != null) {
+			sortInPlace(operation.getResponses());
+			operation.getResponses().values().forEach(apiResponse -> sortResponse(apiResponse, visitedSchemas));
+		}
+	}
+
+	private static void sortParameter(Parameter parameter, Set<Schema> visitedSchemas) {
+		parameter.setExtensions(sorted(parameter.getExtensions()));
+		sortSchema(parameter.getSchema(), visitedSchemas);
+		parameter.setExamples(sorted(parameter.getExamples()));
+		sortContent(parameter.getContent(), visitedSchemas);
+	}
+
+	private static void sortResponse(ApiResponse apiResponse, Set<Schema> visitedSchemas) {
+		apiResponse.setExtensions(sorted(apiResponse.getExtensions()));
+		apiResponse.setHeaders(sorted(apiResponse.getHeaders()));
+		forEachValue(apiResponse.getHeaders(), (Header header) -> sortSchema(header.getSchema(), visitedSchemas));
+		sortContent(apiResponse.getContent(), visitedSchemas);
+	}
+
+	private static void sortContent(Content content, Set<Schema> visitedSchemas) {
+		if (content == null) {
+			return;
+		}
+		sortInPlace(content);
+		content.values().forEach((MediaType mediaType) -> {
+			sortSchema(mediaType.getSchema(), visitedSchemas);
+			mediaType.setExamples(sorted(mediaType.getExamples()));
+		});
+	}
+
+	private static void sortSchema(Schema<?> schema, Set<Schema> visitedSchemas) {
+		if (schema == null || !visitedSchemas.add(schema)) {
+			return;
+		}
+		schema.setProperties(sorted(schema.getProperties()));
+		forEachValue(schema.getProperties(), property -> sortSchema(property, visitedSchemas));
+		if (schema.getRequired() != null) {
+			List<String> required = new ArrayList<>(schema.getRequired());
+			Collections.sort(required);
+			schema.setRequired(required);
+		}
+		if (schema.getDiscriminator() != null) {
+			schema.getDiscriminator().setMapping(sorted(schema.getDiscriminator().getMapping()));
+		}
+		if (schema.getAdditionalProperties() instanceof Schema) {
+			sortSchema((Schema<?>) schema.getAdditionalProperties(), visitedSchemas);
+		}
+		if (schema instanceof ArraySchema) {
+			sortSchema(((ArraySchema) schema).getItems(), visitedSchemas);
+		}
+		if (schema instanceof ComposedSchema) {
+			ComposedSchema composedSchema = (ComposedSchema) schema;
+			forEach(composedSchema.getAllOf(), visitedSchemas);
+			forEach(composedSchema.getOneOf(), visitedSchemas);
+			forEach(composedSchema.getAnyOf(), visitedSchemas);
+		}
+		schema.setExtensions(sorted(schema.getExtensions()));
+	}
+
+	private static void forEach(List<Schema> schemas, Set<Schema> visitedSchemas) {
+		if (schemas != null) {
+			schemas.forEach(schema -> sortSchema(schema, visitedSchemas));
+		}
+	}
+
+	private static <V> void forEachValue(Map<String, V> map, Consumer<V> consumer) {
+		if (map != null) {
+			map.values().forEach(consumer);
+		}
+	}
+
+	private static <V> Map<String, V> sorted(Map<String, V> map) {
+		if (map == null) {
+			return null;
+		}
+		return new LinkedHashMap<>(new TreeMap<>(map));
+	}
+
+	private static <V> void sortInPlace(Map<String, V> map) {
+		if (map.size() < 2) {
+			return;
+		}
+		Map<String, V> sortedMap = new TreeMap<>(map);
+		map.clear();
+		map.putAll(sortedMap);
+	}
+
+}
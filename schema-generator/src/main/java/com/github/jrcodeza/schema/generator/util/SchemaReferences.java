@@ -0,0 +1,113 @@
+package com.github.jrcodeza.schema.generator.util;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+import static com.github.jrcodeza.schema.generator.util.CommonConstants.COMPONENT_REF_PREFIX;
+
+/**
+ * Collects names of component schemas referenced by $ref from operations or schemas. Referenced schemas themselves are
+ * not followed, so callers can resolve them lazily.
+ */
+public final class SchemaReferences {
+
+	private SchemaReferences() {
+		throw new AssertionError();
+	}
+
+	public static void collect(Paths paths, Collection<String> schemaNames) {
+		if (paths == null) {
+			return;
+		}
+		for (PathItem pathItem : paths.values()) {
+			collectParameters(pathItem.getParameters(), schemaNames);
+			for (Operation operation : pathItem.readOperations()) {
+				collectParameters(operation.getParameters(), schemaNames);
+				if (operation.getRequestBody() != null) {
+					collect(operation.getRequestBody().getContent(), schemaNames);
+				}
+				if (operation.getResponses() != null) {
+					for (ApiResponse apiResponse : operation.getResponses().values()) {
+						collect(apiResponse.getContent(), schemaNames);
+						collectHeaders(apiResponse.getHeaders(), schemaNames);
+					}
+				}
+			}
+		}
+	}
+
+	public static void collect(Schema<?> schema, Collection<String> schemaNames) {
+		if (schema == null) {
+			return;
+		}
+		if (schema.get$ref() != null && schema.get$ref().startsWith(COMPONENT_REF_PREFIX)) {
+			schemaNames.add(schema.get$ref().substring(COMPONENT_REF_PREFIX.length()));
+		}
+		if (schema.getProperties() != null) {
+			schema.getProperties().values().forEach(property -> collect(property, schemaNames));
+		}
+		if (schema.getAdditionalProperties() instanceof Schema) {
+			collect((Schema<?>) schema.getAdditionalProperties(), schemaNames);
+		}
+		if (schema.getNot() != null) {
+			collect(schema.getNot(), schemaNames);
+		}
+		if (schema instanceof ArraySchema) {
+			collect(((ArraySchema) schema).getItems(), schemaNames);
+		}
+		if (schema instanceof ComposedSchema) {
+			ComposedSchema composedSchema = (ComposedSchema) schema;
+			collectAll(composedSchema.getAllOf(), schemaNames);
+			collectAll(composedSchema.getAnyOf(), schemaNames);
+			collectAll(composedSchema.getOneOf(), schemaNames);
+		}
+	}
+
+	private static void collectAll(List<Schema> schemas, Collection<String> schemaNames) {
+		if (schemas != null) {
+			schemas.forEach(schema -> collect(schema, schemaNames));
+		}
+	}
+
+	private static void collectParameters(List<Parameter> parameters, Collection<String> schemaNames) {
+		if (parameters == null) {
+			return;
+		}
+		for (Parameter parameter : parameters) {
+			collect(parameter.getSchema(), schemaNames);
+			collect(parameter.getContent(), schemaNames);
+		}
+	}
+
+	private static void collectHeaders(Map<String, Header> headers, Collection<String> schemaNames) {
+		if (headers == null) {
+			return;
+		}
+		for (Header header : headers.values()) {
+			collect(header.getSchema(), schemaNames);
+			collect(header.getContent(), schemaNames);
+		}
+	}
+
+	private static void collect(Content content, Collection<String> schemaNames) {
+		if (content == null) {
+			return;
+		}
+		for (MediaType mediaType : content.values()) {
+			collect(mediaType.getSchema(), schemaNames);
+		}
+	}
+}
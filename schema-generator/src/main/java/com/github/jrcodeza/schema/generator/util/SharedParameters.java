@@ -0,0 +1,134 @@
+package com.github.jrcodeza.schema.generator.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+
+import com.github.jrcodeza.schema.generator.diff.ContentHasher;
+import com.github.jrcodeza.schema.generator.model.Header;
+
+import static com.github.jrcodeza.schema.generator.util.CommonConstants.PARAMETER_REF_PREFIX;
+
+/**
+ * Moves global headers and parameters used by more than one operation into components.parameters and replaces them by
+ * $ref. Parameters are matched by content hash, so only identical parameters are shared.
+ */
+public final class SharedParameters {
+
+	private SharedParameters() {
+		throw new AssertionError();
+	}
+
+	public static Parameter createHeaderParameter(Header header) {
+		Schema<?> schema = new Schema<>();
+		schema.setType("string");
+
+		Parameter parameter = new Parameter();
+		parameter.setIn("header");
+		parameter.setName(header.getName());
+		parameter.setDescription(header.getDescription());
+		parameter.setRequired(header.isRequired());
+
+		parameter.setSchema(schema);
+		return parameter;
+	}
+
+	/**
+	 * @return reference to component parameter of global header registered by {@link #share(OpenAPI, List)}
+	 */
+	public static Parameter createHeaderReference(Header header) {
+		return createReference(toComponentName(header.getName()));
+	}
+
+	public static void share(OpenAPI openAPI, List<Header> globalHeaders) {
+		if (openAPI.getComponents() == null) {
+			openAPI.setComponents(new Components());
+		}
+		Map<String, Parameter> sharedParameters = openAPI.getComponents().getParameters() == null
+				? new LinkedHashMap<>() : new LinkedHashMap<>(openAPI.getComponents().getParameters());
+		globalHeaders.forEach(header -> sharedParameters.putIfAbsent(toComponentName(header.getName()), createHeaderParameter(header)));
+		Map<String, String> componentNames = new HashMap<>();
+		sharedParameters.forEach((componentName, parameter) -> componentNames.putIfAbsent(ContentHasher.hash(parameter), componentName));
+
+		List<List<Parameter>> parameterLists = new ArrayList<>();
+		List<String[]> parameterHashes = new ArrayList<>();
+		Map<String, Integer> occurrences = new HashMap<>();
+		if (openAPI.getPaths() != null) {
+			for (PathItem pathItem : openAPI.getPaths().values()) {
+				for (Operation operation : pathItem.readOperations()) {
+					if (operation.getParameters() == null) {
+						continue;
+					}
+					String[] hashes = new String[operation.getParameters().size()];
+					for (int i = 0; i < hashes.length; i++) {
+						Parameter parameter = operation.getParameters().get(i);
+						if (parameter.get$ref() == null) {
+							hashes[i] = ContentHasher.hash(parameter);
+							occurrences.merge(hashes[i], 1, Integer::sum);
+						}
+					}
+					parameterLists.add(operation.getParameters());
+					parameterHashes.add(hashes);
+				}
+			}
+		}
+
+		for (int listIndex = 0; listIndex < parameterLists.size(); listIndex++) {
+			List<Parameter> parameters = parameterLists.get(listIndex);
+			String[] hashes = parameterHashes.get(listIndex);
+			for (int i = 0; i < hashes.length; i++) {
+				if (hashes[i] == null) {
+					continue;
+				}
+				String componentName = componentNames.get(hashes[i]);
+				if (componentName == null && occurrences.get(hashes[i]) > 1) {
+					componentName = createUniqueName(parameters.get(i), sharedParameters);
+					sharedParameters.put(componentName, parameters.get(i));
+					componentNames.put(hashes[i], componentName);
+				}
+				if (componentName != null) {
+					parameters.set(i, createReference(componentName));
+				}
+			}
+		}
+		if (!sharedParameters.isEmpty()) {
+			openAPI.getComponents().setParameters(sharedParameters);
+		}
+	}
+
+	private static String createUniqueName(Parameter parameter, Map<String, Parameter> sharedParameters) {
+		String componentName = toComponentName(parameter.getName());
+		if (!sharedParameters.containsKey(componentName)) {
+			return componentName;
+		}
+		String baseName = componentName + "_" + parameter.getIn();
+		componentName = baseName;
+		for (int suffix = 2; sharedParameters.containsKey(componentName); suffix++) {
+			componentName = baseName + suffix;
+		}
+		return componentName;
+	}
+
+	private static Parameter createReference(String componentName) {
+		Parameter reference = new Parameter();
+		reference.set$ref(PARAMETER_REF_PREFIX + componentName);
+		return reference;
+	}
+
+	/**
+	 * @return name allowed as component key, characters not matching ^[a-zA-Z0-9.\-_]+$ are replaced by underscore
+	 */
+	private static String toComponentName(String parameterName) {
+		return parameterName.replaceAll("[^a-zA-Z0-9.\\-_]", "_");
+	}
+
+}
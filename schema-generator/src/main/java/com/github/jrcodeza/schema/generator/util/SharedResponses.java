@@ -0,0 +1,121 @@
+package com.github.jrcodeza.schema.generator.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.jrcodeza.schema.generator.diff.ContentHasher;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpStatus;
+
+import static com.github.jrcodeza.schema.generator.util.CommonConstants.COMPONENT_REF_PREFIX;
+import static com.github.jrcodeza.schema.generator.util.CommonConstants.RESPONSE_REF_PREFIX;
+
+/**
+ * Moves response objects used by more than one operation into components.responses and replaces them by $ref.
+ * Responses are matched by content hash after all interceptors were applied, so only responses which are really
+ * identical in generated spec are shared.
+ */
+public final class SharedResponses {
+
+	private SharedResponses() {
+		throw new AssertionError();
+	}
+
+	public static void share(OpenAPI openAPI) {
+		if (openAPI.getPaths() == null) {
+			return;
+		}
+		if (openAPI.getComponents() == null) {
+			openAPI.setComponents(new Components());
+		}
+		Map<String, ApiResponse> sharedResponses = openAPI.getComponents().getResponses() == null
+				? new LinkedHashMap<>() : new LinkedHashMap<>(openAPI.getComponents().getResponses());
+		Map<String, String> componentNames = new HashMap<>();
+		sharedResponses.forEach((componentName, apiResponse) -> componentNames.putIfAbsent(ContentHasher.hash(apiResponse), componentName));
+
+		List<ApiResponses> responsesList = new ArrayList<>();
+		List<Map<String, String>> responseHashes = new ArrayList<>();
+		Map<String, Integer> occurrences = new HashMap<>();
+		for (PathItem pathItem : openAPI.getPaths().values()) {
+			for (Operation operation : pathItem.readOperations()) {
+				if (operation.getResponses() == null) {
+					continue;
+				}
+				Map<String, String> hashes = new HashMap<>();
+				operation.getResponses().forEach((responseCode, apiResponse) -> {
+					if (apiResponse.get$ref() == null) {
+						String hash = ContentHasher.hash(apiResponse);
+						hashes.put(responseCode, hash);
+						occurrences.merge(hash, 1, Integer::sum);
+					}
+				});
+				responsesList.add(operation.getResponses());
+				responseHashes.add(hashes);
+			}
+		}
+
+		for (int listIndex = 0; listIndex < responsesList.size(); listIndex++) {
+			Map<String, String> hashes = responseHashes.get(listIndex);
+			responsesList.get(listIndex).replaceAll((responseCode, apiResponse) -> {
+				String hash = hashes.get(responseCode);
+				if (hash == null) {
+					return apiResponse;
+				}
+				String componentName = componentNames.get(hash);
+				if (componentName == null && occurrences.get(hash) > 1) {
+					componentName = createUniqueName(responseCode, apiResponse, sharedResponses);
+					sharedResponses.put(componentName, apiResponse);
+					componentNames.put(hash, componentName);
+				}
+				return componentName == null ? apiResponse : new ApiResponse().$ref(RESPONSE_REF_PREFIX + componentName);
+			});
+		}
+		if (!sharedResponses.isEmpty()) {
+			openAPI.getComponents().setResponses(sharedResponses);
+		}
+	}
+
+	/**
+	 * @return name made of status reason phrase and response body, e.g. NotFoundValidationError
+	 */
+	private static String createUniqueName(String responseCode, ApiResponse apiResponse, Map<String, ApiResponse> sharedResponses) {
+		HttpStatus httpStatus = StringUtils.isNumeric(responseCode) ? HttpStatus.resolve(Integer.parseInt(responseCode)) : null;
+		String baseName = (httpStatus == null ? "Response" + responseCode : toCamelCase(httpStatus.name())) + getBodyName(apiResponse);
+		String componentName = baseName;
+		for (int suffix = 2; sharedResponses.containsKey(componentName); suffix++) {
+			componentName = baseName + suffix;
+		}
+		return componentName;
+	}
+
+	private static String toCamelCase(String constantName) {
+		StringBuilder result = new StringBuilder();
+		for (String part : StringUtils.split(constantName, '_')) {
+			result.append(StringUtils.capitalize(part.toLowerCase()));
+		}
+		return result.toString();
+	}
+
+	private static String getBodyName(ApiResponse apiResponse) {
+		if (apiResponse.getContent() == null || apiResponse.getContent().isEmpty()) {
+			return "";
+		}
+		MediaType mediaType = apiResponse.getContent().values().iterator().next();
+		if (mediaType.getSchema() == null || mediaType.getSchema().get$ref() == null) {
+			return "";
+		}
+		return mediaType.getSchema().get$ref().replace(COMPONENT_REF_PREFIX, "");
+	}
+
+}
@@ -3,11 +3,40 @@ package com.github.jrcodeza.schema.generator;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.jrcodeza.schema.generator.compact.CompactSpec;
+import com.github.jrcodeza.schema.generator.config.ApiSelector;
+import com.github.jrcodeza.schema.generator.config.OpenApiGeneratorConfig;
+import com.github.jrcodeza.schema.generator.config.builder.ApiGroupBuilder;
 import com.github.jrcodeza.schema.generator.config.builder.OpenApiGeneratorConfigBuilder;
+import com.github.jrcodeza.schema.generator.controller.CarController;
+import com.github.jrcodeza.schema.generator.diff.Change;
+import com.github.jrcodeza.schema.generator.domain.Car;
+import com.github.jrcodeza.schema.generator.diff.ContentHasher;
+import com.github.jrcodeza.schema.generator.diff.OpenApiDiff;
+import com.github.jrcodeza.schema.generator.diff.OpenApiDiffEngine;
 import com.github.jrcodeza.schema.generator.filters.TestOperationFilter;
 import com.github.jrcodeza.schema.generator.filters.TestOperationParameterFilter;
 import com.github.jrcodeza.schema.generator.filters.TestSchemaFieldFilter;
@@ -16,17 +45,44 @@ import com.github.jrcodeza.schema.generator.interceptors.TestOperationParameterI
 import com.github.jrcodeza.schema.generator.interceptors.TestRequestBodyInterceptor;
 import com.github.jrcodeza.schema.generator.interceptors.TestSchemaFieldInterceptor;
 import com.github.jrcodeza.schema.generator.interceptors.TestSchemaInterceptor;
+import com.github.jrcodeza.schema.generator.interceptors.examples.BatchOpenApiExampleResolver;
+import com.github.jrcodeza.schema.generator.interceptors.examples.FileSystemOpenApiExampleResolver;
 import com.github.jrcodeza.schema.generator.interceptors.examples.OpenApiExampleResolver;
+import com.github.jrcodeza.schema.generator.model.GenerationContext;
+import com.github.jrcodeza.schema.generator.util.CommonConstants;
+import com.github.jrcodeza.schema.generator.util.SchemaGeneratorHelper;
+import com.github.jrcodeza.schema.generator.util.SchemaReferences;
 
 import org.apache.commons.io.IOUtils;
 import org.json.JSONException;
 import org.junit.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
 
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class OpenAPIGeneratorTest {
 
@@ -53,6 +109,146 @@ public class OpenAPIGeneratorTest {
         assertOpenApiResult(openAPI, "expected_example_openapi.json");
     }
 
+    @Test
+    public void generateExampleScenarioWithBatchResolver() {
+        AtomicInteger batchCalls = new AtomicInteger();
+        BatchOpenApiExampleResolver batchResolver = exampleKeys -> {
+            batchCalls.incrementAndGet();
+            return exampleKeys.stream().collect(Collectors.toMap(Function.identity(), key -> "TestExampleResolvedWithKey=" + key));
+        };
+        OpenAPI openAPI = createTestGenerator().generate(
+                OpenApiGeneratorConfigBuilder.defaultConfig()
+                        .withGenerateExamples(true)
+                        .withOpenApiExampleResolver(batchResolver)
+                        .build()
+        );
+        assertOpenApiResult(openAPI, "expected_example_openapi.json");
+        assertEquals(1, batchCalls.get());
+    }
+
+    @Test
+    public void generateIsReproducible() throws IOException {
+        OpenApiGeneratorConfig config = OpenApiGeneratorConfigBuilder.defaultConfig()
+                .withDeterministicOrdering(true)
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        String generated = objectMapper.writeValueAsString(createTestGenerator().generate(config)).replace("\r\n", "\n");
+        // compared byte by byte with checked in output, so result cannot depend on class scanning order of this JVM
+        assertEquals(getResourceFileAsString("expected_deterministic_openapi.json").trim(), generated);
+    }
+
+    @Test
+    public void generateWithDeterministicOrdering() throws JsonProcessingException, JSONException {
+        OpenApiGeneratorConfig config = OpenApiGeneratorConfigBuilder.defaultConfig()
+                .withDeterministicOrdering(true)
+                .build();
+        OpenAPI openAPI = createTestGenerator().generate(config);
+        openAPI.getComponents().getSchemas().values().stream()
+                .filter(schema -> schema.getProperties() != null)
+                .forEach(schema -> assertEquals(new ArrayList<>(new TreeSet<>(schema.getProperties().keySet())),
+                        new ArrayList<>(schema.getProperties().keySet())));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        String generated = objectMapper.writeValueAsString(openAPI);
+        JSONAssert.assertEquals(getResourceFileAsString("expected_standard_openapi.json"), generated, false);
+        assertEquals(generated, objectMapper.writeValueAsString(createTestGenerator().generate(config)));
+    }
+
+    @Test
+    public void fileSystemExampleResolver() throws IOException {
+        Path examplesDirectory = Files.createTempDirectory("openapi-examples");
+        Files.write(examplesDirectory.resolve("car.json"), "{\"model\":\"Octavia\"}".getBytes(StandardCharsets.UTF_8));
+        Files.write(examplesDirectory.resolve("plain"), "plain example".getBytes(StandardCharsets.UTF_8));
+        Files.write(examplesDirectory.resolveSibling("outside.json"), "secret".getBytes(StandardCharsets.UTF_8));
+        FileSystemOpenApiExampleResolver resolver = new FileSystemOpenApiExampleResolver(examplesDirectory);
+
+        Map<String, String> examples = resolver.resolveExamples(new HashSet<>(asList("car", "plain", "missing")));
+        assertEquals("{\"model\":\"Octavia\"}", examples.get("car"));
+        assertEquals("plain example", examples.get("plain"));
+        assertFalse(examples.containsKey("missing"));
+        assertNull(resolver.resolveExample("missing"));
+        for (String exampleKey : asList("../outside", "../outside.json", "nested/../../outside")) {
+            try {
+                resolver.resolveExample(exampleKey);
+                fail("Example key outside of examples directory must be rejected");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains(exampleKey));
+            }
+        }
+    }
+
+    @Test
+    public void generateConcurrently() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        OpenAPIGenerator openAPIGenerator = createTestGenerator();
+        OpenApiGeneratorConfig config = OpenApiGeneratorConfigBuilder.defaultConfig()
+                .withGenerateExamples(true)
+                .withOpenApiExampleResolver(createExampleResolver())
+                .build();
+        String expected = objectMapper.writeValueAsString(openAPIGenerator.generate(config));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            Future<?> headerAdded = null;
+            for (int i = 0; i < 8; i++) {
+                results.add(executorService.submit(() -> objectMapper.writeValueAsString(openAPIGenerator.generate(config))));
+                if (i == 3) {
+                    headerAdded = executorService.submit(() -> openAPIGenerator.addGlobalHeader("Added-Header", "Added during generation", false));
+                }
+            }
+            headerAdded.get();
+            String expectedWithHeader = objectMapper.writeValueAsString(openAPIGenerator.generate(config));
+            objectMapper.readTree(expectedWithHeader).path("paths").forEach(pathItem -> pathItem.forEach(operation -> {
+                long headerCount = StreamSupport.stream(operation.path("parameters").spliterator(), false)
+                        .filter(parameter -> "Added-Header".equals(parameter.path("name").asText()))
+                        .count();
+                assertEquals(1, headerCount);
+            }));
+            // every run sees either old or new global headers, never part of them
+            for (Future<String> result : results) {
+                String generated = result.get();
+                assertTrue(expected.equals(generated) || expectedWithHeader.equals(generated));
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void generationContextCopiesConfig() {
+        OpenApiGeneratorConfig config = OpenApiGeneratorConfigBuilder.defaultConfig().build();
+        GenerationContext generationContext = new GenerationContext(config, emptyList(), emptyList(), emptyList(), emptyList(),
+                emptyList(), emptyList(), null, null, null);
+        config.setDeterministicOrdering(true);
+        config.setShareParameters(true);
+        assertFalse(generationContext.getConfig().isDeterministicOrdering());
+        assertFalse(generationContext.getConfig().isShareParameters());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void deprecatedTransformerConstructorsUseRegistrations() throws JsonProcessingException {
+        SchemaGeneratorHelper schemaGeneratorHelper = createTestGenerator().getSchemaGeneratorHelper();
+        Map<String, PathItem> operations = new OperationsTransformer(schemaGeneratorHelper, emptyList(), emptyList(), emptyList(),
+                emptyList(), new AtomicReference<>(new TestOperationFilter()), new AtomicReference<>())
+                .transformOperations(singletonList(CarController.class));
+        GenerationContext generationContext = new GenerationContext(OpenApiGeneratorConfigBuilder.defaultConfig().build(), emptyList(),
+                emptyList(), emptyList(), emptyList(), emptyList(), emptyList(), new TestOperationFilter(), null, null);
+        String json = Json.mapper().writeValueAsString(operations);
+        assertEquals(Json.mapper().writeValueAsString(new OperationsTransformer(generationContext, schemaGeneratorHelper)
+                .transformOperations(singletonList(CarController.class))), json);
+        assertFalse(json.contains("uploadCarDocuments"));
+
+        String car = Json.mapper().writeValueAsString(new ComponentSchemaTransformer(emptyList(),
+                new AtomicReference<>(new TestSchemaFieldFilter()), schemaGeneratorHelper).transformSimpleSchema(Car.class, emptyMap()));
+        assertTrue(car.contains("\"torque\""));
+        assertFalse(car.contains("\"maxSpeed\""));
+    }
+
     @Test
     public void generateFilteredScenario() {
         OpenAPIGenerator openAPIGenerator = createTestGenerator();
@@ -64,6 +260,298 @@ public class OpenAPIGeneratorTest {
         assertOpenApiResult(openAPI, "expected_filtered_openapi.json");
     }
 
+    @Test
+    public void generateGroupsFromSingleScan() {
+        Map<String, OpenAPI> groups = createTestGenerator().generateGroups(OpenApiGeneratorConfigBuilder.defaultConfig().build(), Arrays.asList(
+                ApiGroupBuilder.group("public").build(),
+                ApiGroupBuilder.group("filtered")
+                        .withOperationFilter(new TestOperationFilter())
+                        .withOperationParameterFilter(new TestOperationParameterFilter())
+                        .withSchemaFieldFilter(new TestSchemaFieldFilter())
+                        .build()
+        ));
+        assertEquals(Arrays.asList("public", "filtered"), new ArrayList<>(groups.keySet()));
+        assertOpenApiResult(groups.get("public"), "expected_standard_openapi.json");
+        assertOpenApiResult(groups.get("filtered"), "expected_filtered_openapi.json");
+    }
+
+    @Test
+    public void generateSelectedControllers() throws JsonProcessingException {
+        OpenAPIGenerator openAPIGenerator = createTestGenerator();
+        AtomicInteger transformedOperations = new AtomicInteger();
+        openAPIGenerator.addOperationInterceptor((method, operation) -> transformedOperations.incrementAndGet());
+        OpenApiGeneratorConfig config = OpenApiGeneratorConfigBuilder.defaultConfig().build();
+        OpenAPI fullOpenAPI = openAPIGenerator.generate(config);
+        OpenAPI selectedOpenAPI = openAPIGenerator.generate(config, ApiSelector.tags("car-controller"));
+
+        assertTrue(selectedOpenAPI.getPaths().keySet().stream().allMatch(path -> path.startsWith("/cars")));
+        // selected spec is parsed from cached form, so it is compared as JSON
+        assertEquals(Json.mapper().writeValueAsString(fullOpenAPI.getPaths().get("/cars")),
+                Json.mapper().writeValueAsString(selectedOpenAPI.getPaths().get("/cars")));
+        assertEquals(new TreeSet<>(Arrays.asList("Car", "CarType", "Entity", "Laptop", "Product", "Van")),
+                selectedOpenAPI.getComponents().getSchemas().keySet());
+        for (Map.Entry<String, Schema> schemaEntry : selectedOpenAPI.getComponents().getSchemas().entrySet()) {
+            assertEquals(Json.mapper().writeValueAsString(fullOpenAPI.getComponents().getSchemas().get(schemaEntry.getKey())),
+                    Json.mapper().writeValueAsString(schemaEntry.getValue()));
+        }
+
+        // cached spec is materialized for every call, so modification of returned spec does not leak to next callers
+        int selectedOperations = transformedOperations.get() - countOperations(fullOpenAPI);
+        String selectedJson = Json.mapper().writeValueAsString(selectedOpenAPI);
+        selectedOpenAPI.getPaths().clear();
+        OpenAPI cachedOpenAPI = openAPIGenerator.generate(config, ApiSelector.tags("car-controller"));
+        assertNotSame(selectedOpenAPI, cachedOpenAPI);
+        assertEquals(selectedJson, Json.mapper().writeValueAsString(cachedOpenAPI));
+        assertEquals(selectedJson, Json.mapper().writeValueAsString(openAPIGenerator.generate(
+                OpenApiGeneratorConfigBuilder.defaultConfig().build(), ApiSelector.tags("car-controller"))));
+        assertEquals(countOperations(fullOpenAPI) + selectedOperations, transformedOperations.get());
+        config.setDeterministicOrdering(true);
+        openAPIGenerator.generate(config, ApiSelector.tags("car-controller"));
+        assertEquals(countOperations(fullOpenAPI) + 2 * selectedOperations, transformedOperations.get());
+        assertEquals(cachedOpenAPI.getPaths().keySet(),
+                openAPIGenerator.generate(config, ApiSelector.controllers(CarController.class)).getPaths().keySet());
+        assertEquals(cachedOpenAPI.getPaths().keySet(),
+                openAPIGenerator.generate(config, ApiSelector.pathPrefixes("/cars")).getPaths().keySet());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void generateSelectedRejectsNullSelector() {
+        createTestGenerator().generate(OpenApiGeneratorConfigBuilder.defaultConfig().build(), (ApiSelector) null);
+    }
+
+    @Test
+    public void generateWithPrunedSchemas() {
+        OpenAPI fullOpenAPI = createTestGenerator().generate();
+        OpenAPI prunedOpenAPI = createTestGenerator().generate(OpenApiGeneratorConfigBuilder.defaultConfig()
+                .withPruneUnreachableSchemas(true)
+                .build());
+
+        assertEquals(fullOpenAPI.getPaths(), prunedOpenAPI.getPaths());
+        Map<String, Schema> prunedSchemas = prunedOpenAPI.getComponents().getSchemas();
+        assertTrue(prunedSchemas.size() < fullOpenAPI.getComponents().getSchemas().size());
+        prunedSchemas.forEach((name, schema) -> assertEquals(fullOpenAPI.getComponents().getSchemas().get(name), schema));
+
+        Set<String> referencedSchemas = new HashSet<>();
+        SchemaReferences.collect(prunedOpenAPI.getPaths(), referencedSchemas);
+        prunedSchemas.values().forEach(schema -> SchemaReferences.collect(schema, referencedSchemas));
+        assertTrue(prunedSchemas.keySet().containsAll(referencedSchemas));
+    }
+
+    @Test
+    public void generateWithSharedParameters() {
+        OpenAPI inlineOpenAPI = createTestGenerator().generate();
+        OpenAPI sharedOpenAPI = createTestGenerator().generate(OpenApiGeneratorConfigBuilder.defaultConfig()
+                .withShareParameters(true)
+                .build());
+
+        Map<String, Parameter> sharedParameters = sharedOpenAPI.getComponents().getParameters();
+        assertEquals("header", sharedParameters.get("Test-Global-Header").getIn());
+        assertEquals(inlineOpenAPI.getPaths().keySet(), sharedOpenAPI.getPaths().keySet());
+        inlineOpenAPI.getPaths().forEach((path, pathItem) -> pathItem.readOperationsMap().forEach((httpMethod, operation) -> {
+            List<Parameter> parameters = sharedOpenAPI.getPaths().get(path).readOperationsMap().get(httpMethod).getParameters();
+            assertEquals(CommonConstants.PARAMETER_REF_PREFIX + "Test-Global-Header", parameters.get(0).get$ref());
+            List<Parameter> resolvedParameters = parameters.stream()
+                    .map(parameter -> parameter.get$ref() == null ? parameter
+                            : sharedParameters.get(parameter.get$ref().substring(CommonConstants.PARAMETER_REF_PREFIX.length())))
+                    .collect(Collectors.toList());
+            assertEquals(operation.getParameters(), resolvedParameters);
+        }));
+        assertTrue(new OpenApiDiffEngine().diff(inlineOpenAPI, sharedOpenAPI).getChanges().stream()
+                .noneMatch(change -> change.getDescription().startsWith("Parameter")));
+    }
+
+    @Test
+    public void generateWithSharedResponses() {
+        OpenAPIGenerator openAPIGenerator = new OpenAPIGenerator(
+                singletonList("com.github.jrcodeza.schema.generator.domain.*"),
+                singletonList("com.github.jrcodeza.schema.generator.responses.*"),
+                createTestInfo()
+        );
+        OpenAPI inlineOpenAPI = openAPIGenerator.generate();
+        OpenAPI sharedOpenAPI = openAPIGenerator.generate(OpenApiGeneratorConfigBuilder.defaultConfig()
+                .withShareResponses(true)
+                .build());
+
+        Map<String, ApiResponse> sharedResponses = sharedOpenAPI.getComponents().getResponses();
+        assertEquals(singletonList("NotFoundValidationDummy"), new ArrayList<>(sharedResponses.keySet()));
+        assertEquals(inlineOpenAPI.getPaths().get("/shared/{id}").getGet().getResponses().get("404"), sharedResponses.get("NotFoundValidationDummy"));
+        PathItem sharedPathItem = sharedOpenAPI.getPaths().get("/shared/{id}");
+        for (Operation operation : asList(sharedPathItem.getGet(), sharedPathItem.getDelete())) {
+            assertEquals(CommonConstants.RESPONSE_REF_PREFIX + "NotFoundValidationDummy", operation.getResponses().get("404").get$ref());
+        }
+        assertEquals(inlineOpenAPI.getPaths().get("/shared/{id}").getGet().getResponses().get("200"), sharedPathItem.getGet().getResponses().get("200"));
+        assertTrue(new OpenApiDiffEngine().diff(inlineOpenAPI, sharedOpenAPI).getChanges().stream()
+                .noneMatch(change -> change.getDescription().startsWith("Response")));
+    }
+
+    @Test
+    public void sharedResponsesRespectInterceptors() {
+        OpenAPIGenerator openAPIGenerator = new OpenAPIGenerator(
+                singletonList("com.github.jrcodeza.schema.generator.domain.*"),
+                singletonList("com.github.jrcodeza.schema.generator.responses.*"),
+                createTestInfo()
+        );
+        openAPIGenerator.addOperationInterceptor((method, operation) -> {
+            if ("delete".equals(method.getName())) {
+                operation.getResponses().get("404").setDescription("Nothing to delete");
+            }
+        });
+        OpenAPI sharedOpenAPI = openAPIGenerator.generate(OpenApiGeneratorConfigBuilder.defaultConfig()
+                .withShareResponses(true)
+                .build());
+
+        // responses differ after interception, so they are neither shared nor affect each other
+        assertNull(sharedOpenAPI.getComponents().getResponses());
+        PathItem sharedPathItem = sharedOpenAPI.getPaths().get("/shared/{id}");
+        assertEquals("Not found", sharedPathItem.getGet().getResponses().get("404").getDescription());
+        assertEquals("Nothing to delete", sharedPathItem.getDelete().getResponses().get("404").getDescription());
+    }
+
+    @Test
+    public void diffClassifiesChanges() {
+        OpenAPI oldSpec = createTestGenerator().generate();
+        OpenAPI newSpec = createTestGenerator().generate();
+        Schema<?> carProperties = ((ComposedSchema) newSpec.getComponents().getSchemas().get("Car")).getAllOf().get(1);
+        carProperties.getProperties().remove("torque");
+        carProperties.addProperties("color", new StringSchema());
+        Schema<?> validationDummy = newSpec.getComponents().getSchemas().get("ValidationDummy");
+        validationDummy.getProperties().get("stringSize").setMaxLength(5);
+        newSpec.getPaths().get("/cars").setGet(null);
+
+        OpenApiDiff diff = new OpenApiDiffEngine().diff(oldSpec, newSpec);
+        assertTrue(diff.isBreaking());
+        assertEquals(Arrays.asList(
+                "BREAKING MODIFIED SCHEMA [Car]: Property [torque] removed",
+                "NON-BREAKING MODIFIED SCHEMA [Car]: Property [color] added",
+                "BREAKING MODIFIED SCHEMA [ValidationDummy]: Property [stringSize] constraints tightened",
+                "BREAKING REMOVED OPERATION [GET /cars]: Operation removed"),
+                diff.getChanges().stream().map(Change::toString).collect(Collectors.toList()));
+        assertEquals(oldSpec.getComponents().getSchemas().size() - 2, diff.getUnchangedSchemas());
+        assertTrue(new OpenApiDiffEngine().diff(oldSpec, createTestGenerator().generate()).isEmpty());
+    }
+
+    @Test
+    public void diffClassifiesRequestValuesByNarrowing() {
+        OpenAPI oldSpec = createDirectionSpec(new StringSchema()._enum(asList("a", "b")).maxLength(10), new StringSchema());
+        OpenAPI relaxedSpec = createDirectionSpec(new StringSchema()._enum(asList("a", "b", "c")).maxLength(20), new StringSchema());
+
+        assertEquals(Arrays.asList(
+                "NON-BREAKING MODIFIED OPERATION [GET /cars]: Parameter [query model] enum values [c] added",
+                "NON-BREAKING MODIFIED OPERATION [GET /cars]: Parameter [query model] constraints relaxed"),
+                new OpenApiDiffEngine().diff(oldSpec, relaxedSpec).getChanges().stream().map(Change::toString).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(
+                "BREAKING MODIFIED OPERATION [GET /cars]: Parameter [query model] enum values [c] removed",
+                "BREAKING MODIFIED OPERATION [GET /cars]: Parameter [query model] constraints tightened"),
+                new OpenApiDiffEngine().diff(relaxedSpec, oldSpec).getChanges().stream().map(Change::toString).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void diffClassifiesResponseValuesByWidening() {
+        OpenAPI oldSpec = createDirectionSpec(new StringSchema(), new StringSchema()._enum(asList("a", "b")).maxLength(10));
+        OpenAPI relaxedSpec = createDirectionSpec(new StringSchema(), new StringSchema()._enum(asList("a", "b", "c")).maxLength(20));
+
+        assertEquals(Arrays.asList(
+                "BREAKING MODIFIED OPERATION [GET /cars]: Response [200] [application/json] enum values [c] added",
+                "BREAKING MODIFIED OPERATION [GET /cars]: Response [200] [application/json] constraints relaxed"),
+                new OpenApiDiffEngine().diff(oldSpec, relaxedSpec).getChanges().stream().map(Change::toString).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(
+                "NON-BREAKING MODIFIED OPERATION [GET /cars]: Response [200] [application/json] enum values [c] removed",
+                "NON-BREAKING MODIFIED OPERATION [GET /cars]: Response [200] [application/json] constraints tightened"),
+                new OpenApiDiffEngine().diff(relaxedSpec, oldSpec).getChanges().stream().map(Change::toString).collect(Collectors.toList()));
+    }
+
+    private OpenAPI createDirectionSpec(Schema<?> parameterSchema, Schema<?> responseSchema) {
+        Operation operation = new Operation()
+                .addParametersItem(new Parameter().in("query").name("model").schema(parameterSchema))
+                .responses(new ApiResponses().addApiResponse("200", new ApiResponse().description("OK")
+                        .content(new Content().addMediaType("application/json", new MediaType().schema(responseSchema)))));
+        return new OpenAPI().path("/cars", new PathItem().get(operation));
+    }
+
+    @Test
+    public void generateContentHashes() {
+        OpenApiGeneratorConfig config = OpenApiGeneratorConfigBuilder.defaultConfig()
+                .withGenerateContentHashes(true)
+                .build();
+        OpenAPI openAPI = createTestGenerator().generate(config);
+        OpenAPI unchanged = createTestGenerator().generate(config);
+        Schema<?> car = openAPI.getComponents().getSchemas().get("Car");
+        assertEquals(64, car.getExtensions().get(CommonConstants.CONTENT_HASH_EXTENSION).toString().length());
+        assertEquals(car.getExtensions(), unchanged.getComponents().getSchemas().get("Car").getExtensions());
+        assertEquals(openAPI.getExtensions(), unchanged.getExtensions());
+
+        Object operationHash = openAPI.getPaths().get("/cars").getGet().getExtensions().get(CommonConstants.CONTENT_HASH_EXTENSION);
+        Operation operationWithoutHash = createTestGenerator().generate().getPaths().get("/cars").getGet();
+        assertEquals(operationHash, ContentHasher.hash(operationWithoutHash));
+        operationWithoutHash.setSummary("Changed summary");
+        assertNotEquals(operationHash, ContentHasher.hash(operationWithoutHash));
+        assertEquals(0, new OpenApiDiffEngine().diff(openAPI, unchanged).getChanges().size());
+    }
+
+    @Test
+    public void contentHashesMatchSortedOutput() {
+        OpenAPIGenerator openAPIGenerator = createTestGenerator();
+        // required lists in reverse order, so sorting changes them
+        openAPIGenerator.addSchemaInterceptor((clazz, schema) -> {
+            List<Schema> schemas = new ArrayList<>(singletonList(schema));
+            if (schema instanceof ComposedSchema && ((ComposedSchema) schema).getAllOf() != null) {
+                schemas.addAll(((ComposedSchema) schema).getAllOf());
+            }
+            schemas.stream()
+                    .filter(current -> current.getRequired() != null)
+                    .forEach(current -> current.getRequired().sort(Collections.reverseOrder()));
+        });
+        OpenAPI openAPI = openAPIGenerator.generate(OpenApiGeneratorConfigBuilder.defaultConfig()
+                .withDeterministicOrdering(true)
+                .withGenerateContentHashes(true)
+                .build());
+
+        ComposedSchema product = (ComposedSchema) openAPI.getComponents().getSchemas().get("Product");
+        assertEquals(Arrays.asList("amount", "price", "type"), product.getAllOf().get(1).getRequired());
+        Object productHash = product.getExtensions().remove(CommonConstants.CONTENT_HASH_EXTENSION);
+        if (product.getExtensions().isEmpty()) {
+            product.setExtensions(null);
+        }
+        assertEquals(productHash, ContentHasher.hash(product));
+    }
+
+    @Test
+    public void diffComparesStoredHashesFirst() {
+        OpenApiGeneratorConfig config = OpenApiGeneratorConfigBuilder.defaultConfig()
+                .withGenerateContentHashes(true)
+                .build();
+        OpenAPI oldSpec = createTestGenerator().generate(config);
+        OpenAPI newSpec = createTestGenerator().generate(config);
+        // content change without hash change is not inspected, equal root hash means equal specs
+        newSpec.getComponents().getSchemas().get("Car").setDescription("Changed description");
+        OpenApiDiff diff = new OpenApiDiffEngine().diff(oldSpec, newSpec);
+        assertTrue(diff.isEmpty());
+        assertEquals(oldSpec.getComponents().getSchemas().size(), diff.getUnchangedSchemas());
+
+        newSpec.getExtensions().put(CommonConstants.CONTENT_HASH_EXTENSION, "changed");
+        assertTrue(new OpenApiDiffEngine().diff(oldSpec, newSpec).isEmpty());
+        newSpec.getComponents().getSchemas().get("Car").getExtensions().put(CommonConstants.CONTENT_HASH_EXTENSION, "changed");
+        assertEquals(Collections.singletonList("NON-BREAKING MODIFIED SCHEMA [Car]: Documentation changed"),
+                new OpenApiDiffEngine().diff(oldSpec, newSpec).getChanges().stream().map(Change::toString).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void generateCompactSpec() throws Exception {
+        OpenApiGeneratorConfig config = OpenApiGeneratorConfigBuilder.defaultConfig().build();
+        CompactSpec compactSpec = createTestGenerator().generateCompact(config);
+        assertTrue(compactSpec.getDistinctNodeCount() < compactSpec.getNodeCount());
+
+        String json = Json.mapper().writeValueAsString(createTestGenerator().generate(config));
+        assertEquals(json, compactSpec.toJson());
+        OpenAPI parsed = Json.mapper().readValue(json, OpenAPI.class);
+        JSONAssert.assertEquals(Json.mapper().writeValueAsString(parsed), Json.mapper().writeValueAsString(compactSpec.toView(OpenAPI.class)), true);
+        assertEquals(json, CompactSpec.read(json.getBytes(StandardCharsets.UTF_8)).toJson());
+    }
+
+    private int countOperations(OpenAPI openAPI) {
+        return openAPI.getPaths().values().stream().mapToInt(pathItem -> pathItem.readOperations().size()).sum();
+    }
+
     private void assertOpenApiResult(OpenAPI openAPI, String pathToExpectedFile) {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
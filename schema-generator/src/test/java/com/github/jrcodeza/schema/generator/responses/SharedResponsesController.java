@@ -0,0 +1,35 @@
+package com.github.jrcodeza.schema.generator.responses;
+
+import com.github.jrcodeza.Response;
+import com.github.jrcodeza.Responses;
+import com.github.jrcodeza.schema.generator.domain.Car;
+import com.github.jrcodeza.schema.generator.domain.dummy.ValidationDummy;
+
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/shared")
+public class SharedResponsesController {
+
+	@GetMapping("/{id}")
+	@Responses({
+			@Response(responseCode = 200, description = "Found", responseBody = Car.class),
+			@Response(responseCode = 404, description = "Not found", responseBody = ValidationDummy.class)
+	})
+	public Car get(@PathVariable Integer id) {
+		return null;
+	}
+
+	@DeleteMapping("/{id}")
+	@Responses({
+			@Response(responseCode = 204, description = "Deleted"),
+			@Response(responseCode = 404, description = "Not found", responseBody = ValidationDummy.class)
+	})
+	public void delete(@PathVariable Integer id) {
+	}
+
+}
@@ -16,7 +16,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -32,8 +32,9 @@ public class ComponentSchemaTransformer extends OpenApiTransformer {
 
 	private final List<SchemaFieldInterceptor> schemaFieldInterceptors;
 
-	public ComponentSchemaTransformer(List<SchemaFieldInterceptor> schemaFieldInterceptors) {
-		this.schemaFieldInterceptors = schemaFieldInterceptors;
+	public ComponentSchemaTransformer(GenerationContext generationContext) {
+		super(generationContext);
+		this.schemaFieldInterceptors = generationContext.getSchemaFieldInterceptors();
 	}
 
 	public Model transformSimpleSchema(Class<?> clazz, GenerationContext generationContext) {
@@ -81,7 +82,7 @@ public class ComponentSchemaTransformer extends OpenApiTransformer {
 	}
 
 	private Map<String, Property> getClassProperties(Class<?> clazz, GenerationContext generationContext) {
-		Map<String, Property> classPropertyMap = new HashMap<>();
+		Map<String, Property> classPropertyMap = new LinkedHashMap<>();
 		ReflectionUtils.doWithLocalFields(clazz,
 										  field -> getFieldSchema(field, generationContext).ifPresent(schema -> {
 											  schemaFieldInterceptors
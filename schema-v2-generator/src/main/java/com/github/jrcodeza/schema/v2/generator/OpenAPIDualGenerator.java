@@ -0,0 +1,58 @@
+package com.github.jrcodeza.schema.v2.generator;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.jrcodeza.schema.generator.OpenAPIGenerator;
+import com.github.jrcodeza.schema.generator.config.OpenApiGeneratorConfig;
+import com.github.jrcodeza.schema.generator.model.ClassScanResult;
+import com.github.jrcodeza.schema.v2.generator.config.OpenApiV2GeneratorConfig;
+import com.github.jrcodeza.schema.v2.generator.model.GeneratedSpecs;
+
+/**
+ * Generates OpenAPI v3 and v2 documents of one application. Classpath is scanned and classes are loaded only once by
+ * v3 generator, both generators then transform the same classes, so packages of v3 generator are the only source of
+ * scanned classes. Reflection over fields and methods and the transformation run for each generator, only the scan
+ * is shared. Both generators have to be created with the same model and controller packages, interceptors are
+ * configured on each of them separately. Requires spring-openapi-schema-generator on classpath.
+ */
+public class OpenAPIDualGenerator {
+
+	private static Logger logger = LoggerFactory.getLogger(OpenAPIDualGenerator.class);
+
+	private final OpenAPIGenerator openAPIGenerator;
+	private final OpenAPIV2Generator openAPIV2Generator;
+
+	/**
+	 * @throws IllegalArgumentException when generators were created with different model or controller packages
+	 */
+	public OpenAPIDualGenerator(OpenAPIGenerator openAPIGenerator, OpenAPIV2Generator openAPIV2Generator) {
+		checkSamePackages("model", openAPIGenerator.getModelPackages(), openAPIV2Generator.getModelPackages());
+		checkSamePackages("controller", openAPIGenerator.getControllerBasePackages(), openAPIV2Generator.getControllerBasePackages());
+		this.openAPIGenerator = openAPIGenerator;
+		this.openAPIV2Generator = openAPIV2Generator;
+	}
+
+	/**
+	 * @param config   config of v3 generation, its environment is used for scanning controllers
+	 * @param v2Config config of v2 generation
+	 */
+	public GeneratedSpecs generate(OpenApiGeneratorConfig config, OpenApiV2GeneratorConfig v2Config) {
+		ClassScanResult classScanResult = openAPIGenerator.scanClasses(config.getEnvironment());
+		logger.info("Scanned [{}] model and [{}] controller classes for v3 and v2 generation", classScanResult.getModelClasses().size(),
+					classScanResult.getControllerClasses().size());
+		return new GeneratedSpecs(
+				openAPIGenerator.generate(config, classScanResult),
+				openAPIV2Generator.generate(v2Config, classScanResult.getModelClasses(), classScanResult.getControllerClasses())
+		);
+	}
+
+	private static void checkSamePackages(String kind, List<String> packages, List<String> v2Packages) {
+		if (!new HashSet<>(packages).equals(new HashSet<>(v2Packages))) {
+			throw new IllegalArgumentException(String.format("Generators have different %s packages, v3 %s and v2 %s", kind, packages, v2Packages));
+		}
+	}
+}
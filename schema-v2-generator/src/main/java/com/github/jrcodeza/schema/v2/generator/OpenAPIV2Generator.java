@@ -3,10 +3,15 @@ package com.github.jrcodeza.schema.v2.generator;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -26,6 +31,8 @@ import com.github.jrcodeza.schema.v2.generator.interceptors.SchemaInterceptor;
 import com.github.jrcodeza.schema.v2.generator.model.GenerationContext;
 import com.github.jrcodeza.schema.v2.generator.model.Header;
 import com.github.jrcodeza.schema.v2.generator.model.InheritanceInfo;
+import com.github.jrcodeza.schema.v2.generator.util.SharedParameters;
+import com.github.jrcodeza.schema.v2.generator.util.SwaggerSorter;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 
@@ -40,7 +47,6 @@ import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.models.Info;
 import io.swagger.models.Model;
-import io.swagger.models.Path;
 import io.swagger.models.Swagger;
 
 import static java.util.Arrays.asList;
@@ -50,8 +56,6 @@ public class OpenAPIV2Generator {
 
 	private static final String DEFAULT_DISCRIMINATOR_NAME = "type";
 	private static Logger logger = LoggerFactory.getLogger(OpenAPIV2Generator.class);
-	private final ComponentSchemaTransformer componentSchemaTransformer;
-	private final OperationsTransformer operationsTransformer;
 	private final Info info;
 	private final List<SchemaInterceptor> schemaInterceptors;
 	private final List<SchemaFieldInterceptor> schemaFieldInterceptors;
@@ -61,7 +65,6 @@ public class OpenAPIV2Generator {
 	private final List<Header> globalHeaders;
 	private List<String> modelPackages;
 	private List<String> controllerBasePackages;
-	private Environment environment;
 
 	public OpenAPIV2Generator(List<String> modelPackages, List<String> controllerBasePackages, Info info) {
 		this(modelPackages, controllerBasePackages, info, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
@@ -75,20 +78,14 @@ public class OpenAPIV2Generator {
 							  List<RequestBodyInterceptor> requestBodyInterceptors) {
 		this.modelPackages = modelPackages;
 		this.controllerBasePackages = controllerBasePackages;
-		componentSchemaTransformer = new ComponentSchemaTransformer(schemaFieldInterceptors);
-		globalHeaders = new ArrayList<>();
-
-		GenerationContext operationsGenerationContext = new GenerationContext(null, removeRegexFormatFromPackages(modelPackages));
-		operationsTransformer = new OperationsTransformer(
-				operationsGenerationContext, operationParameterInterceptors, operationInterceptors, requestBodyInterceptors, globalHeaders
-		);
+		globalHeaders = new CopyOnWriteArrayList<>();
 
 		this.info = info;
-		this.schemaInterceptors = schemaInterceptors;
-		this.schemaFieldInterceptors = schemaFieldInterceptors;
-		this.operationParameterInterceptors = operationParameterInterceptors;
-		this.operationInterceptors = operationInterceptors;
-		this.requestBodyInterceptors = requestBodyInterceptors;
+		this.schemaInterceptors = new CopyOnWriteArrayList<>(schemaInterceptors);
+		this.schemaFieldInterceptors = new CopyOnWriteArrayList<>(schemaFieldInterceptors);
+		this.operationParameterInterceptors = new CopyOnWriteArrayList<>(operationParameterInterceptors);
+		this.operationInterceptors = new CopyOnWriteArrayList<>(operationInterceptors);
+		this.requestBodyInterceptors = new CopyOnWriteArrayList<>(requestBodyInterceptors);
 	}
 
 	public String generateJson() throws JsonProcessingException {
@@ -105,15 +102,34 @@ public class OpenAPIV2Generator {
 		return doc.jsonString();
 	}
 
+	/**
+	 * Generates spec using interceptors and global headers registered at the time of the call. All state of the run is
+	 * kept in {@link GenerationContext}, so the method can be called concurrently.
+	 */
 	public Swagger generate(OpenApiV2GeneratorConfig config) {
+		return generate(config, scanModelClasses(), scanControllerClasses(config.getEnvironment()));
+	}
+
+	/**
+	 * Generates spec from already loaded model and controller classes, e.g. from the scan done for v3 generation, instead
+	 * of scanning the classpath again. Model classes annotated with {@link OpenApiIgnore} are skipped.
+	 */
+	public Swagger generate(OpenApiV2GeneratorConfig config, List<Class<?>> modelClasses, List<Class<?>> controllerClasses) {
 		logger.info("Starting OpenAPI v2 generation");
-		environment = config.getEnvironment();
+		GenerationContext generationContext = createGenerationContext(config, modelClasses);
+		OpenApiV2GeneratorConfig runConfig = generationContext.getConfig();
 		Swagger openAPI = new Swagger();
-		openAPI.setDefinitions(createDefinitions());
-		openAPI.setPaths(createPaths(config));
+		openAPI.setDefinitions(createDefinitions(modelClasses, generationContext));
+		openAPI.setPaths(new OperationsTransformer(generationContext).transformOperations(controllerClasses));
+		if (runConfig.isShareParameters()) {
+			SharedParameters.share(openAPI, generationContext.getGlobalHeaders());
+		}
 		openAPI.setInfo(info);
-		openAPI.setBasePath(config.getBasePath());
-		openAPI.setHost(config.getHost());
+		openAPI.setBasePath(runConfig.getBasePath());
+		openAPI.setHost(runConfig.getHost());
+		if (runConfig.isDeterministicOrdering()) {
+			SwaggerSorter.sort(openAPI);
+		}
 		logger.info("OpenAPI v2 generation done!");
 		return openAPI;
 	}
@@ -122,6 +138,22 @@ public class OpenAPIV2Generator {
 		return generate(OpenApiV2GeneratorConfigBuilder.empty().build());
 	}
 
+	private GenerationContext createGenerationContext(OpenApiV2GeneratorConfig config, List<Class<?>> modelClasses) {
+		Map<String, InheritanceInfo> inheritanceMap = new HashMap<>();
+		for (Class<?> clazz : modelClasses) {
+			if (clazz.getAnnotation(OpenApiIgnore.class) != null) {
+				continue;
+			}
+			getInheritanceInfo(clazz).ifPresent(inheritanceInfo -> {
+				logger.debug("Adding entry [{}] to inheritance map", clazz.getName());
+				inheritanceMap.put(clazz.getName(), inheritanceInfo);
+			});
+		}
+		return new GenerationContext(config, inheritanceMap, removeRegexFormatFromPackages(modelPackages), schemaInterceptors,
+									 schemaFieldInterceptors, operationParameterInterceptors, operationInterceptors, requestBodyInterceptors,
+									 globalHeaders);
+	}
+
 	public void addSchemaInterceptor(SchemaInterceptor schemaInterceptor) {
 		schemaInterceptors.add(schemaInterceptor);
 	}
@@ -146,8 +178,16 @@ public class OpenAPIV2Generator {
 		globalHeaders.add(new Header(name, description, required));
 	}
 
-	private Map<String, Path> createPaths(OpenApiV2GeneratorConfig config) {
-		ClassPathScanningCandidateComponentProvider scanner = createClassPathScanningCandidateComponentProvider();
+	public List<String> getModelPackages() {
+		return Collections.unmodifiableList(modelPackages);
+	}
+
+	public List<String> getControllerBasePackages() {
+		return Collections.unmodifiableList(controllerBasePackages);
+	}
+
+	private List<Class<?>> scanControllerClasses(Environment environment) {
+		ClassPathScanningCandidateComponentProvider scanner = createClassPathScanningCandidateComponentProvider(environment);
 		scanner.addIncludeFilter(new AnnotationTypeFilter(RestController.class));
 
 		List<Class<?>> controllerClasses = new ArrayList<>();
@@ -159,47 +199,45 @@ public class OpenAPIV2Generator {
 				controllerClasses.add(getClass(beanDefinition));
 			}
 		}
-		return operationsTransformer.transformOperations(controllerClasses, config);
+		return controllerClasses;
 	}
 
-	private ClassPathScanningCandidateComponentProvider createClassPathScanningCandidateComponentProvider() {
+	private ClassPathScanningCandidateComponentProvider createClassPathScanningCandidateComponentProvider(Environment environment) {
 		if (environment == null) {
 			return new ClassPathScanningCandidateComponentProvider(false);
 		}
 		return new ClassPathScanningCandidateComponentProvider(false, environment);
 	}
 
-	private Map<String, Model> createDefinitions() {
-		Map<String, Model> schemaMap = new HashMap<>();
+	private List<Class<?>> scanModelClasses() {
 		ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
 		modelPackages.forEach(modelPackage -> scanner.addIncludeFilter(new RegexPatternTypeFilter(Pattern.compile(modelPackage))));
 
-		List<String> packagesWithoutRegex = removeRegexFormatFromPackages(modelPackages);
-		Map<String, InheritanceInfo> inheritanceMap = new HashMap<>();
-		for (String modelPackage : packagesWithoutRegex) {
+		List<Class<?>> modelClasses = new ArrayList<>();
+		Set<String> scannedClassNames = new HashSet<>();
+		for (String modelPackage : removeRegexFormatFromPackages(modelPackages)) {
 			logger.debug("Scanning model package=[{}]", modelPackage);
 			for (BeanDefinition beanDefinition : scanner.findCandidateComponents(modelPackage)) {
 				logger.debug("Scanning model class=[{}]", beanDefinition.getBeanClassName());
-				// populating inheritance info
 				Class<?> clazz = getClass(beanDefinition);
-				if (inheritanceMap.containsKey(clazz.getName()) || clazz.getAnnotation(OpenApiIgnore.class) != null) {
-					continue;
+				if (clazz.getAnnotation(OpenApiIgnore.class) == null && scannedClassNames.add(clazz.getName())) {
+					modelClasses.add(clazz);
 				}
-				getInheritanceInfo(clazz).ifPresent(inheritanceInfo -> {
-					logger.debug("Adding entry [{}] to inheritance map", clazz.getName());
-					inheritanceMap.put(clazz.getName(), inheritanceInfo);
-				});
 			}
-			for (BeanDefinition beanDefinition : scanner.findCandidateComponents(modelPackage)) {
-				Class<?> clazz = getClass(beanDefinition);
-				if (schemaMap.containsKey(clazz.getSimpleName()) || clazz.getAnnotation(OpenApiIgnore.class) != null) {
-					continue;
-				}
-				GenerationContext generationContext = new GenerationContext(inheritanceMap, packagesWithoutRegex);
-				Model transformedComponentSchema = componentSchemaTransformer.transformSimpleSchema(clazz, generationContext);
-				schemaInterceptors.forEach(schemaInterceptor -> schemaInterceptor.intercept(clazz, transformedComponentSchema));
-				schemaMap.put(clazz.getSimpleName(), transformedComponentSchema);
+		}
+		return modelClasses;
+	}
+
+	private Map<String, Model> createDefinitions(List<Class<?>> modelClasses, GenerationContext generationContext) {
+		ComponentSchemaTransformer componentSchemaTransformer = new ComponentSchemaTransformer(generationContext);
+		Map<String, Model> schemaMap = new LinkedHashMap<>();
+		for (Class<?> clazz : modelClasses) {
+			if (schemaMap.containsKey(clazz.getSimpleName()) || clazz.getAnnotation(OpenApiIgnore.class) != null) {
+				continue;
 			}
+			Model transformedComponentSchema = componentSchemaTransformer.transformSimpleSchema(clazz, generationContext);
+			generationContext.getSchemaInterceptors().forEach(schemaInterceptor -> schemaInterceptor.intercept(clazz, transformedComponentSchema));
+			schemaMap.put(clazz.getSimpleName(), transformedComponentSchema);
 		}
 		return schemaMap;
 	}
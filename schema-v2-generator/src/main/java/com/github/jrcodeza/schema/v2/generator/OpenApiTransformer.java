@@ -51,7 +51,11 @@ import static java.util.stream.Collectors.toList;
 public abstract class OpenApiTransformer {
 
 	private static Logger logger = LoggerFactory.getLogger(OpenApiTransformer.class);
-	protected final ThreadLocal<OpenApiV2GeneratorConfig> openApiV2GeneratorConfig = new ThreadLocal<>();
+	protected final GenerationContext generationContext;
+
+	protected OpenApiTransformer(GenerationContext generationContext) {
+		this.generationContext = generationContext;
+	}
 
 	protected abstract Property createRefProperty(Class<?> typeSignature, GenerationContext generationContext);
 
@@ -120,11 +124,9 @@ public abstract class OpenApiTransformer {
 		}
 	}
 
-	private boolean isNswagCompatibilityMode() {
-		if (openApiV2GeneratorConfig.get() == null) {
-			return false;
-		}
-		return openApiV2GeneratorConfig.get().getCompatibilityMode() == CompatibilityMode.NSWAG;
+	protected boolean isNswagCompatibilityMode() {
+		OpenApiV2GeneratorConfig config = generationContext.getConfig();
+		return config != null && config.getCompatibilityMode() == CompatibilityMode.NSWAG;
 	}
 
 	@SuppressWarnings("squid:S3776") // no other solution
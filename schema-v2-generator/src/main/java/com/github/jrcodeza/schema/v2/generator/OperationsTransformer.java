@@ -8,6 +8,7 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -18,8 +19,6 @@ import java.util.stream.Stream;
 
 import com.github.jrcodeza.Response;
 import com.github.jrcodeza.Responses;
-import com.github.jrcodeza.schema.v2.generator.config.CompatibilityMode;
-import com.github.jrcodeza.schema.v2.generator.config.OpenApiV2GeneratorConfig;
 import com.github.jrcodeza.schema.v2.generator.interceptors.OperationInterceptor;
 import com.github.jrcodeza.schema.v2.generator.interceptors.OperationParameterInterceptor;
 import com.github.jrcodeza.schema.v2.generator.interceptors.RequestBodyInterceptor;
@@ -29,6 +28,7 @@ import com.github.jrcodeza.schema.v2.generator.model.CustomSchema;
 import com.github.jrcodeza.schema.v2.generator.model.GenerationContext;
 import com.github.jrcodeza.schema.v2.generator.util.CommonConstants;
 import com.github.jrcodeza.schema.v2.generator.util.GeneratorUtils;
+import com.github.jrcodeza.schema.v2.generator.util.SharedParameters;
 
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -86,27 +86,23 @@ public class OperationsTransformer extends OpenApiTransformer {
 	private static final List<Class<?>> OPERATION_ANNOTATIONS = asList(RequestMapping.class, PostMapping.class, GetMapping.class, PutMapping.class,
 																	   PatchMapping.class, DeleteMapping.class);
 
-	private final GenerationContext generationContext;
 	private final List<OperationParameterInterceptor> operationParameterInterceptors;
 	private final List<OperationInterceptor> operationInterceptors;
 	private final List<RequestBodyInterceptor> requestBodyInterceptors;
 	private final List<com.github.jrcodeza.schema.v2.generator.model.Header> globalHeaders;
+	private final boolean shareParameters;
 
-	public OperationsTransformer(GenerationContext generationContext,
-								 List<OperationParameterInterceptor> operationParameterInterceptors,
-								 List<OperationInterceptor> operationInterceptors,
-								 List<RequestBodyInterceptor> requestBodyInterceptors,
-								 List<com.github.jrcodeza.schema.v2.generator.model.Header> globalHeaders) {
-		this.generationContext = generationContext;
-		this.operationParameterInterceptors = operationParameterInterceptors;
-		this.operationInterceptors = operationInterceptors;
-		this.requestBodyInterceptors = requestBodyInterceptors;
-		this.globalHeaders = globalHeaders;
+	public OperationsTransformer(GenerationContext generationContext) {
+		super(generationContext);
+		this.operationParameterInterceptors = generationContext.getOperationParameterInterceptors();
+		this.operationInterceptors = generationContext.getOperationInterceptors();
+		this.requestBodyInterceptors = generationContext.getRequestBodyInterceptors();
+		this.globalHeaders = generationContext.getGlobalHeaders();
+		this.shareParameters = generationContext.getConfig().isShareParameters();
 	}
 
-	public Map<String, Path> transformOperations(List<Class<?>> restControllerClasses, OpenApiV2GeneratorConfig config) {
-		super.openApiV2GeneratorConfig.set(config);
-		final Map<String, Path> operationsMap = new HashMap<>();
+	public Map<String, Path> transformOperations(List<Class<?>> restControllerClasses) {
+		final Map<String, Path> operationsMap = new LinkedHashMap<>();
 
 		for (Class<?> clazz : restControllerClasses) {
 			if (GeneratorUtils.shouldBeIgnored(clazz)) {
@@ -448,22 +444,13 @@ public class OperationsTransformer extends OpenApiTransformer {
 	private void addGlobalHeaders(List<io.swagger.models.parameters.Parameter> result) {
 		if (!globalHeaders.isEmpty()) {
 			List<io.swagger.models.parameters.Parameter> globalOasHeaders = globalHeaders.stream()
-																						 .map(this::createOasHeader)
+																						 .map(shareParameters ? SharedParameters::createHeaderReference
+																											  : SharedParameters::createHeaderParameter)
 																						 .collect(toList());
 			result.addAll(globalOasHeaders);
 		}
 	}
 
-	private io.swagger.models.parameters.Parameter createOasHeader(com.github.jrcodeza.schema.v2.generator.model.Header header) {
-		io.swagger.models.parameters.HeaderParameter parameter = new io.swagger.models.parameters.HeaderParameter();
-		parameter.setType("string");
-		parameter.setIn("header");
-		parameter.setName(header.getName());
-		parameter.setDescription(header.getDescription());
-		parameter.setRequired(header.isRequired());
-		return parameter;
-	}
-
 	private boolean shouldBeIncludedInDocumentation(Parameter parameter) {
 		return parameter.getAnnotation(PathVariable.class) != null || parameter.getAnnotation(RequestParam.class) != null
 			   || parameter.getAnnotation(RequestHeader.class) != null;
@@ -521,8 +508,7 @@ public class OperationsTransformer extends OpenApiTransformer {
 		);
 		content.addProperty(resolveContentType(userDefinedContentType, requestBodyParameter.getParameter()), property);
 
-		OpenApiV2GeneratorConfig config = openApiV2GeneratorConfig.get();
-		return config.getCompatibilityMode() == CompatibilityMode.NSWAG && !isFile(property)
+		return isNswagCompatibilityMode() && !isFile(property)
 				? createNswagRequestBody(requestBodyParameter, property)
 				: createStandardRequestBody(method, requestBodyParameter, content, property);
 	}
@@ -8,6 +8,22 @@ public class OpenApiV2GeneratorConfig {
 	private String basePath;
 	private String host;
 	private Environment environment;
+	private boolean deterministicOrdering;
+	private boolean shareParameters;
+
+	/**
+	 * @return copy of this config, so one generation run is not affected by later changes of the config
+	 */
+	public OpenApiV2GeneratorConfig copy() {
+		OpenApiV2GeneratorConfig copy = new OpenApiV2GeneratorConfig();
+		copy.compatibilityMode = compatibilityMode;
+		copy.basePath = basePath;
+		copy.host = host;
+		copy.environment = environment;
+		copy.deterministicOrdering = deterministicOrdering;
+		copy.shareParameters = shareParameters;
+		return copy;
+	}
 
 	public CompatibilityMode getCompatibilityMode() {
 		return compatibilityMode;
@@ -40,4 +56,20 @@ public class OpenApiV2GeneratorConfig {
 	public void setEnvironment(Environment environment) {
 		this.environment = environment;
 	}
+
+	public boolean isDeterministicOrdering() {
+		return deterministicOrdering;
+	}
+
+	public void setDeterministicOrdering(boolean deterministicOrdering) {
+		this.deterministicOrdering = deterministicOrdering;
+	}
+
+	public boolean isShareParameters() {
+		return shareParameters;
+	}
+
+	public void setShareParameters(boolean shareParameters) {
+		this.shareParameters = shareParameters;
+	}
 }
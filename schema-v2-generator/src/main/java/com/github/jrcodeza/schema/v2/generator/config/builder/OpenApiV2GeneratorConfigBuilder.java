@@ -37,6 +37,20 @@ public final class OpenApiV2GeneratorConfigBuilder {
 		return this;
 	}
 
+	public OpenApiV2GeneratorConfigBuilder withDeterministicOrdering(boolean deterministicOrdering) {
+		openApiV2GeneratorConfig.setDeterministicOrdering(deterministicOrdering);
+		return this;
+	}
+
+	/**
+	 * @param shareParameters whether global headers and parameters used identically by more than one operation should be
+	 *                        generated once in top level parameters and referenced by $ref
+	 */
+	public OpenApiV2GeneratorConfigBuilder withShareParameters(boolean shareParameters) {
+		openApiV2GeneratorConfig.setShareParameters(shareParameters);
+		return this;
+	}
+
 	public OpenApiV2GeneratorConfig build() {
 		return openApiV2GeneratorConfig;
 	}
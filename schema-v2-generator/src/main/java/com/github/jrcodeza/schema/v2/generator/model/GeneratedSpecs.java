@@ -0,0 +1,26 @@
+package com.github.jrcodeza.schema.v2.generator.model;
+
+import com.github.jrcodeza.OpenApiIgnore;
+
+import io.swagger.models.Swagger;
+import io.swagger.v3.oas.models.OpenAPI;
+
+@OpenApiIgnore
+public class GeneratedSpecs {
+
+	private final OpenAPI openAPI;
+	private final Swagger swagger;
+
+	public GeneratedSpecs(OpenAPI openAPI, Swagger swagger) {
+		this.openAPI = openAPI;
+		this.swagger = swagger;
+	}
+
+	public OpenAPI getOpenAPI() {
+		return openAPI;
+	}
+
+	public Swagger getSwagger() {
+		return swagger;
+	}
+}
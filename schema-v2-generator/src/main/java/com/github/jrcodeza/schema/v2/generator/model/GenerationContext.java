@@ -1,19 +1,58 @@
 package com.github.jrcodeza.schema.v2.generator.model;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import com.github.jrcodeza.OpenApiIgnore;
+import com.github.jrcodeza.schema.v2.generator.config.OpenApiV2GeneratorConfig;
+import com.github.jrcodeza.schema.v2.generator.interceptors.OperationInterceptor;
+import com.github.jrcodeza.schema.v2.generator.interceptors.OperationParameterInterceptor;
+import com.github.jrcodeza.schema.v2.generator.interceptors.RequestBodyInterceptor;
+import com.github.jrcodeza.schema.v2.generator.interceptors.SchemaFieldInterceptor;
+import com.github.jrcodeza.schema.v2.generator.interceptors.SchemaInterceptor;
 
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * State of one generation run. Config, interceptors and global headers are copied, so the ones added to the generator
+ * or config changed during the run affect only subsequent runs.
+ */
 @OpenApiIgnore
 public class GenerationContext {
 
+	private final OpenApiV2GeneratorConfig config;
 	private final List<String> modelPackages;
 	private final Map<String, InheritanceInfo> inheritanceMap;
+	private final List<SchemaInterceptor> schemaInterceptors;
+	private final List<SchemaFieldInterceptor> schemaFieldInterceptors;
+	private final List<OperationParameterInterceptor> operationParameterInterceptors;
+	private final List<OperationInterceptor> operationInterceptors;
+	private final List<RequestBodyInterceptor> requestBodyInterceptors;
+	private final List<Header> globalHeaders;
 
-	public GenerationContext(Map<String, InheritanceInfo> inheritanceMap, List<String> modelPackages) {
-		this.modelPackages = modelPackages;
+	public GenerationContext(OpenApiV2GeneratorConfig config,
+							 Map<String, InheritanceInfo> inheritanceMap,
+							 List<String> modelPackages,
+							 List<SchemaInterceptor> schemaInterceptors,
+							 List<SchemaFieldInterceptor> schemaFieldInterceptors,
+							 List<OperationParameterInterceptor> operationParameterInterceptors,
+							 List<OperationInterceptor> operationInterceptors,
+							 List<RequestBodyInterceptor> requestBodyInterceptors,
+							 List<Header> globalHeaders) {
+		this.config = config.copy();
+		this.modelPackages = unmodifiableList(new ArrayList<>(modelPackages));
 		this.inheritanceMap = inheritanceMap;
+		this.schemaInterceptors = unmodifiableList(new ArrayList<>(schemaInterceptors));
+		this.schemaFieldInterceptors = unmodifiableList(new ArrayList<>(schemaFieldInterceptors));
+		this.operationParameterInterceptors = unmodifiableList(new ArrayList<>(operationParameterInterceptors));
+		this.operationInterceptors = unmodifiableList(new ArrayList<>(operationInterceptors));
+		this.requestBodyInterceptors = unmodifiableList(new ArrayList<>(requestBodyInterceptors));
+		this.globalHeaders = unmodifiableList(new ArrayList<>(globalHeaders));
+	}
+
+	public OpenApiV2GeneratorConfig getConfig() {
+		return config;
 	}
 
 	public List<String> getModelPackages() {
@@ -23,4 +62,28 @@ public class GenerationContext {
 	public Map<String, InheritanceInfo> getInheritanceMap() {
 		return inheritanceMap;
 	}
+
+	public List<SchemaInterceptor> getSchemaInterceptors() {
+		return schemaInterceptors;
+	}
+
+	public List<SchemaFieldInterceptor> getSchemaFieldInterceptors() {
+		return schemaFieldInterceptors;
+	}
+
+	public List<OperationParameterInterceptor> getOperationParameterInterceptors() {
+		return operationParameterInterceptors;
+	}
+
+	public List<OperationInterceptor> getOperationInterceptors() {
+		return operationInterceptors;
+	}
+
+	public List<RequestBodyInterceptor> getRequestBodyInterceptors() {
+		return requestBodyInterceptors;
+	}
+
+	public List<Header> getGlobalHeaders() {
+		return globalHeaders;
+	}
 }
@@ -3,6 +3,7 @@ package com.github.jrcodeza.schema.v2.generator.util;
 public final class CommonConstants {
 
 	public static final String COMPONENT_REF_PREFIX = "#/definitions/";
+	public static final String PARAMETER_REF_PREFIX = "#/parameters/";
 	public static final String FILE_COMPONENT_NAME = "ApiFile";
 
 	private CommonConstants() {
@@ -0,0 +1,135 @@
+package com.github.jrcodeza.schema.v2.generator.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.jrcodeza.schema.v2.generator.model.Header;
+
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.HeaderParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.RefParameter;
+
+import static com.github.jrcodeza.schema.v2.generator.util.CommonConstants.PARAMETER_REF_PREFIX;
+
+/**
+ * Moves global headers and parameters used by more than one operation into top level parameters and replaces them by
+ * $ref. Parameters are matched by their JSON form, so only identical parameters are shared. Body parameters are
+ * left inline.
+ */
+public final class SharedParameters {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper()
+			.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+			.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+	private SharedParameters() {
+		throw new AssertionError();
+	}
+
+	public static Parameter createHeaderParameter(Header header) {
+		HeaderParameter parameter = new HeaderParameter();
+		parameter.setType("string");
+		parameter.setIn("header");
+		parameter.setName(header.getName());
+		parameter.setDescription(header.getDescription());
+		parameter.setRequired(header.isRequired());
+		return parameter;
+	}
+
+	/**
+	 * @return reference to top level parameter of global header registered by {@link #share(Swagger, List)}
+	 */
+	public static Parameter createHeaderReference(Header header) {
+		return new RefParameter(PARAMETER_REF_PREFIX + toParameterName(header.getName()));
+	}
+
+	public static void share(Swagger swagger, List<Header> globalHeaders) {
+		Map<String, Parameter> sharedParameters = swagger.getParameters() == null
+				? new LinkedHashMap<>() : new LinkedHashMap<>(swagger.getParameters());
+		globalHeaders.forEach(header -> sharedParameters.putIfAbsent(toParameterName(header.getName()), createHeaderParameter(header)));
+		Map<String, String> parameterNames = new HashMap<>();
+		sharedParameters.forEach((parameterName, parameter) -> parameterNames.putIfAbsent(toKey(parameter), parameterName));
+
+		List<List<Parameter>> parameterLists = new ArrayList<>();
+		List<String[]> parameterKeys = new ArrayList<>();
+		Map<String, Integer> occurrences = new HashMap<>();
+		if (swagger.getPaths() != null) {
+			for (Path path : swagger.getPaths().values()) {
+				for (Operation operation : path.getOperations()) {
+					if (operation.getParameters() == null) {
+						continue;
+					}
+					String[] keys = new String[operation.getParameters().size()];
+					for (int i = 0; i < keys.length; i++) {
+						Parameter parameter = operation.getParameters().get(i);
+						if (!(parameter instanceof RefParameter) && !(parameter instanceof BodyParameter)) {
+							keys[i] = toKey(parameter);
+							occurrences.merge(keys[i], 1, Integer::sum);
+						}
+					}
+					parameterLists.add(operation.getParameters());
+					parameterKeys.add(keys);
+				}
+			}
+		}
+
+		for (int listIndex = 0; listIndex < parameterLists.size(); listIndex++) {
+			List<Parameter> parameters = parameterLists.get(listIndex);
+			String[] keys = parameterKeys.get(listIndex);
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i] == null) {
+					continue;
+				}
+				String parameterName = parameterNames.get(keys[i]);
+				if (parameterName == null && occurrences.get(keys[i]) > 1) {
+					parameterName = createUniqueName(parameters.get(i), sharedParameters);
+					sharedParameters.put(parameterName, parameters.get(i));
+					parameterNames.put(keys[i], parameterName);
+				}
+				if (parameterName != null) {
+					parameters.set(i, new RefParameter(PARAMETER_REF_PREFIX + parameterName));
+				}
+			}
+		}
+		if (!sharedParameters.isEmpty()) {
+			swagger.setParameters(sharedParameters);
+		}
+	}
+
+	private static String toKey(Parameter parameter) {
+		try {
+			return parameter.getClass().getName() + MAPPER.writeValueAsString(parameter);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(String.format("Cannot serialize parameter [%s]", parameter.getName()), e);
+		}
+	}
+
+	private static String createUniqueName(Parameter parameter, Map<String, Parameter> sharedParameters) {
+		String parameterName = toParameterName(parameter.getName());
+		if (!sharedParameters.containsKey(parameterName)) {
+			return parameterName;
+		}
+		String baseName = parameterName + "_" + parameter.getIn();
+		parameterName = baseName;
+		for (int suffix = 2; sharedParameters.containsKey(parameterName); suffix++) {
+			parameterName = baseName + suffix;
+		}
+		return parameterName;
+	}
+
+	private static String toParameterName(String name) {
+		return name.replaceAll("[^a-zA-Z0-9.\\-_]", "_");
+	}
+
+}
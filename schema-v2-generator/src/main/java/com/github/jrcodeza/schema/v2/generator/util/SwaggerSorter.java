@@ -0,0 +1,126 @@
+package com.github.jrcodeza.schema.v2.generator.util;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import io.swagger.models.ArrayModel;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+
+/**
+ * Sorts all name keyed maps of generated spec (definitions, shared parameters, properties, paths, responses, headers, examples
+ * and vendor extensions) alphabetically, so the same input always produces byte identical output.
+ */
+public final class SwaggerSorter {
+
+	private SwaggerSorter() {
+		throw new AssertionError();
+	}
+
+	public static void sort(Swagger swagger) {
+		Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		swagger.setDefinitions(sorted(swagger.getDefinitions()));
+		if (swagger.getDefinitions() != null) {
+			swagger.getDefinitions().values().forEach(model -> sortModel(model, visited));
+		}
+		swagger.setParameters(sorted(swagger.getParameters()));
+		swagger.setPaths(sorted(swagger.getPaths()));
+		if (swagger.getPaths() != null) {
+			swagger.getPaths().values().forEach(path -> sortPath(path, visited));
+		}
+		sortInPlace(swagger.getVendorExtensions());
+	}
+
+	private static void sortPath(Path path, Set<Object> visited) {
+		sortInPlace(path.getVendorExtensions());
+		path.getOperations().forEach(operation -> sortOperation(operation, visited));
+	}
+
+	private static void sortOperation(Operation operation, Set<Object> visited) {
+		sortInPlace(operation.getVendorExtensions());
+		if (operation.getParameters() != null) {
+			operation.getParameters().stream()
+					 .filter(parameter -> parameter instanceof BodyParameter)
+					 .forEach(parameter -> sortModel(((BodyParameter) parameter).getSchema(), visited));
+		}
+		operation.setResponses(sorted(operation.getResponses()));
+		if (operation.getResponses() != null) {
+			operation.getResponses().values().forEach(response -> sortResponse(response, visited));
+		}
+	}
+
+	private static void sortResponse(Response response, Set<Object> visited) {
+		response.setHeaders(sorted(response.getHeaders()));
+		if (response.getHeaders() != null) {
+			response.getHeaders().values().forEach(header -> sortProperty(header, visited));
+		}
+		response.setExamples(sorted(response.getExamples()));
+		sortModel(response.getResponseSchema(), visited);
+		sortInPlace(response.getVendorExtensions());
+	}
+
+	private static void sortModel(Model model, Set<Object> visited) {
+		if (model == null || !visited.add(model)) {
+			return;
+		}
+		sortInPlace(model.getProperties());
+		if (model.getProperties() != null) {
+			model.getProperties().values().forEach(property -> sortProperty(property, visited));
+		}
+		if (model instanceof ComposedModel && ((ComposedModel) model).getAllOf() != null) {
+			((ComposedModel) model).getAllOf().forEach(child -> sortModel(child, visited));
+		}
+		if (model instanceof ArrayModel) {
+			sortProperty(((ArrayModel) model).getItems(), visited);
+		}
+		sortInPlace(model.getVendorExtensions());
+	}
+
+	private static void sortProperty(Property property, Set<Object> visited) {
+		if (property == null || !visited.add(property)) {
+			return;
+		}
+		if (property instanceof ObjectProperty) {
+			ObjectProperty objectProperty = (ObjectProperty) property;
+			objectProperty.setProperties(sorted(objectProperty.getProperties()));
+			if (objectProperty.getProperties() != null) {
+				objectProperty.getProperties().values().forEach(child -> sortProperty(child, visited));
+			}
+		} else if (property instanceof ArrayProperty) {
+			sortProperty(((ArrayProperty) property).getItems(), visited);
+		} else if (property instanceof MapProperty) {
+			sortProperty(((MapProperty) property).getAdditionalProperties(), visited);
+		}
+		sortInPlace(property.getVendorExtensions());
+	}
+
+	private static <V> Map<String, V> sorted(Map<String, V> map) {
+		if (map == null) {
+			return null;
+		}
+		return new LinkedHashMap<>(new TreeMap<>(map));
+	}
+
+	private static <V> void sortInPlace(Map<String, V> map) {
+		if (map == null || map.size() < 2) {
+			return;
+		}
+		Map<String, V> sortedMap = new TreeMap<>(map);
+		map.clear();
+		map.putAll(sortedMap);
+	}
+
+}
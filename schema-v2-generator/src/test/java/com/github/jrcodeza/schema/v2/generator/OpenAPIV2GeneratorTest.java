@@ -1,6 +1,12 @@
 package com.github.jrcodeza.schema.v2.generator;
 
+import io.swagger.models.HttpMethod;
 import io.swagger.models.Info;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.RefParameter;
 import org.apache.commons.io.IOUtils;
 import org.json.JSONException;
 import org.junit.Test;
@@ -9,17 +15,41 @@ import org.skyscreamer.jsonassert.JSONAssert;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.jrcodeza.schema.generator.OpenAPIGenerator;
+import com.github.jrcodeza.schema.generator.config.OpenApiGeneratorConfig;
+import com.github.jrcodeza.schema.generator.config.builder.OpenApiGeneratorConfigBuilder;
+import com.github.jrcodeza.schema.generator.model.ClassScanResult;
 import com.github.jrcodeza.schema.v2.generator.config.CompatibilityMode;
+import com.github.jrcodeza.schema.v2.generator.config.OpenApiV2GeneratorConfig;
 import com.github.jrcodeza.schema.v2.generator.config.builder.OpenApiV2GeneratorConfigBuilder;
 import com.github.jrcodeza.schema.v2.generator.interceptors.TestOperationInterceptor;
 import com.github.jrcodeza.schema.v2.generator.interceptors.TestOperationParameterInterceptor;
 import com.github.jrcodeza.schema.v2.generator.interceptors.TestRequestBodyInterceptor;
 import com.github.jrcodeza.schema.v2.generator.interceptors.TestSchemaFieldInterceptor;
 import com.github.jrcodeza.schema.v2.generator.interceptors.TestSchemaInterceptor;
+import com.github.jrcodeza.schema.v2.generator.model.GeneratedSpecs;
+import com.github.jrcodeza.schema.v2.generator.model.GenerationContext;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class OpenAPIV2GeneratorTest {
 
@@ -46,6 +76,202 @@ public class OpenAPIV2GeneratorTest {
 		assertOpenApiResult(openAPIJson, "expected_v2_openapi_nswag.json");
 	}
 
+	@Test
+	public void generateWithDeterministicOrdering() throws JsonProcessingException, JSONException {
+		OpenApiV2GeneratorConfig config = OpenApiV2GeneratorConfigBuilder.empty()
+				.withDeterministicOrdering(true)
+				.build();
+		String openAPIJson = createTestGenerator().generateJson(config);
+		JSONAssert.assertEquals(getResourceFileAsString("expected_v2_openapi.json"), openAPIJson, false);
+		assertEquals(openAPIJson, createTestGenerator().generateJson(config));
+	}
+
+	@Test
+	public void generateConcurrentlyWithDifferentConfigs() throws Exception {
+		OpenAPIV2Generator openAPIGenerator = createTestGenerator();
+		OpenApiV2GeneratorConfig standardConfig = OpenApiV2GeneratorConfigBuilder.empty()
+				.withDeterministicOrdering(true)
+				.build();
+		OpenApiV2GeneratorConfig nswagConfig = OpenApiV2GeneratorConfigBuilder.empty()
+				.withCompatibilityMode(CompatibilityMode.NSWAG)
+				.withDeterministicOrdering(true)
+				.build();
+		String expectedStandard = openAPIGenerator.generateJson(standardConfig);
+		String expectedNswag = openAPIGenerator.generateJson(nswagConfig);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> standardResults = new ArrayList<>();
+			List<Future<String>> nswagResults = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				standardResults.add(executorService.submit(() -> openAPIGenerator.generateJson(standardConfig)));
+				nswagResults.add(executorService.submit(() -> openAPIGenerator.generateJson(nswagConfig)));
+			}
+			for (Future<String> result : standardResults) {
+				assertEquals(expectedStandard, result.get());
+			}
+			for (Future<String> result : nswagResults) {
+				assertEquals(expectedNswag, result.get());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void generateConcurrentlyWhileAddingGlobalHeader() throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper();
+		OpenAPIV2Generator openAPIGenerator = createTestGenerator();
+		// definitions and paths keep scan order, so outputs are comparable without deterministic ordering
+		OpenApiV2GeneratorConfig config = OpenApiV2GeneratorConfigBuilder.empty().build();
+		String expected = openAPIGenerator.generateJson(config);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			Future<?> headerAdded = null;
+			for (int i = 0; i < 8; i++) {
+				results.add(executorService.submit(() -> openAPIGenerator.generateJson(config)));
+				if (i == 3) {
+					headerAdded = executorService.submit(() -> openAPIGenerator.addGlobalHeader("Added-Header", "Added during generation", false));
+				}
+			}
+			headerAdded.get();
+			String expectedWithHeader = openAPIGenerator.generateJson(config);
+			objectMapper.readTree(expectedWithHeader).path("paths").forEach(path -> path.forEach(operation -> {
+				long headerCount = StreamSupport.stream(operation.path("parameters").spliterator(), false)
+						.filter(parameter -> "Added-Header".equals(parameter.path("name").asText()))
+						.count();
+				assertEquals(1, headerCount);
+			}));
+			// every run sees either old or new global headers, never part of them
+			for (Future<String> result : results) {
+				String generated = result.get();
+				assertTrue(expected.equals(generated) || expectedWithHeader.equals(generated));
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void generationContextCopiesConfig() {
+		OpenApiV2GeneratorConfig config = OpenApiV2GeneratorConfigBuilder.empty().build();
+		List<String> modelPackages = new ArrayList<>(singletonList("com.github.jrcodeza.schema.v2.generator.domain"));
+		GenerationContext generationContext = new GenerationContext(config, Collections.emptyMap(), modelPackages, emptyList(),
+				emptyList(), emptyList(), emptyList(), emptyList(), emptyList());
+		config.setDeterministicOrdering(true);
+		config.setHost("changed.com");
+		modelPackages.add("com.github.jrcodeza.schema.v2.generator.other");
+		assertFalse(generationContext.getConfig().isDeterministicOrdering());
+		assertNull(generationContext.getConfig().getHost());
+		assertEquals(1, generationContext.getModelPackages().size());
+	}
+
+	@Test
+	public void generateBothVersionsFromSingleScan() throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper();
+		objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+		OpenAPIGenerator openAPIGenerator = new OpenAPIGenerator(
+				singletonList("com.github.jrcodeza.schema.v2.generator.domain.*"),
+				singletonList("com.github.jrcodeza.schema.v2.generator.controller.*"),
+				new io.swagger.v3.oas.models.info.Info().title("Test API").version("1.0.0")
+		);
+		OpenApiGeneratorConfig config = OpenApiGeneratorConfigBuilder.defaultConfig().withDeterministicOrdering(true).build();
+		OpenApiV2GeneratorConfig v2Config = OpenApiV2GeneratorConfigBuilder.empty().withDeterministicOrdering(true).build();
+
+		GeneratedSpecs generatedSpecs = new OpenAPIDualGenerator(openAPIGenerator, createTestGenerator()).generate(config, v2Config);
+
+		assertEquals(objectMapper.writeValueAsString(openAPIGenerator.generate(config)),
+					 objectMapper.writeValueAsString(generatedSpecs.getOpenAPI()));
+		assertEquals(objectMapper.writeValueAsString(createTestGenerator().generate(v2Config)),
+					 objectMapper.writeValueAsString(generatedSpecs.getSwagger()));
+	}
+
+	/**
+	 * Benchmark of what {@link OpenAPIDualGenerator} shares. Only the scan runs once, reflection and transformation run
+	 * for each generator, so the dual generator saves the scan time logged here.
+	 */
+	@Test
+	public void dualGeneratorScanCost() {
+		OpenAPIGenerator openAPIGenerator = new OpenAPIGenerator(
+				singletonList("com.github.jrcodeza.schema.v2.generator.domain.*"),
+				singletonList("com.github.jrcodeza.schema.v2.generator.controller.*"),
+				new io.swagger.v3.oas.models.info.Info().title("Test API").version("1.0.0")
+		);
+		OpenAPIV2Generator openAPIV2Generator = createTestGenerator();
+		OpenApiGeneratorConfig config = OpenApiGeneratorConfigBuilder.defaultConfig().build();
+		OpenApiV2GeneratorConfig v2Config = OpenApiV2GeneratorConfigBuilder.empty().build();
+
+		int rounds = 20;
+		long[] scanTimes = new long[rounds];
+		long[] v3Times = new long[rounds];
+		long[] v2Times = new long[rounds];
+		for (int round = -10; round < rounds; round++) {
+			long start = System.nanoTime();
+			ClassScanResult classScanResult = openAPIGenerator.scanClasses(null);
+			long scanned = System.nanoTime();
+			openAPIGenerator.generate(config, classScanResult);
+			long v3Generated = System.nanoTime();
+			openAPIV2Generator.generate(v2Config, classScanResult.getModelClasses(), classScanResult.getControllerClasses());
+			long v2Generated = System.nanoTime();
+			// first rounds only warm up
+			if (round >= 0) {
+				scanTimes[round] = scanned - start;
+				v3Times[round] = v3Generated - scanned;
+				v2Times[round] = v2Generated - v3Generated;
+			}
+		}
+		long scanTime = median(scanTimes);
+		long v3Time = median(v3Times);
+		long v2Time = median(v2Times);
+		System.out.printf("Median scan [%d] us, v3 transformation [%d] us, v2 transformation [%d] us, dual generation saves [%d]%% of two runs%n",
+						  scanTime / 1000, v3Time / 1000, v2Time / 1000, 100 * scanTime / (2 * scanTime + v3Time + v2Time));
+		assertTrue(scanTime > 0);
+	}
+
+	private static long median(long[] values) {
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void dualGeneratorRejectsDifferentPackages() {
+		OpenAPIGenerator openAPIGenerator = new OpenAPIGenerator(
+				singletonList("com.github.jrcodeza.schema.v2.generator.domain.*"),
+				singletonList("com.github.jrcodeza.schema.v2.generator.other.*"),
+				new io.swagger.v3.oas.models.info.Info().title("Test API").version("1.0.0")
+		);
+		new OpenAPIDualGenerator(openAPIGenerator, createTestGenerator());
+	}
+
+	@Test
+	public void generateWithSharedParameters() throws JsonProcessingException {
+		ObjectMapper objectMapper = new ObjectMapper();
+		objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+		Swagger inlineSwagger = createTestGenerator().generate();
+		Swagger sharedSwagger = createTestGenerator().generate(OpenApiV2GeneratorConfigBuilder.empty()
+				.withShareParameters(true)
+				.build());
+
+		assertEquals("header", sharedSwagger.getParameters().get("Test-Global-Header").getIn());
+		assertEquals(inlineSwagger.getPaths().keySet(), sharedSwagger.getPaths().keySet());
+		for (Map.Entry<String, Path> pathEntry : inlineSwagger.getPaths().entrySet()) {
+			Map<HttpMethod, Operation> sharedOperations = sharedSwagger.getPaths().get(pathEntry.getKey()).getOperationMap();
+			for (Map.Entry<HttpMethod, Operation> operationEntry : pathEntry.getValue().getOperationMap().entrySet()) {
+				List<Parameter> parameters = sharedOperations.get(operationEntry.getKey()).getParameters();
+				assertEquals("#/parameters/Test-Global-Header", ((RefParameter) parameters.get(0)).get$ref());
+				List<Parameter> resolvedParameters = parameters.stream()
+						.map(parameter -> parameter instanceof RefParameter
+								? sharedSwagger.getParameters().get(((RefParameter) parameter).getSimpleRef()) : parameter)
+						.collect(Collectors.toList());
+				assertEquals(objectMapper.writeValueAsString(operationEntry.getValue().getParameters()),
+							 objectMapper.writeValueAsString(resolvedParameters));
+			}
+		}
+	}
+
 	private void assertOpenApiResult(String openAPI, String pathToExpectedFile) {
 		try {
 			JSONAssert.assertEquals(getResourceFileAsString(pathToExpectedFile), openAPI, true);
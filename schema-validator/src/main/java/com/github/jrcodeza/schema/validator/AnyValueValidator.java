@@ -0,0 +1,21 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * Accepts any value, used for schemas without type.
+ */
+final class AnyValueValidator extends ValueValidator {
+
+	static final AnyValueValidator INSTANCE = new AnyValueValidator();
+
+	private AnyValueValidator() {
+	}
+
+	@Override
+	void validateValue(JsonParser parser, ValidationContext context) throws IOException {
+		parser.skipChildren();
+	}
+}
@@ -0,0 +1,38 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+final class ArrayValidator extends ValueValidator {
+
+	private final ValueValidator itemValidator;
+	private final Integer minItems;
+	private final Integer maxItems;
+
+	ArrayValidator(ValueValidator itemValidator, Integer minItems, Integer maxItems) {
+		this.itemValidator = itemValidator;
+		this.minItems = minItems;
+		this.maxItems = maxItems;
+	}
+
+	@Override
+	void validateValue(JsonParser parser, ValidationContext context) throws IOException {
+		if (parser.currentToken() != JsonToken.START_ARRAY) {
+			reportTypeMismatch(parser, context, "array");
+			return;
+		}
+		int size = 0;
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			itemValidator.validate(parser, context);
+			size++;
+		}
+		if (minItems != null && size < minItems) {
+			context.addError(parser, String.format("Array size %d is less than minimum %d", size, minItems));
+		}
+		if (maxItems != null && size > maxItems) {
+			context.addError(parser, String.format("Array size %d is greater than maximum %d", size, maxItems));
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+final class BooleanValidator extends ValueValidator {
+
+	static final BooleanValidator INSTANCE = new BooleanValidator();
+
+	private BooleanValidator() {
+	}
+
+	@Override
+	void validateValue(JsonParser parser, ValidationContext context) throws IOException {
+		if (!parser.currentToken().isBoolean()) {
+			reportTypeMismatch(parser, context, "boolean");
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Validates oneOf, anyOf and allOf which can't be flattened into single object. Value is buffered and replayed
+ * for every alternative, so this is the only validator which reads value more than once.
+ */
+final class CompositeValidator extends ValueValidator {
+
+	enum Mode {
+		ALL_OF, ANY_OF, ONE_OF
+	}
+
+	private final Mode mode;
+	private final List<ValueValidator> validators;
+
+	CompositeValidator(Mode mode, List<ValueValidator> validators) {
+		this.mode = mode;
+		this.validators = validators;
+	}
+
+	@Override
+	void validateValue(JsonParser parser, ValidationContext context) throws IOException {
+		String pointer = context.pointer(parser);
+		TokenBuffer buffer = new TokenBuffer(parser.getCodec(), false);
+		buffer.copyCurrentStructure(parser);
+		if (mode == Mode.ALL_OF) {
+			ValidationContext bufferContext = context.nested(pointer);
+			for (ValueValidator validator : validators) {
+				replay(buffer, validator, bufferContext);
+			}
+			return;
+		}
+		int matches = 0;
+		for (ValueValidator validator : validators) {
+			ValidationContext bufferContext = context.detached(pointer);
+			replay(buffer, validator, bufferContext);
+			if (!bufferContext.hasErrors()) {
+				matches++;
+			}
+		}
+		if (mode == Mode.ANY_OF && matches == 0) {
+			context.addError(parser, "Value does not match any schema of anyOf");
+		} else if (mode == Mode.ONE_OF && matches != 1) {
+			context.addError(parser, String.format("Value has to match exactly one schema of oneOf but matched %d", matches));
+		}
+	}
+
+	private void replay(TokenBuffer buffer, ValueValidator validator, ValidationContext context) throws IOException {
+		try (JsonParser bufferParser = buffer.asParser()) {
+			bufferParser.nextToken();
+			validator.validate(bufferParser, context);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.io.IOException;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Selects object validator of subtype by discriminator property. When discriminator is the first field (as written
+ * by Jackson) the object is validated in one pass, otherwise fields are buffered until whole object is read.
+ */
+final class DiscriminatorValidator extends ValueValidator {
+
+	private final String propertyName;
+	private final Map<String, String> mapping;
+	private final ObjectValidator defaultValidator;
+	private final Map<String, ObjectValidator> objectValidators;
+
+	/**
+	 * @param mapping          discriminator value to component name, values without mapping are taken as component names
+	 * @param defaultValidator validator used when discriminator is missing or unknown
+	 * @param objectValidators flattened object validators of components
+	 */
+	DiscriminatorValidator(String propertyName, Map<String, String> mapping, ObjectValidator defaultValidator,
+						   Map<String, ObjectValidator> objectValidators) {
+		this.propertyName = propertyName;
+		this.mapping = mapping;
+		this.defaultValidator = defaultValidator;
+		this.objectValidators = objectValidators;
+	}
+
+	@Override
+	void validateValue(JsonParser parser, ValidationContext context) throws IOException {
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			reportTypeMismatch(parser, context, "object");
+			return;
+		}
+		JsonToken token = parser.nextToken();
+		if (token == JsonToken.FIELD_NAME && propertyName.equals(parser.getCurrentName())) {
+			parser.nextToken();
+			ObjectValidator validator = selectValidator(parser, context);
+			boolean[] presence = validator.newPresence();
+			validator.validateField(propertyName, parser, context, presence);
+			validator.validateFields(parser, context, presence);
+			return;
+		}
+
+		TokenBuffer buffer = new TokenBuffer(parser.getCodec(), false);
+		buffer.writeStartObject();
+		while (token == JsonToken.FIELD_NAME) {
+			buffer.copyCurrentStructure(parser);
+			token = parser.nextToken();
+		}
+		buffer.writeEndObject();
+		ValidationContext bufferContext = context.nested(context.pointer(parser));
+
+		ObjectValidator validator = defaultValidator;
+		try (JsonParser bufferParser = buffer.asParser()) {
+			bufferParser.nextToken();
+			while (bufferParser.nextToken() == JsonToken.FIELD_NAME) {
+				String name = bufferParser.getCurrentName();
+				bufferParser.nextToken();
+				if (propertyName.equals(name)) {
+					validator = selectValidator(bufferParser, bufferContext);
+					break;
+				}
+				bufferParser.skipChildren();
+			}
+		}
+		try (JsonParser bufferParser = buffer.asParser()) {
+			bufferParser.nextToken();
+			validator.validateFields(bufferParser, bufferContext, validator.newPresence());
+		}
+	}
+
+	private ObjectValidator selectValidator(JsonParser parser, ValidationContext context) throws IOException {
+		if (parser.currentToken() == JsonToken.VALUE_STRING) {
+			String value = parser.getText();
+			ObjectValidator validator = objectValidators.get(mapping.getOrDefault(value, value));
+			if (validator != null) {
+				return validator;
+			}
+			context.addError(parser, String.format("Unknown discriminator value [%s]", value));
+		}
+		return defaultValidator;
+	}
+}
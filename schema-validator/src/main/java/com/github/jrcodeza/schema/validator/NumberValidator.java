@@ -0,0 +1,70 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Validates integers and numbers against minimum, maximum and int32/int64 format. Decimal value is read from
+ * parser only when bounds are present.
+ */
+final class NumberValidator extends ValueValidator {
+
+	private final boolean integer;
+	private final String format;
+	private final BigDecimal minimum;
+	private final boolean exclusiveMinimum;
+	private final BigDecimal maximum;
+	private final boolean exclusiveMaximum;
+
+	NumberValidator(boolean integer, String format, BigDecimal minimum, boolean exclusiveMinimum, BigDecimal maximum,
+					boolean exclusiveMaximum) {
+		this.integer = integer;
+		this.format = format;
+		this.minimum = minimum;
+		this.exclusiveMinimum = exclusiveMinimum;
+		this.maximum = maximum;
+		this.exclusiveMaximum = exclusiveMaximum;
+	}
+
+	@Override
+	void validateValue(JsonParser parser, ValidationContext context) throws IOException {
+		JsonToken token = parser.currentToken();
+		if (token != JsonToken.VALUE_NUMBER_INT && (integer || token != JsonToken.VALUE_NUMBER_FLOAT)) {
+			reportTypeMismatch(parser, context, integer ? "integer" : "number");
+			return;
+		}
+		if (token == JsonToken.VALUE_NUMBER_INT && !fitsFormat(parser.getNumberType())) {
+			context.addError(parser, String.format("Value %s is out of %s range", parser.getText(), format));
+			return;
+		}
+		if (minimum == null && maximum == null) {
+			return;
+		}
+		BigDecimal value = parser.getDecimalValue();
+		if (minimum != null) {
+			int comparison = value.compareTo(minimum);
+			if (comparison < 0 || (exclusiveMinimum && comparison == 0)) {
+				context.addError(parser, String.format("Value %s is less than %sminimum %s", value, exclusiveMinimum ? "exclusive " : "", minimum));
+			}
+		}
+		if (maximum != null) {
+			int comparison = value.compareTo(maximum);
+			if (comparison > 0 || (exclusiveMaximum && comparison == 0)) {
+				context.addError(parser, String.format("Value %s is greater than %smaximum %s", value, exclusiveMaximum ? "exclusive " : "", maximum));
+			}
+		}
+	}
+
+	private boolean fitsFormat(JsonParser.NumberType numberType) {
+		if ("int32".equals(format)) {
+			return numberType == JsonParser.NumberType.INT;
+		}
+		if ("int64".equals(format)) {
+			return numberType == JsonParser.NumberType.INT || numberType == JsonParser.NumberType.LONG;
+		}
+		return true;
+	}
+}
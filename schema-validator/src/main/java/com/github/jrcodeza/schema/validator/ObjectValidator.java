@@ -0,0 +1,103 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Validates object with properties flattened from whole allOf hierarchy. Presence of required properties is
+ * tracked by their index, so a single pass over fields is enough.
+ */
+final class ObjectValidator extends ValueValidator {
+
+	private final Map<String, Property> properties = new HashMap<>();
+	private final String[] requiredNames;
+	private final ValueValidator additionalPropertiesValidator;
+	private final boolean additionalPropertiesAllowed;
+
+	/**
+	 * @param additionalPropertiesValidator validator of values not declared in properties, null when they are not validated
+	 */
+	ObjectValidator(Map<String, ValueValidator> propertyValidators, List<String> requiredNames,
+					ValueValidator additionalPropertiesValidator, boolean additionalPropertiesAllowed) {
+		this.requiredNames = requiredNames.toArray(new String[0]);
+		propertyValidators.forEach((name, validator) -> properties.put(name, new Property(validator, requiredNames.indexOf(name))));
+		for (int i = 0; i < this.requiredNames.length; i++) {
+			if (!properties.containsKey(this.requiredNames[i])) {
+				properties.put(this.requiredNames[i], new Property(AnyValueValidator.INSTANCE, i));
+			}
+		}
+		this.additionalPropertiesValidator = additionalPropertiesValidator;
+		this.additionalPropertiesAllowed = additionalPropertiesAllowed;
+	}
+
+	@Override
+	void validateValue(JsonParser parser, ValidationContext context) throws IOException {
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			reportTypeMismatch(parser, context, "object");
+			return;
+		}
+		validateFields(parser, context, newPresence());
+	}
+
+	boolean[] newPresence() {
+		return requiredNames.length == 0 ? null : new boolean[requiredNames.length];
+	}
+
+	/**
+	 * Validates remaining fields of the object, parser has to be positioned on the last token before next field name
+	 * and is left on END_OBJECT.
+	 */
+	void validateFields(JsonParser parser, ValidationContext context, boolean[] presence) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String name = parser.getCurrentName();
+			parser.nextToken();
+			validateField(name, parser, context, presence);
+		}
+		for (int i = 0; i < requiredNames.length; i++) {
+			if (!presence[i]) {
+				context.addError(parser, String.format("Missing required property [%s]", requiredNames[i]));
+			}
+		}
+	}
+
+	/**
+	 * Validates value of field with given name, parser has to be positioned on the value.
+	 */
+	void validateField(String name, JsonParser parser, ValidationContext context, boolean[] presence) throws IOException {
+		Property property = properties.get(name);
+		if (property == null) {
+			if (!additionalPropertiesAllowed) {
+				context.addError(parser, String.format("Property [%s] is not allowed", name));
+				parser.skipChildren();
+			} else if (additionalPropertiesValidator != null) {
+				additionalPropertiesValidator.validate(parser, context);
+			} else {
+				parser.skipChildren();
+			}
+			return;
+		}
+		if (property.requiredIndex >= 0) {
+			if (parser.currentToken() == JsonToken.VALUE_NULL) {
+				context.addError(parser, String.format("Required property [%s] must not be null", name));
+			}
+			presence[property.requiredIndex] = true;
+		}
+		property.validator.validate(parser, context);
+	}
+
+	private static final class Property {
+
+		private final ValueValidator validator;
+		private final int requiredIndex;
+
+		private Property(ValueValidator validator, int requiredIndex) {
+			this.validator = validator;
+			this.requiredIndex = requiredIndex;
+		}
+	}
+}
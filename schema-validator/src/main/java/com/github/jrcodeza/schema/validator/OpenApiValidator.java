@@ -0,0 +1,139 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+
+/**
+ * Validators of component schemas, request bodies and responses compiled once from OpenAPI spec. Only JSON content
+ * is validated, operations are identified by their operationId.
+ */
+public final class OpenApiValidator {
+
+	private static final String DEFAULT_RESPONSE = "default";
+
+	private final Map<String, SchemaValidator> schemaValidators = new HashMap<>();
+	private final Map<String, SchemaValidator> requestValidators = new HashMap<>();
+	private final Map<String, Map<String, SchemaValidator>> responseValidators = new HashMap<>();
+
+	private OpenApiValidator() {
+	}
+
+	public static OpenApiValidator compile(OpenAPI openAPI) {
+		return compile(openAPI, new JsonFactory());
+	}
+
+	public static OpenApiValidator compile(OpenAPI openAPI, JsonFactory jsonFactory) {
+		OpenApiValidator openApiValidator = new OpenApiValidator();
+		SchemaCompiler schemaCompiler = new SchemaCompiler(openAPI.getComponents() == null ? null : openAPI.getComponents().getSchemas());
+		schemaCompiler.compileComponents().forEach((componentName, validator) ->
+				openApiValidator.schemaValidators.put(componentName, new SchemaValidator(validator, jsonFactory)));
+		if (openAPI.getPaths() == null) {
+			return openApiValidator;
+		}
+		for (PathItem pathItem : openAPI.getPaths().values()) {
+			for (Operation operation : pathItem.readOperations()) {
+				if (operation.getOperationId() == null) {
+					continue;
+				}
+				Map<String, SchemaValidator> operationResponses = new HashMap<>();
+				openApiValidator.responseValidators.put(operation.getOperationId(), operationResponses);
+				RequestBody requestBody = resolveRequestBody(openAPI, operation.getRequestBody());
+				MediaType requestMediaType = requestBody == null ? null : getJsonMediaType(requestBody.getContent());
+				if (requestMediaType != null) {
+					openApiValidator.requestValidators.put(operation.getOperationId(),
+							new SchemaValidator(schemaCompiler.compile(requestMediaType.getSchema()), jsonFactory));
+				}
+				if (operation.getResponses() == null) {
+					continue;
+				}
+				operation.getResponses().forEach((status, response) -> {
+					MediaType responseMediaType = getJsonMediaType(resolveResponse(openAPI, response).getContent());
+					if (responseMediaType != null) {
+						operationResponses.put(status, new SchemaValidator(schemaCompiler.compile(responseMediaType.getSchema()), jsonFactory));
+					}
+				});
+			}
+		}
+		return openApiValidator;
+	}
+
+	public SchemaValidator getSchemaValidator(String componentName) {
+		SchemaValidator schemaValidator = schemaValidators.get(componentName);
+		if (schemaValidator == null) {
+			throw new IllegalArgumentException(String.format("Component [%s] does not exist", componentName));
+		}
+		return schemaValidator;
+	}
+
+	/**
+	 * @return validator of request body, null when operation has no JSON request body
+	 */
+	public SchemaValidator getRequestValidator(String operationId) {
+		checkOperationExists(operationId);
+		return requestValidators.get(operationId);
+	}
+
+	/**
+	 * @return validator of response with given status or of default response, null when there is no JSON response
+	 */
+	public SchemaValidator getResponseValidator(String operationId, int statusCode) {
+		checkOperationExists(operationId);
+		Map<String, SchemaValidator> operationResponses = responseValidators.get(operationId);
+		SchemaValidator schemaValidator = operationResponses.get(String.valueOf(statusCode));
+		return schemaValidator == null ? operationResponses.get(DEFAULT_RESPONSE) : schemaValidator;
+	}
+
+	private void checkOperationExists(String operationId) {
+		if (!responseValidators.containsKey(operationId)) {
+			throw new IllegalArgumentException(String.format("Operation [%s] does not exist", operationId));
+		}
+	}
+
+	private static RequestBody resolveRequestBody(OpenAPI openAPI, RequestBody requestBody) {
+		if (requestBody == null || requestBody.get$ref() == null) {
+			return requestBody;
+		}
+		return getComponent(openAPI.getComponents() == null ? null : openAPI.getComponents().getRequestBodies(), requestBody.get$ref());
+	}
+
+	private static ApiResponse resolveResponse(OpenAPI openAPI, ApiResponse response) {
+		if (response.get$ref() == null) {
+			return response;
+		}
+		return getComponent(openAPI.getComponents() == null ? null : openAPI.getComponents().getResponses(), response.get$ref());
+	}
+
+	private static <T> T getComponent(Map<String, T> components, String ref) {
+		T component = (components == null ? Collections.<String, T>emptyMap() : components).get(ref.substring(ref.lastIndexOf('/') + 1));
+		if (component == null) {
+			throw new IllegalArgumentException(String.format("Referenced component [%s] does not exist", ref));
+		}
+		return component;
+	}
+
+	private static MediaType getJsonMediaType(Content content) {
+		if (content == null) {
+			return null;
+		}
+		MediaType mediaType = content.get("application/json");
+		if (mediaType != null) {
+			return mediaType;
+		}
+		return content.entrySet().stream()
+				.filter(entry -> entry.getKey().endsWith("+json"))
+				.map(Map.Entry::getValue)
+				.findFirst()
+				.orElse(content.get("*/*"));
+	}
+}
@@ -0,0 +1,25 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.io.IOException;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * Delegates to validator of referenced component, looked up on use so recursive schemas can be compiled.
+ */
+final class ReferenceValidator extends ValueValidator {
+
+	private final String componentName;
+	private final Map<String, ValueValidator> componentValidators;
+
+	ReferenceValidator(String componentName, Map<String, ValueValidator> componentValidators) {
+		this.componentName = componentName;
+		this.componentValidators = componentValidators;
+	}
+
+	@Override
+	void validateValue(JsonParser parser, ValidationContext context) throws IOException {
+		componentValidators.get(componentName).validateValue(parser, context);
+	}
+}
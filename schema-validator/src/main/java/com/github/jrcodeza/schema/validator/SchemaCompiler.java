@@ -0,0 +1,206 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.Schema;
+
+/**
+ * Compiles component schemas into validators. Objects are flattened over allOf references once, so inherited
+ * properties are validated by single object validator, and patterns are compiled once per distinct regex.
+ */
+final class SchemaCompiler {
+
+	private static final String COMPONENTS_PREFIX = "#/components/schemas/";
+
+	private final Map<String, Schema> schemas;
+	private final Map<String, ValueValidator> componentValidators = new HashMap<>();
+	private final Map<String, ObjectValidator> objectValidators = new HashMap<>();
+	private final Map<String, Pattern> patterns = new HashMap<>();
+
+	SchemaCompiler(Map<String, Schema> schemas) {
+		this.schemas = schemas == null ? Collections.emptyMap() : schemas;
+	}
+
+	Map<String, ValueValidator> compileComponents() {
+		schemas.forEach((componentName, schema) -> {
+			ObjectShape shape = new ObjectShape();
+			if (collectObject(schema, shape, new HashSet<>(Collections.singleton(componentName)))) {
+				objectValidators.put(componentName, compileObject(shape));
+			}
+		});
+		schemas.forEach((componentName, schema) -> componentValidators.put(componentName, compileComponent(componentName, schema)));
+		return componentValidators;
+	}
+
+	ValueValidator compile(Schema<?> schema) {
+		if (schema == null) {
+			return AnyValueValidator.INSTANCE;
+		}
+		if (schema.get$ref() != null) {
+			return new ReferenceValidator(getComponentName(schema.get$ref()), componentValidators);
+		}
+		if (schema instanceof ComposedSchema) {
+			return compileComposed((ComposedSchema) schema);
+		}
+		if (schema instanceof ArraySchema) {
+			return new ArrayValidator(compile(((ArraySchema) schema).getItems()), schema.getMinItems(), schema.getMaxItems());
+		}
+		String type = schema.getType() == null ? "" : schema.getType();
+		switch (type) {
+			case "string":
+				return new StringValidator(schema.getMinLength(), schema.getMaxLength(),
+						schema.getPattern() == null ? null : patterns.computeIfAbsent(schema.getPattern(), Pattern::compile),
+						schema.getEnum() == null ? null : schema.getEnum().stream().map(String::valueOf).collect(Collectors.toCollection(LinkedHashSet::new)));
+			case "integer":
+			case "number":
+				return new NumberValidator("integer".equals(type), schema.getFormat(), schema.getMinimum(), Boolean.TRUE.equals(schema.getExclusiveMinimum()),
+						schema.getMaximum(), Boolean.TRUE.equals(schema.getExclusiveMaximum()));
+			case "boolean":
+				return BooleanValidator.INSTANCE;
+			case "array":
+				return new ArrayValidator(AnyValueValidator.INSTANCE, schema.getMinItems(), schema.getMaxItems());
+			default:
+				ObjectShape shape = new ObjectShape();
+				return collectObject(schema, shape, new HashSet<>()) ? compileObject(shape) : AnyValueValidator.INSTANCE;
+		}
+	}
+
+	private ValueValidator compileComponent(String componentName, Schema<?> schema) {
+		ObjectValidator objectValidator = objectValidators.get(componentName);
+		if (objectValidator == null) {
+			return compile(schema);
+		}
+		Discriminator discriminator = findDiscriminator(schema);
+		if (discriminator == null) {
+			return objectValidator;
+		}
+		return new DiscriminatorValidator(discriminator.getPropertyName(), getMapping(discriminator), objectValidator, objectValidators);
+	}
+
+	private ValueValidator compileComposed(ComposedSchema schema) {
+		if (schema.getOneOf() == null && schema.getAnyOf() == null) {
+			ObjectShape shape = new ObjectShape();
+			if (collectObject(schema, shape, new HashSet<>())) {
+				return compileObject(shape);
+			}
+			return new CompositeValidator(CompositeValidator.Mode.ALL_OF, compileAll(schema.getAllOf()));
+		}
+		if (schema.getDiscriminator() != null) {
+			String propertyName = schema.getDiscriminator().getPropertyName();
+			ObjectValidator defaultValidator = new ObjectValidator(Collections.emptyMap(), Collections.singletonList(propertyName), null, true);
+			return new DiscriminatorValidator(propertyName, getMapping(schema.getDiscriminator()), defaultValidator, objectValidators);
+		}
+		if (schema.getOneOf() != null) {
+			return new CompositeValidator(CompositeValidator.Mode.ONE_OF, compileAll(schema.getOneOf()));
+		}
+		return new CompositeValidator(CompositeValidator.Mode.ANY_OF, compileAll(schema.getAnyOf()));
+	}
+
+	private List<ValueValidator> compileAll(List<Schema> schemaList) {
+		List<ValueValidator> validators = new ArrayList<>();
+		if (schemaList != null) {
+			schemaList.forEach(schema -> validators.add(compile(schema)));
+		}
+		return validators;
+	}
+
+	private ObjectValidator compileObject(ObjectShape shape) {
+		Map<String, ValueValidator> propertyValidators = new LinkedHashMap<>();
+		shape.properties.forEach((name, propertySchema) -> propertyValidators.put(name, compile(propertySchema)));
+		ValueValidator additionalPropertiesValidator = shape.additionalProperties instanceof Schema
+				? compile((Schema<?>) shape.additionalProperties) : null;
+		return new ObjectValidator(propertyValidators, shape.required, additionalPropertiesValidator,
+				!Boolean.FALSE.equals(shape.additionalProperties));
+	}
+
+	/**
+	 * Collects properties of object schema including properties of all allOf entries.
+	 *
+	 * @return false when schema or some of its allOf entries is not an object
+	 */
+	private boolean collectObject(Schema<?> schema, ObjectShape shape, Set<String> visiting) {
+		if (schema.get$ref() != null) {
+			String componentName = getComponentName(schema.get$ref());
+			if (!visiting.add(componentName)) {
+				throw new IllegalArgumentException(String.format("Inheritance cycle detected for component [%s]", componentName));
+			}
+			boolean object = collectObject(schemas.get(componentName), shape, visiting);
+			visiting.remove(componentName);
+			return object;
+		}
+		if (schema instanceof ComposedSchema) {
+			ComposedSchema composedSchema = (ComposedSchema) schema;
+			if (composedSchema.getOneOf() != null || composedSchema.getAnyOf() != null) {
+				return false;
+			}
+			if (composedSchema.getAllOf() != null) {
+				for (Schema allOfSchema : composedSchema.getAllOf()) {
+					if (!collectObject(allOfSchema, shape, visiting)) {
+						return false;
+					}
+				}
+			}
+		} else if (!"object".equals(schema.getType()) && schema.getProperties() == null) {
+			return false;
+		}
+		if (schema.getProperties() != null) {
+			shape.properties.putAll(schema.getProperties());
+		}
+		if (schema.getRequired() != null) {
+			schema.getRequired().stream()
+					.filter(name -> !shape.required.contains(name))
+					.forEach(shape.required::add);
+		}
+		if (schema.getAdditionalProperties() != null) {
+			shape.additionalProperties = schema.getAdditionalProperties();
+		}
+		return true;
+	}
+
+	private Discriminator findDiscriminator(Schema<?> schema) {
+		if (schema.getDiscriminator() != null || !(schema instanceof ComposedSchema) || ((ComposedSchema) schema).getAllOf() == null) {
+			return schema.getDiscriminator();
+		}
+		return ((ComposedSchema) schema).getAllOf().stream()
+				.filter(allOfSchema -> allOfSchema.get$ref() == null && allOfSchema.getDiscriminator() != null)
+				.map(Schema::getDiscriminator)
+				.findFirst()
+				.orElse(null);
+	}
+
+	private Map<String, String> getMapping(Discriminator discriminator) {
+		Map<String, String> mapping = new HashMap<>();
+		if (discriminator.getMapping() != null) {
+			discriminator.getMapping().forEach((value, target) -> mapping.put(value, target.startsWith(COMPONENTS_PREFIX) ? getComponentName(target) : target));
+		}
+		return mapping;
+	}
+
+	private String getComponentName(String ref) {
+		String componentName = ref.substring(ref.lastIndexOf('/') + 1);
+		if (!schemas.containsKey(componentName)) {
+			throw new IllegalArgumentException(String.format("Referenced component [%s] does not exist", ref));
+		}
+		return componentName;
+	}
+
+	private static final class ObjectShape {
+
+		private final Map<String, Schema> properties = new LinkedHashMap<>();
+		private final List<String> required = new ArrayList<>();
+		private Object additionalProperties;
+	}
+}
@@ -0,0 +1,56 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * Validates JSON payloads against one compiled schema directly over token stream, without binding them to objects.
+ * Instances are immutable and can be shared between threads.
+ */
+public final class SchemaValidator {
+
+	private final ValueValidator validator;
+	private final JsonFactory jsonFactory;
+
+	SchemaValidator(ValueValidator validator, JsonFactory jsonFactory) {
+		this.validator = validator;
+		this.jsonFactory = jsonFactory;
+	}
+
+	public List<ValidationError> validate(byte[] content) throws IOException {
+		try (JsonParser parser = jsonFactory.createParser(content)) {
+			return validate(parser);
+		}
+	}
+
+	public List<ValidationError> validate(String content) throws IOException {
+		try (JsonParser parser = jsonFactory.createParser(content)) {
+			return validate(parser);
+		}
+	}
+
+	public List<ValidationError> validate(InputStream content) throws IOException {
+		try (JsonParser parser = jsonFactory.createParser(content)) {
+			return validate(parser);
+		}
+	}
+
+	/**
+	 * @param parser parser positioned before the value or on its first token, it is left on the last token of the value
+	 * @return found errors, empty list when value is valid
+	 * @throws IOException when content is not a well formed JSON
+	 */
+	public List<ValidationError> validate(JsonParser parser) throws IOException {
+		if (parser.currentToken() == null && parser.nextToken() == null) {
+			return Collections.singletonList(new ValidationError("", "Content is empty"));
+		}
+		ValidationContext context = new ValidationContext();
+		validator.validate(parser, context);
+		return context.getErrors();
+	}
+}
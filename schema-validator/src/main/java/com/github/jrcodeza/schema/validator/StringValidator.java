@@ -0,0 +1,54 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Validates length, pattern and enum values of strings. Length is counted in code points directly from parser
+ * buffer, string instance is created only when pattern or enum has to be checked.
+ */
+final class StringValidator extends ValueValidator {
+
+	private final Integer minLength;
+	private final Integer maxLength;
+	private final Pattern pattern;
+	private final Set<String> enumValues;
+
+	StringValidator(Integer minLength, Integer maxLength, Pattern pattern, Set<String> enumValues) {
+		this.minLength = minLength;
+		this.maxLength = maxLength;
+		this.pattern = pattern;
+		this.enumValues = enumValues;
+	}
+
+	@Override
+	void validateValue(JsonParser parser, ValidationContext context) throws IOException {
+		if (parser.currentToken() != JsonToken.VALUE_STRING) {
+			reportTypeMismatch(parser, context, "string");
+			return;
+		}
+		if (minLength != null || maxLength != null) {
+			int length = Character.codePointCount(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+			if (minLength != null && length < minLength) {
+				context.addError(parser, String.format("Length %d is less than minimum %d", length, minLength));
+			}
+			if (maxLength != null && length > maxLength) {
+				context.addError(parser, String.format("Length %d is greater than maximum %d", length, maxLength));
+			}
+		}
+		if (pattern == null && enumValues == null) {
+			return;
+		}
+		String text = parser.getText();
+		if (pattern != null && !pattern.matcher(text).find()) {
+			context.addError(parser, String.format("Value does not match pattern %s", pattern.pattern()));
+		}
+		if (enumValues != null && !enumValues.contains(text)) {
+			context.addError(parser, String.format("Value [%s] is not one of %s", text, enumValues));
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Collects errors of one validation run. Paths are computed from parser context only when an error is reported,
+ * replayed (buffered) values use nested context carrying path of the buffered value as prefix.
+ */
+final class ValidationContext {
+
+	private final ValidationContext root;
+	private final String pathPrefix;
+	private List<ValidationError> errors = Collections.emptyList();
+
+	ValidationContext() {
+		this(null, "");
+	}
+
+	private ValidationContext(ValidationContext root, String pathPrefix) {
+		this.root = root == null ? this : root;
+		this.pathPrefix = pathPrefix;
+	}
+
+	/**
+	 * @return context reporting to the same errors, paths are prefixed with given pointer
+	 */
+	ValidationContext nested(String pathPrefix) {
+		return new ValidationContext(root, pathPrefix);
+	}
+
+	/**
+	 * @return context with its own errors, used to try alternative schemas
+	 */
+	ValidationContext detached(String pathPrefix) {
+		return new ValidationContext(null, pathPrefix);
+	}
+
+	void addError(JsonParser parser, String message) {
+		if (root.errors.isEmpty()) {
+			root.errors = new ArrayList<>();
+		}
+		root.errors.add(new ValidationError(pointer(parser), message));
+	}
+
+	String pointer(JsonParser parser) {
+		JsonStreamContext streamContext = parser.getParsingContext();
+		if (parser.currentToken() == JsonToken.START_OBJECT || parser.currentToken() == JsonToken.START_ARRAY) {
+			streamContext = streamContext.getParent();
+		}
+		return pathPrefix + JsonPointer.forPath(streamContext, false).toString();
+	}
+
+	boolean hasErrors() {
+		return !root.errors.isEmpty();
+	}
+
+	List<ValidationError> getErrors() {
+		return root.errors;
+	}
+}
@@ -0,0 +1,31 @@
+package com.github.jrcodeza.schema.validator;
+
+/**
+ * Single violation of the spec found in validated payload.
+ */
+public final class ValidationError {
+
+	private final String path;
+	private final String message;
+
+	public ValidationError(String path, String message) {
+		this.path = path;
+		this.message = message;
+	}
+
+	/**
+	 * @return JSON pointer of invalid value, empty string for the root value
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		return (path.isEmpty() ? "/" : path) + ": " + message;
+	}
+}
@@ -0,0 +1,29 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Validator of one JSON value compiled from schema. Validators are immutable and can be shared between threads.
+ */
+abstract class ValueValidator {
+
+	/**
+	 * Validates value on which the parser is positioned and leaves the parser on the last token of the value.
+	 * Null is accepted by every validator, required properties are checked by {@link ObjectValidator}.
+	 */
+	final void validate(JsonParser parser, ValidationContext context) throws IOException {
+		if (parser.currentToken() != JsonToken.VALUE_NULL) {
+			validateValue(parser, context);
+		}
+	}
+
+	abstract void validateValue(JsonParser parser, ValidationContext context) throws IOException;
+
+	static void reportTypeMismatch(JsonParser parser, ValidationContext context, String expectedType) throws IOException {
+		context.addError(parser, String.format("Expected %s but was %s", expectedType, parser.currentToken()));
+		parser.skipChildren();
+	}
+}
@@ -0,0 +1,72 @@
+package com.github.jrcodeza.schema.validator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OpenApiValidatorTest {
+
+	private static OpenApiValidator openApiValidator;
+
+	@BeforeClass
+	public static void compileValidator() throws IOException {
+		try (InputStream inputStream = OpenApiValidatorTest.class.getResourceAsStream("/expected_example_openapi.json")) {
+			openApiValidator = OpenApiValidator.compile(Json.mapper().readValue(inputStream, OpenAPI.class));
+		}
+	}
+
+	@Test
+	public void testValidPayloadAccepted() throws IOException {
+		List<ValidationError> errors = openApiValidator.getSchemaValidator("Car")
+				.validate("{\"type\":\"car\",\"id\":\"1\",\"amount\":2,\"price\":1.5,\"model\":\"Octavia\",\"torque\":300,\"carType\":\"PERSONAL\",\"unknown\":[1]}");
+		assertTrue(errors.isEmpty());
+	}
+
+	@Test
+	public void testValidationAnnotationsEnforced() throws IOException {
+		List<ValidationError> errors = openApiValidator.getSchemaValidator("ValidationDummy")
+				.validate("{\"regex\":\"abc\",\"stringSize\":\"a\",\"minMax\":10,\"decimalRange\":1.0,\"stringSizeOnlyMax\":\"0123456789\"}");
+		assertEquals(asList("/regex", "/stringSize", "/minMax", "/decimalRange", "/"), toPaths(errors));
+		assertEquals("Missing required property [notNull]", errors.get(4).getMessage());
+	}
+
+	@Test
+	public void testDiscriminatorSelectsSubtype() throws IOException {
+		List<ValidationError> errors = openApiValidator.getSchemaValidator("ListDummy")
+				.validate("{\"products\":["
+						+ "{\"type\":\"car\",\"id\":\"1\",\"amount\":1,\"price\":1,\"model\":\"x\"},"
+						+ "{\"id\":\"2\",\"amount\":1,\"price\":1,\"model\":\"ThinkPad\",\"type\":\"laptop\"},"
+						+ "{\"id\":\"3\",\"amount\":\"many\",\"price\":1,\"type\":\"truck\"}],"
+						+ "\"integers\":[1,\"2\"],\"enums\":[\"BIKE\"]}");
+		assertEquals(asList("/products/0/model", "/products/1", "/products/2/type", "/products/2/amount", "/integers/1", "/enums/0"), toPaths(errors));
+		assertEquals("Missing required property [hasWifi]", errors.get(1).getMessage());
+	}
+
+	@Test
+	public void testOperationValidators() throws IOException {
+		assertTrue(openApiValidator.getRequestValidator("createCarUsingPOST")
+				.validate("{\"type\":\"car\",\"id\":\"1\",\"amount\":1,\"price\":1}").isEmpty());
+		assertEquals(asList("/torque", "/"), toPaths(openApiValidator.getResponseValidator("createCarUsingPOST", 200)
+				.validate("{\"type\":\"car\",\"amount\":1,\"price\":1,\"torque\":-1}")));
+		assertNull(openApiValidator.getRequestValidator("getCarUsingGET"));
+	}
+
+	private List<String> toPaths(List<ValidationError> errors) {
+		return errors.stream()
+				.map(error -> error.getPath().isEmpty() ? "/" : error.getPath())
+				.collect(Collectors.toList());
+	}
+
+}